@@ -170,6 +170,15 @@ public class LeakyBucketDeterministicThrottle implements CongestibleThrottle {
         return delegate;
     }
 
+    /**
+     * Returns the time of the last throttling decision, or {@code null} if no decision has been made.
+     *
+     * @return the time of the last throttling decision
+     */
+    public Instant lastDecisionTime() {
+        return lastDecisionTime;
+    }
+
     public ThrottleUsageSnapshot usageSnapshot() {
         return new ThrottleUsageSnapshot(
                 delegate.bucket().capacityUsed(),
@@ -70,6 +70,7 @@ jmhModuleInfo {
     requires("com.swirlds.platform.core")
     requires("com.swirlds.state.api")
     requires("org.hiero.base.crypto")
+    requires("org.hiero.base.crypto.test.fixtures")
     requires("org.hiero.consensus.model")
     requires("org.hiero.consensus.platformstate")
     requires("io.helidon.common")
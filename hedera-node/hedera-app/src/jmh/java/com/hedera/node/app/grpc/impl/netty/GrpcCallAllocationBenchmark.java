@@ -0,0 +1,247 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl.netty;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Duration;
+import com.hedera.hapi.node.base.QueryHeader;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.ResponseHeader;
+import com.hedera.hapi.node.base.ResponseType;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.SignaturePair;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoGetAccountBalanceQuery;
+import com.hedera.hapi.node.token.CryptoGetAccountBalanceResponse;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.Query;
+import com.hedera.hapi.node.transaction.Response;
+import com.hedera.hapi.node.transaction.SignedTransaction;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.hapi.node.transaction.TransactionResponse;
+import com.hedera.node.app.grpc.impl.MethodBase;
+import com.hedera.node.app.grpc.impl.QueryMethod;
+import com.hedera.node.app.grpc.impl.TransactionMethod;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.metrics.api.Metrics;
+import io.grpc.stub.StreamObserver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hiero.consensus.metrics.config.MetricsConfig;
+import org.hiero.consensus.metrics.platform.DefaultPlatformMetrics;
+import org.hiero.consensus.metrics.platform.MetricKeyRegistry;
+import org.hiero.consensus.metrics.platform.PlatformMetricsFactoryImpl;
+import org.hiero.consensus.model.node.NodeId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the buffer handling of a unary gRPC call, as done by {@link GrpcServiceBuilder} for every transaction and
+ * every query: the request is parsed by the {@link DataBufferMarshaller}, handled by a {@link MethodBase} with a
+ * workflow, which only writes a canned response, the response is streamed to the client, and finally the request
+ * buffer is released. Run with {@code -prof gc} to see the allocation per call in the {@code gc.alloc.rate.norm}
+ * column.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Threads(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GrpcCallAllocationBenchmark {
+    private static final int MAX_MESSAGE_SIZE = 6144;
+
+    /** Whether the call submits a transaction, or answers a query. */
+    @Param({"TRANSACTION", "QUERY"})
+    public String callType;
+
+    private ScheduledExecutorService metricsScheduler;
+    private DataBufferMarshaller marshaller;
+    private MethodBase method;
+    private ByteArrayInputStream requestStream;
+    private ResponseSink responseSink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Configuration config = ConfigurationBuilder.create()
+                .withConfigDataType(MetricsConfig.class)
+                .build();
+        metricsScheduler = Executors.newSingleThreadScheduledExecutor();
+        final Metrics metrics = new DefaultPlatformMetrics(
+                NodeId.of(0L),
+                new MetricKeyRegistry(),
+                metricsScheduler,
+                new PlatformMetricsFactoryImpl(config.getConfigData(MetricsConfig.class)),
+                config.getConfigData(MetricsConfig.class));
+
+        marshaller = new DataBufferMarshaller(MAX_MESSAGE_SIZE + 1, MAX_MESSAGE_SIZE);
+        final Bytes request;
+        if ("TRANSACTION".equals(callType)) {
+            request = Transaction.PROTOBUF.toBytes(cryptoTransfer());
+            final var response = TransactionResponse.PROTOBUF.toBytes(TransactionResponse.newBuilder()
+                    .nodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                    .build());
+            method = new TransactionMethod(
+                    "proto.CryptoService",
+                    "cryptoTransfer",
+                    (requestBuffer, responseBuffer) -> responseBuffer.writeBytes(response),
+                    metrics,
+                    MAX_MESSAGE_SIZE);
+        } else {
+            request = Query.PROTOBUF.toBytes(balanceQuery());
+            final var response = Response.PROTOBUF.toBytes(balanceResponse());
+            method = new QueryMethod(
+                    "proto.CryptoService",
+                    "cryptoGetBalance",
+                    (requestBuffer, responseBuffer) -> responseBuffer.writeBytes(response),
+                    metrics,
+                    MAX_MESSAGE_SIZE);
+        }
+        requestStream = new ByteArrayInputStream(request.toByteArray());
+        responseSink = new ResponseSink(marshaller);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        metricsScheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public long unaryCall() {
+        requestStream.reset();
+        final var requestBuffer = marshaller.parse(requestStream);
+        try {
+            method.invoke(requestBuffer, responseSink);
+        } finally {
+            marshaller.release(requestBuffer);
+        }
+        return responseSink.bytesSent;
+    }
+
+    /** Streams responses the way gRPC does, into an output stream, which discards them. */
+    private static final class ResponseSink implements StreamObserver<BufferedData> {
+        private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+        private final DataBufferMarshaller marshaller;
+        private long bytesSent;
+
+        private ResponseSink(final DataBufferMarshaller marshaller) {
+            this.marshaller = marshaller;
+        }
+
+        @Override
+        public void onNext(final BufferedData responseBuffer) {
+            final var length = responseBuffer.remaining();
+            try (final var stream = (KnownLengthStream) marshaller.stream(responseBuffer)) {
+                stream.drainTo(DISCARD);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytesSent += length;
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            throw new IllegalStateException("Benchmark call failed", t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do
+        }
+    }
+
+    private static Transaction cryptoTransfer() {
+        final var payer = AccountID.newBuilder().accountNum(1001).build();
+        final var body = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder()
+                        .accountID(payer)
+                        .transactionValidStart(
+                                Timestamp.newBuilder().seconds(1_700_000_000L).build())
+                        .build())
+                .nodeAccountID(AccountID.newBuilder().accountNum(3).build())
+                .transactionFee(100_000_000L)
+                .transactionValidDuration(Duration.newBuilder().seconds(120).build())
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .transfers(TransferList.newBuilder()
+                                .accountAmounts(
+                                        AccountAmount.newBuilder()
+                                                .accountID(payer)
+                                                .amount(-1)
+                                                .build(),
+                                        AccountAmount.newBuilder()
+                                                .accountID(AccountID.newBuilder()
+                                                        .accountNum(1002)
+                                                        .build())
+                                                .amount(1)
+                                                .build())
+                                .build())
+                        .build())
+                .build();
+        final var random = new Random(42);
+        final var pubKeyPrefix = new byte[32];
+        final var signature = new byte[64];
+        random.nextBytes(pubKeyPrefix);
+        random.nextBytes(signature);
+        final var signedTx = SignedTransaction.newBuilder()
+                .bodyBytes(TransactionBody.PROTOBUF.toBytes(body))
+                .sigMap(SignatureMap.newBuilder()
+                        .sigPair(SignaturePair.newBuilder()
+                                .pubKeyPrefix(Bytes.wrap(pubKeyPrefix))
+                                .ed25519(Bytes.wrap(signature))
+                                .build())
+                        .build())
+                .build();
+        return Transaction.newBuilder()
+                .signedTransactionBytes(SignedTransaction.PROTOBUF.toBytes(signedTx))
+                .build();
+    }
+
+    private static Query balanceQuery() {
+        return Query.newBuilder()
+                .cryptogetAccountBalance(CryptoGetAccountBalanceQuery.newBuilder()
+                        .header(QueryHeader.newBuilder()
+                                .responseType(ResponseType.ANSWER_ONLY)
+                                .build())
+                        .accountID(AccountID.newBuilder().accountNum(1001).build())
+                        .build())
+                .build();
+    }
+
+    private static Response balanceResponse() {
+        return Response.newBuilder()
+                .cryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                        .header(ResponseHeader.newBuilder()
+                                .nodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                                .build())
+                        .accountID(AccountID.newBuilder().accountNum(1001).build())
+                        .balance(1_000_000_000L)
+                        .build())
+                .build();
+    }
+}
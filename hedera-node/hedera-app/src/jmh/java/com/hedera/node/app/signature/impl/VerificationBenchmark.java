@@ -7,9 +7,14 @@ import com.hedera.node.app.fixtures.AppTestBase;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.spi.fixtures.Scenarios;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.security.SignatureException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.hiero.base.crypto.Cryptography;
+import org.hiero.base.crypto.CryptographyProvider;
+import org.hiero.base.crypto.test.fixtures.ECDSASigningProvider;
+import org.hiero.base.crypto.test.fixtures.ED25519SigningProvider;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -22,7 +27,11 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
-/** Measures the amount of time to prepare expanded signatures and call the crypto engine */
+/**
+ * Measures the amount of time to prepare expanded signatures and call the crypto engine. With a fake crypto engine,
+ * only the preparation is measured. With the real crypto engine, signatures are really verified, and dividing the
+ * average time by the number of signatures gives the verification time per signature on a single core.
+ */
 @State(Scope.Benchmark)
 @Fork(value = 1, warmups = 1)
 @BenchmarkMode(Mode.AverageTime)
@@ -31,34 +40,77 @@ public class VerificationBenchmark extends AppTestBase implements Scenarios {
     @Param({"1", "2", "5", "10"})
     public int numSigPairs;
 
+    /** The type of signatures to verify. */
+    @Param({"ED25519", "ECDSA_SECP256K1"})
+    public String sigType;
+
+    /** Whether signatures are sent to the crypto engine as a single batch, or one by one. */
+    @Param({"true", "false"})
+    public boolean batchVerification;
+
+    /** Whether signatures are verified by the real crypto engine, instead of a fake one. */
+    @Param({"false", "true"})
+    public boolean realCryptoEngine;
+
     private Set<ExpandedSignaturePair> sigPairs;
-    private Bytes fakeSignedBytes;
+    private Bytes signedBytes;
     private SignatureVerifierImpl subject;
 
-    @Setup(Level.Invocation)
-    public void setUp() {
-        sigPairs = createSigPairs(numSigPairs);
-        final var fakeCryptoEngine = new DoNothingCryptoEngine();
-        fakeSignedBytes = Bytes.wrap(new byte[] {1, 2, 3, 4, 5});
-        subject = new SignatureVerifierImpl(fakeCryptoEngine);
+    @Setup(Level.Trial)
+    public void setUp() throws SignatureException {
+        final Cryptography cryptoEngine;
+        if (realCryptoEngine) {
+            signedBytes = randomBytes(1024);
+            sigPairs = createSignedSigPairs(numSigPairs);
+            cryptoEngine = CryptographyProvider.getInstance();
+        } else {
+            signedBytes = Bytes.wrap(new byte[] {1, 2, 3, 4, 5});
+            sigPairs = createSigPairs(numSigPairs);
+            cryptoEngine = new DoNothingCryptoEngine();
+        }
+        subject = new SignatureVerifierImpl(cryptoEngine, batchVerification);
     }
 
     @Benchmark
     public void verifyBench(Blackhole blackhole) {
-        blackhole.consume(subject.verify(fakeSignedBytes, sigPairs));
+        blackhole.consume(subject.verify(signedBytes, sigPairs));
     }
 
     private Set<ExpandedSignaturePair> createSigPairs(int numSigPairs) {
         final var pairs = new HashSet<ExpandedSignaturePair>();
         for (int i = 0; i < numSigPairs; i++) {
             final var keyBytes = randomBytes(32);
-            final var sigPair = SignaturePair.newBuilder()
-                    .ed25519(keyBytes)
-                    .pubKeyPrefix(keyBytes.slice(0, 10))
-                    .build();
-            pairs.add(
-                    new ExpandedSignaturePair(Key.newBuilder().ed25519(keyBytes).build(), keyBytes, null, sigPair));
+            pairs.add(sigPair(keyBytes, keyBytes));
         }
         return pairs;
     }
+
+    private Set<ExpandedSignaturePair> createSignedSigPairs(int numSigPairs) throws SignatureException {
+        final var message = signedBytes.toByteArray();
+        final var pairs = new HashSet<ExpandedSignaturePair>();
+        for (int i = 0; i < numSigPairs; i++) {
+            if ("ED25519".equals(sigType)) {
+                final var signer = new ED25519SigningProvider();
+                pairs.add(sigPair(Bytes.wrap(signer.getPublicKeyBytes()), Bytes.wrap(signer.sign(message))));
+            } else {
+                final var signer = new ECDSASigningProvider();
+                pairs.add(sigPair(Bytes.wrap(signer.getPublicKeyBytes()), Bytes.wrap(signer.sign(message))));
+            }
+        }
+        return pairs;
+    }
+
+    private ExpandedSignaturePair sigPair(final Bytes keyBytes, final Bytes signature) {
+        final var prefix = keyBytes.slice(0, 10);
+        if ("ED25519".equals(sigType)) {
+            final var sigPair =
+                    SignaturePair.newBuilder().ed25519(signature).pubKeyPrefix(prefix).build();
+            return new ExpandedSignaturePair(Key.newBuilder().ed25519(keyBytes).build(), keyBytes, null, sigPair);
+        }
+        final var sigPair = SignaturePair.newBuilder()
+                .ecdsaSecp256k1(signature)
+                .pubKeyPrefix(prefix)
+                .build();
+        return new ExpandedSignaturePair(Key.newBuilder().ecdsaSecp256k1(keyBytes).build(), keyBytes, null, sigPair);
+    }
 }
@@ -561,7 +561,7 @@ public final class Hedera implements SwirldMain, AppContext.Gossip, StaleEventCo
                 new AppSignatureVerifier(
                         bootstrapConfig.getConfigData(HederaConfig.class),
                         new SignatureExpanderImpl(),
-                        new SignatureVerifierImpl()),
+                        new SignatureVerifierImpl(bootstrapConfig.getConfigData(HederaConfig.class))),
                 this,
                 configSupplier,
                 () -> requireNonNull(daggerApp).networkInfo().selfNodeInfo(),
@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of {@link BufferedData}s of a fixed capacity, which are reused by gRPC calls. A call acquires a buffer
+ * when it starts and releases it when it completes, so a buffer is only ever used by one call at a time, no matter
+ * which thread handles the call. If the pool is empty, a new buffer is allocated. If the pool is full, a released
+ * buffer is left to the garbage collector, so the pool never holds on to more than {@code maxPooledBuffers} buffers.
+ *
+ * <p>Pooled buffers are held in an {@link ArrayBlockingQueue}, which, unlike a linked queue, does not allocate when a
+ * buffer is released.
+ */
+/*@ThreadSafe*/
+public final class BufferedDataPool {
+    /** The capacity of every buffer of the pool. */
+    private final int bufferCapacity;
+
+    /** Buffers, which are currently not used by any call. */
+    private final BlockingQueue<BufferedData> buffers;
+
+    /**
+     * Creates a new, empty pool.
+     *
+     * @param bufferCapacity the capacity of every buffer of the pool. Must be positive
+     * @param maxPooledBuffers the maximum number of buffers held by the pool. Must be positive
+     */
+    public BufferedDataPool(final int bufferCapacity, final int maxPooledBuffers) {
+        if (bufferCapacity < 1) {
+            throw new IllegalArgumentException("bufferCapacity must be positive");
+        }
+        if (maxPooledBuffers < 1) {
+            throw new IllegalArgumentException("maxPooledBuffers must be positive");
+        }
+        this.bufferCapacity = bufferCapacity;
+        this.buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+    }
+
+    /**
+     * Takes a buffer from the pool, or allocates a new one if the pool is empty. The buffer is reset, so its position
+     * is 0 and its limit is its capacity. The caller owns the buffer until it passes it to {@link #release}.
+     *
+     * @return a buffer with a capacity of {@code bufferCapacity} bytes
+     */
+    @NonNull
+    public BufferedData acquire() {
+        final var buffer = buffers.poll();
+        if (buffer == null) {
+            return BufferedData.allocate(bufferCapacity);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer acquired by {@link #acquire()} to the pool. The caller must not use the buffer afterward, and
+     * must release every buffer at most once.
+     *
+     * @param buffer the buffer to return
+     */
+    public void release(@NonNull final BufferedData buffer) {
+        requireNonNull(buffer);
+        if (buffer.capacity() == bufferCapacity) {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of buffers, which are currently in the pool.
+     *
+     * @return the number of pooled buffers
+     */
+    public int pooledBuffers() {
+        return buffers.size();
+    }
+}
@@ -38,16 +38,17 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv_per_sec";
     private static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
 
+    // The maximum number of response buffers kept for reuse. More buffers are only allocated if more calls are
+    // handled at the same time, and are dropped again once these calls complete.
+    private static final int MAX_POOLED_RESPONSE_BUFFERS = 64;
+
     /**
-     * Per-thread shared {@link BufferedData} for responses. We store these in a thread local, because we do
-     * not have control over the thread pool used by the underlying gRPC server.
+     * Shared {@link BufferedData}s for responses. A call takes a buffer when it starts and returns it when it
+     * completes, so the number of buffers depends on the number of calls handled at the same time, rather than on the
+     * number of threads, which handle calls.
      */
-    @SuppressWarnings(
-            "java:S5164") // looks like a false positive ("ThreadLocal" variables should be cleaned up when no longer
-    // used), but these threads are long-lived and the lifetime of the thread local is the same as
-    // the application
-    private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL =
-            ThreadLocal.withInitial(() -> BufferedData.allocate(MAX_RESPONSE_SIZE));
+    private static final BufferedDataPool RESPONSE_BUFFERS =
+            new BufferedDataPool(MAX_RESPONSE_SIZE, MAX_POOLED_RESPONSE_BUFFERS);
 
     /** The name of the service associated with this method. */
     protected final String serviceName;
@@ -112,11 +113,9 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             return;
         }
 
+        // Prepare the response buffer
+        final var responseBuffer = RESPONSE_BUFFERS.acquire();
         try {
-            // Prepare the response buffer
-            final var responseBuffer = BUFFER_THREAD_LOCAL.get();
-            responseBuffer.reset();
-
             // Convert the request BufferedData to a Bytes instance without copying the bytes
             final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
 
@@ -138,6 +137,9 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             }
             callsFailedCounter.increment();
             responseObserver.onError(e);
+        } finally {
+            // The response has been written to the call by now, so the buffer can be reused by another call
+            RESPONSE_BUFFERS.release(responseBuffer);
         }
     }
 
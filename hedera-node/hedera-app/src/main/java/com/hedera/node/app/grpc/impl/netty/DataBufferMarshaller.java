@@ -3,32 +3,32 @@ package com.hedera.node.app.grpc.impl.netty;
 
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.node.app.grpc.impl.BufferedDataPool;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.grpc.MethodDescriptor;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 
 /**
  * A thread-safe implementation of a gRPC marshaller which does nothing but pass through byte arrays as {@link
  * BufferedData}s. A single implementation of this class is designed to be used by multiple threads,
  * including by multiple app instances within a single JVM!
+ *
+ * <p>Requests are parsed into buffers taken from a pool. The buffer returned by {@link #parse(InputStream)} belongs to
+ * the call until it is passed to {@link #release(BufferedData)}, so a call may be handled on a thread other than the
+ * one which parsed it, without copying the request.
  */
 /*@ThreadSafe*/
 final class DataBufferMarshaller implements MethodDescriptor.Marshaller<BufferedData> {
 
-    private final int bufferCapacity;
+    // The maximum number of request buffers kept for reuse. More buffers are only allocated if more calls are
+    // handled or queued at the same time, and are dropped again once these calls complete.
+    private static final int MAX_POOLED_BUFFERS = 128;
+
     private final int tooBigMessageSize;
 
-    /**
-     * Per-thread shared ByteBuffer for reading. We store these in a thread local, because we do not
-     * have control over the thread pool used by the underlying gRPC server.
-     */
-    @SuppressWarnings(
-            "java:S5164") // looks like a false positive ("ThreadLocal" variables should be cleaned up when no longer
-    // used), but these threads are long-lived and the lifetime of the thread local is the same as
-    // the application
-    private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL = new ThreadLocal<>();
+    /** Buffers for requests, which are taken by {@link #parse} and returned by {@link #release}. */
+    private final BufferedDataPool buffers;
 
     /** Constructs a new {@link DataBufferMarshaller}. Only called by {@link GrpcServiceBuilder}. */
     DataBufferMarshaller(final int bufferCapacity, final int maxMessageSize) {
@@ -36,7 +36,7 @@ final class DataBufferMarshaller implements MethodDescriptor.Marshaller<Buffered
             throw new IllegalArgumentException(
                     "Buffer capacity must be greater than or equal to the maximum message size.");
         }
-        this.bufferCapacity = bufferCapacity + 1;
+        this.buffers = new BufferedDataPool(bufferCapacity + 1, MAX_POOLED_BUFFERS);
         this.tooBigMessageSize = maxMessageSize + 1;
     }
 
@@ -57,13 +57,8 @@ final class DataBufferMarshaller implements MethodDescriptor.Marshaller<Buffered
         // of the Google protobuf implementation.
         requireNonNull(stream);
 
-        // Each thread has a single buffer instance that gets reused over and over.
-        BufferedData buffer = BUFFER_THREAD_LOCAL.get();
-        if (buffer == null) {
-            buffer = BufferedData.wrap(ByteBuffer.allocate(bufferCapacity));
-            BUFFER_THREAD_LOCAL.set(buffer);
-        }
-        buffer.reset();
+        // Buffers are reused over and over. The call returns the buffer once it was handled.
+        final var buffer = buffers.acquire();
 
         // We sized the buffer to be 1 byte larger than the max transaction size.
         // If we have filled the buffer, it means the message had too many bytes,
@@ -72,11 +67,35 @@ final class DataBufferMarshaller implements MethodDescriptor.Marshaller<Buffered
         // want to do for bad input from the user. Also note that if the user sent us way too many
         // bytes, this method will only read up to TOO_BIG_MESSAGE_SIZE, so there is no risk of
         // the user overwhelming the server with a huge message.
-        buffer.writeBytes(stream, tooBigMessageSize);
+        try {
+            buffer.writeBytes(stream, tooBigMessageSize);
+        } catch (final RuntimeException e) {
+            buffers.release(buffer);
+            throw e;
+        }
 
         // We read some bytes into the buffer, so reset the position and limit accordingly to
         // prepare for reading the data
         buffer.flip();
         return buffer;
     }
+
+    /**
+     * Returns a buffer returned by {@link #parse(InputStream)} to the pool, once the call it was parsed for has been
+     * handled. The buffer must not be used afterward.
+     *
+     * @param buffer the request buffer to return
+     */
+    void release(@NonNull final BufferedData buffer) {
+        buffers.release(buffer);
+    }
+
+    /**
+     * Returns the number of request buffers, which are currently not used by any call.
+     *
+     * @return the number of pooled request buffers
+     */
+    int pooledBuffers() {
+        return buffers.pooledBuffers();
+    }
 }
@@ -0,0 +1,148 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hiero.consensus.metrics.FunctionGauge;
+
+/**
+ * Runs the calls of a single gRPC service on an executor shared by all services, rather than on the Netty event loop
+ * thread, which received the call. At most {@code maxConcurrentCalls} calls of the service run at the same time.
+ * Further calls wait in a queue of up to {@code maxQueuedCalls} calls, and calls beyond that are rejected, so a burst
+ * of slow calls to one service can neither stall the event loops nor take all handler threads from other services.
+ *
+ * <p>The number of queued calls is reported by the {@code <service>:callsQueued} gauge, and the number of rejected
+ * calls by the {@code <service>:callsRejected} counter.
+ */
+/*@ThreadSafe*/
+final class GrpcCallDispatcher {
+    /** The executor to run calls on. */
+    private final Executor executor;
+
+    /** The maximum number of calls, which run at the same time. */
+    private final int maxConcurrentCalls;
+
+    /** The maximum number of calls, which wait to be run. */
+    private final int maxQueuedCalls;
+
+    /** Calls waiting to be run. */
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    /** The number of calls in {@link #queue}. */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /** The number of calls submitted to the executor, which haven't completed yet. */
+    private final AtomicInteger running = new AtomicInteger();
+
+    /** A metric for the number of rejected calls. */
+    private final Counter callsRejectedCounter;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param serviceName the name of the service, used for metric names
+     * @param executor the executor to run calls on
+     * @param maxConcurrentCalls the maximum number of calls, which run at the same time. Must be positive
+     * @param maxQueuedCalls the maximum number of calls, which wait to be run. Must be non-negative
+     * @param metrics used to create the queue metrics of the service
+     */
+    GrpcCallDispatcher(
+            @NonNull final String serviceName,
+            @NonNull final Executor executor,
+            final int maxConcurrentCalls,
+            final int maxQueuedCalls,
+            @NonNull final Metrics metrics) {
+        requireNonNull(serviceName);
+        requireNonNull(metrics);
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+        if (maxQueuedCalls < 0) {
+            throw new IllegalArgumentException("maxQueuedCalls must be non-negative");
+        }
+        this.executor = requireNonNull(executor);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueuedCalls = maxQueuedCalls;
+
+        final var baseName = serviceName.startsWith("proto.") ? serviceName.substring("proto.".length()) : serviceName;
+        metrics.getOrCreate(new FunctionGauge.Config<>("app", baseName + ":callsQueued", Integer.class, queued::get)
+                .withDescription("number of " + baseName + " calls waiting for a handler thread"));
+        callsRejectedCounter = metrics.getOrCreate(new Counter.Config("app", baseName + ":callsRejected")
+                .withDescription("number of " + baseName + " calls rejected, because too many calls were queued"));
+    }
+
+    /**
+     * Runs the given call on the executor as soon as fewer than {@code maxConcurrentCalls} calls of this service are
+     * running. If there are already {@code maxQueuedCalls} calls waiting, the call is rejected instead.
+     *
+     * @param call the call to run
+     * @return true if the call was accepted, false if it was rejected
+     */
+    boolean dispatch(@NonNull final Runnable call) {
+        requireNonNull(call);
+        if (queued.incrementAndGet() > maxQueuedCalls && running.get() >= maxConcurrentCalls) {
+            queued.decrementAndGet();
+            callsRejectedCounter.increment();
+            return false;
+        }
+        queue.add(call);
+        drain();
+        return true;
+    }
+
+    /**
+     * Returns the number of calls waiting to be run.
+     *
+     * @return the number of queued calls
+     */
+    int queuedCalls() {
+        return queued.get();
+    }
+
+    /**
+     * Submits queued calls to the executor, until the queue is empty or the maximum number of calls are running.
+     * Called whenever a call is queued or completes, so no queued call is ever left behind.
+     */
+    private void drain() {
+        while (true) {
+            final int current = running.get();
+            if (current >= maxConcurrentCalls) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final Runnable call = queue.poll();
+            if (call == null) {
+                running.decrementAndGet();
+                // A call may have been queued after the poll, by a thread, which saw no free slot
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        call.run();
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                running.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+}
@@ -14,9 +14,11 @@ import com.hedera.node.app.workflows.query.QueryWorkflow;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.HederaConfig;
 import com.hedera.node.config.data.JumboTransactionsConfig;
+import com.hedera.node.config.data.NettyConfig;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.MethodDescriptor.MethodType;
@@ -30,6 +32,7 @@ import io.grpc.stub.StreamObserver;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,6 +49,11 @@ import org.apache.logging.log4j.Logger;
  * {@link QueryWorkflow}, so they can do the protobuf parsing. We do this to segregate the code.
  * This class is <strong>only</strong> responsible for the gRPC call, the workflows are responsible
  * for working with protobuf.
+ *
+ * <p>By default, calls are handled on the Netty event loop thread, which received them. If a {@link
+ * #callExecutor(Executor) call executor} is set, the event loop thread only reads the request, and the call is then
+ * handled on the executor, with the number of concurrent and queued calls of the service limited by
+ * {@link NettyConfig}.
  */
 /*@NotThreadSafe*/
 final class GrpcServiceBuilder {
@@ -94,6 +102,12 @@ final class GrpcServiceBuilder {
      */
     private final Set<String> queryMethodNames = new HashSet<>();
 
+    /**
+     * The executor to handle calls on, or {@code null} to handle calls on the Netty event loop threads.
+     */
+    @Nullable
+    private Executor callExecutor;
+
     /**
      * Creates a new builder. Typically only a single builder instance is created per service.
      *
@@ -157,6 +171,19 @@ final class GrpcServiceBuilder {
         return this;
     }
 
+    /**
+     * Sets the executor to handle the calls of this service on, instead of the Netty event loop threads. The executor
+     * may be shared by several services.
+     *
+     * @param executor The executor to handle calls on. Cannot be null.
+     * @return A reference to the builder.
+     * @throws NullPointerException if the executor is null
+     */
+    public @NonNull GrpcServiceBuilder callExecutor(@NonNull final Executor executor) {
+        this.callExecutor = requireNonNull(executor);
+        return this;
+    }
+
     /**
      * Build a grpc {@link ServerServiceDefinition} for each transaction and query method registered with this builder.
      *
@@ -174,6 +201,19 @@ final class GrpcServiceBuilder {
                 .getConfigData(HederaConfig.class)
                 .transactionMaxBytes();
 
+        final GrpcCallDispatcher dispatcher;
+        if (callExecutor != null) {
+            final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
+            dispatcher = new GrpcCallDispatcher(
+                    serviceName,
+                    callExecutor,
+                    nettyConfig.maxConcurrentCallsPerService(),
+                    nettyConfig.maxQueuedCallsPerService(),
+                    metrics);
+        } else {
+            dispatcher = null;
+        }
+
         final var builder = ServerServiceDefinition.builder(serviceName);
         txMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC transaction method {}.{}", serviceName, methodName);
@@ -182,17 +222,17 @@ final class GrpcServiceBuilder {
             if (jumboTxnIsEnabled && jumboTxnConfig.grpcMethodNames().contains(methodName)) {
                 // add jumbo transaction methods
                 method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, jumboTxnMaxSize);
-                addMethod(builder, serviceName, methodName, method, jumboMarshaller);
+                addMethod(builder, serviceName, methodName, method, jumboMarshaller, dispatcher);
             } else {
                 // add regular transaction methods
                 method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, MAX_TRANSACTION_SIZE);
-                addMethod(builder, serviceName, methodName, method, marshaller);
+                addMethod(builder, serviceName, methodName, method, marshaller, dispatcher);
             }
         });
         queryMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC query method {}.{}", serviceName, methodName);
             final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics, messageMaxSize);
-            addMethod(builder, serviceName, methodName, method, marshaller);
+            addMethod(builder, serviceName, methodName, method, marshaller, dispatcher);
         });
         return builder.build();
     }
@@ -203,7 +243,8 @@ final class GrpcServiceBuilder {
             @NonNull final String serviceName,
             @NonNull final String methodName,
             @NonNull final MethodBase method,
-            @NonNull final DataBufferMarshaller marshallerToUse) {
+            @NonNull final DataBufferMarshaller marshallerToUse,
+            @Nullable final GrpcCallDispatcher dispatcher) {
 
         requireNonNull(builder);
         requireNonNull(serviceName);
@@ -218,7 +259,9 @@ final class GrpcServiceBuilder {
                 .build();
 
         builder.addMethod(
-                ServerMethodDefinition.create(methodDescriptor, (call, ignored) -> new ListenerImpl(call, method)));
+                ServerMethodDefinition.create(
+                        methodDescriptor,
+                        (call, ignored) -> new ListenerImpl(call, method, marshallerToUse, dispatcher)));
     }
 
     /**
@@ -231,17 +274,32 @@ final class GrpcServiceBuilder {
      * <p>When a message is sent, we forward it to the {@link MethodBase}. The {@link MethodBase} communicates back by
      * means of the {@link StreamObserver} interface. There are three cases to handle: a response is ready, an error
      * occurred, the response is complete.
+     *
+     * <p>If there is a {@link GrpcCallDispatcher}, the {@link MethodBase} is invoked by the dispatcher, on a thread
+     * other than the event loop thread, which received the message.
+     *
+     * <p>The request buffer belongs to the call, until the {@link MethodBase} has handled it. Then it is returned to
+     * the {@link DataBufferMarshaller}, which parsed it.
      */
     private static final class ListenerImpl extends Listener<BufferedData> implements StreamObserver<BufferedData> {
         private final ServerCall<BufferedData, BufferedData> call;
         private final MethodBase method;
+        private final DataBufferMarshaller marshaller;
+
+        @Nullable
+        private final GrpcCallDispatcher dispatcher;
 
         private ListenerImpl(
-                @NonNull final ServerCall<BufferedData, BufferedData> call, @NonNull final MethodBase method) {
+                @NonNull final ServerCall<BufferedData, BufferedData> call,
+                @NonNull final MethodBase method,
+                @NonNull final DataBufferMarshaller marshaller,
+                @Nullable final GrpcCallDispatcher dispatcher) {
             requireNonNull(call);
             requireNonNull(method);
             this.call = call;
             this.method = method;
+            this.marshaller = requireNonNull(marshaller);
+            this.dispatcher = dispatcher;
         }
 
         // ================================================================================================================
@@ -264,7 +322,24 @@ final class GrpcServiceBuilder {
 
         @Override
         public void onMessage(BufferedData requestBuffer) {
-            method.invoke(requestBuffer, this);
+            if (dispatcher == null) {
+                invokeAndRelease(requestBuffer);
+                return;
+            }
+            // The request buffer is not reused by the next message parsed on this event loop thread, so the call
+            // can be handled on another thread without copying the request
+            if (!dispatcher.dispatch(() -> invokeAndRelease(requestBuffer))) {
+                marshaller.release(requestBuffer);
+                call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many queued calls"), new Metadata());
+            }
+        }
+
+        private void invokeAndRelease(@NonNull final BufferedData requestBuffer) {
+            try {
+                method.invoke(requestBuffer, this);
+            } finally {
+                marshaller.release(requestBuffer);
+            }
         }
 
         // ================================================================================================================
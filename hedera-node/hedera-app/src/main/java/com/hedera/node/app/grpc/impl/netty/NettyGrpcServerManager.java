@@ -40,6 +40,8 @@ import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -147,24 +149,52 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
 
         // Convert the various RPC service definitions into transaction or query endpoints using the
         // GrpcServiceBuilder.
-        services =
-                buildServiceDefinitions(rpcServiceDefinitions, m -> true, ingestWorkflow, userQueryWorkflow, metrics);
+        final var callExecutor = callExecutorFor(configProvider.getConfiguration().getConfigData(NettyConfig.class));
+        services = buildServiceDefinitions(
+                rpcServiceDefinitions, m -> true, ingestWorkflow, userQueryWorkflow, metrics, callExecutor);
 
         final var grpcConfig = configProvider.getConfiguration().getConfigData(GrpcConfig.class);
         if (grpcConfig.nodeOperatorPortEnabled()) {
             // Convert the various RPC service definitions into query endpoints permitting unpaid queries for node
-            // operators
+            // operators. These are only reachable from localhost, so they are always handled on the event loop.
             nodeOperatorServices = buildServiceDefinitions(
                     rpcServiceDefinitions,
                     m -> Query.class.equals(m.requestType()),
                     ingestWorkflow,
                     operatorQueryWorkflow,
-                    metrics);
+                    metrics,
+                    null);
         }
 
         usageTracker = new GrpcUsageTracker(configProvider);
     }
 
+    /**
+     * Creates the executor to handle gRPC calls on, as configured by {@link NettyConfig#executorMode()}. The executor
+     * is shared by all services, and its threads are daemon threads, so it is never shut down.
+     *
+     * @param config the Netty configuration
+     * @return the executor, or {@code null} if calls are handled on the Netty event loop threads
+     */
+    @Nullable
+    static Executor callExecutorFor(@NonNull final NettyConfig config) {
+        return switch (config.executorMode()) {
+            case EVENT_LOOP -> null;
+            case PLATFORM_POOL -> {
+                final int configuredThreads = config.executorThreads();
+                final int threads =
+                        configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+                logger.info("Handling gRPC calls on a pool of {} threads", threads);
+                yield Executors.newFixedThreadPool(
+                        threads, Thread.ofPlatform().name("grpc-handler-", 0).daemon(true).factory());
+            }
+            case VIRTUAL_THREADS -> {
+                logger.info("Handling gRPC calls on virtual threads");
+                yield Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-handler-", 0).factory());
+            }
+        };
+    }
+
     @Override
     public int port() {
         return plainServer == null || plainServer.isTerminated() ? -1 : plainServer.getPort();
@@ -427,7 +457,8 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
             @NonNull final Predicate<RpcMethodDefinition> methodFilter,
             @NonNull final IngestWorkflow ingestWorkflow,
             @NonNull final QueryWorkflow queryWorkflow,
-            @NonNull final Metrics metrics) {
+            @NonNull final Metrics metrics,
+            @Nullable final Executor callExecutor) {
 
         final int maxTxnSize = configProvider
                 .getConfiguration()
@@ -455,6 +486,9 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                     // create builder
                     final var builder = new GrpcServiceBuilder(
                             d.basePath(), ingestWorkflow, queryWorkflow, dataBufferMarshaller, jumboBufferMarshaller);
+                    if (callExecutor != null) {
+                        builder.callExecutor(callExecutor);
+                    }
                     // add methods to builder
                     d.methods().stream().filter(methodFilter).forEach(m -> {
                         if (Transaction.class.equals(m.requestType())) {
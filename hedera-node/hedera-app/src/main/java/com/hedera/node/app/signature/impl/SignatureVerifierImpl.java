@@ -13,9 +13,13 @@ import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureVerificationFuture;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.inject.Inject;
@@ -35,15 +39,39 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
     /** The {@link Cryptography} engine to use for signature verification. */
     private final Cryptography cryptoEngine;
 
-    /** Create a new instance with new {@link Cryptography} engine. */
-    @Inject
+    /**
+     * Whether all signatures of a single call are sent to the {@link Cryptography} engine as one batch, or one by
+     * one. Signatures are verified individually either way, but a batch lets the engine convert a message shared by
+     * several signatures only once. See
+     * {@link HederaConfig#workflowBatchSignatureVerification()}.
+     */
+    private final boolean batchVerification;
+
+    /** Create a new instance with new {@link Cryptography} engine, which verifies signatures in batches. */
     public SignatureVerifierImpl() {
         this(CryptographyProvider.getInstance());
     }
 
+    /** Create a new instance with new {@link Cryptography} engine and the verification mode from the config. */
+    @Inject
+    public SignatureVerifierImpl(@NonNull final ConfigProvider configProvider) {
+        this(configProvider.getConfiguration().getConfigData(HederaConfig.class));
+    }
+
+    /** Create a new instance with new {@link Cryptography} engine and the verification mode from the config. */
+    public SignatureVerifierImpl(@NonNull final HederaConfig hederaConfig) {
+        this(CryptographyProvider.getInstance(), hederaConfig.workflowBatchSignatureVerification());
+    }
+
     /** Create a new instance with the given {@link Cryptography} engine. */
     SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine) {
+        this(cryptoEngine, true);
+    }
+
+    /** Create a new instance with the given {@link Cryptography} engine and verification mode. */
+    SignatureVerifierImpl(@NonNull final Cryptography cryptoEngine, final boolean batchVerification) {
         this.cryptoEngine = requireNonNull(cryptoEngine);
+        this.batchVerification = batchVerification;
     }
 
     @NonNull
@@ -62,27 +90,37 @@ public final class SignatureVerifierImpl implements SignatureVerifier {
 
         // Gather each TransactionSignature to send to the platform and the resulting SignatureVerificationFutures
         final var futures = HashMap.<Key, SignatureVerificationFuture>newHashMap(sigs.size());
+        final List<TransactionSignature> txSigs = batchVerification ? new ArrayList<>(sigs.size()) : null;
+        // All ECDSA signatures are checked against the same message, which is computed only once
+        Bytes ecdsaMessage = null;
         for (ExpandedSignaturePair sigPair : sigs) {
             final TransactionSignature txSig;
             final var kind = sigPair.sigPair().signature().kind();
             if (kind == ECDSA_SECP256K1) {
-                Bytes message = signedBytes;
-                if (messageType == RAW) {
-                    message = MiscCryptoUtils.keccak256DigestOf(message);
+                if (ecdsaMessage == null) {
+                    ecdsaMessage = messageType == RAW ? MiscCryptoUtils.keccak256DigestOf(signedBytes) : signedBytes;
                 }
                 txSig = new TransactionSignature(
-                        message, sigPair.keyBytes(), sigPair.signature(), SignatureType.ECDSA_SECP256K1);
+                        ecdsaMessage, sigPair.keyBytes(), sigPair.signature(), SignatureType.ECDSA_SECP256K1);
             } else if (kind == ED25519) {
                 txSig = new TransactionSignature(
                         signedBytes, sigPair.keyBytes(), sigPair.signature(), SignatureType.ED25519);
             } else {
                 throw new IllegalArgumentException("Unsupported signature type: " + kind);
             }
-            cryptoEngine.verifySync(txSig);
+            if (batchVerification) {
+                txSigs.add(txSig);
+            } else {
+                cryptoEngine.verifySync(txSig);
+            }
             final SignatureVerificationFuture future =
                     new SignatureVerificationFutureImpl(sigPair.key(), sigPair.evmAlias(), txSig);
             futures.put(sigPair.key(), future);
         }
+        // Futures only read signature statuses when completed, so they can be created before the batch is verified
+        if (batchVerification && !txSigs.isEmpty()) {
+            cryptoEngine.verifySync(txSigs);
+        }
 
         return futures;
     }
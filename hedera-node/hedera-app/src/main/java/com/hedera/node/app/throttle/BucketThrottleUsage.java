@@ -14,6 +14,8 @@ public record BucketThrottleUsage(LeakyBucketDeterministicThrottle throttle, lon
      */
     @Override
     public void reclaimCapacity() {
-        throttle.leakUnusedGasPreviouslyReserved(amount);
+        synchronized (throttle) {
+            throttle.leakUnusedGasPreviouslyReserved(amount);
+        }
     }
 }
@@ -14,6 +14,8 @@ public record DeterministicThrottleUsage(DeterministicThrottle throttle, int n)
      */
     @Override
     public void reclaimCapacity() {
-        throttle.leakInstantaneous(n);
+        synchronized (throttle) {
+            throttle.leakInstantaneous(n);
+        }
     }
 }
@@ -14,6 +14,7 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.time.InstantSource;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -21,6 +22,9 @@ import javax.inject.Singleton;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in multithreaded context. This is thread-safe ingest wrapper.
+ *
+ * <p>This wrapper doesn't serialize throttle checks. The frontend throttle locks each of its buckets separately,
+ * so ingest threads only wait for each other if they need capacity in the same bucket at the same time.
  */
 @Singleton
 public class SynchronizedThrottleAccumulator {
@@ -28,8 +32,7 @@ public class SynchronizedThrottleAccumulator {
     private final InstantSource instantSource;
     private final ThrottleAccumulator frontendThrottle;
 
-    @NonNull
-    private Instant lastDecisionTime = Instant.EPOCH;
+    private final AtomicReference<Instant> lastDecisionTime = new AtomicReference<>(Instant.EPOCH);
 
     @Inject
     public SynchronizedThrottleAccumulator(
@@ -48,15 +51,15 @@ public class SynchronizedThrottleAccumulator {
      * @param throttleUsages a list to accumulate throttle usages during the decision
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final TransactionInfo txnInfo,
             @NonNull final State state,
             @NonNull final List<ThrottleUsage> throttleUsages) {
         requireNonNull(txnInfo);
         requireNonNull(state);
         requireNonNull(throttleUsages);
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(txnInfo, lastDecisionTime, state, throttleUsages, false);
+        final var now = nextDecisionTime(instantSource.instant());
+        return frontendThrottle.checkAndEnforceThrottle(txnInfo, now, state, throttleUsages, false);
     }
 
     /**
@@ -69,19 +72,19 @@ public class SynchronizedThrottleAccumulator {
      * @param queryPayerId the payer id of the query
      * @return whether the query should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final HederaFunctionality queryFunction,
             @NonNull final Query query,
             @NonNull final State state,
             @Nullable AccountID queryPayerId) {
         requireNonNull(query);
         requireNonNull(queryFunction);
-        setDecisionTime(instantSource.instant());
-        return frontendThrottle.checkAndEnforceThrottle(queryFunction, lastDecisionTime, query, state, queryPayerId);
+        final var now = nextDecisionTime(instantSource.instant());
+        return frontendThrottle.checkAndEnforceThrottle(queryFunction, now, query, state, queryPayerId);
     }
 
-    private void setDecisionTime(@NonNull final Instant time) {
-        lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
+    private Instant nextDecisionTime(@NonNull final Instant time) {
+        return lastDecisionTime.accumulateAndGet(time, (last, next) -> next.isBefore(last) ? last : next);
     }
 
     /**
@@ -94,7 +97,7 @@ public class SynchronizedThrottleAccumulator {
      * @return the utilization percentage in hundredths of one percent (0 to 10,000),
      *         or 0 if no high-volume throttle exists for the functionality
      */
-    public synchronized int getHighVolumeThrottleUtilization(@NonNull final HederaFunctionality function) {
+    public int getHighVolumeThrottleUtilization(@NonNull final HederaFunctionality function) {
         requireNonNull(function);
         return frontendThrottle.getHighVolumeThrottleInstantaneousUtilizationBps(function, instantSource.instant());
     }
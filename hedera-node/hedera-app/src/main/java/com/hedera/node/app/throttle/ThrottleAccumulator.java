@@ -96,6 +96,11 @@ import org.apache.logging.log4j.Logger;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in single-threaded context only as part of the {@link com.hedera.node.app.workflows.handle.HandleWorkflow}.
+ *
+ * <p>The only exception is a {@link ThrottleType#FRONTEND_THROTTLE}, which is shared by all ingest threads. Each of
+ * its throttle buckets is then only accessed while holding the bucket's own lock, so transactions and queries, which
+ * don't use the same buckets, are checked in parallel. Capacity claimed by a check that doesn't pass is rolled back
+ * using {@link ThrottleUsage}s.
  */
 public class ThrottleAccumulator {
     private static final Logger log = LogManager.getLogger(ThrottleAccumulator.class);
@@ -108,7 +113,11 @@ public class ThrottleAccumulator {
     private EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs = new EnumMap<>(HederaFunctionality.class);
     private EnumMap<HederaFunctionality, ThrottleReqsManager> highVolumeFunctionReqs =
             new EnumMap<>(HederaFunctionality.class);
-    private boolean lastTxnWasGasThrottled;
+    /**
+     * Whether the last checked transaction was throttled by gas. Frontend throttles check transactions on several
+     * threads at once, so this field is volatile. For them, it reflects the last check completed by any thread.
+     */
+    private volatile boolean lastTxnWasGasThrottled;
     private LeakyBucketDeterministicThrottle bytesThrottle;
     private LeakyBucketDeterministicThrottle gasThrottle;
     private OpsDurationDeterministicThrottle contractOpsDurationThrottle;
@@ -197,19 +206,28 @@ public class ThrottleAccumulator {
         if (throttleType == NOOP_THROTTLE) {
             return false;
         }
-        final int initialThrottleUsagesSize = throttleUsages == null ? 0 : throttleUsages.size();
-        resetLastAllowedUse();
+        final boolean shared = throttleType == FRONTEND_THROTTLE;
+        // Shared throttles can only roll back the capacity claimed by this check using throttle usages
+        final List<ThrottleUsage> usages = (shared && throttleUsages == null) ? new ArrayList<>() : throttleUsages;
+        final int initialThrottleUsagesSize = usages == null ? 0 : usages.size();
+        if (!shared) {
+            resetLastAllowedUse();
+        }
         lastTxnWasGasThrottled = false;
 
-        if (shouldThrottleTxn(txnInfo, now, state, throttleUsages, gasThrottleAlwaysEnabled)) {
-            reclaimLastAllowedUse();
-            if (throttleUsages != null) {
+        if (shouldThrottleTxn(txnInfo, now, state, usages, gasThrottleAlwaysEnabled)) {
+            if (!shared) {
+                reclaimLastAllowedUse();
+            }
+            if (usages != null) {
                 // Remove only the usages added during this check to avoid discarding prior usage records
-                final int currentSize = throttleUsages.size();
+                final int currentSize = usages.size();
                 if (currentSize > initialThrottleUsagesSize) {
-                    throttleUsages
-                            .subList(initialThrottleUsagesSize, currentSize)
-                            .clear();
+                    final var addedUsages = usages.subList(initialThrottleUsagesSize, currentSize);
+                    if (shared) {
+                        addedUsages.forEach(ThrottleUsage::reclaimCapacity);
+                    }
+                    addedUsages.clear();
                 }
             }
             return true;
@@ -271,16 +289,21 @@ public class ThrottleAccumulator {
                     configuration.getConfigData(ContractsConfig.class).throttleThrottleByGas();
 
             return enforceGasThrottle
-                    && !gasThrottle.allow(
+                    && !allow(
+                            gasThrottle,
                             now,
                             query.contractCallLocalOrElse(ContractCallLocalQuery.DEFAULT)
                                     .gas());
         }
-        resetLastAllowedUse();
+        final boolean shared = throttleType == FRONTEND_THROTTLE;
+        if (!shared) {
+            resetLastAllowedUse();
+        }
         final var manager = functionReqs.get(queryFunction);
         if (manager == null) {
             return true;
         }
+        final List<ThrottleUsage> usages = shared ? new ArrayList<>() : null;
 
         final boolean allReqMet;
         if (queryFunction == CRYPTO_GET_ACCOUNT_BALANCE
@@ -289,13 +312,17 @@ public class ThrottleAccumulator {
             final var tokenConfig = configuration.getConfigData(TokensConfig.class);
             final int associationCount =
                     Math.clamp(getAssociationCount(query, accountStore), 1, tokenConfig.maxRelsPerInfoQuery());
-            allReqMet = manager.allReqsMetAt(now, associationCount, ONE_TO_ONE, null);
+            allReqMet = manager.allReqsMetAt(now, associationCount, ONE_TO_ONE, usages);
         } else {
-            allReqMet = manager.allReqsMetAt(now, null);
+            allReqMet = manager.allReqsMetAt(now, usages);
         }
 
         if (!allReqMet) {
-            reclaimLastAllowedUse();
+            if (shared) {
+                usages.forEach(ThrottleUsage::reclaimCapacity);
+            } else {
+                reclaimLastAllowedUse();
+            }
             return true;
         }
         return false;
@@ -375,7 +402,9 @@ public class ThrottleAccumulator {
             return;
         }
 
-        gasThrottle.leakUnusedGasPreviouslyReserved(value);
+        synchronized (gasThrottle) {
+            gasThrottle.leakUnusedGasPreviouslyReserved(value);
+        }
     }
 
     /**
@@ -830,17 +859,58 @@ public class ThrottleAccumulator {
             @Nullable final List<ThrottleUsage> throttleUsages) {
         if (isGasThrottled(txnInfo.functionality())) {
             final long amount = getGasLimitForContractTx(txnInfo.txBody(), txnInfo.functionality());
-            final boolean answer = !gasThrottle.allow(now, amount);
+            final boolean answer = !allow(gasThrottle, now, amount);
             if (!answer && throttleUsages != null) {
                 throttleUsages.add(new BucketThrottleUsage(gasThrottle, amount));
             }
             return answer;
         } else {
-            gasThrottle.leakUntil(now);
+            if (throttleType == FRONTEND_THROTTLE) {
+                synchronized (gasThrottle) {
+                    gasThrottle.leakUntil(notBefore(gasThrottle.lastDecisionTime(), now));
+                }
+            } else {
+                gasThrottle.leakUntil(now);
+            }
             return false;
         }
     }
 
+    /**
+     * Claims the given amount of capacity in a leaky bucket throttle. Frontend throttles are shared by all
+     * ingest threads, so the throttle is then only accessed while holding its lock, and the capacity claimed
+     * by a check that doesn't pass is rolled back with throttle usages rather than with the last allowed use.
+     *
+     * @param throttle the throttle to claim capacity in
+     * @param now the time of the decision
+     * @param amount the amount of capacity to claim
+     * @return whether the capacity was claimed
+     */
+    private boolean allow(
+            @NonNull final LeakyBucketDeterministicThrottle throttle, @NonNull final Instant now, final long amount) {
+        if (throttleType != FRONTEND_THROTTLE) {
+            return throttle.allow(now, amount);
+        }
+        synchronized (throttle) {
+            final boolean allowed = throttle.allow(notBefore(throttle.lastDecisionTime(), now), amount);
+            throttle.resetLastAllowedUse();
+            return allowed;
+        }
+    }
+
+    /**
+     * Returns the time to make a decision in a shared throttle at. Threads may read the clock in one order, but
+     * reach the throttle in another, so a time before the throttle's last decision time is replaced with the
+     * last decision time. Must be called while holding the throttle's lock.
+     *
+     * @param lastDecisionTime the last decision time of the throttle, if any
+     * @param now the time read by the current thread
+     * @return the time to make the decision at
+     */
+    static Instant notBefore(@Nullable final Instant lastDecisionTime, @NonNull final Instant now) {
+        return (lastDecisionTime != null && now.isBefore(lastDecisionTime)) ? lastDecisionTime : now;
+    }
+
     private boolean shouldThrottleMint(
             @NonNull final ThrottleReqsManager manager,
             @NonNull final TokenMintTransactionBody op,
@@ -1065,9 +1135,9 @@ public class ThrottleAccumulator {
     private boolean shouldThrottleBasedExcessBytes(
             final long bytesUsed, @NonNull final Instant now, @Nullable final List<ThrottleUsage> throttleUsages) {
         // If the bucket doesn't allow the txn enforce the throttle
-        final boolean shouldThrottle = bytesThrottle != null && !bytesThrottle.allow(now, bytesUsed);
-        // If the bucket allows the txn, record the usage
-        if (!shouldThrottle && throttleUsages != null) {
+        final boolean shouldThrottle = bytesThrottle != null && !allow(bytesThrottle, now, bytesUsed);
+        // If the bucket allows the txn, record the usage. Without a bucket, no capacity was claimed
+        if (!shouldThrottle && bytesThrottle != null && throttleUsages != null) {
             throttleUsages.add(new BucketThrottleUsage(bytesThrottle, bytesUsed));
         }
         return shouldThrottle;
@@ -1159,8 +1229,16 @@ public class ThrottleAccumulator {
         for (final var throttle : manager.managedThrottles()) {
             // Leak the throttle to account for time-based capacity restoration, but ignore any recorded
             // usage since we're only interested in the instantaneous utilization
-            throttle.leakUntil(consensusTime);
-            final int utilization = throttle.instantaneousBps();
+            final int utilization;
+            if (throttleType == FRONTEND_THROTTLE) {
+                synchronized (throttle) {
+                    throttle.leakUntil(notBefore(throttle.lastDecisionTime(), consensusTime));
+                    utilization = throttle.instantaneousBps();
+                }
+            } else {
+                throttle.leakUntil(consensusTime);
+                utilization = throttle.instantaneousBps();
+            }
             maxUtilizationBps = Math.max(maxUtilizationBps, utilization);
         }
 
@@ -1210,12 +1288,14 @@ public class ThrottleAccumulator {
             }
         }
         EnumMap<HederaFunctionality, ThrottleReqsManager> newFunctionReqs = new EnumMap<>(HederaFunctionality.class);
-        reqLists.forEach((function, reqs) -> newFunctionReqs.put(function, new ThrottleReqsManager(reqs)));
+        // Frontend throttles are shared by all ingest threads
+        final boolean shared = throttleType == FRONTEND_THROTTLE;
+        reqLists.forEach((function, reqs) -> newFunctionReqs.put(function, new ThrottleReqsManager(reqs, shared)));
 
         EnumMap<HederaFunctionality, ThrottleReqsManager> newHighVolumeFunctionReqs =
                 new EnumMap<>(HederaFunctionality.class);
         highVolumeReqLists.forEach(
-                (function, reqs) -> newHighVolumeFunctionReqs.put(function, new ThrottleReqsManager(reqs)));
+                (function, reqs) -> newHighVolumeFunctionReqs.put(function, new ThrottleReqsManager(reqs, shared)));
 
         functionReqs = newFunctionReqs;
         highVolumeFunctionReqs = newHighVolumeFunctionReqs;
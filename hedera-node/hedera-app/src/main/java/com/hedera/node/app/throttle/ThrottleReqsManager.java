@@ -13,14 +13,29 @@ import org.apache.commons.lang3.tuple.Pair;
 /**
  * Manages a set of throttles and their requirements.
  * This enforces all required buckets per function must pass.
+ *
+ * <p>A manager of shared throttles may be used by several threads at once. Every throttle is then only accessed
+ * while holding its own lock, so threads checking requirements of functions with different buckets never wait for
+ * each other. Since the claimed capacity of a shared throttle can't be tracked per thread, callers must collect
+ * {@link ThrottleUsage}s to roll back the capacity claimed by a check that didn't pass.
  */
 public class ThrottleReqsManager {
-    private final boolean[] passedReq;
     private final List<Pair<DeterministicThrottle, Integer>> allReqs;
+    private final boolean shared;
 
     public ThrottleReqsManager(List<Pair<DeterministicThrottle, Integer>> allReqs) {
+        this(allReqs, false);
+    }
+
+    /**
+     * Creates a new manager.
+     *
+     * @param allReqs the throttles and the number of operations each of them requires
+     * @param shared whether the throttles are shared by several threads
+     */
+    public ThrottleReqsManager(List<Pair<DeterministicThrottle, Integer>> allReqs, final boolean shared) {
         this.allReqs = allReqs;
-        passedReq = new boolean[allReqs.size()];
+        this.shared = shared;
     }
 
     public boolean allReqsMetAt(Instant now, @Nullable final List<ThrottleUsage> throttleUsages) {
@@ -50,11 +65,13 @@ public class ThrottleReqsManager {
      * @param nTransactions the number of transactions to undo
      */
     public void undoClaimedReqsFor(int nTransactions) {
-        for (int i = 0; i < passedReq.length; i++) {
+        for (int i = 0, n = allReqs.size(); i < n; i++) {
             final var req = allReqs.get(i);
             final var opsRequired = req.getRight();
             final var bucket = req.getLeft();
-            bucket.leakCapacity(nTransactions * opsRequired * BucketThrottle.capacityUnitsPerTxn());
+            synchronized (bucket) {
+                bucket.leakCapacity(nTransactions * opsRequired * BucketThrottle.capacityUnitsPerTxn());
+            }
         }
     }
 
@@ -64,22 +81,34 @@ public class ThrottleReqsManager {
             ScaleFactor scaleFactor,
             @Nullable final List<ThrottleUsage> throttleUsages) {
         var allPassed = true;
-        for (int i = 0; i < passedReq.length; i++) {
+        for (int i = 0, n = allReqs.size(); i < n; i++) {
             var req = allReqs.get(i);
             var opsRequired = req.getRight();
             if (scaleFactor != null) {
                 opsRequired = scaleFactor.scaling(nTransactions * opsRequired);
             }
-            passedReq[i] = req.getLeft().allow(opsRequired, now);
-            if (throttleUsages != null && passedReq[i]) {
-                throttleUsages.add(new DeterministicThrottleUsage(req.getLeft(), opsRequired));
+            final var throttle = req.getLeft();
+            final boolean passed =
+                    shared ? allowShared(throttle, opsRequired, now) : throttle.allow(opsRequired, now);
+            if (throttleUsages != null && passed) {
+                throttleUsages.add(new DeterministicThrottleUsage(throttle, opsRequired));
             }
-            allPassed &= passedReq[i];
+            allPassed &= passed;
         }
 
         return allPassed;
     }
 
+    private static boolean allowShared(final DeterministicThrottle throttle, final int opsRequired, final Instant now) {
+        synchronized (throttle) {
+            final boolean passed =
+                    throttle.allow(opsRequired, ThrottleAccumulator.notBefore(throttle.lastDecisionTime(), now));
+            // The capacity claimed by this thread is rolled back with throttle usages, not with the last allowed use
+            throttle.resetLastAllowedUse();
+            return passed;
+        }
+    }
+
     public List<DeterministicThrottle> managedThrottles() {
         return allReqs.stream().map(Pair::getLeft).toList();
     }
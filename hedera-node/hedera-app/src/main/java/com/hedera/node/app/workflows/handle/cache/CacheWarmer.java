@@ -15,6 +15,7 @@ import com.hedera.node.app.store.ReadableStoreFactoryImpl;
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionInfo;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
+import com.hedera.node.app.workflows.ingest.IngestResultCache;
 import com.hedera.node.app.workflows.prehandle.PreHandleResult;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.state.State;
@@ -39,15 +40,18 @@ public class CacheWarmer {
     private final TransactionChecker checker;
     private final TransactionDispatcher dispatcher;
     private final Executor executor;
+    private final IngestResultCache ingestResultCache;
 
     @Inject
     public CacheWarmer(
             @NonNull final TransactionChecker checker,
             @NonNull final TransactionDispatcher dispatcher,
-            @NonNull @Named("CacheWarmer") final Executor executor) {
+            @NonNull @Named("CacheWarmer") final Executor executor,
+            @NonNull final IngestResultCache ingestResultCache) {
         this.checker = requireNonNull(checker, "checker must not be null");
         this.dispatcher = requireNonNull(dispatcher, "dispatcher must not be null");
         this.executor = requireNonNull(executor, "executor must not be null");
+        this.ingestResultCache = requireNonNull(ingestResultCache, "ingestResultCache must not be null");
     }
 
     /**
@@ -85,11 +89,17 @@ public class CacheWarmer {
             return result.txInfo() == null ? null : result.txInfo().txBody();
         }
 
+        // If this node submitted the transaction, it was already parsed during ingest
+        final Bytes buffer = platformTransaction.getApplicationTransaction();
+        final var ingestResult = ingestResultCache.get(buffer);
+        if (ingestResult != null) {
+            return ingestResult.txInfo().txBody();
+        }
+
         // If not we parse it here using existing code. This is not ideal but should be rare.
         // We can potentially optimize this by limiting the code to the bare minimum needed
         // or keeping the result for later.
         try {
-            final Bytes buffer = platformTransaction.getApplicationTransaction();
             // There is no cache warming to do for oversize TSS transactions, so it's fine
             // to fail with TRANSACTION_OVERSIZE here in any case
             return checker.parseSignedAndCheck(buffer).txBody();
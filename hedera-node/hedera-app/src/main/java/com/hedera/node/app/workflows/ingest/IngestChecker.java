@@ -38,6 +38,7 @@ import static org.hiero.consensus.model.status.PlatformStatus.FREEZE_COMPLETE;
 import static org.hiero.consensus.model.status.PlatformStatus.FREEZING;
 
 import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.Key;
 import com.hedera.hapi.node.base.SignaturePair;
 import com.hedera.hapi.node.base.TokenTransferList;
 import com.hedera.hapi.node.base.Transaction;
@@ -53,6 +54,7 @@ import com.hedera.node.app.info.CurrentPlatformStatus;
 import com.hedera.node.app.signature.DefaultKeyVerifier;
 import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureExpander;
+import com.hedera.node.app.signature.SignatureVerificationFuture;
 import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.authorization.Authorizer;
 import com.hedera.node.app.spi.fees.FeeContext;
@@ -84,6 +86,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
@@ -138,6 +141,9 @@ public final class IngestChecker {
 
         private List<ThrottleUsage> throttleUsages = new ArrayList<>();
 
+        @Nullable
+        private Map<Key, SignatureVerificationFuture> verificationResults;
+
         public @NonNull TransactionInfo txnInfoOrThrow() {
             return requireNonNull(txnInfo);
         }
@@ -153,6 +159,14 @@ public final class IngestChecker {
         public void setThrottleUsages(@Nullable List<ThrottleUsage> throttleUsages) {
             this.throttleUsages = throttleUsages;
         }
+
+        public @Nullable Map<Key, SignatureVerificationFuture> verificationResults() {
+            return verificationResults;
+        }
+
+        public void setVerificationResults(@Nullable Map<Key, SignatureVerificationFuture> verificationResults) {
+            this.verificationResults = verificationResults;
+        }
     }
 
     /**
@@ -339,7 +353,10 @@ public final class IngestChecker {
         }
 
         // 6. Verify payer's signatures
-        verifyAccountSignature(txInfo, payer, configuration);
+        final var verificationResults = verifyAccountSignatureAndGetResults(txInfo, payer, configuration);
+        if (innerTransaction == NO) {
+            result.setVerificationResults(verificationResults);
+        }
 
         // 7. Check payer solvency
         final var numSigs = txInfo.signatureMap().sigPair().size();
@@ -548,6 +565,14 @@ public final class IngestChecker {
             @NonNull final Account account,
             @NonNull final Configuration configuration)
             throws PreCheckException {
+        verifyAccountSignatureAndGetResults(txInfo, account, configuration);
+    }
+
+    private Map<Key, SignatureVerificationFuture> verifyAccountSignatureAndGetResults(
+            @NonNull final TransactionInfo txInfo,
+            @NonNull final Account account,
+            @NonNull final Configuration configuration)
+            throws PreCheckException {
         final var payerKey = account.key();
         final var hederaConfig = configuration.getConfigData(HederaConfig.class);
         final var sigPairs = txInfo.signatureMap().sigPair();
@@ -582,5 +607,6 @@ public final class IngestChecker {
         if (keyVerification.failed()) {
             throw new PreCheckException(INVALID_SIGNATURE);
         }
+        return results;
     }
 }
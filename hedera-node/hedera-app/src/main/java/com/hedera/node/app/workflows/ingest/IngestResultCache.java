@@ -0,0 +1,153 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.ingest;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.Key;
+import com.hedera.node.app.signature.SignatureVerificationFuture;
+import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.CacheConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded cache of ingest results for transactions submitted to the platform by this node. When such a transaction
+ * comes back in an event, the pre-handle workflow and the cache warmer can reuse the parsed {@link TransactionInfo}
+ * and the verified payer signatures, rather than parsing the transaction and verifying the signatures all over again.
+ *
+ * <p>Entries are keyed by the serialized signed transaction bytes, which are exactly the bytes submitted to the
+ * platform. Transaction info is a pure function of these bytes. Signature verification results are too, as long as
+ * they were computed with the same node configuration, so every entry records the configuration version it was
+ * computed with, and entries computed with a different version are ignored.
+ *
+ * <p>This cache is <strong>NOT</strong> stored in state, and a miss is always fine. Transactions that never reach
+ * consensus are never looked up, so the cache is bounded by the {@code cache.ingestResults.maxEntries} property,
+ * and the oldest entries are evicted first. A max size of zero disables the cache.
+ */
+/*@ThreadSafe*/
+@Singleton
+public class IngestResultCache {
+
+    /**
+     * An ingest result.
+     *
+     * @param txInfo the transaction info parsed during ingest
+     * @param verificationResults the signature verification results computed during ingest
+     * @param configVersion the version of the configuration used during ingest
+     */
+    public record Entry(
+            @NonNull TransactionInfo txInfo,
+            @NonNull Map<Key, SignatureVerificationFuture> verificationResults,
+            long configVersion) {}
+
+    /** Used to check configuration versions of cached entries. */
+    private final ConfigProvider configProvider;
+
+    /** The maximum number of entries in the cache. */
+    private final int maxEntries;
+
+    /** Cached entries by serialized signed transaction bytes. */
+    private final Map<Bytes, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Cached entries in insertion order. May contain entries, which were already removed or replaced by a later
+     * {@link #put} for the same transaction bytes. Every entry in {@link #entries} is in this queue exactly once.
+     */
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /** The number of entries in {@link #insertionOrder}. */
+    private final AtomicInteger insertionOrderSize = new AtomicInteger();
+
+    /**
+     * Constructs a new {@link IngestResultCache}.
+     *
+     * @param configProvider the configuration provider
+     */
+    @Inject
+    public IngestResultCache(@NonNull final ConfigProvider configProvider) {
+        this.configProvider = requireNonNull(configProvider);
+        this.maxEntries =
+                configProvider.getConfiguration().getConfigData(CacheConfig.class).ingestResultsMaxEntries();
+    }
+
+    /**
+     * Adds an ingest result of a transaction submitted to the platform to the cache. If the cache is full, the
+     * oldest entry is evicted.
+     *
+     * @param txInfo the transaction info parsed during ingest, must have serialized signed transaction bytes
+     * @param verificationResults the signature verification results computed during ingest
+     * @param configVersion the version of the configuration used during ingest
+     */
+    public void put(
+            @NonNull final TransactionInfo txInfo,
+            @NonNull final Map<Key, SignatureVerificationFuture> verificationResults,
+            final long configVersion) {
+        requireNonNull(txInfo);
+        requireNonNull(verificationResults);
+        if (maxEntries <= 0) {
+            return;
+        }
+        final var entry = new Entry(txInfo, verificationResults, configVersion);
+        entries.put(txInfo.serializedSignedTxOrThrow(), entry);
+        insertionOrder.add(entry);
+        if (insertionOrderSize.incrementAndGet() > maxEntries) {
+            final Entry eldest = insertionOrder.poll();
+            if (eldest != null) {
+                insertionOrderSize.decrementAndGet();
+                // Only evict the very entry, which was enqueued. If the same transaction bytes were put again
+                // later, the map holds a newer entry, which has its own place in the queue
+                entries.computeIfPresent(
+                        eldest.txInfo().serializedSignedTxOrThrow(), (k, cached) -> cached == eldest ? null : cached);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the ingest result for the given transaction bytes, if it was computed with the current
+     * configuration version. This method is used by the pre-handle workflow, which only needs a result once.
+     *
+     * @param serializedSignedTx the serialized signed transaction bytes
+     * @return the ingest result, or {@code null} if there is no valid cached result
+     */
+    @Nullable
+    public Entry remove(@NonNull final Bytes serializedSignedTx) {
+        requireNonNull(serializedSignedTx);
+        if (maxEntries <= 0) {
+            return null;
+        }
+        return validOrNull(entries.remove(serializedSignedTx));
+    }
+
+    /**
+     * Returns the ingest result for the given transaction bytes without removing it, if it was computed with the
+     * current configuration version.
+     *
+     * @param serializedSignedTx the serialized signed transaction bytes
+     * @return the ingest result, or {@code null} if there is no valid cached result
+     */
+    @Nullable
+    public Entry get(@NonNull final Bytes serializedSignedTx) {
+        requireNonNull(serializedSignedTx);
+        if (maxEntries <= 0) {
+            return null;
+        }
+        return validOrNull(entries.get(serializedSignedTx));
+    }
+
+    @Nullable
+    private Entry validOrNull(@Nullable final Entry entry) {
+        if (entry == null || entry.configVersion() != configProvider.getConfiguration().getVersion()) {
+            return null;
+        }
+        return entry;
+    }
+}
@@ -36,6 +36,7 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
     private final IngestChecker ingestChecker;
     private final SubmissionManager submissionManager;
     private final TxPipelineTracker txPipelineTracker;
+    private final IngestResultCache ingestResultCache;
     private final ConfigProvider configProvider;
     private final boolean quiescenceEnabled;
 
@@ -44,6 +45,7 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
      * @param stateAccessor a {@link Supplier} that provides the latest immutable state
      * @param ingestChecker the {@link IngestChecker} with specific checks of an ingest-workflow
      * @param submissionManager the {@link SubmissionManager} to submit transactions to the platform
+     * @param ingestResultCache the {@link IngestResultCache} to keep ingest results of submitted transactions
      * @param configProvider the {@link ConfigProvider} to provide the configuration
      * @throws NullPointerException if one of the arguments is {@code null}
      */
@@ -53,11 +55,13 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
             @NonNull final IngestChecker ingestChecker,
             @NonNull final SubmissionManager submissionManager,
             @NonNull final TxPipelineTracker txPipelineTracker,
+            @NonNull final IngestResultCache ingestResultCache,
             @NonNull final ConfigProvider configProvider) {
         this.stateAccessor = requireNonNull(stateAccessor);
         this.ingestChecker = requireNonNull(ingestChecker);
         this.submissionManager = requireNonNull(submissionManager);
         this.txPipelineTracker = requireNonNull(txPipelineTracker);
+        this.ingestResultCache = requireNonNull(ingestResultCache);
         this.configProvider = requireNonNull(configProvider);
         this.quiescenceEnabled = configProvider
                 .getConfiguration()
@@ -92,6 +96,11 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
                 // 7. Submit to platform with priority=false vs network consensus and TSS txs
                 final var txInfo = checkerResult.txnInfoOrThrow();
                 submissionManager.submit(txInfo.txBody(), txInfo.serializedSignedTxOrThrow(), false);
+                // 7a. Keep the parse and signature results, so pre-handle can reuse them for this transaction
+                final var verificationResults = checkerResult.verificationResults();
+                if (verificationResults != null) {
+                    ingestResultCache.put(txInfo, verificationResults, configuration.getVersion());
+                }
                 if (quiescenceEnabled) {
                     txPipelineTracker.incrementInFlight();
                 }
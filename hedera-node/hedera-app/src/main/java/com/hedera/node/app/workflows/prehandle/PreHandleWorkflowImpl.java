@@ -35,6 +35,7 @@ import com.hedera.node.app.workflows.InnerTransaction;
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionInfo;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
+import com.hedera.node.app.workflows.ingest.IngestResultCache;
 import com.hedera.node.app.workflows.purechecks.PureChecksContextImpl;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.VersionedConfiguration;
@@ -43,6 +44,7 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -89,6 +91,11 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
      * Used for registering notice of transactionIDs seen by this node
      */
     private final DeduplicationCache deduplicationCache;
+    /**
+     * Parse and signature verification results of transactions submitted by this node, to reuse them when the
+     * transactions come back in events
+     */
+    private final IngestResultCache ingestResultCache;
 
     /**
      * Creates a new instance of {@code PreHandleWorkflowImpl}.
@@ -97,6 +104,7 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
      *                           transaction.
      * @param transactionChecker the {@link TransactionChecker} for parsing and verifying the transaction
      * @param signatureVerifier  the {@link SignatureVerifier} to verify signatures
+     * @param ingestResultCache  the {@link IngestResultCache} with results of transactions submitted by this node
      * @throws NullPointerException if any of the parameters is {@code null}
      */
     @Inject
@@ -106,13 +114,15 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             @NonNull final SignatureVerifier signatureVerifier,
             @NonNull final SignatureExpander signatureExpander,
             @NonNull final ConfigProvider configProvider,
-            @NonNull final DeduplicationCache deduplicationCache) {
+            @NonNull final DeduplicationCache deduplicationCache,
+            @NonNull final IngestResultCache ingestResultCache) {
         this.dispatcher = requireNonNull(dispatcher);
         this.transactionChecker = requireNonNull(transactionChecker);
         this.signatureVerifier = requireNonNull(signatureVerifier);
         this.signatureExpander = requireNonNull(signatureExpander);
         this.configProvider = requireNonNull(configProvider);
         this.deduplicationCache = requireNonNull(deduplicationCache);
+        this.ingestResultCache = requireNonNull(ingestResultCache);
     }
 
     /**
@@ -169,6 +179,11 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             previousResult = null;
         }
 
+        // 0a. If this node submitted the transaction, it was already parsed, and its payer signatures verified,
+        // during ingest. These results are reused if they were computed using the current node configuration
+        final IngestResultCache.Entry ingestResult =
+                previousResult == null ? ingestResultCache.remove(serializedSignedTx) : null;
+
         // 1. Parse the Transaction and check the syntax
         final TransactionInfo txInfo;
         try {
@@ -178,7 +193,9 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
                     .getConfiguration()
                     .getConfigData(HederaConfig.class)
                     .nodeTransactionMaxBytes();
-            if (previousResult == null) {
+            if (ingestResult != null) {
+                txInfo = ingestResult.txInfo();
+            } else if (previousResult == null) {
                 txInfo = transactionChecker.parseSignedAndCheck(serializedSignedTx, maxBytes);
             } else {
                 txInfo = previousResult.txInfo();
@@ -267,7 +284,7 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
 
         // 4. Expand and verify signatures
         return expandAndVerifySignatures(
-                txInfo, payer, payerAccount, storeFactory, previousResult, innerTransaction, creatorInfo);
+                txInfo, payer, payerAccount, storeFactory, previousResult, ingestResult, innerTransaction, creatorInfo);
     }
 
     /**
@@ -278,6 +295,7 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
      * @param payerAccount   the payer account
      * @param storeFactory   the store factory
      * @param previousResult the reusable result
+     * @param ingestResult   the ingest result of a transaction submitted by this node, if any
      * @return the pre-handle result
      */
     private PreHandleResult expandAndVerifySignatures(
@@ -286,6 +304,7 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             final Account payerAccount,
             final ReadableStoreFactory storeFactory,
             @Nullable final PreHandleResult previousResult,
+            @Nullable final IngestResultCache.Entry ingestResult,
             @NonNull final InnerTransaction innerTransaction,
             @NonNull final NodeInfo creatorInfo) {
         // 1a. Create the PreHandleContext. This will get reused across several calls to the transaction handlers
@@ -335,14 +354,15 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             // In that case, the payer will end up paying for the transaction. So we still need to do the signature
             // verifications that we have determined so far.
             logger.debug("Transaction failed pre-check", preCheck);
-            final var results =
-                    verifySignatures(txInfo, context, VerifyOnlyPayerKey.YES, payerIsHollow, previousResult);
+            final var results = verifySignatures(
+                    txInfo, context, VerifyOnlyPayerKey.YES, payerIsHollow, previousResult, ingestResult);
             return preHandleFailure(
                     payer, payerKey, preCheck.responseCode(), txInfo, Set.of(), Set.of(), Set.of(), results);
         }
 
         // 3. Get the verification results
-        final var results = verifySignatures(txInfo, context, VerifyOnlyPayerKey.NO, payerIsHollow, previousResult);
+        final var results =
+                verifySignatures(txInfo, context, VerifyOnlyPayerKey.NO, payerIsHollow, previousResult, ingestResult);
 
         // 4. Create and return TransactionMetadata
         return new PreHandleResult(
@@ -392,7 +412,8 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             @NonNull final PreHandleContext context,
             @NonNull final VerifyOnlyPayerKey onlyPayerKey,
             @NonNull final PayerIsHollow payerIsHollow,
-            @Nullable final PreHandleResult previousResult) {
+            @Nullable final PreHandleResult previousResult,
+            @Nullable final IngestResultCache.Entry ingestResult) {
         // Maybe we can reuse the previous result's verification results
         if (previousResult != null && previousResult.hasReusableVerificationResultsFor(context)) {
             return previousResult.verificationResults();
@@ -411,7 +432,25 @@ public class PreHandleWorkflowImpl implements PreHandleWorkflow {
             signatureExpander.expand(context.requiredNonPayerKeys(), originals, expanded);
             signatureExpander.expand(context.optionalNonPayerKeys(), originals, expanded);
         }
-        return signatureVerifier.verify(txInfo.signedBytes(), expanded);
+        if (ingestResult == null) {
+            return signatureVerifier.verify(txInfo.signedBytes(), expanded);
+        }
+        // Signatures verified during ingest don't need to be verified again, only the rest of them
+        final var ingestResults = ingestResult.verificationResults();
+        final var results = HashMap.<Key, SignatureVerificationFuture>newHashMap(expanded.size());
+        final var remaining = new LinkedHashSet<ExpandedSignaturePair>();
+        for (final var sigPair : expanded) {
+            final var ingestFuture = ingestResults.get(sigPair.key());
+            if (ingestFuture != null) {
+                results.put(sigPair.key(), ingestFuture);
+            } else {
+                remaining.add(sigPair);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            results.putAll(signatureVerifier.verify(txInfo.signedBytes(), remaining));
+        }
+        return results;
     }
 
     private boolean wasComputedWithCurrentNodeConfiguration(@Nullable PreHandleResult previousResult) {
@@ -273,7 +273,7 @@ public enum TransactionExecutors {
                 new AppSignatureVerifier(
                         bootstrapConfig.getConfigData(HederaConfig.class),
                         new SignatureExpanderImpl(),
-                        new SignatureVerifierImpl()),
+                        new SignatureVerifierImpl(bootstrapConfig.getConfigData(HederaConfig.class))),
                 UNAVAILABLE_GOSSIP,
                 bootstrapConfigProvider::getConfiguration,
                 () -> defaultNodeInfo,
@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class BufferedDataPoolTest {
+
+    @Test
+    @DisplayName("Capacity and pool size must be positive")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferedDataPool(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferedDataPool(1, 0));
+    }
+
+    @Test
+    @DisplayName("A released buffer is reset and reused by the next call")
+    void releasedBufferIsReused() {
+        final var subject = new BufferedDataPool(16, 2);
+        final var buffer = subject.acquire();
+        assertThat(buffer.capacity()).isEqualTo(16);
+        buffer.writeInt(42);
+        buffer.flip();
+
+        subject.release(buffer);
+        assertThat(subject.pooledBuffers()).isEqualTo(1);
+
+        final var reused = subject.acquire();
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isZero();
+        assertThat(reused.limit()).isEqualTo(16);
+        assertThat(subject.pooledBuffers()).isZero();
+    }
+
+    @Test
+    @DisplayName("Buffers held at the same time are distinct, and at most maxPooledBuffers are kept")
+    void poolIsBounded() {
+        final var subject = new BufferedDataPool(16, 2);
+        final var first = subject.acquire();
+        final var second = subject.acquire();
+        final var third = subject.acquire();
+        assertThat(first).isNotSameAs(second).isNotSameAs(third);
+        assertThat(second).isNotSameAs(third);
+
+        subject.release(first);
+        subject.release(second);
+        subject.release(third);
+        assertThat(subject.pooledBuffers()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Buffers of a different capacity are not pooled")
+    void foreignBufferIsNotPooled() {
+        final var subject = new BufferedDataPool(16, 2);
+        subject.release(BufferedData.allocate(8));
+        assertThat(subject.pooledBuffers()).isZero();
+    }
+}
@@ -101,6 +101,26 @@ final class DataBufferMarshallerTest {
         assertThat(buff.length()).isEqualTo(MAX_MESSAGE_SIZE + 1);
     }
 
+    @Test
+    @DisplayName("A released request buffer is reused, while an unreleased one is never handed out again")
+    void releasedBufferIsReused() {
+        final var first = marshaller.parse(new ByteArrayInputStream(TestUtils.randomBytes(100)));
+        final var second = marshaller.parse(new ByteArrayInputStream(TestUtils.randomBytes(100)));
+        assertThat(second).isNotSameAs(first);
+
+        marshaller.release(first);
+        assertThat(marshaller.pooledBuffers()).isEqualTo(1);
+        final var arr = TestUtils.randomBytes(50);
+        final var third = marshaller.parse(new ByteArrayInputStream(arr));
+        assertThat(third).isSameAs(first);
+        assertThat(marshaller.pooledBuffers()).isZero();
+
+        assertEquals(arr.length, third.remaining());
+        for (byte b : arr) {
+            assertEquals(b, third.readByte());
+        }
+    }
+
     @Test
     void parseStreamThatFailsInTheMiddle() throws IOException {
         final var arr = TestUtils.randomBytes(100);
@@ -116,6 +136,8 @@ final class DataBufferMarshallerTest {
                     .thenThrow(new IOException("Stream Terminated unexpectedly"));
 
             assertThrows(RuntimeException.class, () -> marshaller.parse(stream));
+            // The buffer of the failed call is returned to the pool
+            assertThat(marshaller.pooledBuffers()).isEqualTo(1);
         }
     }
 
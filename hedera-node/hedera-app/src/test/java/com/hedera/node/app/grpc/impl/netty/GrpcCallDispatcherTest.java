@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.node.app.utils.TestUtils;
+import com.swirlds.metrics.api.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class GrpcCallDispatcherTest {
+    private static final String SERVICE_NAME = "proto.TestService";
+
+    private final Metrics metrics = TestUtils.metrics();
+
+    /** Calls submitted to the executor, which are run by the tests one by one. */
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    @Test
+    @DisplayName("Limits must be valid")
+    void invalidLimits() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new GrpcCallDispatcher(SERVICE_NAME, submitted::add, 0, 10, metrics));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new GrpcCallDispatcher(SERVICE_NAME, submitted::add, 1, -1, metrics));
+    }
+
+    @Test
+    @DisplayName("Calls beyond the concurrency limit wait until a running call completes")
+    void limitsConcurrentCalls() {
+        final var subject = new GrpcCallDispatcher(SERVICE_NAME, submitted::add, 2, 10, metrics);
+        final var handled = new AtomicInteger();
+
+        assertThat(subject.dispatch(handled::incrementAndGet)).isTrue();
+        assertThat(subject.dispatch(handled::incrementAndGet)).isTrue();
+        assertThat(subject.dispatch(handled::incrementAndGet)).isTrue();
+        assertThat(submitted).hasSize(2);
+        assertThat(subject.queuedCalls()).isEqualTo(1);
+
+        submitted.getFirst().run();
+        assertThat(handled.get()).isEqualTo(1);
+        assertThat(submitted).hasSize(3);
+        assertThat(subject.queuedCalls()).isZero();
+
+        submitted.get(1).run();
+        submitted.get(2).run();
+        assertThat(handled.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Calls are rejected when the queue is full")
+    void rejectsCallsWhenQueueIsFull() {
+        final var subject = new GrpcCallDispatcher(SERVICE_NAME, submitted::add, 1, 1, metrics);
+
+        assertThat(subject.dispatch(() -> {})).isTrue();
+        assertThat(subject.dispatch(() -> {})).isTrue();
+        assertThat(subject.dispatch(() -> {})).isFalse();
+        assertThat(submitted).hasSize(1);
+        assertThat(subject.queuedCalls()).isEqualTo(1);
+
+        submitted.getFirst().run();
+        assertThat(subject.queuedCalls()).isZero();
+        assertThat(subject.dispatch(() -> {})).isTrue();
+    }
+
+    @Test
+    @DisplayName("A call that throws still frees its slot")
+    void failedCallFreesSlot() {
+        final var subject = new GrpcCallDispatcher(SERVICE_NAME, submitted::add, 1, 10, metrics);
+
+        subject.dispatch(() -> {
+            throw new IllegalStateException("boom");
+        });
+        subject.dispatch(() -> {});
+        assertThat(submitted).hasSize(1);
+
+        assertThrows(IllegalStateException.class, () -> submitted.getFirst().run());
+        assertThat(submitted).hasSize(2);
+    }
+}
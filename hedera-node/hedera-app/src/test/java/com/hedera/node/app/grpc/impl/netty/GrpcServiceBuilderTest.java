@@ -108,6 +108,25 @@ final class GrpcServiceBuilderTest {
         assertThrows(IllegalArgumentException.class, () -> builder.query(value));
     }
 
+    @Test
+    @DisplayName("The call executor cannot be null")
+    void callExecutorIsNull() {
+        //noinspection ConstantConditions
+        assertThrows(NullPointerException.class, () -> builder.callExecutor(null));
+    }
+
+    @Test
+    @DisplayName("The built ServiceDescriptor includes all methods when calls are handled on an executor")
+    void methodsWithCallExecutor() {
+        final var sd = builder.transaction("txA")
+                .query("qA")
+                .callExecutor(Runnable::run)
+                .build(metrics, configProvider);
+
+        assertNotNull(sd.getMethod(SERVICE_NAME + "/txA"));
+        assertNotNull(sd.getMethod(SERVICE_NAME + "/qA"));
+    }
+
     /**
      * A builder with no transactions and queries still creates and returns a {@link io.grpc.ServerServiceDefinition}.
      */
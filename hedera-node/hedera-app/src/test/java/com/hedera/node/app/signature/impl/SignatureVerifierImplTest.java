@@ -9,7 +9,7 @@ import static com.hedera.node.app.spi.signatures.SignatureVerifier.MessageType.R
 import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -21,6 +21,7 @@ import com.hedera.node.app.signature.SignatureVerifier;
 import com.hedera.node.app.spi.fixtures.Scenarios;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.hiero.base.crypto.Cryptography;
@@ -51,6 +52,9 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
     /** Captures the args sent to the crypto engine. */
     @Captor
     ArgumentCaptor<TransactionSignature> sigsCaptor;
+    /** Captures the batches sent to the crypto engine. */
+    @Captor
+    ArgumentCaptor<List<TransactionSignature>> batchCaptor;
     /** The verifier under test. */
     private SignatureVerifierImpl verifier;
 
@@ -111,12 +115,12 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
 
         //noinspection unchecked
         doAnswer((Answer<Void>) invocation -> {
-                    final TransactionSignature signature = invocation.getArgument(0);
-                    signature.setSignatureStatus(VerificationStatus.VALID);
+                    final List<TransactionSignature> signatures = invocation.getArgument(0);
+                    signatures.forEach(signature -> signature.setSignatureStatus(VerificationStatus.VALID));
                     return null;
                 })
                 .when(cryptoEngine)
-                .verifySync(any(TransactionSignature.class));
+                .verifySync(anyList());
 
         // When we verify them
         final var map = verifier.verify(signedBytes, sigs);
@@ -150,9 +154,10 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
         // When we verify them
         verifier.verify(signedBytes, sigs, messageType);
 
-        // Then we find the crypto engine was given an array with all the data
-        verify(cryptoEngine, times(3)).verifySync(sigsCaptor.capture());
-        final var txSigs = sigsCaptor.getAllValues();
+        // Then we find the crypto engine was given a single batch with all the data
+        verify(cryptoEngine).verifySync(batchCaptor.capture());
+        final var txSigs = batchCaptor.getValue();
+        assertThat(txSigs).hasSize(3);
 
         final var itr = sigs.iterator();
         for (int i = 0; i < 3; i++) {
@@ -174,4 +179,24 @@ final class SignatureVerifierImplTest extends AppTestBase implements Scenarios {
                     .isTrue();
         }
     }
+
+    @Test
+    @DisplayName("Signatures are sent to the crypto engine one by one if batch verification is disabled")
+    void cryptoEngineIsGivenSignaturesOneByOne() {
+        // Given a verifier with batch verification disabled, and some different kinds of signatures
+        verifier = new SignatureVerifierImpl(cryptoEngine, false);
+        final var sigs = new LinkedHashSet<ExpandedSignaturePair>(); // for predictable iteration for the test
+        sigs.add(ecdsaPair(ALICE.keyInfo().publicKey()));
+        sigs.add(ed25519Pair(BOB.keyInfo().publicKey()));
+        sigs.add(hollowPair(ERIN.keyInfo().publicKey(), ERIN.account()));
+
+        // When we verify them
+        verifier.verify(signedBytes, sigs);
+
+        // Then the crypto engine was called once per signature, and all ECDSA signatures share the same message
+        verify(cryptoEngine, times(3)).verifySync(sigsCaptor.capture());
+        final var txSigs = sigsCaptor.getAllValues();
+        assertThat(txSigs.get(0).getMessage()).isSameAs(txSigs.get(2).getMessage());
+        assertThat(txSigs.get(1).getMessage()).isEqualTo(signedBytes);
+    }
 }
@@ -29,6 +29,7 @@ import static com.hedera.node.app.service.token.impl.schemas.V0490TokenSchema.AC
 import static com.hedera.node.app.service.token.impl.schemas.V0490TokenSchema.ACCOUNTS_STATE_LABEL;
 import static com.hedera.node.app.service.token.impl.schemas.V0490TokenSchema.ALIASES_STATE_ID;
 import static com.hedera.node.app.service.token.impl.schemas.V0490TokenSchema.ALIASES_STATE_LABEL;
+import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.BACKEND_THROTTLE;
 import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.FRONTEND_THROTTLE;
 import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.NOOP_THROTTLE;
 import static com.hedera.pbj.runtime.ProtoTestTools.getThreadLocalDataBuffer;
@@ -118,6 +119,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -795,6 +799,80 @@ public class ThrottleAccumulatorTest {
         assertEquals(9999999940000L, bNow.used());
     }
 
+    @Test
+    void frontendThrottleClaimsSameCapacityFromConcurrentThreads() throws Exception {
+        // given
+        subject = new ThrottleAccumulator(
+                () -> CAPACITY_SPLIT,
+                configProvider::getConfiguration,
+                FRONTEND_THROTTLE,
+                throttleMetrics,
+                gasThrottle,
+                bytesThrottle,
+                opsDurationThrottle);
+        final var sequentialSubject = new ThrottleAccumulator(
+                () -> CAPACITY_SPLIT,
+                configProvider::getConfiguration,
+                BACKEND_THROTTLE,
+                throttleMetrics,
+                gasThrottle,
+                bytesThrottle,
+                opsDurationThrottle);
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        given(configuration.getConfigData(ContractsConfig.class)).willReturn(contractsConfig);
+        given(contractsConfig.throttleThrottleByGas()).willReturn(false);
+        given(configuration.getConfigData(JumboTransactionsConfig.class)).willReturn(jumboTransactionsConfig);
+        given(jumboTransactionsConfig.isEnabled()).willReturn(false);
+
+        given(transactionInfo.payerID())
+                .willReturn(AccountID.newBuilder().accountNum(1234L).build());
+
+        final var defs = getThrottleDefs("bootstrap/throttles.json");
+        givenMintWith(0);
+        subject.rebuildFor(defs);
+        sequentialSubject.rebuildFor(defs);
+
+        final int numThreads = 8;
+        final int checksPerThread = 500;
+        int expectedAllowed = 0;
+        for (int i = 0; i < numThreads * checksPerThread; i++) {
+            if (!sequentialSubject.checkAndEnforceThrottle(transactionInfo, TIME_INSTANT, state, null, false)) {
+                expectedAllowed++;
+            }
+        }
+
+        // when
+        final var allowed = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < checksPerThread; i++) {
+                        if (!subject.checkAndEnforceThrottle(
+                                transactionInfo, TIME_INSTANT, state, new ArrayList<>(), false)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (final var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertTrue(expectedAllowed < numThreads * checksPerThread);
+        assertEquals(expectedAllowed, allowed.get());
+        assertEquals(
+                sequentialSubject.activeThrottlesFor(TOKEN_MINT).getFirst().used(),
+                subject.activeThrottlesFor(TOKEN_MINT).getFirst().used());
+    }
+
     @ParameterizedTest
     @EnumSource(value = ThrottleAccumulator.ThrottleType.class, mode = EnumSource.Mode.EXCLUDE, names = "NOOP_THROTTLE")
     void handlesThrottleExemption(ThrottleAccumulator.ThrottleType throttleType) throws IOException, ParseException {
@@ -2246,6 +2324,55 @@ public class ThrottleAccumulatorTest {
         assertFalse(shouldThrottle, "TokenMint without token field should not be throttled");
     }
 
+    @Test
+    void frontendThrottleRecordsNoBytesUsageWithoutBytesThrottle() throws IOException, ParseException {
+        // given
+        given(configProvider.getConfiguration()).willReturn(configuration);
+        given(configuration.getConfigData(AccountsConfig.class)).willReturn(accountsConfig);
+        given(accountsConfig.lastThrottleExempt()).willReturn(100L);
+        given(configuration.getConfigData(ContractsConfig.class)).willReturn(contractsConfig);
+        given(contractsConfig.throttleThrottleByGas()).willReturn(false);
+        given(contractsConfig.maxGasPerSec()).willReturn(10_000_000L);
+        given(configuration.getConfigData(HederaConfig.class)).willReturn(hederaConfig);
+        given(configuration.getConfigData(JumboTransactionsConfig.class)).willReturn(jumboTransactionsConfig);
+        given(jumboTransactionsConfig.isEnabled()).willReturn(true);
+        given(jumboTransactionsConfig.allowedHederaFunctionalities()).willReturn(Set.of(fromPbj(TOKEN_MINT)));
+
+        // the bytes throttle is only created once the bytes config is applied
+        subject = new ThrottleAccumulator(configProvider::getConfiguration, () -> CAPACITY_SPLIT, FRONTEND_THROTTLE);
+        subject.applyGasConfig();
+        final var defs = getThrottleDefs("bootstrap/throttles.json");
+        subject.rebuildFor(defs);
+
+        final var mintOp = TokenMintTransactionBody.newBuilder().amount(1000L).build();
+        final var body = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder().accountID(PAYER_ID).build())
+                .tokenMint(mintOp)
+                .build();
+        final var signedTx = SignedTransaction.newBuilder()
+                .bodyBytes(TransactionBody.PROTOBUF.toBytes(body))
+                .build();
+        final var txnInfo = new TransactionInfo(
+                signedTx,
+                body,
+                TransactionID.newBuilder().accountID(PAYER_ID).build(),
+                PAYER_ID,
+                SignatureMap.DEFAULT,
+                Bytes.EMPTY,
+                TOKEN_MINT,
+                null);
+        final List<ThrottleUsage> throttleUsages = new ArrayList<>();
+
+        // when
+        final var shouldThrottle = subject.checkAndEnforceThrottle(txnInfo, TIME_INSTANT, state, throttleUsages, false);
+
+        // then
+        assertFalse(shouldThrottle);
+        assertThat(throttleUsages)
+                .noneMatch(usage -> usage instanceof BucketThrottleUsage bucketUsage && bucketUsage.throttle() == null);
+        assertDoesNotThrow(() -> throttleUsages.forEach(ThrottleUsage::reclaimCapacity));
+    }
+
     @ParameterizedTest
     @EnumSource(value = ThrottleAccumulator.ThrottleType.class, mode = EnumSource.Mode.EXCLUDE, names = "NOOP_THROTTLE")
     void rebuildForSeparatesHighVolumeBucketsFromNormalBuckets(ThrottleAccumulator.ThrottleType throttleType)
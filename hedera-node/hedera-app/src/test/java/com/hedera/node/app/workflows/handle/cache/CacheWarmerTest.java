@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
+import com.hedera.node.app.workflows.ingest.IngestResultCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,10 +21,13 @@ class CacheWarmerTest {
     @Mock
     TransactionDispatcher dispatcher;
 
+    @Mock
+    IngestResultCache ingestResultCache;
+
     @Test
     @DisplayName("Instantiation test")
     void testInstantiation() {
-        final var cacheWarmer = new CacheWarmer(checker, dispatcher, Runnable::run);
+        final var cacheWarmer = new CacheWarmer(checker, dispatcher, Runnable::run, ingestResultCache);
         assertThat(cacheWarmer).isInstanceOf(CacheWarmer.class);
     }
 }
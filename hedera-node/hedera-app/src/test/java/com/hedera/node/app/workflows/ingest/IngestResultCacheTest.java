@@ -0,0 +1,125 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.ingest;
+
+import static com.hedera.node.app.workflows.TransactionScenarioBuilder.scenario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hapi.node.transaction.SignedTransaction;
+import com.hedera.node.app.fixtures.AppTestBase;
+import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class IngestResultCacheTest extends AppTestBase {
+    /** The current configuration version */
+    private final AtomicLong configVersion = new AtomicLong(1);
+    /** Configuration */
+    private ConfigProvider config;
+
+    @BeforeEach
+    void setUp() {
+        config = () -> new VersionedConfigImpl(
+                HederaTestConfigBuilder.create()
+                        .withValue("cache.ingestResults.maxEntries", "2")
+                        .getOrCreateConfig(),
+                configVersion.get());
+    }
+
+    private static TransactionInfo submittedTxInfo(final String memo) {
+        final var txInfo = scenario().withMemo(memo).txInfo();
+        return new TransactionInfo(
+                txInfo.signedTx(),
+                txInfo.txBody(),
+                txInfo.signatureMap(),
+                txInfo.signedBytes(),
+                txInfo.functionality(),
+                SignedTransaction.PROTOBUF.toBytes(txInfo.signedTx()));
+    }
+
+    @Test
+    @DisplayName("Pre-handle takes a cached result once, the cache warmer may read it many times")
+    void removeAndGet() {
+        final var subject = new IngestResultCache(config);
+        final var txInfo = submittedTxInfo("a");
+        subject.put(txInfo, Map.of(), 1);
+
+        final var bytes = txInfo.serializedSignedTxOrThrow();
+        assertThat(subject.get(bytes)).isNotNull();
+        assertThat(subject.get(bytes)).isNotNull();
+        final var entry = subject.remove(bytes);
+        assertThat(entry).isNotNull();
+        assertThat(entry.txInfo()).isSameAs(txInfo);
+        assertThat(subject.remove(bytes)).isNull();
+        assertThat(subject.get(bytes)).isNull();
+    }
+
+    @Test
+    @DisplayName("Results computed with a different configuration version are ignored")
+    void configVersionChange() {
+        final var subject = new IngestResultCache(config);
+        final var txInfo = submittedTxInfo("a");
+        subject.put(txInfo, Map.of(), 1);
+
+        configVersion.set(2);
+        assertThat(subject.get(txInfo.serializedSignedTxOrThrow())).isNull();
+        assertThat(subject.remove(txInfo.serializedSignedTxOrThrow())).isNull();
+    }
+
+    @Test
+    @DisplayName("The oldest results are evicted when the cache is full")
+    void eviction() {
+        final var subject = new IngestResultCache(config);
+        final var first = submittedTxInfo("a");
+        final var second = submittedTxInfo("b");
+        final var third = submittedTxInfo("c");
+        subject.put(first, Map.of(), 1);
+        subject.put(second, Map.of(), 1);
+        subject.put(third, Map.of(), 1);
+
+        assertThat(subject.get(first.serializedSignedTxOrThrow())).isNull();
+        assertThat(subject.get(second.serializedSignedTxOrThrow())).isNotNull();
+        assertThat(subject.get(third.serializedSignedTxOrThrow())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Evicting an older put of the same transaction keeps the newer result")
+    void repeatedPut() {
+        final var subject = new IngestResultCache(config);
+        final var first = submittedTxInfo("a");
+        final var second = submittedTxInfo("b");
+        subject.put(first, Map.of(), 1);
+        subject.put(second, Map.of(), 1);
+        // The same transaction is submitted again, after its result was taken by pre-handle
+        assertThat(subject.remove(first.serializedSignedTxOrThrow())).isNotNull();
+        // Evicts the original put of the first transaction, which must not evict the new result
+        subject.put(first, Map.of(), 1);
+        assertThat(subject.get(first.serializedSignedTxOrThrow())).isNotNull();
+        assertThat(subject.get(second.serializedSignedTxOrThrow())).isNotNull();
+
+        // Putting a cached transaction again replaces the result, the older put is evicted first
+        subject.put(first, Map.of(), 1);
+        assertThat(subject.get(first.serializedSignedTxOrThrow())).isNotNull();
+        assertThat(subject.get(second.serializedSignedTxOrThrow())).isNull();
+    }
+
+    @Test
+    @DisplayName("Nothing is cached if the max size is zero")
+    void disabled() {
+        final ConfigProvider disabledConfig = () -> new VersionedConfigImpl(
+                HederaTestConfigBuilder.create()
+                        .withValue("cache.ingestResults.maxEntries", "0")
+                        .getOrCreateConfig(),
+                1);
+        final var subject = new IngestResultCache(disabledConfig);
+        final var txInfo = submittedTxInfo("a");
+        subject.put(txInfo, Map.of(), 1);
+
+        assertThat(subject.get(txInfo.serializedSignedTxOrThrow())).isNull();
+    }
+}
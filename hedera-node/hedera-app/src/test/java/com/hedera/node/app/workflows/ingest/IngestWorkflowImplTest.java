@@ -45,6 +45,7 @@ import com.swirlds.common.utility.AutoCloseableWrapper;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.hiero.consensus.model.status.PlatformStatus;
@@ -96,6 +97,9 @@ class IngestWorkflowImplTest extends AppTestBase {
     @Mock(strictness = LENIENT)
     SubmissionManager submissionManager;
 
+    @Mock(strictness = LENIENT)
+    IngestResultCache ingestResultCache;
+
     @Mock(strictness = LENIENT)
     private ConfigProvider configProvider;
 
@@ -136,6 +140,7 @@ class IngestWorkflowImplTest extends AppTestBase {
                     final var result = invocationOnMock.getArgument(3, IngestChecker.Result.class);
                     result.setThrottleUsages(List.of());
                     result.setTxnInfo(transactionInfo);
+                    result.setVerificationResults(Map.of());
                     return null;
                 })
                 .when(ingestChecker)
@@ -143,7 +148,12 @@ class IngestWorkflowImplTest extends AppTestBase {
 
         // Create the workflow we are going to test with
         workflow = new IngestWorkflowImpl(
-                stateAccessor, ingestChecker, submissionManager, txPipelineTracker, configProvider);
+                stateAccessor,
+                ingestChecker,
+                submissionManager,
+                txPipelineTracker,
+                ingestResultCache,
+                configProvider);
     }
 
     @Test
@@ -159,6 +169,8 @@ class IngestWorkflowImplTest extends AppTestBase {
         assertThat(response.cost()).isZero();
         // And that the transaction and its bytes were actually passed to the submission manager
         verify(submissionManager).submit(eq(transactionBody), any(), eq(false));
+        // And that the ingest results were kept for pre-handle
+        verify(ingestResultCache).put(any(), eq(Map.of()), eq(configuration.getVersion()));
     }
 
     @Nested
@@ -11,6 +11,7 @@ import static com.hedera.hapi.node.base.ResponseCodeEnum.PAYER_ACCOUNT_DELETED;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.PAYER_ACCOUNT_NOT_FOUND;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.TRANSACTION_OVERSIZE;
 import static com.hedera.hapi.node.base.ResponseCodeEnum.UNKNOWN;
+import static com.hedera.node.app.fixtures.signature.ExpandedSignaturePairFactory.ed25519Pair;
 import static com.hedera.node.app.service.entityid.impl.schemas.V0490EntityIdSchema.ENTITY_ID_STATE_ID;
 import static com.hedera.node.app.service.entityid.impl.schemas.V0590EntityIdSchema.ENTITY_COUNTS_STATE_ID;
 import static com.hedera.node.app.service.entityid.impl.schemas.V0730EntityIdSchema.HIGHEST_NODE_ID_STATE_ID;
@@ -26,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -46,6 +48,7 @@ import com.hedera.node.app.service.token.ReadableAccountStore;
 import com.hedera.node.app.service.token.TokenService;
 import com.hedera.node.app.signature.AppKeyVerifier;
 import com.hedera.node.app.signature.DefaultKeyVerifier;
+import com.hedera.node.app.signature.ExpandedSignaturePair;
 import com.hedera.node.app.signature.SignatureExpander;
 import com.hedera.node.app.signature.SignatureVerificationFuture;
 import com.hedera.node.app.signature.SignatureVerifier;
@@ -59,6 +62,7 @@ import com.hedera.node.app.store.ReadableStoreFactoryImpl;
 import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionScenarioBuilder;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
+import com.hedera.node.app.workflows.ingest.IngestResultCache;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.VersionedConfigImpl;
 import com.hedera.node.config.data.HederaConfig;
@@ -122,6 +126,10 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
     @Mock
     private DeduplicationCache deduplicationCache;
 
+    /** We use a mocked {@link IngestResultCache}. */
+    @Mock
+    private IngestResultCache ingestResultCache;
+
     /** We use a real functional store factory with our standard test data set. Needed by the workflow. */
     private ReadableStoreFactory storeFactory;
 
@@ -166,7 +174,8 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
                 signatureVerifier,
                 signatureExpander,
                 configProvider,
-                deduplicationCache);
+                deduplicationCache,
+                ingestResultCache);
     }
 
     /**
@@ -721,6 +730,40 @@ final class PreHandleWorkflowImplTest extends AppTestBase implements Scenarios {
             verify(deduplicationCache).add(txInfo.txBody().transactionIDOrThrow());
         }
 
+        @Test
+        @DisplayName("Happy path with parse and signature results reused from ingest")
+        void happyPathWithIngestResult(@Mock SignatureVerificationFuture sigFuture) throws Exception {
+            // Given a transaction that is perfectly good, and was submitted by this node
+            final var payerAccount = ALICE.accountID();
+            final var payerKey = ALICE.keyInfo().publicKey();
+            final var txInfo = scenario().withPayer(payerAccount).txInfo();
+            final var txBytes = asByteArray(txInfo.signedTx());
+            final Transaction platformTx = createAppPayloadWrapper(txBytes);
+            when(sigFuture.get(anyLong(), any())).thenReturn(new SignatureVerificationImpl(payerKey, null, true));
+            when(ingestResultCache.remove(any()))
+                    .thenReturn(new IngestResultCache.Entry(
+                            txInfo, Map.of(payerKey, sigFuture), DEFAULT_CONFIG_VERSION));
+            doAnswer(invocation -> {
+                        final Set<ExpandedSignaturePair> expanded = invocation.getArgument(2);
+                        expanded.add(ed25519Pair(payerKey));
+                        return null;
+                    })
+                    .when(signatureExpander)
+                    .expand(eq(payerKey), any(), any());
+
+            // When we pre-handle the transaction
+            workflow.preHandle(storeFactory, NODE_1.asInfo(), Stream.of(platformTx), (txns, bytes) -> {});
+
+            // Then the transaction pre-handle succeeds, without parsing it or verifying signatures again
+            final PreHandleResult result = platformTx.getMetadata();
+            assertThat(result.status()).isEqualTo(SO_FAR_SO_GOOD);
+            assertThat(result.responseCode()).isEqualTo(OK);
+            assertThat(result.txInfo()).isSameAs(txInfo);
+            assertThat(result.verificationResults()).containsEntry(payerKey, sigFuture);
+            verify(transactionChecker, never()).parseSignedAndCheck(any(Bytes.class), anyInt());
+            verifyNoInteractions(signatureVerifier);
+        }
+
         @Test
         @DisplayName(
                 "Happy path with Key-based signature verification and a result derived from different config version")
@@ -70,6 +70,9 @@ public record HederaConfig(
 
         @ConfigProperty(value = "workflow.verificationTimeoutMS", defaultValue = "20000") @NetworkProperty
         long workflowVerificationTimeoutMS,
+        // Whether all signatures of a transaction are sent to the crypto engine as one list, or one by one
+        @ConfigProperty(value = "workflow.batchSignatureVerification", defaultValue = "true") @NodeProperty
+        boolean workflowBatchSignatureVerification,
         // FUTURE: Set<HederaFunctionality>.
         @ConfigProperty(value = "ingestThrottle.enabled", defaultValue = "true") @NetworkProperty
         boolean ingestThrottleEnabled,
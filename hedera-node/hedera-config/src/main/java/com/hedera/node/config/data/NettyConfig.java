@@ -2,6 +2,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NodeProperty;
+import com.hedera.node.config.types.GrpcExecutorMode;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -21,6 +22,14 @@ import com.swirlds.config.api.ConfigProperty;
  * @param tlsKeyPath
  * @param bossThreads Number of threads in the Netty boss EventLoopGroup. 0 means Netty default (2 * numCores).
  * @param workerThreads Number of threads in the Netty worker EventLoopGroup. 0 means Netty default (2 * numCores).
+ * @param executorMode Where gRPC transaction and query handlers run. Defaults to the Netty event loop threads.
+ * @param executorThreads Number of threads in the handler pool when {@link #executorMode()} is
+ *                        {@link GrpcExecutorMode#PLATFORM_POOL}. 0 means the number of cores.
+ * @param maxConcurrentCallsPerService The maximum number of calls of a single gRPC service, which are handled at the
+ *                                     same time, unless handlers run on the event loop. Must be positive.
+ * @param maxQueuedCallsPerService The maximum number of calls of a single gRPC service, which wait for a handler,
+ *                                 unless handlers run on the event loop. Further calls are rejected with
+ *                                 RESOURCE_EXHAUSTED. Must be non-negative.
  */
 @ConfigData("netty")
 public record NettyConfig(
@@ -57,7 +66,11 @@ public record NettyConfig(
         String tlsKeyPath,
 
         @ConfigProperty(defaultValue = "0") @NodeProperty int bossThreads,
-        @ConfigProperty(defaultValue = "0") @NodeProperty int workerThreads) {
+        @ConfigProperty(defaultValue = "0") @NodeProperty int workerThreads,
+        @ConfigProperty(defaultValue = "EVENT_LOOP") @NodeProperty GrpcExecutorMode executorMode,
+        @ConfigProperty(defaultValue = "0") @NodeProperty int executorThreads,
+        @ConfigProperty(defaultValue = "64") @NodeProperty int maxConcurrentCallsPerService,
+        @ConfigProperty(defaultValue = "1024") @NodeProperty int maxQueuedCallsPerService) {
     public NettyConfig {
         if (startRetries < 0) {
             throw new IllegalArgumentException("startRetries must be non-negative.");
@@ -70,5 +83,17 @@ public record NettyConfig(
         if (terminationTimeout < 0) {
             throw new IllegalArgumentException("terminationTimeout must be non-negative");
         }
+
+        if (executorThreads < 0) {
+            throw new IllegalArgumentException("executorThreads must be non-negative");
+        }
+
+        if (maxConcurrentCallsPerService < 1) {
+            throw new IllegalArgumentException("maxConcurrentCallsPerService must be positive");
+        }
+
+        if (maxQueuedCallsPerService < 0) {
+            throw new IllegalArgumentException("maxQueuedCallsPerService must be non-negative");
+        }
     }
 }
@@ -0,0 +1,24 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.config.types;
+
+/**
+ * Where the gRPC server runs transaction and query handlers, which includes parsing, throttling and signature checks
+ * in the ingest and query workflows.
+ */
+public enum GrpcExecutorMode {
+    /**
+     * Run handlers directly on the Netty event loop threads, which also do all network I/O. A slow call stalls every
+     * connection served by the same event loop.
+     */
+    EVENT_LOOP,
+
+    /**
+     * Run handlers on a fixed pool of platform threads. Event loop threads only read and frame messages.
+     */
+    PLATFORM_POOL,
+
+    /**
+     * Run every handler on its own virtual thread. Event loop threads only read and frame messages.
+     */
+    VIRTUAL_THREADS,
+}
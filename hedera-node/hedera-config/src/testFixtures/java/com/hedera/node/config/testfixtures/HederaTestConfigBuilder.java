@@ -74,6 +74,7 @@ import com.swirlds.config.api.Configuration;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.platform.health.OSHealthCheckConfig;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import org.hiero.base.concurrent.config.BasicCommonConfig;
@@ -123,6 +124,7 @@ public final class HederaTestConfigBuilder {
                 .withConfigDataType(PrometheusConfig.class)
                 .withConfigDataType(PlatformStatusConfig.class)
                 .withConfigDataType(MerkleDbConfig.class)
+                .withConfigDataType(VirtualMapStateConfig.class)
                 .withConfigDataType(OpsDurationConfig.class)
                 .withConfigDataType(QuiescenceConfig.class)
                 /*
@@ -9,6 +9,7 @@ import com.swirlds.config.api.ConfigurationBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.platform.context.PlatformContext;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.concurrent.ScheduledExecutorService;
@@ -29,6 +30,7 @@ public class FakePlatformContext implements PlatformContext {
             .withConfigDataType(BasicConfig.class)
             .withConfigDataType(VirtualMapConfig.class)
             .withConfigDataType(MerkleDbConfig.class)
+            .withConfigDataType(VirtualMapStateConfig.class)
             .withConfigDataType(PathsConfig.class)
             .withConfigDataType(PathsConfig.class)
             .build();
@@ -44,6 +44,7 @@ import com.swirlds.config.api.ConfigurationBuilder;
 import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.platform.builder.ModulesConfig;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import org.hiero.base.crypto.config.CryptoConfig;
 import org.hiero.consensus.BasicConfig;
@@ -101,6 +102,7 @@ public final class ConfigUtils {
                 .withConfigDataType(HederaConfig.class)
                 .withConfigDataType(VirtualMapConfig.class)
                 .withConfigDataType(MerkleDbConfig.class)
+                .withConfigDataType(VirtualMapStateConfig.class)
                 .withConfigDataType(CryptoConfig.class)
                 .withConfigDataType(PathsConfig.class)
                 .withConfigDataType(StateConfig.class)
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.hiero.base.crypto.engine;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.logging.legacy.LogMarker;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.security.NoSuchAlgorithmException;
@@ -139,20 +140,49 @@ public class CryptoEngine implements Cryptography {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Every signature is verified on its own, in list order, and its status is set to VALID or INVALID. There is no
+     * batch-level check, an invalid signature doesn't affect the status of other signatures. The only work shared
+     * across the list is the conversion of messages to byte arrays: signatures of the same transaction usually share
+     * the same message instance, so a message is only converted again, if it differs from the previous message of
+     * the same signature type. Ed25519 and ECDSA_SECP256K1 signatures are usually given different messages (raw bytes
+     * vs. a KECCAK-256 hash), so the previous message is tracked per signature type.
      */
     @Override
     public boolean verifySync(@NonNull final List<TransactionSignature> signatures) {
         boolean finalOutcome = true;
 
-        OperationProvider<TransactionSignature, Void, Boolean, ?, SignatureType> provider;
+        Bytes lastEd25519Message = null;
+        byte[] lastEd25519MessageBytes = null;
+        Bytes lastEcdsaMessage = null;
+        byte[] lastEcdsaMessageBytes = null;
         for (final TransactionSignature signature : signatures) {
+            final Bytes message = signature.getMessage();
+            final boolean isValid;
             if (signature.getSignatureType() == SignatureType.ECDSA_SECP256K1) {
-                provider = ecdsaSecp256k1VerificationProvider;
+                if (message != lastEcdsaMessage) {
+                    lastEcdsaMessage = message;
+                    lastEcdsaMessageBytes = message.toByteArray();
+                }
+                isValid = ecdsaSecp256k1VerificationProvider.compute(
+                        lastEcdsaMessageBytes,
+                        signature.getSignature().toByteArray(),
+                        signature.getPublicKey().toByteArray(),
+                        SignatureType.ECDSA_SECP256K1);
             } else {
-                provider = ed25519VerificationProvider;
+                if (message != lastEd25519Message) {
+                    lastEd25519Message = message;
+                    lastEd25519MessageBytes = message.toByteArray();
+                }
+                isValid = ed25519VerificationProvider.compute(
+                        lastEd25519MessageBytes,
+                        signature.getSignature().toByteArray(),
+                        signature.getPublicKey().toByteArray(),
+                        SignatureType.ED25519);
             }
+            signature.setSignatureStatus(isValid ? VerificationStatus.VALID : VerificationStatus.INVALID);
 
-            if (!verifySyncInternal(signature, provider)) {
+            if (!isValid) {
                 finalOutcome = false;
             }
         }
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.base.crypto.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.List;
+import org.hiero.base.crypto.TransactionSignature;
+import org.hiero.base.crypto.VerificationStatus;
+import org.hiero.base.crypto.test.fixtures.EcdsaSignedTxnPool;
+import org.hiero.base.crypto.test.fixtures.SignaturePool;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CryptoEngineTest {
+
+    private static final CryptoEngine ENGINE = new CryptoEngine();
+    private static SignaturePool ed25519Pool;
+    private static EcdsaSignedTxnPool ecdsaPool;
+
+    @BeforeAll
+    static void startup() {
+        ed25519Pool = new SignaturePool(16, 100, true);
+        ecdsaPool = new EcdsaSignedTxnPool(16, 64);
+    }
+
+    /** A copy of the given signature, which hasn't been verified yet. */
+    private static TransactionSignature unverified(final TransactionSignature pooled) {
+        return new TransactionSignature(
+                pooled.getMessage(), pooled.getPublicKey(), pooled.getSignature(), pooled.getSignatureType());
+    }
+
+    /** An invalid signature on the same message instance and with the same key as the given one. */
+    private static TransactionSignature tampered(final TransactionSignature signature) {
+        final byte[] bytes = signature.getSignature().toByteArray();
+        bytes[bytes.length / 2] ^= 1;
+        return new TransactionSignature(
+                signature.getMessage(), signature.getPublicKey(), Bytes.wrap(bytes), signature.getSignatureType());
+    }
+
+    @Test
+    @DisplayName("An empty list is valid")
+    void emptyList() {
+        assertTrue(ENGINE.verifySync(List.of()));
+    }
+
+    @Test
+    @DisplayName("A list of valid ED25519 and ECDSA signatures is valid")
+    void mixedValidSignatures() {
+        final List<TransactionSignature> signatures = List.of(
+                unverified(ed25519Pool.next()),
+                unverified(ecdsaPool.next()),
+                unverified(ed25519Pool.next()),
+                unverified(ecdsaPool.next()));
+
+        assertTrue(ENGINE.verifySync(signatures), "All signatures are valid");
+        signatures.forEach(signature -> assertEquals(VerificationStatus.VALID, signature.getSignatureStatus()));
+    }
+
+    @Test
+    @DisplayName("Every signature of a mixed list gets its own status")
+    void mixedValidAndInvalidSignatures() {
+        final TransactionSignature ed25519 = unverified(ed25519Pool.next());
+        final TransactionSignature ecdsa = unverified(ecdsaPool.next());
+        // Invalid signatures share the message instances with valid ones, like signatures of the same transaction
+        final List<TransactionSignature> signatures = List.of(
+                ed25519,
+                tampered(ed25519),
+                ecdsa,
+                tampered(ecdsa),
+                unverified(ecdsaPool.next()),
+                tampered(unverified(ed25519Pool.next())),
+                unverified(ed25519Pool.next()));
+        final List<VerificationStatus> expected = List.of(
+                VerificationStatus.VALID,
+                VerificationStatus.INVALID,
+                VerificationStatus.VALID,
+                VerificationStatus.INVALID,
+                VerificationStatus.VALID,
+                VerificationStatus.INVALID,
+                VerificationStatus.VALID);
+
+        assertFalse(ENGINE.verifySync(signatures), "Some signatures are invalid");
+        for (int i = 0; i < signatures.size(); i++) {
+            assertEquals(expected.get(i), signatures.get(i).getSignatureStatus(), "Wrong status of signature " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Verifying a list gives the same statuses as verifying each signature on its own")
+    void listMatchesSingleVerification() {
+        final List<TransactionSignature> signatures = List.of(
+                tampered(unverified(ecdsaPool.next())),
+                unverified(ed25519Pool.next()),
+                tampered(unverified(ed25519Pool.next())),
+                unverified(ecdsaPool.next()));
+
+        ENGINE.verifySync(signatures);
+        for (final TransactionSignature signature : signatures) {
+            final TransactionSignature single = unverified(signature);
+            ENGINE.verifySync(single);
+            assertEquals(single.getSignatureStatus(), signature.getSignatureStatus());
+        }
+    }
+}
@@ -15,13 +15,17 @@ import com.swirlds.metrics.api.Metrics;
 import com.swirlds.state.StateLifecycleManager;
 import com.swirlds.state.merkle.VirtualMapState;
 import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.sync.InconsistentTeachersException;
 import com.swirlds.virtualmap.sync.LearningSynchronizer;
+import com.swirlds.virtualmap.sync.LearningSynchronizer.TeacherConnection;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.SocketException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.base.concurrent.manager.ThreadManager;
@@ -35,6 +39,9 @@ import org.hiero.consensus.state.signed.SignedStateInvalidException;
 
 /**
  * This class encapsulates logic for receiving the up-to-date state from a peer when the local node's state is out-of-date.
+ *
+ * <p>If enabled, the state is received from several peers in parallel: the peer this learner is connected to, and
+ * additional teachers collected by a {@link ReconnectTeacherPool}.
  */
 public class ReconnectStateLearner {
 
@@ -53,6 +60,7 @@ public class ReconnectStateLearner {
     private final StateLifecycleManager<VirtualMapState, VirtualMap> stateLifecycleManager;
     private final Configuration configuration;
     private final LearningSynchronizer synchronizer;
+    private final ReconnectTeacherPool teacherPool;
 
     private SigSet sigSet;
 
@@ -71,6 +79,7 @@ public class ReconnectStateLearner {
      * @param reconnectSocketTimeout the amount of time that should be used for the socket timeout
      * @param statistics reconnect metrics
      * @param stateLifecycleManager the state lifecycle manager
+     * @param teacherPool the pool of additional teachers
      */
     public ReconnectStateLearner(
             @NonNull final Configuration configuration,
@@ -80,8 +89,10 @@ public class ReconnectStateLearner {
             @NonNull final VirtualMapState currentState,
             @NonNull final Duration reconnectSocketTimeout,
             @NonNull final ReconnectMetrics statistics,
-            @NonNull final StateLifecycleManager<VirtualMapState, VirtualMap> stateLifecycleManager) {
+            @NonNull final StateLifecycleManager<VirtualMapState, VirtualMap> stateLifecycleManager,
+            @NonNull final ReconnectTeacherPool teacherPool) {
         this.stateLifecycleManager = requireNonNull(stateLifecycleManager);
+        this.teacherPool = requireNonNull(teacherPool);
 
         requireNonNull(metrics);
         requireNonNull(threadManager);
@@ -160,6 +171,7 @@ public class ReconnectStateLearner {
     @NonNull
     public ReservedSignedState execute() throws ReconnectStateException {
         increaseSocketTimeout();
+        teacherPool.open();
         ReservedSignedState reservedSignedState = null;
         try {
             receiveSignatures();
@@ -177,12 +189,15 @@ public class ReconnectStateLearner {
             Thread.currentThread().interrupt();
             throw new ReconnectStateException("interrupted while attempting to reconnect", e);
         } finally {
+            // No-op if additional teachers have already been released after synchronization
+            teacherPool.release(false);
             resetSocketTimeout();
         }
     }
 
     /**
-     * Receive and reconstruct the state from the teacher.
+     * Receive and reconstruct the state from the teacher, and from additional teachers, which joined the teacher
+     * pool.
      *
      * @return the signed state received from the teacher
      * @throws InterruptedException if the current thread is interrupted
@@ -191,19 +206,37 @@ public class ReconnectStateLearner {
     private ReservedSignedState reconnect() throws InterruptedException {
         statistics.incrementReceiverStartTimes();
 
-        final DataInputStream in = new DataInputStream(connection.getDis());
-        final DataOutputStream out = new DataOutputStream(connection.getDos());
+        final List<Connection> additionalTeachers = teacherPool.awaitTeachers(sigSet);
+        final List<Connection> connections = new ArrayList<>(1 + additionalTeachers.size());
+        connections.add(connection);
+        connections.addAll(additionalTeachers);
 
-        connection.getDis().byteCounter().getAndReset();
+        connections.forEach(c -> c.getDis().byteCounter().getAndReset());
         VirtualMap syncedVirtualMap;
 
         final long syncStartTime = System.currentTimeMillis();
         try {
-            syncedVirtualMap = synchronizer.synchronize(currentState.getRoot(), in, out, connection::disconnect);
+            if (additionalTeachers.isEmpty()) {
+                final DataInputStream in = new DataInputStream(connection.getDis());
+                final DataOutputStream out = new DataOutputStream(connection.getDos());
+                syncedVirtualMap = synchronizer.synchronize(currentState.getRoot(), in, out, connection::disconnect);
+            } else {
+                logger.info(RECONNECT.getMarker(), "Synchronizing with {} teachers", connections.size());
+                final List<TeacherConnection> teachers = connections.stream()
+                        .map(c -> new TeacherConnection(
+                                new DataInputStream(c.getDis()), new DataOutputStream(c.getDos()), c::disconnect))
+                        .toList();
+                syncedVirtualMap = synchronizer.synchronize(currentState.getRoot(), teachers);
+            }
+            teacherPool.release(true);
         } catch (final InterruptedException e) {
             logger.warn(RECONNECT.getMarker(), "Synchronization interrupted");
             Thread.currentThread().interrupt();
             throw e;
+        } catch (final InconsistentTeachersException e) {
+            // The next reconnect attempt runs without inconsistent teachers
+            e.getTeachers().forEach(i -> teacherPool.exclude(connections.get(i).getOtherId()));
+            throw new ReconnectStateException(e);
         } catch (final Exception e) {
             throw new ReconnectStateException(e);
         }
@@ -225,7 +258,9 @@ public class ReconnectStateLearner {
         SignedStateFileReader.registerServiceStates(newSignedState);
         newSignedState.setSigSet(sigSet);
 
-        final double mbReceived = connection.getDis().byteCounter().getMebiBytes();
+        final double mbReceived = connections.stream()
+                .mapToDouble(c -> c.getDis().byteCounter().getMebiBytes())
+                .sum();
         logger.info(
                 RECONNECT.getMarker(),
                 () -> new ReconnectDataUsagePayload("Reconnect data usage report", mbReceived).toString());
@@ -84,6 +84,7 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
     private final Metrics metrics;
     private final BlockingResourceProvider<ReservedSignedStateResult> reservedSignedStateResultProvider;
     private final StateLifecycleManager<VirtualMapState, VirtualMap> stateLifecycleManager;
+    private final ReconnectTeacherPool teacherPool;
 
     /**
      * Creates a new reconnect protocol instance.
@@ -101,6 +102,7 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
      * @param platformStatusSupplier provides the platform status
      * @param reservedSignedStateResultProvider a mechanism to get a SignedState or block while it is not available
      * @param stateLifecycleManager the state lifecycle manager
+     * @param teacherPool the pool of additional teachers, shared by the protocols of all peers
      */
     public ReconnectStatePeerProtocol(
             @NonNull final Configuration configuration,
@@ -115,7 +117,8 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
             @NonNull final FallenBehindMonitor fallenBehindMonitor,
             @NonNull final Supplier<PlatformStatus> platformStatusSupplier,
             @NonNull final BlockingResourceProvider<ReservedSignedStateResult> reservedSignedStateResultProvider,
-            @NonNull final StateLifecycleManager stateLifecycleManager) {
+            @NonNull final StateLifecycleManager stateLifecycleManager,
+            @NonNull final ReconnectTeacherPool teacherPool) {
 
         this.configuration = requireNonNull(configuration);
         this.metrics = requireNonNull(metrics);
@@ -129,6 +132,7 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
         this.platformStatusSupplier = requireNonNull(platformStatusSupplier);
         this.reservedSignedStateResultProvider = requireNonNull(reservedSignedStateResultProvider);
         this.stateLifecycleManager = requireNonNull(stateLifecycleManager);
+        this.teacherPool = requireNonNull(teacherPool);
 
         final Duration minimumTimeBetweenReconnects =
                 configuration.getConfigData(ReconnectConfig.class).minimumTimeBetweenReconnects();
@@ -162,13 +166,25 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
         final boolean acquiredPermit = reservedSignedStateResultProvider.acquireProvidePermit();
         if (acquiredPermit) {
             initiatedBy = InitiatedBy.SELF;
+            return true;
         }
-        return acquiredPermit;
+
+        // a reconnect with another peer may be in progress, join it as an additional teacher. The reservation
+        // will be released by either initiateFailed or runProtocol
+        if (teacherPool.reserve(peerId)) {
+            initiatedBy = InitiatedBy.SELF_AS_ADDITIONAL_TEACHER;
+            return true;
+        }
+        return false;
     }
 
     @Override
     public void initiateFailed() {
-        reservedSignedStateResultProvider.releaseProvidePermit();
+        if (initiatedBy == InitiatedBy.SELF_AS_ADDITIONAL_TEACHER) {
+            teacherPool.cancelReservation();
+        } else {
+            reservedSignedStateResultProvider.releaseProvidePermit();
+        }
         initiatedBy = InitiatedBy.NO_ONE;
     }
 
@@ -272,6 +288,7 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
             switch (initiatedBy) {
                 case PEER -> teacher(connection);
                 case SELF -> learner(connection);
+                case SELF_AS_ADDITIONAL_TEACHER -> teacherPool.join(connection, reconnectSocketTimeout);
                 default ->
                     throw new NetworkProtocolException(
                             "runProtocol() called but it is unclear who the teacher and who the learner is");
@@ -297,7 +314,8 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
                     consensusState,
                     reconnectSocketTimeout,
                     reconnectMetrics,
-                    stateLifecycleManager);
+                    stateLifecycleManager,
+                    teacherPool);
 
             logger.info(RECONNECT.getMarker(), () -> new ReconnectStartPayload(
                             "Starting reconnect in the role of the receiver",
@@ -383,6 +401,8 @@ public class ReconnectStatePeerProtocol implements PeerProtocol {
     private enum InitiatedBy {
         NO_ONE,
         SELF,
+        /** Initiated by this node to connect the peer to a reconnect, which is in progress with another peer. */
+        SELF_AS_ADDITIONAL_TEACHER,
         PEER
     }
 }
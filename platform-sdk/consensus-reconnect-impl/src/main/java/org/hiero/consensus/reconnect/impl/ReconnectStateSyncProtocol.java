@@ -18,6 +18,7 @@ import org.hiero.consensus.gossip.impl.network.protocol.Protocol;
 import org.hiero.consensus.model.node.NodeId;
 import org.hiero.consensus.model.status.PlatformStatus;
 import org.hiero.consensus.monitoring.FallenBehindMonitor;
+import org.hiero.consensus.reconnect.config.ReconnectConfig;
 import org.hiero.consensus.state.signed.ReservedSignedState;
 
 /**
@@ -38,6 +39,7 @@ public class ReconnectStateSyncProtocol implements Protocol {
     private final AtomicReference<PlatformStatus> platformStatus = new AtomicReference<>(PlatformStatus.STARTING_UP);
     private final BlockingResourceProvider<ReservedSignedStateResult> reservedSignedStateResultPromise;
     private final StateLifecycleManager stateLifecycleManager;
+    private final ReconnectTeacherPool teacherPool;
 
     public ReconnectStateSyncProtocol(
             @NonNull final Configuration configuration,
@@ -63,6 +65,12 @@ public class ReconnectStateSyncProtocol implements Protocol {
         this.fallenBehindManager = requireNonNull(fallenBehindManager);
         this.reservedSignedStateResultPromise = requireNonNull(reservedSignedStateResultPromise);
         this.stateLifecycleManager = requireNonNull(stateLifecycleManager);
+
+        final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
+        this.teacherPool = new ReconnectTeacherPool(
+                reconnectConfig.maxTeachers(),
+                reconnectConfig.teacherJoinTimeout(),
+                reconnectConfig.teacherReleaseTimeout());
     }
 
     @NonNull
@@ -81,7 +89,8 @@ public class ReconnectStateSyncProtocol implements Protocol {
                 fallenBehindManager,
                 platformStatus::get,
                 reservedSignedStateResultPromise,
-                stateLifecycleManager);
+                stateLifecycleManager,
+                teacherPool);
     }
 
     @Override
@@ -0,0 +1,285 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.consensus.reconnect.impl;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hiero.base.crypto.Signature;
+import org.hiero.consensus.gossip.impl.network.Connection;
+import org.hiero.consensus.model.node.NodeId;
+import org.hiero.consensus.reconnect.config.ReconnectConfig;
+import org.hiero.consensus.state.signed.SigSet;
+
+/**
+ * Collects connections to additional teachers, when a node reconnects from several peers in parallel, see
+ * {@link ReconnectConfig#maxTeachers()}. A single pool is shared by the reconnect protocols of all peers.
+ *
+ * <p>When the learner starts a reconnect with its first teacher, it opens the pool. While the pool is open, the
+ * protocols of other peers, which this node has fallen behind, initiate a reconnect, too. Instead of running a
+ * reconnect of their own, they receive the signatures from their peers and join the pool, see {@link #join}. Once the
+ * learner has received the signatures from the first teacher, it waits for up to
+ * {@link ReconnectConfig#teacherJoinTimeout()} for additional teachers, see {@link #awaitTeachers}. Teachers, which
+ * don't hold the same signed state as the first teacher, are disconnected. Protocol threads of additional teachers are
+ * blocked, until the learner is done with their connections, see {@link #release}, but no longer than
+ * {@link ReconnectConfig#teacherReleaseTimeout()}.
+ *
+ * <p>If some teachers turn out to be inconsistent during reconnect, the learner excludes them, see {@link #exclude}.
+ * Excluded peers can't join the pool, until a reconnect completes, so the next reconnect attempt runs without them.
+ */
+public class ReconnectTeacherPool {
+
+    private static final Logger logger = LogManager.getLogger(ReconnectTeacherPool.class);
+
+    /**
+     * A connection to an additional teacher, which joined the pool.
+     */
+    private static final class JoinedTeacher {
+        private final Connection connection;
+        private final SigSet sigSet;
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean synchronizationCompleted;
+
+        private JoinedTeacher(@NonNull final Connection connection, @NonNull final SigSet sigSet) {
+            this.connection = connection;
+            this.sigSet = sigSet;
+        }
+
+        private void release(final boolean synchronizationCompleted) {
+            this.synchronizationCompleted = synchronizationCompleted;
+            released.countDown();
+        }
+    }
+
+    private final int maxAdditionalTeachers;
+    private final Duration joinTimeout;
+    private final Duration releaseTimeout;
+
+    /** Whether the learner accepts additional teachers. */
+    private boolean open;
+
+    /** The number of peers, which initiated a reconnect to join the pool, but haven't joined yet. */
+    private int reserved;
+
+    /** Additional teachers, which joined the pool, but haven't been released by the learner yet. */
+    private final List<JoinedTeacher> joined = new ArrayList<>();
+
+    /** Peers, which were inconsistent teachers in a failed reconnect, and can't join the pool. */
+    private final Set<NodeId> excluded = new HashSet<>();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxTeachers the maximum number of teachers, including the first one. 1 disables the pool
+     * @param joinTimeout how long the learner waits for additional teachers
+     * @param releaseTimeout how long additional teachers wait for the learner to be done with their connections
+     */
+    public ReconnectTeacherPool(
+            final int maxTeachers, @NonNull final Duration joinTimeout, @NonNull final Duration releaseTimeout) {
+        if (maxTeachers < 1) {
+            throw new IllegalArgumentException("maxTeachers must be positive: " + maxTeachers);
+        }
+        this.maxAdditionalTeachers = maxTeachers - 1;
+        this.joinTimeout = requireNonNull(joinTimeout);
+        this.releaseTimeout = requireNonNull(releaseTimeout);
+    }
+
+    /**
+     * Opens the pool for additional teachers. Called by the learner, when it starts a reconnect.
+     */
+    public synchronized void open() {
+        open = maxAdditionalTeachers > 0;
+    }
+
+    /**
+     * Reserves a place in the pool for a peer, which is about to initiate a reconnect to join the pool. If the
+     * reconnect is not initiated, the reservation must be cancelled using {@link #cancelReservation()}, otherwise the
+     * peer must call {@link #join}.
+     *
+     * @param peerId the peer to reserve a place for
+     * @return true if the pool is open and not full, and the peer is not excluded
+     */
+    public synchronized boolean reserve(@NonNull final NodeId peerId) {
+        if (!open || excluded.contains(peerId) || (reserved + joined.size() >= maxAdditionalTeachers)) {
+            return false;
+        }
+        reserved++;
+        return true;
+    }
+
+    /**
+     * Cancels a reservation made by {@link #reserve()}, when a reconnect with the peer couldn't be initiated.
+     */
+    public synchronized void cancelReservation() {
+        reserved--;
+    }
+
+    /**
+     * Joins the pool as an additional teacher. Called by the protocol thread of a peer, which reserved a place in
+     * the pool. Receives the signatures from the peer and blocks, until the learner is done with the connection, or
+     * the release timeout is reached. The connection is broken, if the learner doesn't use it, if it fails, or if the
+     * learner isn't done with it in time.
+     *
+     * @param connection the connection to the peer
+     * @param socketTimeout the socket timeout to use while the connection is used for reconnect
+     */
+    public void join(@NonNull final Connection connection, @NonNull final Duration socketTimeout) {
+        boolean reservationUsed = false;
+        try {
+            final int originalSocketTimeout = connection.getTimeout();
+            connection.setTimeout(socketTimeout.toMillis());
+
+            final SigSet sigSet = new SigSet();
+            sigSet.deserialize(new ReadableStreamingData(connection.getDis()));
+            final JoinedTeacher teacher = new JoinedTeacher(connection, sigSet);
+            reservationUsed = true;
+            if (!add(teacher)) {
+                logger.info(
+                        RECONNECT.getMarker(),
+                        "Teacher {} joined too late, reconnect already started",
+                        connection.getOtherId());
+                connection.disconnect();
+                return;
+            }
+            if (!teacher.released.await(releaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn(
+                        RECONNECT.getMarker(),
+                        "Learner isn't done with additional teacher {} in {}, disconnecting",
+                        connection.getOtherId(),
+                        releaseTimeout);
+                connection.disconnect();
+                return;
+            }
+            if (!teacher.synchronizationCompleted) {
+                connection.disconnect();
+                return;
+            }
+            ReconnectStateLearner.endReconnectHandshake(connection);
+            connection.setTimeout(originalSocketTimeout);
+        } catch (final IOException | ParseException e) {
+            logger.warn(RECONNECT.getMarker(), "Additional teacher {} failed", connection.getOtherId(), e);
+            connection.disconnect();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            connection.disconnect();
+        } finally {
+            if (!reservationUsed) {
+                cancelReservation();
+            }
+        }
+    }
+
+    private synchronized boolean add(@NonNull final JoinedTeacher teacher) {
+        reserved--;
+        if (!open) {
+            return false;
+        }
+        joined.add(teacher);
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Waits for additional teachers to join the pool, until the pool is full, or the join timeout is reached, and
+     * closes the pool. Called by the learner, after it has received the signatures from the first teacher.
+     * Additional teachers, which don't hold the same signed state as the first teacher, are released and
+     * disconnected.
+     *
+     * @param sigSet the signatures received from the first teacher
+     * @return connections to additional teachers, which hold the same signed state as the first teacher
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    @NonNull
+    public synchronized List<Connection> awaitTeachers(@NonNull final SigSet sigSet) throws InterruptedException {
+        requireNonNull(sigSet);
+        if (!open) {
+            return List.of();
+        }
+        final long deadline = System.nanoTime() + joinTimeout.toNanos();
+        while (joined.size() < maxAdditionalTeachers) {
+            final long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                break;
+            }
+            wait(remainingMillis);
+        }
+        open = false;
+
+        final List<Connection> connections = new ArrayList<>();
+        final Iterator<JoinedTeacher> it = joined.iterator();
+        while (it.hasNext()) {
+            final JoinedTeacher teacher = it.next();
+            if (holdSameState(sigSet, teacher.sigSet)) {
+                connections.add(teacher.connection);
+            } else {
+                logger.warn(
+                        RECONNECT.getMarker(),
+                        "Teacher {} sent a different signed state than the first teacher, it's not used",
+                        teacher.connection.getOtherId());
+                it.remove();
+                teacher.release(false);
+            }
+        }
+        logger.info(RECONNECT.getMarker(), "Additional teachers joined reconnect: {}", connections.size());
+        return connections;
+    }
+
+    /**
+     * Closes the pool and releases all additional teachers. Called by the learner, when it's done with their
+     * connections. This method is idempotent.
+     *
+     * @param synchronizationCompleted whether the state was received from the teachers. If true, the protocol
+     *      threads of additional teachers complete the reconnect with them, otherwise their connections are broken
+     */
+    public synchronized void release(final boolean synchronizationCompleted) {
+        open = false;
+        joined.forEach(teacher -> teacher.release(synchronizationCompleted));
+        joined.clear();
+        if (synchronizationCompleted) {
+            excluded.clear();
+        }
+    }
+
+    /**
+     * Excludes a peer, which was an inconsistent teacher, from the pool. The peer can't join the pool, until a
+     * reconnect completes. Called by the learner, when a reconnect fails because of inconsistent teachers.
+     *
+     * @param peerId the peer to exclude
+     */
+    public synchronized void exclude(@NonNull final NodeId peerId) {
+        logger.warn(RECONNECT.getMarker(), "Peer {} is excluded from additional teachers", peerId);
+        excluded.add(requireNonNull(peerId));
+    }
+
+    /**
+     * Checks if two teachers hold the same signed state. Signatures on a state are gossiped, so teachers, which hold
+     * the same state, hold the same signature bytes from the same signers. A signature on a different state hash
+     * can't match.
+     *
+     * @param first the signatures received from the first teacher
+     * @param other the signatures received from the other teacher
+     * @return true if at least one node signature is present in both sets
+     */
+    static boolean holdSameState(@NonNull final SigSet first, @NonNull final SigSet other) {
+        for (final NodeId nodeId : first) {
+            final Signature signature = other.getSignature(nodeId);
+            if ((signature != null) && signature.equals(first.getSignature(nodeId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
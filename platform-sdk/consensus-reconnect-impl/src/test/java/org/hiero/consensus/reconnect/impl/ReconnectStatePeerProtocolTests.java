@@ -237,7 +237,8 @@ class ReconnectStatePeerProtocolTests {
                 fallenBehindManager,
                 () -> ACTIVE,
                 reservedSignedStateResultPromise,
-                mock(StateLifecycleManager.class));
+                mock(StateLifecycleManager.class),
+                new ReconnectTeacherPool(1, Duration.ZERO, Duration.ZERO));
         final SignedState signedState = spy(new RandomSignedStateGenerator().build());
         when(signedState.isComplete()).thenReturn(true);
         final VirtualMapState state = mock(VirtualMapState.class);
@@ -258,7 +259,8 @@ class ReconnectStatePeerProtocolTests {
                 fallenBehindManager,
                 () -> ACTIVE,
                 reservedSignedStateResultPromise,
-                mock(StateLifecycleManager.class));
+                mock(StateLifecycleManager.class),
+                new ReconnectTeacherPool(1, Duration.ZERO, Duration.ZERO));
 
         // pretend we have fallen behind
         when(fallenBehindManager.hasFallenBehind()).thenReturn(true);
@@ -530,4 +532,40 @@ class ReconnectStatePeerProtocolTests {
         verify(reservedSignedStateResultPromise, times(1)).tryBlockProvidePermit();
         verify(reservedSignedStateResultPromise, times(0)).releaseProvidePermit();
     }
+
+    @Test
+    @DisplayName("Peer joins a reconnect in progress with another peer as an additional teacher")
+    void joinReconnectInProgress() {
+        when(reservedSignedStateResultPromise.acquireProvidePermit()).thenReturn(false);
+        final FallenBehindMonitor fallenBehindManager = mock(FallenBehindMonitor.class);
+        when(fallenBehindManager.hasFallenBehind()).thenReturn(true);
+        when(fallenBehindManager.isBehindPeer(any())).thenReturn(true);
+
+        final ReconnectTeacherPool teacherPool = new ReconnectTeacherPool(2, Duration.ZERO, Duration.ZERO);
+        final ReconnectStatePeerProtocol peerProtocol = new ReconnectStatePeerProtocol(
+                new TestConfigBuilder().getOrCreateConfig(),
+                new NoOpMetrics(),
+                Time.getCurrent(),
+                getStaticThreadManager(),
+                PEER_ID,
+                teacherThrottle,
+                () -> null,
+                Duration.of(100, ChronoUnit.MILLIS),
+                reconnectMetrics,
+                fallenBehindManager,
+                () -> ACTIVE,
+                reservedSignedStateResultPromise,
+                mock(StateLifecycleManager.class),
+                teacherPool);
+
+        assertFalse(peerProtocol.shouldInitiate(), "No reconnect in progress, nothing to join");
+
+        teacherPool.open();
+        assertTrue(peerProtocol.shouldInitiate(), "Reconnect in progress should be joined");
+        assertFalse(teacherPool.reserve(NodeId.of(2L)), "The only place in the pool should be reserved");
+
+        peerProtocol.initiateFailed();
+        verify(reservedSignedStateResultPromise, times(0)).releaseProvidePermit();
+        assertTrue(teacherPool.reserve(NodeId.of(2L)), "Failed initiation should cancel the reservation");
+    }
 }
@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.consensus.reconnect.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import org.hiero.base.crypto.Signature;
+import org.hiero.base.crypto.SignatureType;
+import org.hiero.consensus.gossip.impl.gossip.sync.SyncInputStream;
+import org.hiero.consensus.gossip.impl.network.Connection;
+import org.hiero.consensus.model.node.NodeId;
+import org.hiero.consensus.state.signed.SigSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReconnectTeacherPoolTest {
+
+    private static final NodeId PEER_ID = NodeId.of(1);
+
+    private static Signature signature(final int b) {
+        final byte[] bytes = new byte[SignatureType.RSA.signatureLength()];
+        bytes[0] = (byte) b;
+        return new Signature(SignatureType.RSA, bytes);
+    }
+
+    @Test
+    @DisplayName("At least one teacher is required")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectTeacherPool(0, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Places are only reserved while the pool is open and not full")
+    void reservations() {
+        final ReconnectTeacherPool disabled = new ReconnectTeacherPool(1, Duration.ZERO, Duration.ZERO);
+        disabled.open();
+        assertFalse(disabled.reserve(PEER_ID), "A pool for a single teacher never accepts additional teachers");
+
+        final ReconnectTeacherPool pool = new ReconnectTeacherPool(3, Duration.ZERO, Duration.ZERO);
+        assertFalse(pool.reserve(PEER_ID), "A closed pool should not accept reservations");
+        pool.open();
+        assertTrue(pool.reserve(PEER_ID));
+        assertTrue(pool.reserve(PEER_ID));
+        assertFalse(pool.reserve(PEER_ID), "A full pool should not accept reservations");
+        pool.cancelReservation();
+        assertTrue(pool.reserve(PEER_ID), "A cancelled reservation should free a place");
+
+        pool.release(false);
+        assertFalse(pool.reserve(PEER_ID), "A released pool should not accept reservations");
+    }
+
+    @Test
+    @DisplayName("Excluded peers can't join the pool, until a reconnect completes")
+    void exclusions() {
+        final ReconnectTeacherPool pool = new ReconnectTeacherPool(3, Duration.ZERO, Duration.ZERO);
+        pool.exclude(PEER_ID);
+        pool.open();
+        assertFalse(pool.reserve(PEER_ID), "An excluded peer should not be able to join");
+        assertTrue(pool.reserve(NodeId.of(2)), "Other peers should be able to join");
+        pool.cancelReservation();
+
+        pool.release(false);
+        pool.open();
+        assertFalse(pool.reserve(PEER_ID), "A failed reconnect should not clear exclusions");
+
+        pool.release(true);
+        pool.open();
+        assertTrue(pool.reserve(PEER_ID), "A completed reconnect should clear exclusions");
+    }
+
+    @Test
+    @DisplayName("Additional teacher is disconnected, if the learner isn't done with it in time")
+    void releaseTimeout() throws IOException {
+        final ReconnectTeacherPool pool = new ReconnectTeacherPool(2, Duration.ZERO, Duration.ofMillis(10));
+        pool.open();
+        assertTrue(pool.reserve(PEER_ID));
+
+        final SigSet sigSet = new SigSet();
+        sigSet.addSignature(NodeId.of(0), signature(0));
+        final ByteArrayOutputStream sigSetBytes = new ByteArrayOutputStream();
+        sigSet.serialize(new WritableStreamingData(sigSetBytes));
+        final Connection connection = mock(Connection.class);
+        when(connection.getDis())
+                .thenReturn(SyncInputStream.createSyncInputStream(
+                        new TestConfigBuilder().getOrCreateConfig(),
+                        new ByteArrayInputStream(sigSetBytes.toByteArray()),
+                        1024));
+
+        // The learner never releases the teacher
+        pool.join(connection, Duration.ofSeconds(1));
+        verify(connection).disconnect();
+    }
+
+    @Test
+    @DisplayName("Learner stops waiting for teachers after the join timeout and closes the pool")
+    void awaitTeachersTimesOut() throws InterruptedException {
+        final ReconnectTeacherPool pool = new ReconnectTeacherPool(2, Duration.ofMillis(10), Duration.ZERO);
+        pool.open();
+        assertTrue(pool.awaitTeachers(new SigSet()).isEmpty(), "No teachers have joined");
+        assertFalse(pool.reserve(PEER_ID), "The pool should be closed");
+    }
+
+    @Test
+    @DisplayName("Teachers hold the same state, if they share a signature from the same node")
+    void holdSameState() {
+        final SigSet first = new SigSet();
+        first.addSignature(NodeId.of(0), signature(0));
+        first.addSignature(NodeId.of(1), signature(1));
+
+        final SigSet same = new SigSet();
+        same.addSignature(NodeId.of(1), signature(1));
+        same.addSignature(NodeId.of(2), signature(2));
+        assertTrue(ReconnectTeacherPool.holdSameState(first, same));
+
+        final SigSet different = new SigSet();
+        different.addSignature(NodeId.of(0), signature(10));
+        different.addSignature(NodeId.of(1), signature(11));
+        assertFalse(ReconnectTeacherPool.holdSameState(first, different));
+
+        final SigSet otherSigners = new SigSet();
+        otherSigners.addSignature(NodeId.of(2), signature(0));
+        assertFalse(ReconnectTeacherPool.holdSameState(first, otherSigners));
+        assertFalse(ReconnectTeacherPool.holdSameState(first, new SigSet()));
+    }
+}
@@ -179,6 +179,7 @@ final class ReconnectTest {
                 state,
                 RECONNECT_SOCKET_TIMEOUT,
                 reconnectMetrics,
-                stateLifecycleManager);
+                stateLifecycleManager,
+                new ReconnectTeacherPool(1, Duration.ZERO, Duration.ZERO));
     }
 }
@@ -3,6 +3,7 @@ package org.hiero.consensus.reconnect.config;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Min;
 import java.time.Duration;
 
 /**
@@ -24,6 +25,18 @@ import java.time.Duration;
  *                                               intentionally or unintentionally slowing another node down by
  *                                               continuously reconnecting with it. Time is measured starting from when
  *                                               a reconnect attempt is initialized.
+ * @param maxTeachers                            The maximum number of peers a node reconnects from in parallel. If
+ *                                               greater than 1, then, once the first peer has accepted to teach, other
+ *                                               peers that reported this node as fallen behind may join the reconnect
+ *                                               as additional teachers. Only peers, which send the same signed state
+ *                                               as the first peer, are used. 1 disables reconnect from several peers.
+ * @param teacherJoinTimeout                     How long a learner waits for additional teachers to join, after it
+ *                                               has received the signatures from the first teacher. Only used if
+ *                                               {@link #maxTeachers} is greater than 1.
+ * @param teacherReleaseTimeout                  How long an additional teacher waits for the learner to be done with
+ *                                               its connection. If the learner isn't done in time, the connection is
+ *                                               broken, and the learner continues without this teacher. Only used if
+ *                                               {@link #maxTeachers} is greater than 1.
  */
 @ConfigData("reconnect")
 public record ReconnectConfig(
@@ -32,4 +45,7 @@ public record ReconnectConfig(
         @ConfigProperty(defaultValue = "60s") Duration socketTimeout,
         @ConfigProperty(defaultValue = "10ms") Duration maxAckDelay,
         @ConfigProperty(defaultValue = "10") int maximumReconnectFailuresBeforeShutdown,
-        @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects) {}
+        @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects,
+        @ConfigProperty(defaultValue = "1") @Min(1) int maxTeachers,
+        @ConfigProperty(defaultValue = "2s") Duration teacherJoinTimeout,
+        @ConfigProperty(defaultValue = "1h") Duration teacherReleaseTimeout) {}
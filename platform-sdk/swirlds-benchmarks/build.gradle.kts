@@ -17,6 +17,7 @@ jmhModuleInfo {
     requires("com.swirlds.config.extensions")
     requires("com.swirlds.merkledb")
     requires("com.swirlds.metrics.api")
+    requires("com.swirlds.state.impl")
     requires("com.swirlds.virtualmap")
     requires("org.hiero.base.concurrent")
     requires("org.hiero.base.crypto")
@@ -59,6 +60,12 @@ tasks.register<JMHTask>("jmhVirtualMapEdit") {
     resultsFile.convention(layout.buildDirectory.file("results/jmh/results-virtualmap-edit.txt"))
 }
 
+tasks.register<JMHTask>("jmhStateKey") {
+    includes.set(listOf("StateKeyBench"))
+    profilers.set(listOf("gc"))
+    resultsFile.convention(layout.buildDirectory.file("results/jmh/results-state-key.txt"))
+}
+
 // Defaults are based on the large-state local calibration profile documented in
 // docs/ReconnectBench.md.
 tasks.register<JMHTask>("jmhReconnect") {
@@ -76,6 +83,11 @@ tasks.register<JMHTask>("jmhReconnect") {
         "networkInflightBytesLimit",
         jmhParamProperty("networkInflightBytesLimit", "134217728"),
     )
+    benchmarkParameters.put("compressStream", jmhParamProperty("compressStream", "false"))
+    benchmarkParameters.put(
+        "reconnectCheckpoint",
+        jmhParamProperty("reconnectCheckpoint", "false"),
+    )
     benchmarkParameters.put("randomSeed", jmhParamProperty("randomSeed", "9823452658"))
     benchmarkParameters.put(
         "teacherAddProbability",
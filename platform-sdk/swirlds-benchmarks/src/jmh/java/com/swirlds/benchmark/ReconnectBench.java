@@ -71,6 +71,14 @@ public class ReconnectBench extends VirtualMapBaseBench {
     @Param({"134217728"})
     public int networkInflightBytesLimit;
 
+    /** Whether the teacher and the learner send messages in compressed batches. */
+    @Param({"false"})
+    public boolean compressStream;
+
+    /** Whether the learner checkpoints received leaves, so a failed reconnect can be resumed. */
+    @Param({"false"})
+    public boolean reconnectCheckpoint;
+
     private static final String TEACHER_MAP_NAME = "teacher";
     private static final String SAVE_DATA_DIRECTORY_PROPERTY = "benchmark.saveDataDirectory";
     private VirtualMap teacherMap;
@@ -96,6 +104,11 @@ public class ReconnectBench extends VirtualMapBaseBench {
         super.configureBenchmarkConfiguration(configurationBuilder);
         configurationBuilder.withSource(
                 new SimpleConfigSource(SAVE_DATA_DIRECTORY_PROPERTY, true).withOrdinal(Integer.MAX_VALUE));
+        configurationBuilder.withSource(new SimpleConfigSource()
+                .withValue("reconnect.teacher.compressStreamEnabled", compressStream)
+                .withValue("reconnect.learner.compressStreamEnabled", compressStream)
+                .withValue("reconnect.learner.checkpointEnabled", reconnectCheckpoint)
+                .withOrdinal(Integer.MAX_VALUE));
     }
 
     /**
@@ -228,7 +241,11 @@ public class ReconnectBench extends VirtualMapBaseBench {
                 teacherAddProbability,
                 teacherRemoveProbability,
                 teacherModifyProbability);
-        logger.info("ReconnectBench traversal mode={}", reconnectMode);
+        logger.info(
+                "ReconnectBench traversal mode={}, compressStream={}, reconnectCheckpoint={}",
+                reconnectMode,
+                compressStream,
+                reconnectCheckpoint);
         logger.info(
                 "ReconnectBench network profile={}, latencyNanos={}, bandwidthBytesPerSecond={}, inflightBytesLimit={}",
                 networkConfig.profile(),
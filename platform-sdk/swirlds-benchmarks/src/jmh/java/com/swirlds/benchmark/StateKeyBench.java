@@ -0,0 +1,144 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.benchmark;
+
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_DELIMITED;
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG;
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import com.swirlds.state.merkle.StateKeyUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures state key encoding, which is done on every state read and write. Every benchmark has
+ * a "streamed" variant, which encodes keys the way {@link StateKeyUtils} used to encode them,
+ * through a byte array output stream. Run with {@code -prof gc} to see per-key allocation rates.
+ */
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StateKeyBench {
+
+    private static final int NUM_KEYS = 1024;
+
+    @Param({"2"})
+    public int stateId;
+
+    @Param({"24"})
+    public int keySize;
+
+    private BenchmarkValue[] keys;
+
+    private Bytes[] keyBytes;
+
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        BenchmarkValue.setValueSize(keySize);
+        keys = new BenchmarkValue[NUM_KEYS];
+        keyBytes = new Bytes[NUM_KEYS];
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = new BenchmarkValue(i);
+            keyBytes[i] = BenchmarkValueCodec.INSTANCE.toBytes(keys[i]);
+        }
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (NUM_KEYS - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Bytes kvKeyCodec() {
+        return StateKeyUtils.kvKey(stateId, keys[nextIndex()], BenchmarkValueCodec.INSTANCE);
+    }
+
+    @Benchmark
+    public Bytes kvKeyCodecStreamed() {
+        return streamedKvKey(stateId, keys[nextIndex()], BenchmarkValueCodec.INSTANCE);
+    }
+
+    @Benchmark
+    public Bytes kvKeyBytes() {
+        return StateKeyUtils.kvKey(stateId, keyBytes[nextIndex()]);
+    }
+
+    @Benchmark
+    public Bytes kvKeyBytesStreamed() {
+        final Bytes key = keyBytes[nextIndex()];
+        return streamed(out -> {
+            out.writeVarInt((stateId << TAG_FIELD_OFFSET) | WIRE_TYPE_DELIMITED.ordinal(), false);
+            out.writeVarInt((int) key.length(), false);
+            out.writeBytes(key);
+        });
+    }
+
+    @Benchmark
+    public Bytes queueKey() {
+        return StateKeyUtils.queueKey(stateId, nextIndex());
+    }
+
+    @Benchmark
+    public Bytes queueKeyStreamed() {
+        final long queueIndex = nextIndex();
+        return streamed(out -> {
+            out.writeVarInt((stateId << TAG_FIELD_OFFSET) | WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal(), false);
+            out.writeVarLong(queueIndex, false);
+        });
+    }
+
+    @Benchmark
+    public Bytes singletonKey() {
+        return StateKeyUtils.singletonKey(stateId);
+    }
+
+    @Benchmark
+    public Bytes singletonKeyStreamed() {
+        return streamed(out -> {
+            out.writeVarInt((1 << TAG_FIELD_OFFSET) | WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal(), false);
+            out.writeVarInt(stateId, false);
+        });
+    }
+
+    private interface StreamWriter {
+        void write(WritableSequentialData out) throws IOException;
+    }
+
+    private static Bytes streamed(final StreamWriter writer) {
+        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
+            writer.write(new WritableStreamingData(bout));
+            return Bytes.wrap(bout.toByteArray());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <K> Bytes streamedKvKey(final int stateId, final K key, final Codec<K> keyCodec) {
+        return streamed(out -> {
+            out.writeVarInt((stateId << TAG_FIELD_OFFSET) | WIRE_TYPE_DELIMITED.ordinal(), false);
+            out.writeVarInt(keyCodec.measureRecord(key), false);
+            keyCodec.write(key, out);
+        });
+    }
+}
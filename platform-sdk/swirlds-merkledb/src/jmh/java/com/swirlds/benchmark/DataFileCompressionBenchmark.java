@@ -0,0 +1,134 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.benchmark;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.config.MerkleDbConfig_;
+import com.swirlds.merkledb.files.DataFileCollection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.hiero.base.file.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark compares data file sizes and random read latencies for different data file
+ * compression codecs, see {@link com.swirlds.merkledb.config.DataFileCompression}. A data file
+ * with semi-compressible data items is written once per trial, then data items are read at
+ * random locations. File sizes are printed to the console after the file is written.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataFileCompressionBenchmark {
+
+    @Param({"none", "deflate"})
+    public String compression;
+
+    /**
+     * Number of data items in the file.
+     */
+    @Param({"1000000"})
+    public int itemCount;
+
+    /**
+     * Data item size in bytes. The first is typical for hashes, the second one is typical for
+     * small accounts and other leaves.
+     */
+    @Param({"56", "256"})
+    public int itemSize;
+
+    /**
+     * Compression block size in bytes. Ignored, if data files aren't compressed.
+     */
+    @Param({"4096", "16384"})
+    public int blockSize;
+
+    // Runtime variables
+    private Path benchmarkDir;
+    private DataFileCollection collection;
+    private long[] dataLocations;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withValue(MerkleDbConfig_.DATA_FILE_COMPRESSION_BLOCK_SIZE, Integer.toString(blockSize))
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        benchmarkDir = Files.createTempDirectory("dataFileCompressionBenchmark");
+        collection = new DataFileCollection(config, benchmarkDir, "benchmark", null, compression, null);
+
+        // Data items are partially random, partially repeated, like real leaves: keys and values
+        // are mostly unique, while field tags, lengths, and small numbers are shared by items
+        final Random random = new Random(1234);
+        final byte[] item = new byte[itemSize];
+        final BufferedData itemData = BufferedData.wrap(item);
+
+        dataLocations = new long[itemCount];
+        collection.updateValidKeyRange(0, itemCount - 1);
+        collection.startWriting();
+        for (int i = 0; i < itemCount; i++) {
+            for (int j = 0; j < itemSize; j++) {
+                item[j] = (j % 4 == 0) ? (byte) random.nextInt() : (byte) j;
+            }
+            dataLocations[i] = collection.storeDataItem(itemData);
+            itemData.flip();
+        }
+        collection.endWriting();
+
+        final long rawSize = (long) itemCount * itemSize;
+        final long fileSize = collection.getFilesSizeStatistics().getSum();
+        System.out.println("Compression: " + compression + ", data items size in bytes: " + rawSize
+                + ", data file size in bytes: " + fileSize + ", bytes saved: " + (rawSize - fileSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (collection != null) {
+            collection.close();
+        }
+        if (benchmarkDir != null) {
+            FileUtils.deleteDirectory(benchmarkDir);
+        }
+    }
+
+    @Benchmark
+    public void randomRead(final Blackhole blackhole) throws IOException {
+        blackhole.consume(readRandomItem());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void randomReadConcurrent(final Blackhole blackhole) throws IOException {
+        blackhole.consume(readRandomItem());
+    }
+
+    private long readRandomItem() throws IOException {
+        final long dataLocation = dataLocations[ThreadLocalRandom.current().nextInt(itemCount)];
+        final BufferedData data = collection.readDataItem(dataLocation);
+        // Touch the first and the last bytes of the data item, like deserializers would do
+        return data.readLong() + data.getByte(data.limit() - 1);
+    }
+}
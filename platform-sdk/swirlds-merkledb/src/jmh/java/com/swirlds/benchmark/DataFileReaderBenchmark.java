@@ -0,0 +1,121 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.benchmark;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.config.MerkleDbConfig_;
+import com.swirlds.merkledb.files.DataFileCollection;
+import com.swirlds.merkledb.files.DataFileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.hiero.base.file.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark can be used to compare performance of {@link DataFileReader} read modes, see
+ * {@link com.swirlds.merkledb.config.DataFileReadMode}. A data file with random data items is
+ * written once per trial, then data items are read at random locations.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataFileReaderBenchmark {
+
+    @Param({"fileChannel", "memoryMapped"})
+    public String readMode;
+
+    /**
+     * Number of data items in the file.
+     */
+    @Param({"1000000"})
+    public int itemCount;
+
+    /**
+     * Data item size in bytes. The first is typical for hashes, the last one is larger than the
+     * buffer used to pre-read data item headers by file channels.
+     */
+    @Param({"56", "1024", "8192"})
+    public int itemSize;
+
+    // Runtime variables
+    private Path benchmarkDir;
+    private DataFileCollection collection;
+    private long[] dataLocations;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withValue(MerkleDbConfig_.DATA_FILE_READ_MODE, readMode)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        benchmarkDir = Files.createTempDirectory("dataFileReaderBenchmark");
+        collection = new DataFileCollection(config, benchmarkDir, "benchmark", null);
+
+        final Random random = new Random(1234);
+        final byte[] sample = new byte[itemSize];
+        random.nextBytes(sample);
+        final BufferedData sampleData = BufferedData.wrap(sample);
+
+        dataLocations = new long[itemCount];
+        collection.updateValidKeyRange(0, itemCount - 1);
+        collection.startWriting();
+        for (int i = 0; i < itemCount; i++) {
+            dataLocations[i] = collection.storeDataItem(sampleData);
+            sampleData.flip();
+        }
+        collection.endWriting();
+
+        System.out.println("Data file size in bytes: " + collection.getFilesSizeStatistics().getSum());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (collection != null) {
+            collection.close();
+        }
+        if (benchmarkDir != null) {
+            FileUtils.deleteDirectory(benchmarkDir);
+        }
+    }
+
+    @Benchmark
+    public void randomRead(final Blackhole blackhole) throws IOException {
+        blackhole.consume(readRandomItem());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void randomReadConcurrent(final Blackhole blackhole) throws IOException {
+        blackhole.consume(readRandomItem());
+    }
+
+    private long readRandomItem() throws IOException {
+        final long dataLocation = dataLocations[ThreadLocalRandom.current().nextInt(itemCount)];
+        final BufferedData data = collection.readDataItem(dataLocation);
+        // Touch the first and the last bytes of the data item, like deserializers would do
+        return data.readLong() + data.getByte(data.limit() - 1);
+    }
+}
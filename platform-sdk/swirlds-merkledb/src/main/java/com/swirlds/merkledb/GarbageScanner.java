@@ -217,6 +217,20 @@ public class GarbageScanner {
             return nonNullStats;
         }
 
+        /**
+         * Estimates the number of bytes in garbage items in all files, i.e. how much disk space
+         * can be reclaimed by compaction. This is the compaction debt of the store.
+         */
+        long estimateDeadBytes() {
+            long deadBytes = 0;
+            for (final GarbageFileStats stats : garbageFileStats) {
+                if (stats != null) {
+                    deadBytes += stats.fileReader.getSize() - estimateAliveBytes(stats.fileReader, stats);
+                }
+            }
+            return deadBytes;
+        }
+
         /**
          * Estimates the projected alive bytes for a single file based on scan statistics.
          * Returns 0 for files with unknown item counts or files not found in the stats
@@ -13,6 +13,7 @@ import static org.hiero.base.concurrent.manager.AdHocThreadManager.getStaticThre
 import com.swirlds.merkledb.GarbageScanner.GarbageFileStats;
 import com.swirlds.merkledb.GarbageScanner.IndexedGarbageFileStats;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.CompactionIoThrottle;
 import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.DataFileReader;
@@ -28,12 +29,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -59,7 +60,15 @@ import org.hiero.base.io.IORunnable;
  * </ul>
  *
  * <p>All tasks run on a shared thread pool. The pool size is configured via
- * {@link MerkleDbConfig#compactionThreads()}.
+ * {@link MerkleDbConfig#compactionThreads()}. When there are more tasks than threads, queued
+ * tasks are executed in priority order. Scanner tasks go first. Compaction tasks are prioritized
+ * by their garbage ratio multiplied by the number of files in the store, which is a measure of
+ * read amplification. All stores of all data sources share the same queue, so the stores with
+ * more garbage and more files are compacted first.
+ *
+ * <p>Disk write bandwidth used by all compaction tasks is limited with a shared {@link
+ * CompactionIoThrottle}, see {@link MerkleDbConfig#compactionIoBudgetMBps()}. The budget can be
+ * raised when there are no flushes and snapshots, see {@link #markForegroundActivity()}.
  */
 class MerkleDbCompactionCoordinator {
 
@@ -73,6 +82,30 @@ class MerkleDbCompactionCoordinator {
      */
     private static ExecutorService compactionExecutor = null;
 
+    /**
+     * Compaction I/O throttle shared by all compaction tasks. Accessed using
+     * {@link #getCompactionIoThrottle(MerkleDbConfig)}.
+     */
+    private static CompactionIoThrottle compactionIoThrottle = null;
+
+    /** Sequence number generator to execute tasks with the same priority in submission order */
+    private static final AtomicLong TASK_SEQUENCE = new AtomicLong(0);
+
+    /**
+     * Priority of tasks, which are not {@link PrioritizedTask} instances, for example, futures created by
+     * {@link ExecutorService#submit}. Such tasks are executed after all prioritized tasks.
+     */
+    private static final double DEFAULT_TASK_PRIORITY = 0;
+
+    /**
+     * Executor queue order: higher priority tasks first, then tasks submitted earlier. Tasks, which
+     * are not {@link PrioritizedTask} instances, get {@link #DEFAULT_TASK_PRIORITY} and are queued
+     * after all prioritized tasks of the same priority.
+     */
+    private static final Comparator<Runnable> TASK_ORDER = Comparator.comparingDouble(
+                    (Runnable r) -> -(r instanceof PrioritizedTask task ? task.priority : DEFAULT_TASK_PRIORITY))
+            .thenComparingLong(r -> r instanceof PrioritizedTask task ? task.sequence : Long.MAX_VALUE);
+
     /**
      * This method is invoked from a non-static method and uses the provided configuration. Consequently, the compaction
      * executor will be initialized using the configuration provided by the first instance of
@@ -88,7 +121,7 @@ class MerkleDbCompactionCoordinator {
                     merkleDbConfig.compactionThreads(),
                     50L,
                     TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(),
+                    new PriorityBlockingQueue<>(16, TASK_ORDER),
                     new ThreadConfiguration(getStaticThreadManager())
                             .setThreadGroup(new ThreadGroup("Compaction"))
                             .setThreadNameProvider(
@@ -100,6 +133,22 @@ class MerkleDbCompactionCoordinator {
         return compactionExecutor;
     }
 
+    /**
+     * Returns the compaction I/O throttle shared by all compaction tasks. Like the compaction executor, the throttle
+     * is initialized using the configuration provided by the first caller.
+     */
+    static synchronized CompactionIoThrottle getCompactionIoThrottle(final @NonNull MerkleDbConfig merkleDbConfig) {
+        requireNonNull(merkleDbConfig);
+
+        if (compactionIoThrottle == null) {
+            compactionIoThrottle = new CompactionIoThrottle(
+                    merkleDbConfig.compactionIoBudgetMBps(),
+                    merkleDbConfig.compactionIdleIoBudgetMBps(),
+                    merkleDbConfig.compactionIdleThresholdMs());
+        }
+        return compactionIoThrottle;
+    }
+
     // Synchronized on this
     private boolean compactionEnabled = false;
 
@@ -129,6 +178,12 @@ class MerkleDbCompactionCoordinator {
      */
     private final Map<String, IndexedGarbageFileStats> scanStatsByStore = new ConcurrentHashMap<>(4);
 
+    /**
+     * Compaction debt per store name: estimated number of bytes in garbage items, as of the latest scan. Written by
+     * scanner tasks.
+     */
+    private final Map<String, Long> compactionDebtByStore = new ConcurrentHashMap<>(4);
+
     @NonNull
     private final MerkleDbConfig merkleDbConfig;
 
@@ -161,6 +216,7 @@ class MerkleDbCompactionCoordinator {
      * @param action action to run while compaction is paused
      */
     synchronized void pauseCompactionAndRun(final @NonNull IORunnable action) throws IOException {
+        markForegroundActivity();
         try {
             for (final DataFileCompactor compactor : compactorsByName.values()) {
                 compactor.pauseCompaction();
@@ -173,6 +229,25 @@ class MerkleDbCompactionCoordinator {
         }
     }
 
+    /**
+     * Reports foreground activity like a flush or a snapshot to the compaction I/O throttle. While there is foreground
+     * activity, compactions use the regular I/O budget rather than the idle one.
+     */
+    void markForegroundActivity() {
+        getCompactionIoThrottle(merkleDbConfig).markForegroundActivity();
+    }
+
+    /**
+     * Returns the compaction debt of the given store, as of the latest scan: estimated number of bytes in garbage
+     * items in all store files. Returns zero if the store hasn't been scanned yet.
+     *
+     * @param storeName store name (e.g. {@link MerkleDbDataSource#ID_TO_HASH_CHUNK})
+     * @return compaction debt, in bytes
+     */
+    long getCompactionDebtBytes(final @NonNull String storeName) {
+        return compactionDebtByStore.getOrDefault(storeName, 0L);
+    }
+
     /**
      * Stops all compactions in progress and disables background compaction. All subsequent calls to compacting methods
      * will be ignored until {@link #enableBackgroundCompaction()} is called. Scanner tasks are not interrupted (they
@@ -234,7 +309,7 @@ class MerkleDbCompactionCoordinator {
         }
 
         taskKeys.add(scanTaskKey);
-        getCompactionExecutor(merkleDbConfig).submit(new ScannerTask(scanTaskKey, storeName, scanner));
+        getCompactionExecutor(merkleDbConfig).execute(new ScannerTask(scanTaskKey, storeName, scanner));
     }
 
     /**
@@ -352,7 +427,9 @@ class MerkleDbCompactionCoordinator {
                     levelAssigned.addAll(group);
                     final String taskKey = compactionTaskKey(storeName, level, i);
                     taskKeys.add(taskKey);
-                    executor.submit(new CompactionTask(taskKey, levelKey, level, group, compactorFactory, config));
+                    final double priority = compactionPriority(group, stats, filteredStats.size());
+                    executor.execute(new CompactionTask(
+                            taskKey, levelKey, level, group, compactorFactory, config, priority));
                     tasksSubmitted++;
                 }
             }
@@ -368,7 +445,9 @@ class MerkleDbCompactionCoordinator {
                     levelAssigned.addAll(smallFiles);
                     final String taskKey = consolidationTaskKey(storeName, level);
                     taskKeys.add(taskKey);
-                    executor.submit(new CompactionTask(taskKey, levelKey, level, smallFiles, compactorFactory, config));
+                    final double priority = compactionPriority(smallFiles, stats, filteredStats.size());
+                    executor.execute(new CompactionTask(
+                            taskKey, levelKey, level, smallFiles, compactorFactory, config, priority));
                     tasksSubmitted++;
 
                     logger.info(
@@ -432,6 +511,32 @@ class MerkleDbCompactionCoordinator {
     // Grouping and absorption
     // ========================================================================
 
+    /**
+     * Computes compaction task priority for a group of files. The priority is the aggregate garbage ratio of the group
+     * multiplied by the number of files in the store. The more garbage the group has, the more space is reclaimed per
+     * byte written. The more files the store has, the higher read amplification is, since data items are spread
+     * across more files.
+     *
+     * @param group          files to compact
+     * @param stats          per-file garbage statistics from the scan
+     * @param storeFileCount number of completed files in the store
+     * @return task priority, higher values are executed first
+     */
+    static double compactionPriority(
+            final @NonNull List<DataFileReader> group,
+            final @NonNull IndexedGarbageFileStats stats,
+            final int storeFileCount) {
+        long totalItems = 0;
+        long deadItems = 0;
+        for (final DataFileReader reader : group) {
+            final GarbageFileStats fs = stats.lookupStats(reader);
+            totalItems += fs.totalItems();
+            deadItems += fs.deadItems();
+        }
+        final double garbageRatio = totalItems == 0 ? 1.0 : (double) deadItems / totalItems;
+        return garbageRatio * Math.max(1, storeFileCount);
+    }
+
     /**
      * Partitions candidates into groups where each group's projected output size fits within the cap. Files are taken
      * in iteration order (file index order from the scanner) without sorting. At least one file per group is always
@@ -562,11 +667,27 @@ class MerkleDbCompactionCoordinator {
     // Inner task classes
     // ========================================================================
 
+    /**
+     * Base class for all tasks run on the compaction executor. Tasks are queued in {@link #TASK_ORDER}.
+     */
+    private abstract static class PrioritizedTask implements Runnable {
+
+        /** Task priority, higher values are executed first */
+        final double priority;
+
+        /** Task sequence number, tasks with the same priority are executed in submission order */
+        final long sequence = TASK_SEQUENCE.getAndIncrement();
+
+        PrioritizedTask(final double priority) {
+            this.priority = priority;
+        }
+    }
+
     /**
      * Background task that traverses the in-memory index and computes per-file garbage statistics. Results are stored
      * in {@link #scanStatsByStore} for compaction tasks to consume.
      */
-    private class ScannerTask implements Runnable {
+    private class ScannerTask extends PrioritizedTask {
 
         private final String taskKey;
         private final String storeName;
@@ -581,6 +702,9 @@ class MerkleDbCompactionCoordinator {
          */
         ScannerTask(
                 @NonNull final String taskKey, @NonNull final String storeName, @NonNull final GarbageScanner scanner) {
+            // Scanners are read-only and cheap compared to compactions, and their results are used
+            // to schedule compactions, so they are executed first
+            super(Double.MAX_VALUE);
             this.taskKey = taskKey;
             this.storeName = storeName;
             this.scanner = scanner;
@@ -589,7 +713,9 @@ class MerkleDbCompactionCoordinator {
         @Override
         public void run() {
             try {
-                scanStatsByStore.put(storeName, scanner.scan());
+                final IndexedGarbageFileStats stats = scanner.scan();
+                scanStatsByStore.put(storeName, stats);
+                compactionDebtByStore.put(storeName, stats.estimateDeadBytes());
             } catch (Exception e) {
                 logger.error(EXCEPTION.getMarker(), "[{}] Garbage scan failed", taskKey, e);
             } finally {
@@ -609,7 +735,7 @@ class MerkleDbCompactionCoordinator {
      * <p>Before compacting, the task filters out files that may have been deleted by concurrent
      * compaction tasks since the scan. If no valid files remain, the task is a no-op.
      */
-    private class CompactionTask implements Callable<Boolean> {
+    private class CompactionTask extends PrioritizedTask {
 
         private final String taskKey;
         private final String levelKey;
@@ -629,6 +755,7 @@ class MerkleDbCompactionCoordinator {
          *                         level)
          * @param compactorFactory creates a fresh {@link DataFileCompactor} for this task
          * @param config           MerkleDb configuration for level cap and other parameters
+         * @param priority         task priority, see {@link #compactionPriority(List, IndexedGarbageFileStats, int)}
          */
         CompactionTask(
                 @NonNull final String taskKey,
@@ -636,7 +763,9 @@ class MerkleDbCompactionCoordinator {
                 final int sourceLevel,
                 @NonNull final List<DataFileReader> assignedFiles,
                 @NonNull final Supplier<DataFileCompactor> compactorFactory,
-                @NonNull final MerkleDbConfig config) {
+                @NonNull final MerkleDbConfig config,
+                final double priority) {
+            super(priority);
             this.taskKey = taskKey;
             this.levelKey = levelKey;
             this.sourceLevel = sourceLevel;
@@ -646,13 +775,14 @@ class MerkleDbCompactionCoordinator {
         }
 
         @Override
-        public Boolean call() {
+        public void run() {
             try {
                 // Create a compactor and register it for pause/resume/interrupt
                 final DataFileCompactor compactor = compactorFactory.get();
+                compactor.setIoThrottle(getCompactionIoThrottle(merkleDbConfig));
                 synchronized (MerkleDbCompactionCoordinator.this) {
                     if (!isCompactionEnabled()) {
-                        return false;
+                        return;
                     }
                     compactorsByName.put(taskKey, compactor);
                 }
@@ -667,7 +797,7 @@ class MerkleDbCompactionCoordinator {
                                 .map(r -> String.valueOf(r.getIndex()))
                                 .toList(),
                         sourceLevel);
-                return compactor.compactSingleLevel(assignedFiles, targetLevel);
+                compactor.compactSingleLevel(assignedFiles, targetLevel);
 
             } catch (final InterruptedException | ClosedByInterruptException e) {
                 logger.info(MERKLE_DB.getMarker(), "Interrupted while compacting [{}], this is allowed", taskKey);
@@ -684,7 +814,6 @@ class MerkleDbCompactionCoordinator {
                     MerkleDbCompactionCoordinator.this.notifyAll();
                 }
             }
-            return false;
         }
     }
 }
@@ -17,6 +17,7 @@ import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.swirlds.base.units.UnitConstants;
 import com.swirlds.base.utility.ToStringBuilder;
+import com.swirlds.merkledb.cache.LeafRecordCache;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListSegment;
@@ -27,6 +28,7 @@ import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.merkledb.files.MemoryIndexDiskKeyValueStore;
 import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
+import com.swirlds.merkledb.files.hashmap.HalfDiskHashMapBulkIngester;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.MerklePathUtils;
 import com.swirlds.virtualmap.datasource.VirtualDataSource;
@@ -39,17 +41,22 @@ import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
@@ -69,6 +76,18 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** Label for database component used in logging, stats, etc. */
     static final String MERKLEDB_COMPONENT = "merkledb";
 
+    /** Min number of hash chunks to load by a single thread in {@link #loadHashChunks(long[])} */
+    private static final int MIN_HASH_CHUNKS_PER_LOAD_THREAD = 64;
+
+    /** Min number of leaf records to load by a single thread in {@link #loadLeafRecords(Bytes[])} */
+    private static final int MIN_LEAF_RECORDS_PER_LOAD_THREAD = 4;
+
+    /** Directory in the storage dir to spill sorted key to path runs to in bulk ingest mode */
+    private static final String BULK_INGEST_DIRECTORY = "bulkIngest";
+
+    /** Index warm-up progress is reported to statistics every time this many bytes are warmed up */
+    private static final long INDEX_WARM_UP_REPORT_BYTES = 64L * UnitConstants.MEBIBYTES_TO_BYTES;
+
     /** Count of open database instances */
     private static final LongAdder COUNT_OF_OPEN_DATABASES = new LongAdder();
 
@@ -145,24 +164,25 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     private final HalfDiskHashMap keyToPath;
 
     /**
-     * Mixed disk (data) and off-heap memory (index) store for leaves. Stores {@link
-     * VirtualLeafBytes} objects.
+     * Collects key to path entries in bulk ingest mode, see {@link #startBulkIngest()}. Null, if the
+     * data source is in the regular mode.
      */
-    private final MemoryIndexDiskKeyValueStore keyValueStore;
+    @Nullable
+    private volatile HalfDiskHashMapBulkIngester keyToPathIngester;
 
     /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, the leaf records cache isn't used.
+     * Mixed disk (data) and off-heap memory (index) store for leaves. Stores {@link
+     * VirtualLeafBytes} objects.
      */
-    private final int leafRecordCacheSize;
+    private final MemoryIndexDiskKeyValueStore keyValueStore;
 
     /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
+     * Virtual leaf records cache. Cache type and size are initialized in data source creation time
+     * from MerkleDb settings. If the cache size is zero, the cache isn't used, and this field is null.
+     * See {@link LeafRecordCache} for details.
      */
-    private final VirtualLeafBytes[] leafRecordCache;
+    @Nullable
+    private final LeafRecordCache leafRecordCache;
 
     /** Thread pool storing path-to-hash mappings */
     private final ExecutorService storeHashesExecutor;
@@ -176,6 +196,18 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** Thread pool creating snapshots, it is unbounded in threads, but we use at most 7 */
     private final ExecutorService snapshotExecutor;
 
+    /**
+     * Thread pool loading hash chunks and leaf records in bulk, see {@link #loadHashChunks(long[])}
+     * and {@link #loadLeafRecords(Bytes[])}
+     */
+    private final ExecutorService bulkLoadExecutor;
+
+    /**
+     * Thread warming up indices memory-mapped from snapshot files, when lazy index loading is enabled
+     * in MerkleDb config, see {@link #warmUpIndices()}
+     */
+    private final ExecutorService indexWarmUpExecutor;
+
     /** Flag for if a snapshot is in progress */
     private final AtomicBoolean snapshotInProgress = new AtomicBoolean(false);
 
@@ -293,6 +325,27 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 .setExceptionHandler(
                         (t, ex) -> logger.error(EXCEPTION.getMarker(), "Uncaught exception during snapshots", ex))
                 .buildFactory());
+        // thread pool loading hash chunks in bulk before virtual map copies are hashed, and
+        // leaf records in bulk for multi-key reads
+        bulkLoadExecutor = Executors.newFixedThreadPool(
+                merkleDbConfig.hashChunkPrefetchThreads(),
+                new ThreadConfiguration(getStaticThreadManager())
+                        .setThreadGroup(threadGroup)
+                        .setThreadNameProvider(
+                                CompositeThreadNameProvider.createNumbered(MERKLEDB_COMPONENT, "Bulk load"))
+                        .setExceptionHandler((t, ex) -> logger.error(
+                                EXCEPTION.getMarker(),
+                                "[{}] Uncaught exception during bulk loading",
+                                tableName,
+                                ex))
+                        .buildFactory());
+        // thread warming up lazily loaded indices
+        indexWarmUpExecutor = Executors.newSingleThreadExecutor(new ThreadConfiguration(getStaticThreadManager())
+                .setThreadGroup(threadGroup)
+                .setThreadNameProvider(CompositeThreadNameProvider.createNumbered(MERKLEDB_COMPONENT, "Index warm-up"))
+                .setExceptionHandler((t, ex) -> logger.error(
+                        EXCEPTION.getMarker(), "[{}] Uncaught exception during index warm-up", tableName, ex))
+                .buildFactory());
 
         dbPaths = new MerkleDbPaths(storageDir);
 
@@ -440,13 +493,13 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             }
         }
 
-        // Leaf records cache
-        leafRecordCacheSize = merkleDbConfig.leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafBytes[leafRecordCacheSize] : null;
-
         // Stats
         statisticsUpdater = new MerkleDbStatisticsUpdater(merkleDbConfig, tableName);
 
+        // Leaf records cache. Statistics updater may be replaced in copyStatisticsFrom(), so it
+        // must not be captured by the eviction listener
+        leafRecordCache = LeafRecordCache.create(merkleDbConfig, () -> statisticsUpdater.countLeafCacheEvictions());
+
         // File compactions
         compactionCoordinator = new MerkleDbCompactionCoordinator(merkleDbConfig);
         if (compactionEnabled) {
@@ -458,10 +511,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         objectKeyToPathScanner =
                 new GarbageScanner(keyToPath.getBucketIndexToBucketLocation(), keyToPath.getFileCollection(), true);
 
-        // If this data source is restored from a snapshot, the storage dir may contain index files. They
-        // are no longer needed and can be deleted
-        Files.deleteIfExists(dbPaths.pathToDiskLocationLeafNodesFile);
-        Files.deleteIfExists(dbPaths.idToDiskLocationHashChunksFile);
+        // If this data source is restored from a snapshot, the storage dir may contain index files or
+        // chunked index directories. They are no longer needed and can be deleted
+        deleteIndexSnapshot(dbPaths.pathToDiskLocationLeafNodesFile);
+        deleteIndexSnapshot(dbPaths.idToDiskLocationHashChunksFile);
         // Also, delete the metadata file to make sure future metadata updates are in a new file, not the
         // hard-linked file from the snapshot directory
         Files.deleteIfExists(dbPaths.metadataFile);
@@ -469,6 +522,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         // will create a new file, not reuse the hard-linked file shared with a snapshot dir
         saveMetadata(dbPaths);
 
+        // Indices mapped from snapshot files are faulted in on first access. Warm them up in background
+        if (merkleDbConfig.lazyIndexLoading()) {
+            indexWarmUpExecutor.execute(this::warmUpIndices);
+        }
+
         COUNT_OF_OPEN_DATABASES.increment();
         logger.info(
                 MERKLE_DB.getMarker(),
@@ -569,6 +627,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             final boolean isReconnectContext)
             throws IOException {
         try {
+            // Compactions use the regular I/O budget while flushes are running
+            compactionCoordinator.markForegroundActivity();
             validLeafPathRange = new KeyRange(firstLeafPath, lastLeafPath);
             final CountDownLatch countDownLatch = new CountDownLatch(lastLeafPath > 0 ? 3 : 2);
 
@@ -644,6 +704,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             statisticsUpdater.updateStoreFileStats(this);
             // update off-heap stats
             statisticsUpdater.updateOffHeapStats(this);
+            statisticsUpdater.updateKeyFilterStats(this);
         }
     }
 
@@ -658,21 +719,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     @Override
     public VirtualLeafBytes<?> loadLeafRecord(final Bytes keyBytes) throws IOException {
         requireNonNull(keyBytes);
-        final int keyHashCode = keyBytes.hashCode();
 
         final long path;
-        VirtualLeafBytes<?> cached = null;
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
-        }
-        // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
+        final VirtualLeafBytes<?> cached = (leafRecordCache != null) ? leafRecordCache.get(keyBytes) : null;
+        // If an entry is found in the cache
+        if (cached != null) {
+            statisticsUpdater.countLeafCacheHits();
             // Some cache entries contain just key and path, but no value. If the value is there,
             // just return the cached entry. If not, at least make use of the path
             if (cached.valueBytes() != null) {
@@ -682,7 +734,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             path = cached.path();
         } else {
             // Cache miss
-            cached = null;
+            if (leafRecordCache != null) {
+                statisticsUpdater.countLeafCacheMisses();
+            }
             statisticsUpdater.countLeafKeyReads();
             path = keyToPath.get(keyBytes, INVALID_PATH);
         }
@@ -690,8 +744,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         // If the key didn't map to anything, we just return null
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
-            if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafBytes<>(path, keyBytes, null);
+            if ((leafRecordCache != null) && (cached == null)) {
+                leafRecordCache.putPath(keyBytes, path);
             }
             return null;
         }
@@ -709,8 +763,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         assert leafBytes != null && leafBytes.keyBytes().equals(keyBytes);
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
-            leafRecordCache[cacheIndex] = leafBytes;
+            leafRecordCache.put(leafBytes);
         }
 
         return leafBytes;
@@ -734,8 +787,20 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (!leafPathRange.withinRange(path)) {
             return null;
         }
+        if (leafRecordCache != null) {
+            final VirtualLeafBytes<?> cached = leafRecordCache.get(path);
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
+                return cached;
+            }
+            statisticsUpdater.countLeafCacheMisses();
+        }
         statisticsUpdater.countLeafReads();
-        return VirtualLeafBytes.parseFrom(keyValueStore.get(path));
+        final VirtualLeafBytes<?> leafBytes = VirtualLeafBytes.parseFrom(keyValueStore.get(path));
+        if ((leafRecordCache != null) && (leafBytes != null)) {
+            leafRecordCache.put(leafBytes);
+        }
+        return leafBytes;
     }
 
     /**
@@ -748,18 +813,16 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     @Override
     public long findKey(final Bytes keyBytes) throws IOException {
         requireNonNull(keyBytes);
-        final int keyHashCode = keyBytes.hashCode();
 
         // Check the cache first
-        int cacheIndex = -1;
         if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafBytes<?> cached = leafRecordCache[cacheIndex];
-            if (cached != null && keyBytes.equals(cached.keyBytes())) {
+            final VirtualLeafBytes<?> cached = leafRecordCache.get(keyBytes);
+            if (cached != null) {
+                statisticsUpdater.countLeafCacheHits();
                 // Cached path may be a valid path or INVALID_PATH, both are legal here
                 return cached.path();
             }
+            statisticsUpdater.countLeafCacheMisses();
         }
 
         statisticsUpdater.countLeafKeyReads();
@@ -767,7 +830,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
 
         if (leafRecordCache != null) {
             // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafBytes<>(path, keyBytes, null);
+            leafRecordCache.putPath(keyBytes, path);
         }
 
         return path;
@@ -807,6 +870,150 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return chunk;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Hash chunks are sorted by their disk locations, then split into contiguous ranges, which
+     * are loaded in parallel. This way every thread reads its data files mostly sequentially, which
+     * is much faster than reading the chunks at random locations one by one.
+     */
+    @NonNull
+    @Override
+    public VirtualHashChunk[] loadHashChunks(@NonNull final long[] chunkIds) throws IOException {
+        requireNonNull(chunkIds);
+        final int count = chunkIds.length;
+        final VirtualHashChunk[] chunks = new VirtualHashChunk[count];
+        final int threads = Math.min(
+                merkleDbConfig.hashChunkPrefetchThreads(),
+                (count + MIN_HASH_CHUNKS_PER_LOAD_THREAD - 1) / MIN_HASH_CHUNKS_PER_LOAD_THREAD);
+        if (threads <= 1) {
+            for (int i = 0; i < count; i++) {
+                chunks[i] = loadHashChunk(chunkIds[i]);
+            }
+            return chunks;
+        }
+
+        // Chunks, which aren't stored on disk, have zero locations and are sorted first
+        final long lastLeafPath = getLastLeafPath();
+        final long[] locations = new long[count];
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            final long chunkId = chunkIds[i];
+            if (chunkId < 0) {
+                throw new IllegalArgumentException("Hash chunk ID (" + chunkId + ") is not valid");
+            }
+            final long chunkPath = VirtualHashChunk.chunkIdToChunkPath(chunkId, hashChunkHeight);
+            if (MerklePathUtils.getLeftChildPath(chunkPath) <= lastLeafPath) {
+                locations[i] = idToDiskLocationHashChunks.get(chunkId, DataFileCommon.NON_EXISTENT_DATA_LOCATION);
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> locations[i]));
+
+        loadInParallel(order, threads, index -> chunks[index] = loadHashChunk(chunkIds[index]));
+        return chunks;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Leaf records are loaded in two passes. First, key to path lookups are sorted by disk
+     * locations of key buckets and run in parallel. Then leaf record reads are sorted by disk
+     * locations of the records and run in parallel, too. Every thread reads its data files mostly
+     * sequentially, and all lookups take about as much time as a single one, as long as there are
+     * enough threads.
+     */
+    @NonNull
+    @Override
+    public VirtualLeafBytes<?>[] loadLeafRecords(@NonNull final Bytes[] keys) throws IOException {
+        requireNonNull(keys);
+        final int count = keys.length;
+        final VirtualLeafBytes<?>[] records = new VirtualLeafBytes<?>[count];
+        final int threads = Math.min(
+                merkleDbConfig.hashChunkPrefetchThreads(),
+                (count + MIN_LEAF_RECORDS_PER_LOAD_THREAD - 1) / MIN_LEAF_RECORDS_PER_LOAD_THREAD);
+        if (threads <= 1) {
+            for (int i = 0; i < count; i++) {
+                records[i] = loadLeafRecord(keys[i]);
+            }
+            return records;
+        }
+
+        // Pass 1: find paths. Buckets, which aren't stored on disk, have zero locations
+        final long[] locations = new long[count];
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            locations[i] = keyToPath.getBucketLocation(requireNonNull(keys[i]));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> locations[i]));
+        final long[] paths = new long[count];
+        loadInParallel(order, threads, index -> paths[index] = findKey(keys[index]));
+
+        // Pass 2: load leaf records. Keys, which aren't found, are sorted first
+        for (int i = 0; i < count; i++) {
+            final long path = paths[i];
+            locations[i] = (path == INVALID_PATH)
+                    ? DataFileCommon.NON_EXISTENT_DATA_LOCATION
+                    : pathToDiskLocationLeafNodes.get(path, DataFileCommon.NON_EXISTENT_DATA_LOCATION);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> locations[i]));
+        loadInParallel(order, threads, index -> {
+            if (paths[index] != INVALID_PATH) {
+                final VirtualLeafBytes<?> leafBytes = loadLeafRecord(paths[index]);
+                // The key to path index may contain old keys, which haven't been removed yet
+                records[index] = ((leafBytes != null) && leafBytes.keyBytes().equals(keys[index])) ? leafBytes : null;
+            }
+        });
+        return records;
+    }
+
+    /** A load operation for a single element in a bulk load */
+    @FunctionalInterface
+    private interface BulkLoadTask {
+        void load(int index) throws IOException;
+    }
+
+    /**
+     * Runs the given load task for all the given indices using the bulk load thread pool. Indices are
+     * split into contiguous ranges, one range per thread.
+     *
+     * @param order element indices, in the order to load them
+     * @param threads number of threads to use
+     * @param task the load task to run for every index
+     * @throws IOException if any of the tasks failed
+     */
+    private void loadInParallel(@NonNull final Integer[] order, final int threads, @NonNull final BulkLoadTask task)
+            throws IOException {
+        final int count = order.length;
+        final List<Callable<Void>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            final int from = (int) ((long) count * t / threads);
+            final int to = (int) ((long) count * (t + 1) / threads);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    task.load(order[i]);
+                }
+                return null;
+            });
+        }
+        try {
+            for (final Future<Void> future : bulkLoadExecutor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Failed to bulk load data", cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while bulk loading data", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -820,7 +1027,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 // It's critical to make sure there are no disk read/write operations before all indiced
                 // and file collections are closed below
                 shutdownThreadsAndWait(
-                        storeHashesExecutor, storeLeavesExecutor, storeLeafKeysExecutor, snapshotExecutor);
+                        storeHashesExecutor,
+                        storeLeavesExecutor,
+                        storeLeafKeysExecutor,
+                        snapshotExecutor,
+                        bulkLoadExecutor,
+                        indexWarmUpExecutor);
             } finally {
                 try {
                     // close all closable data stores
@@ -829,10 +1041,19 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                     hashChunkStore.close();
                     // Hash chunk cache
                     hashChunkCache.clear();
+                    // Leaf records cache, it may use off-heap memory
+                    if (leafRecordCache != null) {
+                        leafRecordCache.clear();
+                    }
                     // Then hash chunk index
                     idToDiskLocationHashChunks.close();
                     // Key to paths, both store and index
                     keyToPath.close();
+                    // Bulk ingest runs, if any
+                    final HalfDiskHashMapBulkIngester ingester = keyToPathIngester;
+                    if (ingester != null) {
+                        ingester.close();
+                    }
                     // Leaves store
                     keyValueStore.close();
                     // Then leaves index
@@ -898,11 +1119,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 final CountDownLatch countDownLatch = new CountDownLatch(6);
                 // write all data stores
                 runWithSnapshotExecutor(countDownLatch, "idToDiskLocationHashChunks", () -> {
-                    idToDiskLocationHashChunks.writeToFile(snapshotDbPaths.idToDiskLocationHashChunksFile);
+                    writeIndexSnapshot(idToDiskLocationHashChunks, snapshotDbPaths.idToDiskLocationHashChunksFile);
                     return true;
                 });
                 runWithSnapshotExecutor(countDownLatch, "pathToDiskLocationLeafNodes", () -> {
-                    pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
+                    writeIndexSnapshot(pathToDiskLocationLeafNodes, snapshotDbPaths.pathToDiskLocationLeafNodesFile);
                     return true;
                 });
                 runWithSnapshotExecutor(countDownLatch, "hashChunkStore", () -> {
@@ -941,6 +1162,37 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         }
     }
 
+    /**
+     * Writes an index to a snapshot. If incremental index snapshots are enabled in MerkleDb config,
+     * the index is written to a directory, and index chunks not changed since the previous snapshot
+     * are hard-linked from it. Otherwise the index is written to a single file.
+     *
+     * @param index the index to write
+     * @param path the index file or directory in the snapshot
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeIndexSnapshot(final LongList index, final Path path) throws IOException {
+        if (merkleDbConfig.incrementalIndexSnapshots()) {
+            index.writeToDirectory(path);
+        } else {
+            index.writeToFile(path);
+        }
+    }
+
+    /**
+     * Deletes an index snapshot, which may be either a single file or a chunked index directory.
+     *
+     * @param path the index file or directory
+     * @throws IOException if an I/O error occurs
+     */
+    private static void deleteIndexSnapshot(final Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            DataFileCommon.deleteDirectoryAndContents(path);
+        } else {
+            Files.deleteIfExists(path);
+        }
+    }
+
     /** toString for debugging */
     @Override
     public String toString() {
@@ -966,6 +1218,59 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return tableName;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path getStorageDir() {
+        return dbPaths.storageDir;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In bulk ingest mode, leaf keys are not written to the key to path store on every flush. It
+     * would result in reading and updating the same buckets again and again, as new leaves are added.
+     * Instead, keys are collected, and the key to path store is built in one pass in {@link
+     * #endBulkIngest()}, every bucket is written exactly once. Hashes and leaves are still written on
+     * every flush.
+     */
+    @Override
+    public boolean startBulkIngest() {
+        if ((getLastLeafPath() > 0) || (keyToPath.getFileCollection().getNumOfFiles() > 0)) {
+            logger.info(MERKLE_DB.getMarker(), "[{}] Bulk ingest is not started, data source is not empty", tableName);
+            return false;
+        }
+        keyToPathIngester = new HalfDiskHashMapBulkIngester(
+                keyToPath,
+                dbPaths.storageDir.resolve(BULK_INGEST_DIRECTORY),
+                merkleDbConfig.bulkIngestSortBufferSize());
+        logger.info(MERKLE_DB.getMarker(), "[{}] Bulk ingest started", tableName);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endBulkIngest() throws IOException {
+        final HalfDiskHashMapBulkIngester ingester = keyToPathIngester;
+        if (ingester == null) {
+            throw new IllegalStateException("Bulk ingest is not started");
+        }
+        try {
+            final long start = System.nanoTime();
+            final DataFileReader keyToPathReader = ingester.load();
+            statisticsUpdater.setFlushLeafKeysStoreFileSize(keyToPathReader);
+            statisticsUpdater.setFlushLeafKeysThroughput(
+                    ingester.getKeyCount(), keyToPathReader, System.nanoTime() - start);
+        } finally {
+            keyToPathIngester = null;
+            ingester.close();
+        }
+        logger.info(MERKLE_DB.getMarker(), "[{}] Bulk ingest finished", tableName);
+    }
+
     public long getInitialCapacity() {
         return initialCapacity;
     }
@@ -1047,6 +1352,51 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     // ==================================================================================================================
     // private methods
 
+    /**
+     * Loads all index chunks memory-mapped from snapshot files into physical memory. Indices are warmed
+     * up in the order they are likely needed after startup: leaf key buckets index first, as every
+     * key lookup starts there, then hash chunk index, then leaf path index. Chunks in every index are
+     * warmed up in ascending order, so hash chunks close to the root are loaded first. Warm-up progress
+     * is reported to MerkleDb statistics. The process is stopped, if this data source is closed.
+     */
+    private void warmUpIndices() {
+        final List<LongListSegment> indices = new ArrayList<>(3);
+        for (final LongList index : List.of(
+                keyToPath.getBucketIndexToBucketLocation(), idToDiskLocationHashChunks, pathToDiskLocationLeafNodes)) {
+            if (index instanceof LongListSegment segmentIndex && (segmentIndex.getMappedBytes() > 0)) {
+                indices.add(segmentIndex);
+            }
+        }
+        final long mappedBytes = indices.stream().mapToLong(LongListSegment::getMappedBytes).sum();
+        if (mappedBytes == 0) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        long warmedUpBytes = 0;
+        long lastReported = 0;
+        for (final LongListSegment index : indices) {
+            long bytes;
+            while (!closed.get() && ((bytes = index.warmUpNextChunk()) > 0)) {
+                warmedUpBytes += bytes;
+                if (warmedUpBytes - lastReported >= INDEX_WARM_UP_REPORT_BYTES) {
+                    statisticsUpdater.updateIndexWarmUpStats(mappedBytes, warmedUpBytes);
+                    lastReported = warmedUpBytes;
+                }
+            }
+        }
+        if (closed.get()) {
+            return;
+        }
+        // Chunks discarded from indices after loading are not warmed up, report the warm-up as complete
+        statisticsUpdater.updateIndexWarmUpStats(mappedBytes, mappedBytes);
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "[{}] Warmed up {} Mb of indices in {} seconds",
+                tableName,
+                warmedUpBytes / UnitConstants.MEBIBYTES_TO_BYTES,
+                (System.currentTimeMillis() - start) * UnitConstants.MILLISECONDS_TO_SECONDS);
+    }
+
     /**
      * Shutdown threads if they are running and wait for them to finish
      *
@@ -1122,8 +1472,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             return;
         }
 
+        final long start = System.nanoTime();
         hashChunkStore.startWriting();
 
+        final MemoryIndexDiskKeyValueStore.WriteBatch writeBatch =
+                hashChunkStore.newWriteBatch(merkleDbConfig.flushWriteBatchSize());
+        final AtomicLong hashChunksWritten = new AtomicLong();
         dirtyHashes.forEach(chunk -> {
             statisticsUpdater.countFlushHashesWritten();
             final long chunkId = chunk.getChunkId();
@@ -1131,16 +1485,19 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 hashChunkCache.put(chunkId, chunk);
             } else {
                 try {
-                    hashChunkStore.put(chunkId, chunk::writeTo, chunk.getSerializedSizeInBytes());
+                    writeBatch.put(chunkId, chunk::writeTo, chunk.getSerializedSizeInBytes());
+                    hashChunksWritten.incrementAndGet();
                 } catch (final IOException e) {
                     logger.error(EXCEPTION.getMarker(), "[{}] IOException writing hash chunks", tableName, e);
                     throw new UncheckedIOException(e);
                 }
             }
         });
+        writeBatch.flush();
 
         final DataFileReader newHashesFile = hashChunkStore.endWriting();
         statisticsUpdater.setFlushHashesStoreFileSize(newHashesFile);
+        statisticsUpdater.setFlushHashesThroughput(hashChunksWritten.get(), newHashesFile, System.nanoTime() - start);
     }
 
     /** Write all the given leaf records to pathToKeyValue */
@@ -1165,23 +1522,30 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         VirtualLeafBytes<?>[] sortedDirtyLeaves = dirtyLeaves.clone();
         Arrays.parallelSort(sortedDirtyLeaves, Comparator.comparingLong(VirtualLeafBytes::path));
 
+        final long start = System.nanoTime();
         keyValueStore.startWriting();
 
-        // Iterate over leaf records
+        // Iterate over leaf records. Leaves are written in batches, since they are sorted by
+        // path, index updates in a batch mostly hit the same index chunk
+        final MemoryIndexDiskKeyValueStore.WriteBatch writeBatch =
+                keyValueStore.newWriteBatch(merkleDbConfig.flushWriteBatchSize());
         for (VirtualLeafBytes<?> leafBytes : sortedDirtyLeaves) {
             // Update path to K/V store
             try {
-                keyValueStore.put(leafBytes.path(), leafBytes::writeTo, leafBytes.getSizeInBytes());
+                writeBatch.put(leafBytes.path(), leafBytes::writeTo, leafBytes.getSizeInBytes());
             } catch (final IOException e) {
                 logger.error(EXCEPTION.getMarker(), "[{}] IOException writing to pathToKeyValue", tableName, e);
                 throw new UncheckedIOException(e);
             }
             statisticsUpdater.countFlushLeavesWritten();
         }
+        writeBatch.flush();
 
         // end writing
         final DataFileReader pathToKeyValueReader = keyValueStore.endWriting();
         statisticsUpdater.setFlushLeavesStoreFileSize(pathToKeyValueReader);
+        statisticsUpdater.setFlushLeavesThroughput(
+                sortedDirtyLeaves.length, pathToKeyValueReader, System.nanoTime() - start);
     }
 
     /** Write all the given leaf records to keyToPath */
@@ -1197,9 +1561,27 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             return;
         }
 
+        final HalfDiskHashMapBulkIngester ingester = keyToPathIngester;
+        if (ingester != null) {
+            if (deletedLeaves.length > 0) {
+                throw new IllegalStateException("Leaves can't be deleted in bulk ingest mode");
+            }
+            for (final VirtualLeafBytes<?> leafBytes : dirtyLeaves) {
+                if (leafBytes.isNewOrMoved()) {
+                    ingester.put(leafBytes.keyBytes(), leafBytes.path());
+                    statisticsUpdater.countFlushLeafKeysWritten();
+                }
+                invalidateReadCache(leafBytes.keyBytes());
+            }
+            // Key to path store is built and resized in endBulkIngest()
+            return;
+        }
+
+        final long start = System.nanoTime();
         keyToPath.startWriting();
 
         // Iterate over leaf records
+        long leafKeysWritten = 0;
         for (final VirtualLeafBytes<?> leafBytes : dirtyLeaves) {
             // Check if the record is new or moved. If not, skip the path update
             if (leafBytes.isNewOrMoved()) {
@@ -1207,6 +1589,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 // Update key to path index
                 keyToPath.put(leafBytes.keyBytes(), path);
                 statisticsUpdater.countFlushLeafKeysWritten();
+                leafKeysWritten++;
             }
 
             // cache the record
@@ -1240,6 +1623,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         // end writing
         final DataFileReader keyToPathReader = keyToPath.endWriting();
         statisticsUpdater.setFlushLeafKeysStoreFileSize(keyToPathReader);
+        statisticsUpdater.setFlushLeafKeysThroughput(
+                leafKeysWritten + deletedLeaves.length, keyToPathReader, System.nanoTime() - start);
 
         if (!compactionCoordinator.isCompactionRunning(OBJECT_KEY_TO_PATH)) {
             keyToPath.resizeIfNeeded(firstLeafPath, lastLeafPath);
@@ -1299,12 +1684,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /**
      * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
      * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
+     * The key is removed from the cache, if it's there. Next time the key is looked up, it is
+     * read from disk and put to the cache again, subject to the cache admission policy.
      *
      * @param keyBytes virtual key
      */
@@ -1312,12 +1693,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (leafRecordCache == null) {
             return;
         }
-        final int keyHashCode = keyBytes.hashCode();
-        final int cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-        final VirtualLeafBytes<?> cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(keyBytes);
     }
 
     public void runHashChunkStoreCompaction() {
@@ -1334,6 +1710,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
 
     public void runKeyToPathStoreCompaction() {
         final KeyRange leafPathRange = validLeafPathRange;
+        // HDHM resize may take multiple flushes. Compaction isn't started till the resize is
+        // complete, since compactions expect the number of buckets to be a power of two
         if (keyToPath.isResizeNeeded(leafPathRange.getMinValidKey(), leafPathRange.getMaxValidKey())) {
             return;
         }
@@ -1370,6 +1748,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return pathToDiskLocationLeafNodes;
     }
 
+    @Nullable
+    LeafRecordCache getLeafRecordCache() {
+        return leafRecordCache;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -3,9 +3,11 @@ package com.swirlds.merkledb;
 
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.DoubleAccumulator;
+import com.swirlds.metrics.api.DoubleGauge;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
+import com.swirlds.metrics.api.LongGauge;
 import com.swirlds.metrics.api.Metrics;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +28,8 @@ public class MerkleDbStatistics {
     private static final String READS_PREFIX = "reads_";
     /** Prefix for all metrics related to data flushing */
     private static final String FLUSHES_PREFIX = "flushes_";
+    /** Prefix for all metrics related to data source caches */
+    private static final String CACHE_PREFIX = "cache_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
 
@@ -44,6 +48,24 @@ public class MerkleDbStatistics {
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
 
+    /** Leaf records cache - hits / s */
+    private LongAccumulator leafCacheHits;
+    /** Leaf records cache - misses / s */
+    private LongAccumulator leafCacheMisses;
+    /** Leaf records cache - evictions / s */
+    private LongAccumulator leafCacheEvictions;
+    /** Leaf records cache - number of entries */
+    private LongGauge leafCacheSize;
+
+    /** Leaf keys store key filter - lookups answered without disk reads / s */
+    private LongAccumulator keyFilterNegatives;
+    /** Leaf keys store key filter - lookups allowed by the filter, but keys not found / s */
+    private LongAccumulator keyFilterFalsePositives;
+    /** Leaf keys store key filter - false positive rate */
+    private DoubleGauge keyFilterFalsePositiveRate;
+    /** Leaf keys store key filter - memory usage in MB */
+    private IntegerGauge keyFilterMemoryMb;
+
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
     /** Hashes store - total file size in Mb */
@@ -67,6 +89,18 @@ public class MerkleDbStatistics {
     private DoubleAccumulator flushLeavesStoreFileSizeMb;
     private LongAccumulator flushLeafKeysWritten;
     private DoubleAccumulator flushLeafKeysStoreFileSizeMb;
+    /** Items written per second during the last flush, hashes store */
+    private DoubleGauge flushHashesItemsPerSec;
+    /** Mb written per second during the last flush, hashes store */
+    private DoubleGauge flushHashesMbPerSec;
+    /** Items written per second during the last flush, leaves store */
+    private DoubleGauge flushLeavesItemsPerSec;
+    /** Mb written per second during the last flush, leaves store */
+    private DoubleGauge flushLeavesMbPerSec;
+    /** Items written per second during the last flush, leaf keys store */
+    private DoubleGauge flushLeafKeysItemsPerSec;
+    /** Mb written per second during the last flush, leaf keys store */
+    private DoubleGauge flushLeafKeysMbPerSec;
 
     /** Hashes store compactions - time in ms */
     private final List<LongAccumulator> hashesStoreCompactionTimeMsList;
@@ -88,16 +122,28 @@ public class MerkleDbStatistics {
 
     /** Leaf keys store - cumulative file size by compaction level in Mb */
     private final List<DoubleAccumulator> leafKeysStoreFileSizeByLevelMbList;
+    /** Hashes store - compaction debt (estimated garbage size) in Mb */
+    private IntegerGauge hashesStoreCompactionDebtMb;
+    /** Leaves store - compaction debt (estimated garbage size) in Mb */
+    private IntegerGauge leavesStoreCompactionDebtMb;
+    /** Leaf keys store - compaction debt (estimated garbage size) in Mb */
+    private IntegerGauge leafKeysStoreCompactionDebtMb;
     /** Off-heap usage in MB of hashes store index */
     private IntegerGauge offHeapHashesIndexMb;
     /** Off-heap usage in MB of leaves store index */
     private IntegerGauge offHeapLeavesIndexMb;
     /** Off-heap usage in MB of object keys store bucket index */
     private IntegerGauge offHeapObjectKeyBucketsIndexMb;
+    /** Off-heap usage in MB of leaf records cache */
+    private IntegerGauge offHeapLeafRecordCacheMb;
     /** Off-heap usage in MB of hashes list in RAM */
     private IntegerGauge offHeapHashesListMb;
     /** Total data source off-heap usage in MB */
     private IntegerGauge offHeapDataSourceMb;
+    /** Index memory in MB mapped from snapshot files, when lazy index loading is enabled */
+    private IntegerGauge offHeapIndexMappedMb;
+    /** Index memory mapped from snapshot files, which is already warmed up, percent */
+    private DoubleGauge offHeapIndexWarmUpPercent;
 
     /**
      * Create a new statistics object for a MerkleDb instances.
@@ -143,6 +189,12 @@ public class MerkleDbStatistics {
                 .withFormat(FloatFormats.FORMAT_9_6));
     }
 
+    private static DoubleGauge buildDoubleGauge(final Metrics metrics, final String name, final String description) {
+        return metrics.getOrCreate(new DoubleGauge.Config(STAT_CATEGORY, name)
+                .withDescription(description)
+                .withFormat(FloatFormats.FORMAT_10_2));
+    }
+
     /**
      * Register all statistics with a registry.
      *
@@ -161,6 +213,39 @@ public class MerkleDbStatistics {
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
 
+        // Leaf records cache
+        leafCacheHits = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafHits_" + label, "Number of leaf records cache hits, " + label);
+        leafCacheMisses = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafMisses_" + label,
+                "Number of leaf records cache misses, " + label);
+        leafCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafEvictions_" + label,
+                "Number of leaf records cache evictions, " + label);
+        leafCacheSize = metrics.getOrCreate(
+                new LongGauge.Config(STAT_CATEGORY, DS_PREFIX + CACHE_PREFIX + "leafEntries_" + label)
+                        .withDescription("Number of entries in leaf records cache, " + label));
+
+        // Leaf keys store key filter
+        keyFilterNegatives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "keyFilterNegatives_" + label,
+                "Number of leaf key lookups answered by key filter without disk reads, " + label);
+        keyFilterFalsePositives = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "keyFilterFalsePositives_" + label,
+                "Number of leaf key lookups allowed by key filter, but not found on disk, " + label);
+        keyFilterFalsePositiveRate = metrics.getOrCreate(
+                new DoubleGauge.Config(STAT_CATEGORY, DS_PREFIX + CACHE_PREFIX + "keyFilterFpRate_" + label)
+                        .withDescription("Key filter false positive rate since the last flush, " + label)
+                        .withFormat(FloatFormats.FORMAT_1_4));
+        keyFilterMemoryMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "keyFilterMb_" + label,
+                "Memory used by leaf keys store key filter, " + label + ", Mb");
+
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + FILES_PREFIX + "hashesStoreFileCount_" + label)
@@ -217,8 +302,44 @@ public class MerkleDbStatistics {
                 metrics,
                 DS_PREFIX + FLUSHES_PREFIX + "leafKeysStoreFileSizeMb_" + label,
                 "Size of the new leaf keys store file created during flush, " + label + ", Mb");
+        flushHashesItemsPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "hashesItemsPerSec_" + label,
+                "Hash chunks written per second during the last flush, " + label);
+        flushHashesMbPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "hashesMbPerSec_" + label,
+                "Hashes store write throughput during the last flush, " + label + ", Mb/s");
+        flushLeavesItemsPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leavesItemsPerSec_" + label,
+                "Leaves written per second during the last flush, " + label);
+        flushLeavesMbPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leavesMbPerSec_" + label,
+                "Leaves store write throughput during the last flush, " + label + ", Mb/s");
+        flushLeafKeysItemsPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leafKeysItemsPerSec_" + label,
+                "Leaf keys written or deleted per second during the last flush, " + label);
+        flushLeafKeysMbPerSec = buildDoubleGauge(
+                metrics,
+                DS_PREFIX + FLUSHES_PREFIX + "leafKeysMbPerSec_" + label,
+                "Leaf keys store write throughput during the last flush, " + label + ", Mb/s");
 
         // Compaction
+        hashesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesDebtMb_" + label,
+                "Estimated size of garbage to compact, hashes store, " + label + ", Mb");
+        leavesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesDebtMb_" + label,
+                "Estimated size of garbage to compact, leaves store, " + label + ", Mb");
+        leafKeysStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysDebtMb_" + label,
+                "Estimated size of garbage to compact, leaf keys store, " + label + ", Mb");
 
         for (int level = 0; level <= dbConfig.maxCompactionLevel(); level++) {
             // Hashes store
@@ -274,12 +395,21 @@ public class MerkleDbStatistics {
         offHeapObjectKeyBucketsIndexMb = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "objectKeyBucketsIndexMb_" + label)
                         .withDescription("Off-heap usage, object leaf key buckets store index, " + label + ", Mb"));
+        offHeapLeafRecordCacheMb = metrics.getOrCreate(
+                new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "leafRecordCacheMb_" + label)
+                        .withDescription("Off-heap usage, leaf records cache, " + label + ", Mb"));
         offHeapHashesListMb = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "hashesListMb_" + label)
                         .withDescription("Off-heap usage, hashes list, " + label + ", Mb"));
         offHeapDataSourceMb = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "dataSourceMb_" + label)
                         .withDescription("Off-heap usage, data source, " + label + ", Mb"));
+        offHeapIndexMappedMb = metrics.getOrCreate(
+                new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "indexMappedMb_" + label)
+                        .withDescription("Index memory mapped from snapshot files, " + label + ", Mb"));
+        offHeapIndexWarmUpPercent = metrics.getOrCreate(
+                new DoubleGauge.Config(STAT_CATEGORY, DS_PREFIX + OFFHEAP_PREFIX + "indexWarmUpPercent_" + label)
+                        .withDescription("Index memory mapped from snapshot files and warmed up, " + label + ", %"));
     }
 
     /**
@@ -309,6 +439,75 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increments {@link #leafCacheHits} stat by 1
+     */
+    public void countLeafCacheHits() {
+        if (leafCacheHits != null) {
+            leafCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheMisses} stat by 1
+     */
+    public void countLeafCacheMisses() {
+        if (leafCacheMisses != null) {
+            leafCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #leafCacheEvictions} stat by 1
+     */
+    public void countLeafCacheEvictions() {
+        if (leafCacheEvictions != null) {
+            leafCacheEvictions.update(1);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafCacheSize} stat
+     *
+     * @param value
+     * 		the value to set
+     */
+    public void setLeafCacheSize(final long value) {
+        if (leafCacheSize != null) {
+            leafCacheSize.set(value);
+        }
+    }
+
+    /**
+     * Updates key filter stats with the number of negative and false positive lookups since the
+     * last update.
+     *
+     * @param negatives the number of lookups answered by the key filter
+     * @param falsePositives the number of false positive lookups
+     */
+    public void updateKeyFilterLookups(final long negatives, final long falsePositives) {
+        if (keyFilterNegatives != null) {
+            keyFilterNegatives.update(negatives);
+        }
+        if (keyFilterFalsePositives != null) {
+            keyFilterFalsePositives.update(falsePositives);
+        }
+        if ((keyFilterFalsePositiveRate != null) && (negatives + falsePositives > 0)) {
+            keyFilterFalsePositiveRate.set((double) falsePositives / (negatives + falsePositives));
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #keyFilterMemoryMb} stat
+     *
+     * @param value the value to set
+     */
+    public void setKeyFilterMemoryMb(final int value) {
+        if (keyFilterMemoryMb != null) {
+            keyFilterMemoryMb.set(value);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -393,6 +592,26 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Set the current value for the compaction debt stats of all stores.
+     *
+     * @param hashesStoreDebtMb hashes store compaction debt, Mb
+     * @param leavesStoreDebtMb leaves store compaction debt, Mb
+     * @param leafKeysStoreDebtMb leaf keys store compaction debt, Mb
+     */
+    public void setCompactionDebtMb(
+            final int hashesStoreDebtMb, final int leavesStoreDebtMb, final int leafKeysStoreDebtMb) {
+        if (hashesStoreCompactionDebtMb != null) {
+            hashesStoreCompactionDebtMb.set(hashesStoreDebtMb);
+        }
+        if (leavesStoreCompactionDebtMb != null) {
+            leavesStoreCompactionDebtMb.set(leavesStoreDebtMb);
+        }
+        if (leafKeysStoreCompactionDebtMb != null) {
+            leafKeysStoreCompactionDebtMb.set(leafKeysStoreDebtMb);
+        }
+    }
+
     public void countFlushHashesWritten(final long value) {
         if (flushHashesWritten != null) {
             flushHashesWritten.update(value);
@@ -435,6 +654,33 @@ public class MerkleDbStatistics {
         }
     }
 
+    public void setFlushHashesThroughput(final double itemsPerSec, final double mbPerSec) {
+        if (flushHashesItemsPerSec != null) {
+            flushHashesItemsPerSec.set(itemsPerSec);
+        }
+        if (flushHashesMbPerSec != null) {
+            flushHashesMbPerSec.set(mbPerSec);
+        }
+    }
+
+    public void setFlushLeavesThroughput(final double itemsPerSec, final double mbPerSec) {
+        if (flushLeavesItemsPerSec != null) {
+            flushLeavesItemsPerSec.set(itemsPerSec);
+        }
+        if (flushLeavesMbPerSec != null) {
+            flushLeavesMbPerSec.set(mbPerSec);
+        }
+    }
+
+    public void setFlushLeafKeysThroughput(final double itemsPerSec, final double mbPerSec) {
+        if (flushLeafKeysItemsPerSec != null) {
+            flushLeafKeysItemsPerSec.set(itemsPerSec);
+        }
+        if (flushLeafKeysMbPerSec != null) {
+            flushLeafKeysMbPerSec.set(mbPerSec);
+        }
+    }
+
     /**
      * Set the current value for the accumulator corresponding to provided compaction level from
      * {@link #hashesStoreCompactionTimeMsList}
@@ -601,6 +847,17 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Set the current value for the {@link #offHeapLeafRecordCacheMb} stat
+     *
+     * @param value the value to set
+     */
+    public void setOffHeapLeafRecordCacheMb(final int value) {
+        if (offHeapLeafRecordCacheMb != null) {
+            offHeapLeafRecordCacheMb.set(value);
+        }
+    }
+
     /**
      * Set the current value for {@link #offHeapHashesListMb} stat
      *
@@ -622,4 +879,20 @@ public class MerkleDbStatistics {
             offHeapDataSourceMb.set(value);
         }
     }
+
+    /**
+     * Set the current values for the {@link #offHeapIndexMappedMb} and {@link #offHeapIndexWarmUpPercent}
+     * stats
+     *
+     * @param mappedMb index memory mapped from snapshot files, in MB
+     * @param warmUpPercent percent of mapped index memory, which is already warmed up
+     */
+    public void setIndexWarmUp(final int mappedMb, final double warmUpPercent) {
+        if (offHeapIndexMappedMb != null) {
+            offHeapIndexMappedMb.set(mappedMb);
+        }
+        if (offHeapIndexWarmUpPercent != null) {
+            offHeapIndexWarmUpPercent.set(warmUpPercent);
+        }
+    }
 }
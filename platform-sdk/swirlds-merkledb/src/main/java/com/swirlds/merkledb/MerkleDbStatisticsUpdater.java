@@ -3,12 +3,16 @@ package com.swirlds.merkledb;
 
 import static com.swirlds.base.units.UnitConstants.BYTES_TO_MEBIBYTES;
 
+import com.swirlds.merkledb.cache.LeafRecordCache;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.hashmap.BucketKeyFilter;
+import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
 import java.util.function.IntConsumer;
 import org.hiero.consensus.metrics.FunctionGauge;
 
@@ -61,6 +65,30 @@ public class MerkleDbStatisticsUpdater {
                 newHashesFile == null ? 0 : newHashesFile.getSize() * BYTES_TO_MEBIBYTES);
     }
 
+    /** Updates statistics with hashes store flush throughput. */
+    void setFlushHashesThroughput(
+            final long itemsWritten, final DataFileReader newHashesFile, final long durationNanos) {
+        final double seconds = Math.max(durationNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        final long bytesWritten = newHashesFile == null ? 0 : newHashesFile.getSize();
+        statistics.setFlushHashesThroughput(itemsWritten / seconds, bytesWritten * BYTES_TO_MEBIBYTES / seconds);
+    }
+
+    /** Updates statistics with leaves store flush throughput. */
+    void setFlushLeavesThroughput(
+            final long itemsWritten, final DataFileReader newLeavesFile, final long durationNanos) {
+        final double seconds = Math.max(durationNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        final long bytesWritten = newLeavesFile == null ? 0 : newLeavesFile.getSize();
+        statistics.setFlushLeavesThroughput(itemsWritten / seconds, bytesWritten * BYTES_TO_MEBIBYTES / seconds);
+    }
+
+    /** Updates statistics with leaf keys store flush throughput. */
+    void setFlushLeafKeysThroughput(
+            final long itemsWritten, final DataFileReader newLeafKeysFile, final long durationNanos) {
+        final double seconds = Math.max(durationNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        final long bytesWritten = newLeafKeysFile == null ? 0 : newLeafKeysFile.getSize();
+        statistics.setFlushLeafKeysThroughput(itemsWritten / seconds, bytesWritten * BYTES_TO_MEBIBYTES / seconds);
+    }
+
     /**
      * Updates hashes store file stats: file count and total size in Mb. No-op if all hashes
      * are cached in RAM.
@@ -113,6 +141,19 @@ public class MerkleDbStatisticsUpdater {
         statistics.setTotalFileSizeMb(updateHashesStoreFileStats(dataSource)
                 + updateLeavesStoreFileStats(dataSource)
                 + updateLeafKeysStoreFileStats(dataSource));
+        updateCompactionDebtStats(dataSource);
+    }
+
+    /**
+     * Updates compaction debt stats for all the storages, as of the latest garbage scans.
+     */
+    void updateCompactionDebtStats(final MerkleDbDataSource dataSource) {
+        final MerkleDbCompactionCoordinator coordinator = dataSource.getCompactionCoordinator();
+        statistics.setCompactionDebtMb(
+                (int) (coordinator.getCompactionDebtBytes(MerkleDbDataSource.ID_TO_HASH_CHUNK) * BYTES_TO_MEBIBYTES),
+                (int) (coordinator.getCompactionDebtBytes(MerkleDbDataSource.PATH_TO_KEY_VALUE) * BYTES_TO_MEBIBYTES),
+                (int) (coordinator.getCompactionDebtBytes(MerkleDbDataSource.OBJECT_KEY_TO_PATH)
+                        * BYTES_TO_MEBIBYTES));
     }
 
     /**
@@ -123,9 +164,40 @@ public class MerkleDbStatisticsUpdater {
                         dataSource.getIdToDiskLocationHashChunks(), statistics::setOffHeapHashesIndexMb)
                 + updateOffHeapStat(dataSource.getPathToDiskLocationLeafNodes(), statistics::setOffHeapLeavesIndexMb)
                 + updateOffHeapStat(dataSource.getKeyToPath(), statistics::setOffHeapObjectKeyBucketsIndexMb);
+        final LeafRecordCache leafRecordCache = dataSource.getLeafRecordCache();
+        if (leafRecordCache != null) {
+            totalOffHeapMemoryConsumption +=
+                    updateOffHeapStat(leafRecordCache, statistics::setOffHeapLeafRecordCacheMb);
+            statistics.setLeafCacheSize(leafRecordCache.size());
+        }
         statistics.setOffHeapDataSourceMb(totalOffHeapMemoryConsumption);
     }
 
+    /**
+     * Updates leaf keys store key filter statistics: lookups answered by the filter and false
+     * positives since the last call, and filter memory usage. No-op if the filter is disabled.
+     */
+    void updateKeyFilterStats(final MerkleDbDataSource dataSource) {
+        final HalfDiskHashMap keyToPath = dataSource.getKeyToPath();
+        final BucketKeyFilter keyFilter = (keyToPath != null) ? keyToPath.getKeyFilter() : null;
+        if (keyFilter == null) {
+            return;
+        }
+        statistics.updateKeyFilterLookups(keyFilter.resetNegativeCount(), keyFilter.resetFalsePositiveCount());
+        statistics.setKeyFilterMemoryMb((int) (keyFilter.getMemoryUsage() * BYTES_TO_MEBIBYTES));
+    }
+
+    /**
+     * Updates statistics with index warm-up progress, when indices are lazily loaded from snapshots.
+     *
+     * @param mappedBytes index memory mapped from snapshot files, in bytes
+     * @param warmedUpBytes index memory mapped from snapshot files, which is already warmed up, in bytes
+     */
+    void updateIndexWarmUpStats(final long mappedBytes, final long warmedUpBytes) {
+        final double percent = (mappedBytes > 0) ? 100.0 * warmedUpBytes / mappedBytes : 100.0;
+        statistics.setIndexWarmUp((int) (mappedBytes * BYTES_TO_MEBIBYTES), percent);
+    }
+
     /** Updates statistics with number of leaf reads. */
     void countLeafReads() {
         statistics.countLeafReads();
@@ -141,6 +213,21 @@ public class MerkleDbStatisticsUpdater {
         statistics.countHashReads();
     }
 
+    /** Updates statistics with number of leaf records cache hits. */
+    void countLeafCacheHits() {
+        statistics.countLeafCacheHits();
+    }
+
+    /** Updates statistics with number of leaf records cache misses. */
+    void countLeafCacheMisses() {
+        statistics.countLeafCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf records cache evictions. */
+    void countLeafCacheEvictions() {
+        statistics.countLeafCacheEvictions();
+    }
+
     /** Increments count of leaves written during a flush*/
     void countFlushLeavesWritten() {
         statistics.countFlushLeavesWritten(1);
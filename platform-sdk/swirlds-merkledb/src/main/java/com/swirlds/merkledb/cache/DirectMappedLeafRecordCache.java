@@ -0,0 +1,106 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Direct-mapped leaf record cache. It's a simple array indexed by leaf keys % cache size. Cache
+ * eviction is not needed, as array size is fixed. Index conflicts are resolved in a very
+ * straightforward way: whatever entry is read last, it's put to the cache.
+ *
+ * <p>No locking is needed in this class. Entries are stored in an {@link AtomicReferenceArray},
+ * so we will never get corrupted objects from the array. An entry may be overwritten in the cache
+ * in a different thread in parallel, but it isn't a problem as cached entry key is always checked
+ * on reads. Writes swap entries atomically, so the number of occupied slots can be tracked exactly
+ * without scanning the array.
+ *
+ * <p>This cache doesn't support lookups by path.
+ */
+final class DirectMappedLeafRecordCache implements LeafRecordCache {
+
+    private final AtomicReferenceArray<VirtualLeafBytes<?>> cache;
+
+    /** The number of non-null entries in {@link #cache}. */
+    private final AtomicLong size = new AtomicLong();
+
+    private final Runnable evictionListener;
+
+    DirectMappedLeafRecordCache(final int size, @NonNull final Runnable evictionListener) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + size);
+        }
+        this.cache = new AtomicReferenceArray<>(size);
+        this.evictionListener = requireNonNull(evictionListener);
+    }
+
+    private int cacheIndex(@NonNull final Bytes keyBytes) {
+        return Math.abs(keyBytes.hashCode() % cache.length());
+    }
+
+    @Nullable
+    @Override
+    public VirtualLeafBytes<?> get(@NonNull final Bytes keyBytes) {
+        final VirtualLeafBytes<?> cached = cache.get(cacheIndex(keyBytes));
+        return (cached != null) && keyBytes.equals(cached.keyBytes()) ? cached : null;
+    }
+
+    @Nullable
+    @Override
+    public VirtualLeafBytes<?> get(final long path) {
+        return null;
+    }
+
+    @Override
+    public void put(@NonNull final VirtualLeafBytes<?> leafBytes) {
+        store(leafBytes);
+    }
+
+    @Override
+    public void putPath(@NonNull final Bytes keyBytes, final long path) {
+        final VirtualLeafBytes<?> cached = get(keyBytes);
+        if ((cached != null) && (cached.path() == path)) {
+            return;
+        }
+        store(new VirtualLeafBytes<>(path, keyBytes, null));
+    }
+
+    private void store(@NonNull final VirtualLeafBytes<?> leafBytes) {
+        final int cacheIndex = cacheIndex(leafBytes.keyBytes());
+        final VirtualLeafBytes<?> old = cache.getAndSet(cacheIndex, leafBytes);
+        if (old == null) {
+            size.incrementAndGet();
+        } else if (!old.keyBytes().equals(leafBytes.keyBytes())) {
+            evictionListener.run();
+        }
+    }
+
+    @Override
+    public void invalidate(@NonNull final Bytes keyBytes) {
+        final int cacheIndex = cacheIndex(keyBytes);
+        final VirtualLeafBytes<?> cached = cache.get(cacheIndex);
+        if ((cached != null) && keyBytes.equals(cached.keyBytes()) && cache.compareAndSet(cacheIndex, cached, null)) {
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < cache.length(); i++) {
+            if (cache.getAndSet(i, null) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+}
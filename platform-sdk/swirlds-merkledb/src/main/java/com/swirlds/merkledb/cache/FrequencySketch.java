@@ -0,0 +1,134 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+/**
+ * A probabilistic multiset for estimating the popularity of an element within a time window. This
+ * is a count-min sketch with four 4-bit counters per element, used by TinyLFU cache admission
+ * policy.
+ *
+ * <p>Counters are packed into longs, 16 counters per long. For every element, all four counters
+ * are in the same 16-counter group, but in different longs, one per hash function. The maximum
+ * frequency of an element is limited to 15. To make sure the sketch reflects recent history
+ * rather than all history, all counters are halved once the number of increments reaches the
+ * sample size, which is ten times the max number of elements in the cache.
+ *
+ * <p>This class is not thread-safe. All calls must be externally synchronized.
+ */
+final class FrequencySketch {
+
+    /** Mask to clear the highest bit of every 4-bit counter after a shift right by 1 */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Mask to get the lowest bit of every 4-bit counter */
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    /** Seeds for the four hash functions */
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /** Max counter value */
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+
+    private final int tableMask;
+
+    private final int sampleSize;
+
+    /** Number of increments since the last reset */
+    private int size;
+
+    /**
+     * Creates a new frequency sketch for a cache of the given max size.
+     *
+     * @param maximumSize max number of elements in the cache
+     */
+    FrequencySketch(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maximumSize);
+        }
+        final int tableSize = ceilingPowerOfTwo(Math.max(maximumSize, 8));
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (maximumSize > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : 10 * maximumSize;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of an element with the given hash code, up to
+     * the maximum value of 15.
+     *
+     * @param hashCode element hash code
+     * @return estimated frequency, from 0 to 15
+     */
+    int frequency(final int hashCode) {
+        final int hash = spread(hashCode);
+        final int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            final int index = indexOf(hash, i);
+            final int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the popularity of an element with the given hash code, if it doesn't exceed
+     * the maximum of 15. The popularity of all elements is periodically aged down.
+     *
+     * @param hashCode element hash code
+     */
+    void increment(final int hashCode) {
+        final int hash = spread(hashCode);
+        final int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && (++size == sampleSize)) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(final int index, final int counter) {
+        final int offset = counter << 2;
+        final long mask = 0xfL << offset;
+        if ((table[index] & mask) != ((long) MAX_COUNT << offset)) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /** Halves every counter and adjusts the sample size. */
+    void reset() {
+        int count = 0;
+        for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (count >>> 2)) >>> 1;
+    }
+
+    private int indexOf(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    /** Applies a supplemental hash function to defend against poor quality hash codes. */
+    private static int spread(final int hashCode) {
+        int x = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(final int x) {
+        final int highest = Integer.highestOneBit(x);
+        if (highest == x) {
+            return x;
+        }
+        return (highest >= (1 << 30)) ? (1 << 30) : (highest << 1);
+    }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static com.swirlds.merkledb.config.LeafRecordCachePolicy.DIRECT_MAPPED;
+import static com.swirlds.merkledb.config.LeafRecordCachePolicy.TINY_LFU;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.merkledb.collections.OffHeapUser;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A bounded cache of virtual leaf records read from a MerkleDb data source. Entries are looked up
+ * by leaf key bytes or by leaf path.
+ *
+ * <p>Two kinds of entries are stored in the cache. Full entries contain leaf key, path, and value.
+ * Key-only entries contain leaf key and path, but no value. They are used to cache results of
+ * key to path lookups, including negative results, when the path is {@link #INVALID_PATH}. Only
+ * full entries can be looked up by path.
+ *
+ * <p>Implementations must be thread-safe. All methods may be called concurrently from virtual
+ * map reading threads and data source flushing threads.
+ */
+public interface LeafRecordCache extends OffHeapUser {
+
+    /** Invalid virtual path, used to cache negative key to path lookup results. */
+    long INVALID_PATH = -1;
+
+    /**
+     * Looks up a leaf record by key. If the returned record has no value, it's a key-only entry,
+     * only its path is cached.
+     *
+     * @param keyBytes leaf key
+     * @return cached leaf record, or null if the key is not cached
+     */
+    @Nullable
+    VirtualLeafBytes<?> get(@NonNull Bytes keyBytes);
+
+    /**
+     * Looks up a full leaf record (key, path, and value) by path.
+     *
+     * @param path leaf path
+     * @return cached leaf record, or null if there is no full entry for the path in the cache
+     */
+    @Nullable
+    VirtualLeafBytes<?> get(long path);
+
+    /**
+     * Puts a full leaf record to the cache. The record may be rejected by the cache admission
+     * policy.
+     *
+     * @param leafBytes leaf record to cache
+     */
+    void put(@NonNull VirtualLeafBytes<?> leafBytes);
+
+    /**
+     * Puts a key-only entry to the cache. The path may be {@link #INVALID_PATH}, this is how
+     * negative lookups are cached. If the key is already cached with the same path, the entry
+     * is not changed.
+     *
+     * @param keyBytes leaf key
+     * @param path leaf path, or {@link #INVALID_PATH}
+     */
+    void putPath(@NonNull Bytes keyBytes, long path);
+
+    /**
+     * Removes the given key from the cache, if it's cached.
+     *
+     * @param keyBytes leaf key
+     */
+    void invalidate(@NonNull Bytes keyBytes);
+
+    /**
+     * Removes all entries from the cache and releases all off-heap memory used by the cache, if
+     * any. The cache can still be used after this call.
+     */
+    void clear();
+
+    /**
+     * Returns the approximate number of entries in the cache.
+     */
+    long size();
+
+    /**
+     * Creates a leaf record cache according to the given MerkleDb config. If the configured
+     * cache size is zero, this method returns null.
+     *
+     * @param config MerkleDb config
+     * @param evictionListener a callback to call for every evicted (not invalidated) entry
+     * @return the leaf record cache, or null if the cache is disabled
+     */
+    @Nullable
+    static LeafRecordCache create(@NonNull final MerkleDbConfig config, @NonNull final Runnable evictionListener) {
+        final int size = config.leafRecordCacheSize();
+        if (size <= 0) {
+            return null;
+        }
+        return switch (config.leafRecordCachePolicy()) {
+            case DIRECT_MAPPED -> new DirectMappedLeafRecordCache(size, evictionListener);
+            case TINY_LFU -> new TinyLfuLeafRecordCache(size, config.leafRecordCacheOffHeap(), evictionListener);
+            default ->
+                throw new IllegalArgumentException(
+                        "Unknown leaf record cache policy: " + config.leafRecordCachePolicy());
+        };
+    }
+}
@@ -0,0 +1,194 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.merkledb.collections.OffHeapUser;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.hiero.base.utility.MemoryUtils;
+
+/**
+ * A simple slab allocator for leaf value bytes stored in off-heap memory.
+ *
+ * <p>Memory is allocated in slots of fixed size classes, from {@link #MIN_SLOT_SIZE} to {@link
+ * #MAX_SLOT_SIZE} bytes, every next class is twice larger than the previous one. Slots of every
+ * size class are carved out of direct byte buffers (slabs) of approximately {@link #SLAB_SIZE}
+ * bytes. Freed slots are reused for subsequent allocations of the same size class. Slabs are
+ * never released until {@link #clear()} is called.
+ *
+ * <p>Every allocated slot is identified by a long handle, which encodes the size class, the slab
+ * index, and the slot index in the slab. Allocations and frees are synchronized. Reads are not, it
+ * is the caller's responsibility to make sure a slot isn't freed while it's read.
+ */
+final class OffHeapValueStore implements OffHeapUser {
+
+    /** Smallest slot size, bytes */
+    static final int MIN_SLOT_SIZE = 32;
+
+    /** Largest slot size, bytes. Larger values are not stored off-heap */
+    static final int MAX_SLOT_SIZE = 64 * 1024;
+
+    /** Target slab size, bytes */
+    static final int SLAB_SIZE = 1024 * 1024;
+
+    /** Handle value to indicate no off-heap slot was allocated */
+    static final long NO_SLOT = -1;
+
+    private static final int NUM_SIZE_CLASSES =
+            Integer.numberOfTrailingZeros(MAX_SLOT_SIZE) - Integer.numberOfTrailingZeros(MIN_SLOT_SIZE) + 1;
+
+    private final SizeClass[] sizeClasses;
+
+    /** Total size of all allocated slabs, bytes */
+    private volatile long offHeapConsumption = 0;
+
+    OffHeapValueStore() {
+        sizeClasses = new SizeClass[NUM_SIZE_CLASSES];
+        for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+            sizeClasses[i] = new SizeClass(MIN_SLOT_SIZE << i);
+        }
+    }
+
+    /**
+     * Copies the given bytes to an off-heap slot.
+     *
+     * @param bytes the bytes to store
+     * @return the slot handle, or {@link #NO_SLOT} if the bytes are too large to store off-heap
+     */
+    long store(@NonNull final Bytes bytes) {
+        final int length = Math.toIntExact(bytes.length());
+        if (length > MAX_SLOT_SIZE) {
+            return NO_SLOT;
+        }
+        final int sizeClassIndex = sizeClassForLength(length);
+        final SizeClass sizeClass = sizeClasses[sizeClassIndex];
+        final long handle;
+        synchronized (this) {
+            handle = sizeClass.allocate(sizeClassIndex);
+        }
+        final ByteBuffer slab = sizeClass.slabs[slabIndex(handle)];
+        bytes.writeTo(BufferedData.wrap(slab.slice(slotIndex(handle) * sizeClass.slotSize, length)));
+        return handle;
+    }
+
+    /**
+     * Reads bytes from an off-heap slot. The slot must not be freed while it's read.
+     *
+     * @param handle the slot handle
+     * @param length number of bytes to read
+     * @return the bytes read from the slot
+     */
+    @NonNull
+    Bytes read(final long handle, final int length) {
+        final SizeClass sizeClass = sizeClasses[sizeClassOf(handle)];
+        final ByteBuffer slab = sizeClass.slabs[slabIndex(handle)];
+        final byte[] bytes = new byte[length];
+        slab.get(slotIndex(handle) * sizeClass.slotSize, bytes);
+        return Bytes.wrap(bytes);
+    }
+
+    /**
+     * Returns a slot to the store, so it can be reused for subsequent allocations.
+     *
+     * @param handle the slot handle
+     */
+    synchronized void free(final long handle) {
+        sizeClasses[sizeClassOf(handle)].freeSlots.add(handle);
+    }
+
+    /**
+     * Releases all off-heap memory allocated by this store. All previously allocated handles
+     * become invalid.
+     */
+    synchronized void clear() {
+        for (final SizeClass sizeClass : sizeClasses) {
+            sizeClass.clear();
+        }
+        offHeapConsumption = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getOffHeapConsumption() {
+        return offHeapConsumption;
+    }
+
+    private static int sizeClassForLength(final int length) {
+        if (length <= MIN_SLOT_SIZE) {
+            return 0;
+        }
+        // Ceiling log2 of length, relative to the min slot size
+        return (32 - Integer.numberOfLeadingZeros(length - 1)) - Integer.numberOfTrailingZeros(MIN_SLOT_SIZE);
+    }
+
+    private static long handle(final int sizeClassIndex, final int slabIndex, final int slotIndex) {
+        return ((long) sizeClassIndex << 56) | ((long) slabIndex << 32) | slotIndex;
+    }
+
+    private static int sizeClassOf(final long handle) {
+        return (int) (handle >>> 56);
+    }
+
+    private static int slabIndex(final long handle) {
+        return (int) ((handle >>> 32) & 0xFFFFFFL);
+    }
+
+    private static int slotIndex(final long handle) {
+        return (int) handle;
+    }
+
+    /** Slabs and free slots of a single size class. */
+    private final class SizeClass {
+
+        private final int slotSize;
+
+        private final int slotsPerSlab;
+
+        /**
+         * Slabs of this size class. The array is replaced with a larger copy when a new slab is
+         * allocated, so it can be safely read without synchronization
+         */
+        private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+
+        /** Number of slots used in the last slab, never freed slots are taken from there */
+        private int lastSlabSlotsUsed = 0;
+
+        private final LongArrayList freeSlots = new LongArrayList();
+
+        private SizeClass(final int slotSize) {
+            this.slotSize = slotSize;
+            this.slotsPerSlab = Math.max(1, SLAB_SIZE / slotSize);
+        }
+
+        // Must be called under store lock
+        private long allocate(final int sizeClassIndex) {
+            if (!freeSlots.isEmpty()) {
+                return freeSlots.removeAtIndex(freeSlots.size() - 1);
+            }
+            ByteBuffer[] currentSlabs = slabs;
+            if ((currentSlabs.length == 0) || (lastSlabSlotsUsed == slotsPerSlab)) {
+                final ByteBuffer slab = ByteBuffer.allocateDirect(slotSize * slotsPerSlab);
+                currentSlabs = Arrays.copyOf(currentSlabs, currentSlabs.length + 1);
+                currentSlabs[currentSlabs.length - 1] = slab;
+                slabs = currentSlabs;
+                lastSlabSlotsUsed = 0;
+                offHeapConsumption += slab.capacity();
+            }
+            return handle(sizeClassIndex, currentSlabs.length - 1, lastSlabSlotsUsed++);
+        }
+
+        // Must be called under store lock
+        private void clear() {
+            final ByteBuffer[] currentSlabs = slabs;
+            slabs = new ByteBuffer[0];
+            for (final ByteBuffer slab : currentSlabs) {
+                MemoryUtils.closeDirectByteBuffer(slab);
+            }
+            lastSlabSlotsUsed = 0;
+            freeSlots.clear();
+        }
+    }
+}
@@ -0,0 +1,478 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static com.swirlds.merkledb.cache.OffHeapValueStore.NO_SLOT;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leaf record cache with W-TinyLFU eviction and admission policy.
+ *
+ * <p>The cache is split into a number of independent segments by key hash code. Every segment is
+ * guarded by its own lock and has three LRU queues:
+ * <ul>
+ *     <li>admission window, about 1% of segment capacity. All new entries are put here first</li>
+ *     <li>probation, entries evicted from the window are moved here</li>
+ *     <li>protected, about 80% of the main (probation + protected) region. Entries are
+ *     promoted here from probation, when accessed again</li>
+ * </ul>
+ * When the main region is full, an entry evicted from the window (the candidate) is compared
+ * to the LRU entry in probation (the victim). Access frequencies of both are estimated using a
+ * {@link FrequencySketch}, and the entry with the lower frequency is evicted. It makes sure
+ * frequently accessed keys are not evicted from the cache by a stream of keys that are read once.
+ *
+ * <p>In addition to the key lookup, the cache has a direct-mapped path index, which is used to
+ * look up full entries by path. The path index contains references to cache entries, every
+ * reference is validated against the segment using the entry key before it's returned.
+ *
+ * <p>If off-heap storage is enabled, leaf values are stored in an {@link OffHeapValueStore}
+ * rather than on Java heap. Keys are always stored on heap. Values larger than {@link
+ * OffHeapValueStore#MAX_SLOT_SIZE} are kept on heap, too.
+ */
+final class TinyLfuLeafRecordCache implements LeafRecordCache {
+
+    /** Max number of segments */
+    private static final int MAX_SEGMENTS = 64;
+
+    /** Min segment capacity. If the cache is small, the number of segments is reduced */
+    private static final int MIN_SEGMENT_CAPACITY = 256;
+
+    /** Admission window size, percent of segment capacity */
+    private static final int WINDOW_PERCENT = 1;
+
+    /** Protected region size, percent of main region capacity */
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    /** Direct-mapped index of full cache entries by leaf path */
+    private final Node[] pathIndex;
+
+    /** Off-heap store for leaf values, or null if values are stored on heap */
+    @Nullable
+    private final OffHeapValueStore offHeapStore;
+
+    private final Runnable evictionListener;
+
+    TinyLfuLeafRecordCache(final int capacity, final boolean offHeap, @NonNull final Runnable evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.evictionListener = requireNonNull(evictionListener);
+        int numSegments = 1;
+        while ((numSegments < MAX_SEGMENTS) && (capacity / (numSegments * 2) >= MIN_SEGMENT_CAPACITY)) {
+            numSegments *= 2;
+        }
+        segments = new Segment[numSegments];
+        segmentMask = numSegments - 1;
+        final int segmentCapacity = Math.max(1, capacity / numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        pathIndex = new Node[capacity];
+        offHeapStore = offHeap ? new OffHeapValueStore() : null;
+    }
+
+    private Segment segmentFor(final int hash) {
+        // Low bits are used by hash maps in segments, use high bits of the mixed hash to select a segment
+        return segments[((hash * 0x9E3779B9) >>> 24) & segmentMask];
+    }
+
+    private int pathIndexSlot(final long path) {
+        return (int) (path % pathIndex.length);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable
+    @Override
+    public VirtualLeafBytes<?> get(@NonNull final Bytes keyBytes) {
+        final int hash = keyBytes.hashCode();
+        return segmentFor(hash).get(keyBytes, hash);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable
+    @Override
+    public VirtualLeafBytes<?> get(final long path) {
+        if (path < 0) {
+            return null;
+        }
+        // No synchronization is needed here. Java guarantees (JLS 17.7) that reference reads are
+        // atomic. The node may be already evicted from the cache, or updated with a different path,
+        // this is why it's checked below
+        final Node node = pathIndex[pathIndexSlot(path)];
+        if ((node == null) || (node.path != path)) {
+            return null;
+        }
+        final VirtualLeafBytes<?> leafBytes = get(node.keyBytes);
+        if ((leafBytes == null) || (leafBytes.path() != path) || (leafBytes.valueBytes() == null)) {
+            return null;
+        }
+        return leafBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void put(@NonNull final VirtualLeafBytes<?> leafBytes) {
+        final Bytes keyBytes = leafBytes.keyBytes();
+        final int hash = keyBytes.hashCode();
+        segmentFor(hash).put(keyBytes, hash, leafBytes.path(), leafBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putPath(@NonNull final Bytes keyBytes, final long path) {
+        final int hash = keyBytes.hashCode();
+        segmentFor(hash).put(keyBytes, hash, path, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidate(@NonNull final Bytes keyBytes) {
+        final int hash = keyBytes.hashCode();
+        segmentFor(hash).invalidate(keyBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        clearSegments(0);
+    }
+
+    // Locks all segments, starting from the given index, then clears them. Off-heap store is
+    // cleared, when all segments are locked, so no concurrent reads from the store are possible
+    private void clearSegments(final int index) {
+        if (index == segments.length) {
+            if (offHeapStore != null) {
+                offHeapStore.clear();
+            }
+            return;
+        }
+        final Segment segment = segments[index];
+        synchronized (segment) {
+            segment.clear();
+            clearSegments(index + 1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long size() {
+        long size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getOffHeapConsumption() {
+        return offHeapStore == null ? 0 : offHeapStore.getOffHeapConsumption();
+    }
+
+    /**
+     * A cache entry. All fields except {@link #keyBytes}, {@link #hash}, and {@link #path} are
+     * only accessed under the segment lock.
+     */
+    private static final class Node {
+
+        private final Bytes keyBytes;
+
+        private final int hash;
+
+        /** Leaf path. Volatile, as it's read by path lookups without any locks */
+        private volatile long path;
+
+        /**
+         * On-heap leaf record. If the value is stored off-heap, this field is null. For key-only
+         * entries, this is a record with key and path, but no value
+         */
+        @Nullable
+        private VirtualLeafBytes<?> leafBytes;
+
+        /** Off-heap value slot, or {@link OffHeapValueStore#NO_SLOT} */
+        private long offHeapSlot = NO_SLOT;
+
+        /** Value length, only used if the value is stored off-heap */
+        private int offHeapValueLength;
+
+        private byte queue;
+
+        private Node prev;
+
+        private Node next;
+
+        private Node(@NonNull final Bytes keyBytes, final int hash) {
+            this.keyBytes = keyBytes;
+            this.hash = hash;
+        }
+
+        private boolean hasValue() {
+            return (offHeapSlot != NO_SLOT) || ((leafBytes != null) && (leafBytes.valueBytes() != null));
+        }
+    }
+
+    /** Doubly linked LRU list of nodes. The head is the least recently used node. */
+    private static final class NodeList {
+
+        private Node head;
+
+        private Node tail;
+
+        private int size;
+
+        private void addLast(@NonNull final Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private void remove(@NonNull final Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToEnd(@NonNull final Node node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /** An independent part of the cache. All methods are synchronized on the segment. */
+    private final class Segment {
+
+        private final Map<Bytes, Node> data;
+
+        private final FrequencySketch sketch;
+
+        private final int windowCapacity;
+
+        private final int mainCapacity;
+
+        private final int protectedCapacity;
+
+        private final NodeList window = new NodeList();
+
+        private final NodeList probation = new NodeList();
+
+        private final NodeList protectedList = new NodeList();
+
+        private Segment(final int capacity) {
+            data = new HashMap<>();
+            sketch = new FrequencySketch(capacity);
+            windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+            mainCapacity = Math.max(1, capacity - windowCapacity);
+            protectedCapacity = Math.max(1, (int) ((long) mainCapacity * PROTECTED_PERCENT / 100));
+        }
+
+        private synchronized VirtualLeafBytes<?> get(@NonNull final Bytes keyBytes, final int hash) {
+            sketch.increment(hash);
+            final Node node = data.get(keyBytes);
+            if (node == null) {
+                return null;
+            }
+            onAccess(node);
+            return toLeafBytes(node);
+        }
+
+        private synchronized void put(
+                @NonNull final Bytes keyBytes,
+                final int hash,
+                final long path,
+                @Nullable final VirtualLeafBytes<?> leafBytes) {
+            Node node = data.get(keyBytes);
+            if (node == null) {
+                node = new Node(keyBytes, hash);
+                setValue(node, path, leafBytes);
+                data.put(keyBytes, node);
+                node.queue = WINDOW;
+                window.addLast(node);
+                evict();
+            } else {
+                if ((leafBytes == null) && (node.path == path)) {
+                    // Don't replace a full entry with a key-only entry for the same path
+                    return;
+                }
+                clearPathIndex(node);
+                releaseValue(node);
+                setValue(node, path, leafBytes);
+                onAccess(node);
+            }
+            if (node.hasValue() && (path >= 0) && data.containsKey(keyBytes)) {
+                // No synchronization is needed here. Java guarantees (JLS 17.7) that reference
+                // writes are atomic. Entries in the path index are validated on reads anyway
+                pathIndex[pathIndexSlot(path)] = node;
+            }
+        }
+
+        private synchronized void invalidate(@NonNull final Bytes keyBytes) {
+            final Node node = data.get(keyBytes);
+            if (node != null) {
+                remove(node);
+            }
+        }
+
+        private synchronized long size() {
+            return data.size();
+        }
+
+        // Must be called under the segment lock
+        private void clear() {
+            for (final Node node : data.values()) {
+                clearPathIndex(node);
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedList.clear();
+        }
+
+        // Must be called under the segment lock
+        private void setValue(
+                @NonNull final Node node, final long path, @Nullable final VirtualLeafBytes<?> leafBytes) {
+            node.path = path;
+            final Bytes valueBytes = (leafBytes != null) ? leafBytes.valueBytes() : null;
+            if ((offHeapStore != null) && (valueBytes != null)) {
+                final long slot = offHeapStore.store(valueBytes);
+                if (slot != NO_SLOT) {
+                    node.offHeapSlot = slot;
+                    node.offHeapValueLength = Math.toIntExact(valueBytes.length());
+                    node.leafBytes = null;
+                    return;
+                }
+            }
+            node.leafBytes = (leafBytes != null) ? leafBytes : new VirtualLeafBytes<>(path, node.keyBytes, null);
+        }
+
+        // Must be called under the segment lock
+        private void releaseValue(@NonNull final Node node) {
+            if (node.offHeapSlot != NO_SLOT) {
+                assert offHeapStore != null;
+                offHeapStore.free(node.offHeapSlot);
+                node.offHeapSlot = NO_SLOT;
+            }
+            node.leafBytes = null;
+        }
+
+        // Must be called under the segment lock
+        private VirtualLeafBytes<?> toLeafBytes(@NonNull final Node node) {
+            if (node.offHeapSlot != NO_SLOT) {
+                assert offHeapStore != null;
+                final Bytes valueBytes = offHeapStore.read(node.offHeapSlot, node.offHeapValueLength);
+                return new VirtualLeafBytes<>(node.path, false, node.keyBytes, valueBytes);
+            }
+            return node.leafBytes;
+        }
+
+        // Must be called under the segment lock
+        private void onAccess(@NonNull final Node node) {
+            switch (node.queue) {
+                case WINDOW -> window.moveToEnd(node);
+                case PROBATION -> {
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedList.addLast(node);
+                    if (protectedList.size > protectedCapacity) {
+                        final Node demoted = protectedList.head;
+                        protectedList.remove(demoted);
+                        demoted.queue = PROBATION;
+                        probation.addLast(demoted);
+                    }
+                }
+                case PROTECTED -> protectedList.moveToEnd(node);
+                default -> throw new IllegalStateException("Unknown queue: " + node.queue);
+            }
+        }
+
+        // Must be called under the segment lock
+        private void evict() {
+            Node candidate = null;
+            if (window.size > windowCapacity) {
+                candidate = window.head;
+                window.remove(candidate);
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+            }
+            while (probation.size + protectedList.size > mainCapacity) {
+                final Node victim = (probation.head != null) ? probation.head : protectedList.head;
+                if ((candidate == null) || (candidate == victim)) {
+                    evictNode(victim);
+                    candidate = null;
+                } else if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                    evictNode(victim);
+                } else {
+                    evictNode(candidate);
+                    candidate = null;
+                }
+            }
+        }
+
+        // Must be called under the segment lock
+        private void evictNode(@NonNull final Node node) {
+            remove(node);
+            evictionListener.run();
+        }
+
+        // Must be called under the segment lock
+        private void remove(@NonNull final Node node) {
+            switch (node.queue) {
+                case WINDOW -> window.remove(node);
+                case PROBATION -> probation.remove(node);
+                case PROTECTED -> protectedList.remove(node);
+                default -> throw new IllegalStateException("Unknown queue: " + node.queue);
+            }
+            data.remove(node.keyBytes);
+            clearPathIndex(node);
+            releaseValue(node);
+        }
+
+        // Must be called under the segment lock
+        private void clearPathIndex(@NonNull final Node node) {
+            final long path = node.path;
+            if (path >= 0) {
+                final int slot = pathIndexSlot(path);
+                if (pathIndex[slot] == node) {
+                    pathIndex[slot] = null;
+                }
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BooleanSupplier;
 import java.util.stream.LongStream;
@@ -83,6 +85,27 @@ public abstract class AbstractLongList<C> implements LongList {
     /** The number for bytes to read for file header, v3 */
     protected static final int FILE_HEADER_SIZE_V3 = VERSION_METADATA_SIZE + FORMAT_METADATA_SIZE_V3;
 
+    /** The version number for format of chunked snapshots, see {@link #writeToDirectory(Path)} */
+    private static final int CHUNKED_FORMAT_VERSION = 1;
+
+    /**
+     * The number of bytes in a chunked snapshot header file:
+     * - version<br>
+     * - number of longs per chunk<br>
+     * - min valid index<br>
+     * - list size<br>
+     */
+    private static final int CHUNKED_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    /** Chunked snapshot header file name */
+    private static final String CHUNKED_HEADER_FILE_NAME = "header";
+
+    /** Chunked snapshot chunk file name prefix, chunk index is appended */
+    private static final String CHUNKED_CHUNK_FILE_PREFIX = "chunk_";
+
+    /** The max number of longs to write at once, when a chunk is written to a chunked snapshot */
+    private static final int CHUNK_WRITE_BUFFER_LONGS = 8 * 1024;
+
     /**
      * The number of longs to store in each allocated buffer. Must be a positive integer. If the
      * value is small, then we will end up allocating a very large number of buffers. If the value
@@ -129,6 +152,25 @@ public abstract class AbstractLongList<C> implements LongList {
      */
     protected final long reservedBufferSize;
 
+    /**
+     * One bit per chunk. A bit is set, when the corresponding chunk is changed, and cleared, when
+     * the chunk is written to a chunked snapshot. Chunks with no bits set can be hard-linked from
+     * the previous chunked snapshot.
+     */
+    private final AtomicLongArray dirtyChunks;
+
+    /**
+     * The last chunked snapshot written by {@link #writeToDirectory(Path)}, or null if there
+     * is no such snapshot, or the last snapshot failed.
+     */
+    private volatile ChunkedSnapshot lastChunkedSnapshot = null;
+
+    /**
+     * A chunked snapshot directory and the first and the last chunks written to it. Only chunks
+     * between the first and the last ones are stored in the snapshot in full.
+     */
+    private record ChunkedSnapshot(Path directory, int firstChunkIndex, int lastChunkIndex) {}
+
     /**
      * Create a new long list with the specified capacity. Number of longs per chunk and
      * reserved buffer size are read from the provided configuration.
@@ -145,6 +187,7 @@ public abstract class AbstractLongList<C> implements LongList {
         this.reservedBufferSize = merkleDbConfig.longListReservedBufferSize();
 
         chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(capacity));
+        dirtyChunks = new AtomicLongArray((chunkList.length() + Long.SIZE - 1) / Long.SIZE);
     }
 
     /**
@@ -168,6 +211,7 @@ public abstract class AbstractLongList<C> implements LongList {
         this.reservedBufferSize = reservedBufferSize;
 
         chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(capacity));
+        dirtyChunks = new AtomicLongArray((chunkList.length() + Long.SIZE - 1) / Long.SIZE);
     }
 
     /**
@@ -181,6 +225,10 @@ public abstract class AbstractLongList<C> implements LongList {
         if (!Files.exists(file)) {
             throw new IOException("Cannot load index, file doesn't exist: " + file.toAbsolutePath());
         }
+        if (Files.isDirectory(file)) {
+            loadFromDirectory(file);
+            return;
+        }
         try (final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
             // read header from existing file
             final ByteBuffer versionBuffer = readFromFileChannel(fileChannel, VERSION_METADATA_SIZE);
@@ -278,6 +326,162 @@ public abstract class AbstractLongList<C> implements LongList {
     protected abstract C readChunkData(FileChannel fileChannel, int chunkIndex, int startIndex, int endIndex)
             throws IOException;
 
+    /**
+     * Loads index data from a directory, which was previously saved using {@link #writeToDirectory(Path)}.
+     *
+     * @param directory The directory to load from
+     * @throws IOException IO exception if any
+     */
+    private void loadFromDirectory(@NonNull final Path directory) throws IOException {
+        final Path headerFile = directory.resolve(CHUNKED_HEADER_FILE_NAME);
+        final int fileLongsPerChunk;
+        try (final FileChannel fileChannel = FileChannel.open(headerFile, StandardOpenOption.READ)) {
+            final ByteBuffer headerBuffer = readFromFileChannel(fileChannel, CHUNKED_HEADER_SIZE);
+            final int formatVersion = headerBuffer.getInt();
+            if (formatVersion != CHUNKED_FORMAT_VERSION) {
+                throw new IOException("Chunked index format version is not supported. Format version ["
+                        + formatVersion
+                        + "], the latest supported version is ["
+                        + CHUNKED_FORMAT_VERSION
+                        + "].");
+            }
+            fileLongsPerChunk = headerBuffer.getInt();
+            final long readMinValidIndex = headerBuffer.getLong();
+            final long readSize = headerBuffer.getLong();
+            if ((readMinValidIndex < 0) || (readSize <= readMinValidIndex)) {
+                size.set(0);
+                minValidIndex.set(-1);
+                maxValidIndex.set(-1);
+            } else {
+                minValidIndex.set(readMinValidIndex);
+                size.set(readSize);
+                maxValidIndex.set(readSize - 1);
+            }
+        }
+
+        if (size.get() > capacity) {
+            throw new IllegalArgumentException(
+                    "Failed to read index from directory, " + "size=" + size.get() + ", capacity=" + capacity);
+        }
+
+        if (fileLongsPerChunk == longsPerChunk) {
+            readBodyFromChunkFilesOnInit(directory);
+        } else {
+            rechunkBodyFromChunkFilesOnInit(directory, fileLongsPerChunk);
+        }
+    }
+
+    /**
+     * Initializes the list from chunk files in the given chunked snapshot directory. At the moment of
+     * the call all the class metadata is already initialized from the snapshot header. The number of
+     * longs per chunk in the snapshot is the same as in this list.
+     *
+     * @param directory the chunked snapshot directory
+     * @throws IOException if there was a problem reading chunk files
+     */
+    protected void readBodyFromChunkFilesOnInit(@NonNull final Path directory) throws IOException {
+        if (minValidIndex.get() < 0) {
+            // Empty list, nothing to read
+            return;
+        }
+
+        final int firstChunkIndex = toIntExact(minValidIndex.get() / longsPerChunk);
+        final int lastChunkIndex = toIntExact(maxValidIndex.get() / longsPerChunk);
+        final int minValidIndexInChunk = toIntExact(minValidIndex.get() % longsPerChunk);
+        final int maxValidIndexInChunk = toIntExact(maxValidIndex.get() % longsPerChunk);
+
+        for (int chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+            final int startIndexInChunk = (chunkIndex == firstChunkIndex) ? minValidIndexInChunk : 0;
+            final int endIndexInChunk = (chunkIndex == lastChunkIndex) ? (maxValidIndexInChunk + 1) : longsPerChunk;
+
+            final Path chunkFile = chunkFile(directory, chunkIndex);
+            try (final FileChannel fileChannel = mapsSnapshotChunks()
+                    ? FileChannel.open(chunkFile, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+                final C chunk = readChunkData(fileChannel, chunkIndex, startIndexInChunk, endIndexInChunk);
+                setChunk(chunkIndex, chunk);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether this list may memory-map chunks from chunked snapshot files in {@link
+     * #readChunkData(FileChannel, int, int, int)} rather than read them. Copy-on-write mappings require
+     * chunk files to be opened for both reading and writing, although the files are never modified.
+     *
+     * @return whether chunk files are opened for mapping
+     */
+    protected boolean mapsSnapshotChunks() {
+        return false;
+    }
+
+    /**
+     * Initializes the list from chunk files in the given chunked snapshot directory, when the number
+     * of longs per chunk in the snapshot is different from this list. It happens, if long list chunk
+     * size is changed in MerkleDb config. All non-empty values are read from the files one by one and
+     * put to this list.
+     *
+     * @param directory the chunked snapshot directory
+     * @param fileLongsPerChunk the number of longs per chunk in the snapshot
+     * @throws IOException if there was a problem reading chunk files
+     */
+    private void rechunkBodyFromChunkFilesOnInit(@NonNull final Path directory, final int fileLongsPerChunk)
+            throws IOException {
+        if (minValidIndex.get() < 0) {
+            // Empty list, nothing to read
+            return;
+        }
+
+        final int firstChunkIndex = toIntExact(minValidIndex.get() / fileLongsPerChunk);
+        final int lastChunkIndex = toIntExact(maxValidIndex.get() / fileLongsPerChunk);
+        final ByteBuffer readBuffer =
+                ByteBuffer.allocate(CHUNK_WRITE_BUFFER_LONGS * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        final long[] indices = new long[CHUNK_WRITE_BUFFER_LONGS];
+        final long[] values = new long[CHUNK_WRITE_BUFFER_LONGS];
+        int count = 0;
+        for (int chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+            final long chunkStart = (long) chunkIndex * fileLongsPerChunk;
+            long index = max(chunkStart, minValidIndex.get());
+            final long chunkEnd = min(chunkStart + fileLongsPerChunk, size.get());
+            final Path chunkFile = chunkFile(directory, chunkIndex);
+            try (final FileChannel fileChannel = FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+                while (index < chunkEnd) {
+                    readBuffer.clear();
+                    readBuffer.limit(toIntExact(min(chunkEnd - index, CHUNK_WRITE_BUFFER_LONGS) * Long.BYTES));
+                    final int toRead = readBuffer.remaining();
+                    if (MerkleDbFileUtils.completelyRead(fileChannel, readBuffer) != toRead) {
+                        throw new IOException("Failed to read chunk file " + chunkFile);
+                    }
+                    readBuffer.flip();
+                    while (readBuffer.hasRemaining()) {
+                        final long value = readBuffer.getLong();
+                        if (value != IMPERMISSIBLE_VALUE) {
+                            indices[count] = index;
+                            values[count] = value;
+                            if (++count == indices.length) {
+                                putAll(indices, values, count);
+                                count = 0;
+                            }
+                        }
+                        index++;
+                    }
+                }
+            }
+        }
+        putAll(indices, values, count);
+    }
+
+    /**
+     * Returns a path to a chunk file in a chunked snapshot directory.
+     *
+     * @param directory the chunked snapshot directory
+     * @param chunkIndex the chunk index
+     * @return the chunk file path
+     */
+    protected static Path chunkFile(@NonNull final Path directory, final int chunkIndex) {
+        return directory.resolve(CHUNKED_CHUNK_FILE_PREFIX + chunkIndex);
+    }
+
     /**
      * Stores the specified chunk at the given {@code chunkIndex}.
      *
@@ -375,6 +579,50 @@ public abstract class AbstractLongList<C> implements LongList {
         putImpl(index, IMPERMISSIBLE_VALUE);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All indices and values are checked before any of them are stored. The list size is
+     * updated once for the whole batch, and a chunk is looked up only when the next index is
+     * in a different chunk than the previous one.
+     */
+    @Override
+    public final void putAll(@NonNull final long[] indices, @NonNull final long[] values, final int count) {
+        if ((count < 0) || (count > indices.length) || (count > values.length)) {
+            throw new IllegalArgumentException("Wrong count: " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        long maxIndex = -1;
+        for (int i = 0; i < count; i++) {
+            checkIndex(indices[i]);
+            checkValue(values[i]);
+            maxIndex = max(maxIndex, indices[i]);
+        }
+        final long newSize = maxIndex + 1;
+        size.getAndUpdate(oldSize -> max(oldSize, newSize));
+        int currentChunkIndex = -1;
+        C currentChunk = null;
+        for (int i = 0; i < count; i++) {
+            final long index = indices[i];
+            assert index >= minValidIndex.get()
+                    : String.format("Index %d is less than min valid index %d", index, minValidIndex.get());
+            assert index <= maxValidIndex.get()
+                    : String.format("Index %d is greater than max valid index %d", index, maxValidIndex.get());
+            final int chunkIndex = toIntExact(index / longsPerChunk);
+            if (chunkIndex != currentChunkIndex) {
+                if (currentChunkIndex >= 0) {
+                    markChunkDirty(currentChunkIndex);
+                }
+                currentChunk = createOrGetChunk(index);
+                currentChunkIndex = chunkIndex;
+            }
+            putToChunk(currentChunk, toIntExact(index % longsPerChunk), values[i]);
+        }
+        markChunkDirty(currentChunkIndex);
+    }
+
     private void putImpl(final long index, final long value) {
         assert index >= minValidIndex.get()
                 : String.format("Index %d is less than min valid index %d", index, minValidIndex.get());
@@ -383,6 +631,7 @@ public abstract class AbstractLongList<C> implements LongList {
         final C chunk = createOrGetChunk(index);
         final int subIndex = toIntExact(index % longsPerChunk);
         putToChunk(chunk, subIndex, value);
+        markChunkDirty(toIntExact(index / longsPerChunk));
     }
 
     /**
@@ -420,6 +669,7 @@ public abstract class AbstractLongList<C> implements LongList {
         if (result) {
             // update the size if necessary
             size.getAndUpdate(oldSize -> index >= oldSize ? (index + 1) : oldSize);
+            markChunkDirty(chunkIndex);
         }
         return result;
     }
@@ -535,6 +785,144 @@ public abstract class AbstractLongList<C> implements LongList {
      */
     protected abstract void writeLongsData(@NonNull final FileChannel fc) throws IOException;
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every chunk from the one with min valid index to the one with max valid index is stored
+     * in a separate file. The first and the last chunk files only contain the valid part of the
+     * chunks, all other files contain full chunks. A chunk is hard-linked from the previous chunked
+     * snapshot, if it hasn't been changed since then, and it was stored in full there. If linking
+     * fails, for example, because the previous snapshot is already deleted, the chunk is written.
+     * The header file is written last.
+     */
+    @Override
+    public void writeToDirectory(@NonNull final Path directory) throws IOException {
+        requireNonNull(directory);
+        Files.createDirectories(directory);
+        final ChunkedSnapshot previous = lastChunkedSnapshot;
+        // If this snapshot fails, dirty bits may be cleared for chunks not written anywhere. The
+        // next snapshot must not link any chunks then
+        lastChunkedSnapshot = null;
+
+        final long currentMinValidIndex = minValidIndex.get();
+        final long currentSize = size();
+        int firstChunkIndex = -1;
+        int lastChunkIndex = -1;
+        if ((currentMinValidIndex >= 0) && (currentSize > currentMinValidIndex)) {
+            firstChunkIndex = toIntExact(currentMinValidIndex / longsPerChunk);
+            lastChunkIndex = toIntExact((currentSize - 1) / longsPerChunk);
+            final int minValidIndexInChunk = toIntExact(currentMinValidIndex % longsPerChunk);
+            final int maxValidIndexInChunk = toIntExact((currentSize - 1) % longsPerChunk);
+            for (int chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+                final boolean dirty = clearChunkDirty(chunkIndex);
+                final Path chunkFile = chunkFile(directory, chunkIndex);
+                if (!dirty
+                        && (previous != null)
+                        && (chunkIndex > max(firstChunkIndex, previous.firstChunkIndex()))
+                        && (chunkIndex < min(lastChunkIndex, previous.lastChunkIndex()))
+                        && linkChunkFile(chunkFile(previous.directory(), chunkIndex), chunkFile)) {
+                    continue;
+                }
+                final int startIndexInChunk = (chunkIndex == firstChunkIndex) ? minValidIndexInChunk : 0;
+                final int endIndexInChunk =
+                        (chunkIndex == lastChunkIndex) ? (maxValidIndexInChunk + 1) : longsPerChunk;
+                try (final FileChannel fc =
+                        FileChannel.open(chunkFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    writeChunkData(fc, chunkIndex, startIndexInChunk, endIndexInChunk);
+                    fc.force(true);
+                }
+            }
+        }
+
+        final Path headerFile = directory.resolve(CHUNKED_HEADER_FILE_NAME);
+        try (final FileChannel fc =
+                FileChannel.open(headerFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final ByteBuffer headerBuffer = ByteBuffer.allocate(CHUNKED_HEADER_SIZE);
+            headerBuffer.putInt(CHUNKED_FORMAT_VERSION);
+            headerBuffer.putInt(longsPerChunk);
+            headerBuffer.putLong(currentMinValidIndex);
+            headerBuffer.putLong(currentSize);
+            headerBuffer.flip();
+            if (MerkleDbFileUtils.completelyWrite(fc, headerBuffer) != CHUNKED_HEADER_SIZE) {
+                throw new IOException("Failed to write long list header to the file " + headerFile);
+            }
+            fc.force(true);
+        }
+        lastChunkedSnapshot = new ChunkedSnapshot(directory, firstChunkIndex, lastChunkIndex);
+    }
+
+    /**
+     * Creates a hard link to a chunk file from a previous chunked snapshot.
+     *
+     * @param existing the chunk file in the previous snapshot
+     * @param link the chunk file in the current snapshot
+     * @return whether the link was created
+     */
+    private static boolean linkChunkFile(@NonNull final Path existing, @NonNull final Path link) {
+        try {
+            Files.createLink(link, existing);
+            return true;
+        } catch (final IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a range of longs from the given chunk to a chunked snapshot file. Null chunks are
+     * written as zeroes. This default implementation reads longs one by one using {@link
+     * #lookupInChunk(Object, long)}, subclasses may override it to write data in bulk.
+     *
+     * @param fc the chunk file channel to write to
+     * @param chunkIndex the chunk index
+     * @param startIndex the starting index (inclusive) within the chunk
+     * @param endIndex the ending index (exclusive) within the chunk
+     * @throws IOException if there was a problem writing longs
+     */
+    protected void writeChunkData(
+            @NonNull final FileChannel fc, final int chunkIndex, final int startIndex, final int endIndex)
+            throws IOException {
+        final C chunk = chunkList.get(chunkIndex);
+        final ByteBuffer buffer = ByteBuffer.allocate(min(endIndex - startIndex, CHUNK_WRITE_BUFFER_LONGS) * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = startIndex; i < endIndex; i++) {
+            if (!buffer.hasRemaining()) {
+                buffer.flip();
+                MerkleDbFileUtils.completelyWrite(fc, buffer);
+                buffer.clear();
+            }
+            buffer.putLong(chunk != null ? lookupInChunk(chunk, i) : IMPERMISSIBLE_VALUE);
+        }
+        buffer.flip();
+        MerkleDbFileUtils.completelyWrite(fc, buffer);
+    }
+
+    /**
+     * Marks a chunk as changed since the last chunked snapshot. This method must be called after the
+     * chunk is changed, otherwise a concurrent snapshot may clear the bit and miss the change.
+     *
+     * @param chunkIndex the chunk index
+     */
+    private void markChunkDirty(final int chunkIndex) {
+        final int word = chunkIndex / Long.SIZE;
+        final long bit = 1L << (chunkIndex % Long.SIZE);
+        // Check first to avoid contended writes, most chunks are updated many times between snapshots
+        if ((dirtyChunks.get(word) & bit) == 0) {
+            dirtyChunks.accumulateAndGet(word, bit, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Clears the changed flag for a chunk.
+     *
+     * @param chunkIndex the chunk index
+     * @return whether the chunk was changed since the last chunked snapshot
+     */
+    private boolean clearChunkDirty(final int chunkIndex) {
+        final int word = chunkIndex / Long.SIZE;
+        final long bit = 1L << (chunkIndex % Long.SIZE);
+        return (dirtyChunks.getAndAccumulate(word, ~bit, (a, b) -> a & b) & bit) != 0;
+    }
+
     /**
      * Lookup a long in data
      *
@@ -610,6 +998,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkDirty(i);
             }
         }
 
@@ -619,6 +1008,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfElementsToCleanUp > 0) {
             partialChunkCleanup(chunk, true, numberOfElementsToCleanUp);
+            markChunkDirty(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -626,6 +1016,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, true, longsPerChunk);
+                markChunkDirty(i);
             }
         }
     }
@@ -647,6 +1038,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkDirty(i);
             }
         }
 
@@ -656,6 +1048,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfEntriesToCleanUp > 0) {
             partialChunkCleanup(chunk, false, numberOfEntriesToCleanUp);
+            markChunkDirty(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -663,6 +1056,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, false, longsPerChunk);
+                markChunkDirty(i);
             }
         }
     }
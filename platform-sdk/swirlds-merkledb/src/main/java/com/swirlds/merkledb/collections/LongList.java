@@ -46,6 +46,23 @@ public interface LongList extends CASableLongIndex, Closeable, OffHeapUser {
      */
     void put(long index, long value);
 
+    /**
+     * Stores multiple longs at the given indices. This method is equivalent to calling {@link
+     * #put(long, long)} for every index / value pair, but may be faster, especially when indices
+     * are sorted, as lookups of the underlying storage are shared between adjacent indices.
+     *
+     * @param indices the indices to use
+     * @param values the longs to store
+     * @param count the number of index / value pairs to store from the arrays
+     * @throws IndexOutOfBoundsException if any index is negative or beyond the max capacity of the list
+     * @throws IllegalArgumentException  if any value is zero
+     */
+    default void putAll(final long[] indices, final long[] values, final int count) {
+        for (int i = 0; i < count; i++) {
+            put(indices[i], values[i]);
+        }
+    }
+
     /**
      * Marks the index as not containing a valid long value.
      *
@@ -103,6 +120,21 @@ public interface LongList extends CASableLongIndex, Closeable, OffHeapUser {
      */
     void writeToFile(Path file) throws IOException;
 
+    /**
+     * Write all longs in this LongList into a directory, one file per chunk. If this list was
+     * written to another directory before, chunks that haven't been changed since then are
+     * hard-linked from that directory rather than written again. Lists loaded from a file
+     * accept both single files created with {@link #writeToFile(Path)} and directories created
+     * with this method.
+     * <p>
+     * <b> The same consistency restrictions apply as for {@link #writeToFile(Path)}. </b>
+     *
+     * @param directory The directory to write into, it should not exist or be empty. Its parent
+     *                  directory should exist and be writable.
+     * @throws IOException If there was a problem creating or writing to the directory.
+     */
+    void writeToDirectory(Path directory) throws IOException;
+
     /**
      * Updates min and max valid indexes in this list. If both values are -1, this indicates
      * the list is empty.
@@ -250,6 +250,78 @@ public class LongListDisk extends AbstractLongList<Long> {
         throw new UnsupportedOperationException("This method should not be called");
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Chunk files are transferred to the temp file one by one, in the same layout as the
+     * single file body is transferred in {@link #readBodyFromFileChannelOnInit(FileChannel)}.
+     */
+    @Override
+    protected void readBodyFromChunkFilesOnInit(@NonNull final Path directory) throws IOException {
+        assert tempFile != null;
+        assert currentFileChannel != null;
+
+        if (minValidIndex.get() < 0) {
+            // Empty list, nothing to read
+            return;
+        }
+
+        final int firstChunkIndex = toIntExact(minValidIndex.get() / longsPerChunk);
+        final int lastChunkIndex = toIntExact(maxValidIndex.get() / longsPerChunk);
+        final int minValidIndexInChunk = toIntExact(minValidIndex.get() % longsPerChunk);
+        final int maxValidIndexInChunk = toIntExact(maxValidIndex.get() % longsPerChunk);
+
+        for (int chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+            final int startIndexInChunk = (chunkIndex == firstChunkIndex) ? minValidIndexInChunk : 0;
+            final int endIndexInChunk = (chunkIndex == lastChunkIndex) ? (maxValidIndexInChunk + 1) : longsPerChunk;
+            final long chunk = ((long) (chunkIndex - firstChunkIndex) * memoryChunkSize);
+            final long bytesToTransfer = (long) (endIndexInChunk - startIndexInChunk) * Long.BYTES;
+            try (final FileChannel fileChannel =
+                    FileChannel.open(chunkFile(directory, chunkIndex), StandardOpenOption.READ)) {
+                final long bytesTransferred = MerkleDbFileUtils.completelyTransferFrom(
+                        currentFileChannel, // dst
+                        fileChannel, // src
+                        chunk + (long) startIndexInChunk * Long.BYTES,
+                        bytesToTransfer);
+                if (bytesTransferred != bytesToTransfer) {
+                    throw new IOException("Failed to init LongListDisk from chunk file: " + chunkIndex);
+                }
+            }
+            setChunk(chunkIndex, chunk);
+        }
+
+        numAllocatedChunks.set(lastChunkIndex - firstChunkIndex + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The chunk range is read from the temp file in a single read.
+     */
+    @Override
+    protected void writeChunkData(
+            @NonNull final FileChannel fc, final int chunkIndex, final int startIndex, final int endIndex)
+            throws IOException {
+        final ByteBuffer transferBuffer = initOrGetTransferBuffer();
+        final Long chunkStartOffset = chunkList.get(chunkIndex);
+        if (chunkStartOffset != null) {
+            transferBuffer.position(startIndex * Long.BYTES);
+            transferBuffer.limit(endIndex * Long.BYTES);
+            final long chunkOffset = chunkStartOffset + (long) startIndex * Long.BYTES;
+            final int toRead = transferBuffer.remaining();
+            final int read = MerkleDbFileUtils.completelyRead(currentFileChannel, transferBuffer, chunkOffset);
+            if (toRead != read) {
+                throw new IOException("Failed to read a chunk from the file, offset=" + chunkOffset + ", toRead="
+                        + toRead + ", read=" + read + ", file size=" + currentFileChannel.size());
+            }
+        } else {
+            fillBufferWithZeroes(transferBuffer);
+            transferBuffer.limit(endIndex * Long.BYTES);
+        }
+        transferBuffer.position(startIndex * Long.BYTES);
+        MerkleDbFileUtils.completelyWrite(fc, transferBuffer);
+    }
+
     private void fillBufferWithZeroes(ByteBuffer transferBuffer) {
         Arrays.fill(transferBuffer.array(), (byte) IMPERMISSIBLE_VALUE);
         transferBuffer.position(0);
@@ -117,6 +117,19 @@ public final class LongListHeap extends AbstractLongList<AtomicLongArray> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void readBodyFromChunkFilesOnInit(@NonNull final Path directory) throws IOException {
+        initReadBuffer = ByteBuffer.allocateDirect(memoryChunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            super.readBodyFromChunkFilesOnInit(directory);
+        } finally {
+            MemoryUtils.closeDirectByteBuffer(initReadBuffer);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     protected AtomicLongArray readChunkData(FileChannel fileChannel, int chunkIndex, int startIndex, int endIndex)
@@ -14,7 +14,10 @@ import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A {@link LongList} that stores its contents off-heap via {@link MemorySegment}s backed by
@@ -35,6 +38,12 @@ import java.nio.file.Path;
  * discards memory chunks for indices outside the valid range, accounting for the
  * {@link AbstractLongList#reservedBufferSize reserved buffer}.
  *
+ * <p>If lazy index loading is enabled in MerkleDb config, full chunks loaded from chunked
+ * snapshots are not read into memory, but memory-mapped from chunk files in copy-on-write
+ * ({@link MapMode#PRIVATE private}) mode. Pages are read from disk on first access, and changes
+ * are never written back to the snapshot files. Mapped chunks can be warmed up in background
+ * using {@link #warmUpNextChunk()}.
+ *
  * <p>Per the {@link LongList} contract, this class is thread-safe for both concurrent reads
  * and writes.
  */
@@ -55,9 +64,24 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
      *
      * @param segment the off-heap memory region
      * @param arena   the arena that allocated {@code segment}
+     * @param mapped  whether the segment is mapped from a snapshot chunk file
      */
     record SegmentChunk(
-            @NonNull MemorySegment segment, @NonNull Arena arena) {}
+            @NonNull MemorySegment segment, @NonNull Arena arena, boolean mapped) {
+
+        SegmentChunk(@NonNull final MemorySegment segment, @NonNull final Arena arena) {
+            this(segment, arena, false);
+        }
+    }
+
+    /** Whether full chunks are mapped from chunked snapshot files rather than read. */
+    private final boolean mapSnapshotChunks;
+
+    /** The number of bytes in chunks mapped from snapshot files. */
+    private final AtomicLong mappedBytes = new AtomicLong(0);
+
+    /** The index of the next chunk to check in {@link #warmUpNextChunk()}. */
+    private final AtomicInteger nextWarmUpChunk = new AtomicInteger(0);
 
     // =========================================================================
     // Constructors
@@ -72,6 +96,7 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
      */
     public LongListSegment(final long capacity, @NonNull final MerkleDbConfig configuration) {
         super(capacity, configuration);
+        this.mapSnapshotChunks = false;
     }
 
     /**
@@ -84,6 +109,7 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
      */
     public LongListSegment(final int longsPerChunk, final long capacity, final long reservedBufferSize) {
         super(longsPerChunk, capacity, reservedBufferSize);
+        this.mapSnapshotChunks = false;
     }
 
     /**
@@ -94,6 +120,9 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
      * <p>If the list size in the file is greater than the capacity, an
      * {@link IllegalArgumentException} is thrown.
      *
+     * <p>If lazy index loading is enabled in the configuration, and the list is loaded from
+     * a chunked snapshot directory, full chunks are memory-mapped from chunk files.
+     *
      * @param file          The file to load the long list from
      * @param capacity      Maximum number of longs permissible for this long list
      * @param configuration merkle db configuration
@@ -102,6 +131,7 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
     public LongListSegment(@NonNull final Path file, final long capacity, @NonNull final MerkleDbConfig configuration)
             throws IOException {
         super(capacity, configuration);
+        this.mapSnapshotChunks = configuration.lazyIndexLoading();
         loadFromFile(file);
     }
 
@@ -122,6 +152,7 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
             @NonNull final Path file, final int longsPerChunk, final long capacity, final long reservedBufferSize)
             throws IOException {
         super(longsPerChunk, capacity, reservedBufferSize);
+        this.mapSnapshotChunks = false;
         loadFromFile(file);
     }
 
@@ -270,11 +301,20 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
      * <p>Reads chunk data from a file channel into a newly allocated segment chunk. The
      * segment's backing memory is exposed as a {@link ByteBuffer} view for
      * {@link FileChannel} compatibility, avoiding an extra copy.
+     *
+     * <p>If lazy index loading is enabled, full chunks are memory-mapped instead, as long as
+     * chunk data in the file is aligned to longs. Partial chunks are always read.
      */
     @Override
     protected SegmentChunk readChunkData(
             @NonNull final FileChannel fileChannel, final int chunkIndex, final int startIndex, final int endIndex)
             throws IOException {
+        if (mapSnapshotChunks && (startIndex == 0) && (endIndex == longsPerChunk)) {
+            final long position = fileChannel.position();
+            if ((position % Long.BYTES == 0) && (position + memoryChunkSize <= fileChannel.size())) {
+                return mapChunkData(fileChannel, position);
+            }
+        }
         final SegmentChunk chunk = createChunk();
         // Get a ByteBuffer view of the segment — backed by the same native memory, no copy
         final ByteBuffer buf = chunk.segment().asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
@@ -282,6 +322,68 @@ public final class LongListSegment extends AbstractLongList<LongListSegment.Segm
         return chunk;
     }
 
+    /**
+     * Maps a full chunk from the file channel at the given position in copy-on-write mode, and moves
+     * the channel position to the end of the chunk. The mapping is owned by a new shared arena, so
+     * closing the chunk unmaps it.
+     */
+    private SegmentChunk mapChunkData(@NonNull final FileChannel fileChannel, final long position)
+            throws IOException {
+        final Arena arena = Arena.ofShared();
+        try {
+            final MemorySegment segment = fileChannel.map(MapMode.PRIVATE, position, memoryChunkSize, arena);
+            fileChannel.position(position + memoryChunkSize);
+            mappedBytes.addAndGet(memoryChunkSize);
+            return new SegmentChunk(segment, arena, true);
+        } catch (final IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mapsSnapshotChunks() {
+        return mapSnapshotChunks;
+    }
+
+    /**
+     * Returns the number of bytes in chunks memory-mapped from snapshot files, when this list was
+     * loaded. Chunks, which are later discarded from this list, are still counted.
+     *
+     * @return the number of mapped bytes
+     */
+    public long getMappedBytes() {
+        return mappedBytes.get();
+    }
+
+    /**
+     * Loads the next chunk mapped from a snapshot file into physical memory. Chunks are warmed up in
+     * ascending chunk index order. Chunks, which are not mapped, are skipped. This method can be called
+     * concurrently with all other operations on the list, including {@link #close()}.
+     *
+     * @return the number of bytes warmed up, or zero if there are no more mapped chunks to warm up
+     */
+    public long warmUpNextChunk() {
+        int chunkIndex;
+        while ((chunkIndex = nextWarmUpChunk.getAndIncrement()) < chunkList.length()) {
+            final SegmentChunk chunk = chunkList.get(chunkIndex);
+            if ((chunk == null) || !chunk.mapped()) {
+                continue;
+            }
+            try {
+                chunk.segment().load();
+            } catch (final IllegalStateException e) {
+                // Arena was closed concurrently — chunk is outside the valid range, or the list is closed
+                continue;
+            }
+            return memoryChunkSize;
+        }
+        return 0;
+    }
+
     /**
      * {@inheritDoc}
      *
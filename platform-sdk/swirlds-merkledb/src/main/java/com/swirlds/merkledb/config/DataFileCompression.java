@@ -0,0 +1,22 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.config;
+
+/**
+ * Data file compression options. Compression is only applied to new data files written by
+ * flushes and compactions. Existing files are read in whatever format they were written, so
+ * the option can be changed at any time.
+ */
+public final class DataFileCompression {
+
+    /** Data items are stored uncompressed, one after another */
+    public static final String NONE = "none";
+
+    /**
+     * Data items are grouped into blocks, and every block is compressed with the deflate
+     * algorithm using the fastest compression level. Reading a data item requires to read and
+     * decompress the whole block it belongs to
+     */
+    public static final String DEFLATE = "deflate";
+
+    private DataFileCompression() {}
+}
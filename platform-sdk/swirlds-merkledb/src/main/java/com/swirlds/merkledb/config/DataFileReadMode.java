@@ -0,0 +1,24 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.config;
+
+/**
+ * Various ways how MerkleDb data file readers read data items from completed data files.
+ */
+public final class DataFileReadMode {
+
+    /**
+     * Data items are read using a pool of file channels into a thread-local buffer. Every read
+     * is a positional read system call followed by a copy to the buffer
+     */
+    public static final String FILE_CHANNEL = "fileChannel";
+
+    /**
+     * Completed (fully written and immutable) data files are mapped to memory, and data items
+     * are returned as zero-copy slices of the mapped memory. Files that are still being written
+     * are read using file channels. This mode is not used on Windows, where mapped files can't
+     * be deleted, which would break data file compaction
+     */
+    public static final String MEMORY_MAPPED = "memoryMapped";
+
+    private DataFileReadMode() {}
+}
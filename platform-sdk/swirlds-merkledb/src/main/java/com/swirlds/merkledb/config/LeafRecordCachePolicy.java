@@ -0,0 +1,25 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.config;
+
+/**
+ * Various eviction / admission policies for the MerkleDb leaf records cache.
+ */
+public final class LeafRecordCachePolicy {
+
+    /**
+     * Direct-mapped cache. The cache is a plain array indexed by key hash code % cache size, and
+     * whatever entry is read last replaces the entry at that index. Cheapest to maintain, but hot
+     * keys that map to the same index keep evicting each other
+     */
+    public static final String DIRECT_MAPPED = "directMapped";
+
+    /**
+     * Segmented W-TinyLFU cache. New entries are put to a small LRU admission window first. When
+     * an entry is evicted from the window, it's only admitted to the main (segmented LRU) region,
+     * if its estimated access frequency is higher than the frequency of the main region's eviction
+     * victim. Frequencies are estimated using a count-min sketch with periodic aging
+     */
+    public static final String TINY_LFU = "tinyLfu";
+
+    private LeafRecordCachePolicy() {}
+}
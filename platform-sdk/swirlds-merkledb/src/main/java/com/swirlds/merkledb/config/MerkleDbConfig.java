@@ -2,6 +2,9 @@
 package com.swirlds.merkledb.config;
 
 import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+import static com.swirlds.merkledb.config.DataFileCompression.NONE;
+import static com.swirlds.merkledb.config.DataFileReadMode.FILE_CHANNEL;
+import static com.swirlds.merkledb.config.LeafRecordCachePolicy.DIRECT_MAPPED;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
@@ -65,8 +68,8 @@ import com.swirlds.config.api.validation.annotation.Positive;
  *      Number of threads to use for half disk hash map background flushing. If set to a negative value, the number of
  *      threads to use is calculated based on {@link #percentHalfDiskHashMapFlushThreads}
  * @param leafRecordCacheSize
- *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
- *      If the value is zero, leaf records cache isn't used.
+ *      Max number of entries in the cache for reading virtual leaf records. Initialized in data source creation time
+ *      from MerkleDb config. If the value is zero, leaf records cache isn't used.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
@@ -79,6 +82,60 @@ import com.swirlds.config.api.validation.annotation.Positive;
  * @param consolidationMinFileCount
  *      Minimum number of small files at a level before consolidation triggers. Prevents
  *      pointless runs when only a few small files exist.
+ * @param leafRecordCachePolicy
+ *      Leaf records cache eviction / admission policy. For the list of accepted values, see
+ *      {@link LeafRecordCachePolicy}. Defaults to the direct-mapped cache, which serves hits without
+ *      locking. The TinyLFU cache has a better hit rate on skewed workloads, but every hit takes a
+ *      segment lock, so it's opt-in until benchmarks show no read path regression.
+ * @param leafRecordCacheOffHeap
+ *      If true, and the leaf records cache policy supports it, leaf values in the cache are stored in off-heap
+ *      memory rather than on Java heap.
+ * @param dataFileReadMode
+ *      How data items are read from completed data files. For the list of accepted values, see
+ *      {@link DataFileReadMode}.
+ * @param hdhmKeyFilterBitsPerKey
+ *      Number of bits per expected bucket entry to use in HalfDiskHashMap in-memory key filters. Key filters
+ *      are used to answer lookups of absent keys without reading buckets from disk. The more bits, the lower
+ *      false positive rate, but the higher memory consumption. Zero value disables key filters.
+ * @param hdhmMaxBucketSplitsPerFlush
+ *      Max number of HalfDiskHashMap buckets to split after a single flush, when the map grows. Bucket count
+ *      is doubled incrementally, this setting limits how much of the bucket index is updated at once, so the
+ *      cost of a resize is spread across multiple flushes.
+ * @param compactionIoBudgetMBps
+ *      Max disk write bandwidth, in MB/s, to be used by all compaction tasks combined. Zero value disables
+ *      compaction throttling.
+ * @param compactionIdleIoBudgetMBps
+ *      Max disk write bandwidth, in MB/s, to be used by compaction tasks when there are no flushes or
+ *      snapshots for {@code compactionIdleThresholdMs}. Zero value means the regular budget is used.
+ * @param compactionIdleThresholdMs
+ *      Time without flushes and snapshots, in milliseconds, after which the idle compaction budget is used.
+ * @param flushWriteBatchSize
+ *      Max number of data items to accumulate during flushes before they are written to a data file at once.
+ *      Larger batches mean fewer memory copies and index lookups, but more memory to keep pending items.
+ * @param dataFileCompression
+ *      Compression to use for new hash chunk and leaf data files. For the list of accepted values, see
+ *      {@link DataFileCompression}. Files written with a different compression setting remain readable.
+ * @param dataFileCompressionBlockSize
+ *      Uncompressed size of data file compression blocks, in bytes. Larger blocks compress better, but
+ *      every random data item read has to decompress the whole block.
+ * @param hashChunkPrefetchThreads
+ *      Max number of threads to load hash chunks in parallel, when virtual maps prefetch all hash chunks
+ *      needed to hash a copy. Chunks are sorted by their disk locations and split between the threads.
+ *      The same threads are used to load leaf records for multi-key reads, see
+ *      {@link com.swirlds.merkledb.MerkleDbDataSource#loadLeafRecords}
+ * @param incrementalIndexSnapshots
+ *      If true, index snapshots are written as directories with one file per index chunk. Chunks not
+ *      changed since the previous snapshot are hard-linked from the previous snapshot rather than
+ *      written again. If false, every index snapshot is a single file with all index entries.
+ * @param bulkIngestSortBufferSize
+ *      When a data source is bulk ingested, for example, by a learner with an empty state during reconnect,
+ *      key to path entries are collected in memory and sorted by bucket. This is the max number of entries
+ *      to sort in memory. Larger sets of entries are sorted in runs, which are spilled to disk and merged.
+ * @param lazyIndexLoading
+ *      If true, off-heap indices loaded from chunked index snapshots (see incrementalIndexSnapshots) are
+ *      memory-mapped from snapshot files in copy-on-write mode rather than read into memory. Index pages are
+ *      faulted in on first access, and a background thread warms up all mapped indices after the data source
+ *      is loaded. Indices loaded from single file snapshots are always read into memory.
  */
 // spotless:off
 @ConfigData("merkleDb")
@@ -108,7 +165,22 @@ public record MerkleDbConfig(
         @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
         @ConfigProperty(defaultValue = "false") boolean useDiskIndices,
         @Min(0) @ConfigProperty(defaultValue = "50") long consolidationMaxInputFileSizeMB,
-        @Min(2) @ConfigProperty(defaultValue = "10") int consolidationMinFileCount){
+        @Min(2) @ConfigProperty(defaultValue = "10") int consolidationMinFileCount,
+        @ConfigProperty(defaultValue = DIRECT_MAPPED) String leafRecordCachePolicy,
+        @ConfigProperty(defaultValue = "false") boolean leafRecordCacheOffHeap,
+        @ConfigProperty(defaultValue = FILE_CHANNEL) String dataFileReadMode,
+        @Min(0) @ConfigProperty(defaultValue = "0") int hdhmKeyFilterBitsPerKey,
+        @Min(1) @ConfigProperty(defaultValue = "1048576") int hdhmMaxBucketSplitsPerFlush,
+        @Min(0) @ConfigProperty(defaultValue = "0") int compactionIoBudgetMBps,
+        @Min(0) @ConfigProperty(defaultValue = "0") int compactionIdleIoBudgetMBps,
+        @Min(0) @ConfigProperty(defaultValue = "5000") long compactionIdleThresholdMs,
+        @Min(1) @ConfigProperty(defaultValue = "1024") int flushWriteBatchSize,
+        @ConfigProperty(defaultValue = NONE) String dataFileCompression,
+        @Min(512) @Max(65536) @ConfigProperty(defaultValue = "16384") int dataFileCompressionBlockSize,
+        @Min(1) @ConfigProperty(defaultValue = "4") int hashChunkPrefetchThreads,
+        @ConfigProperty(defaultValue = "false") boolean incrementalIndexSnapshots,
+        @Min(1) @ConfigProperty(defaultValue = "1000000") int bulkIngestSortBufferSize,
+        @ConfigProperty(defaultValue = "false") boolean lazyIndexLoading){
 
     // spotless:on
 
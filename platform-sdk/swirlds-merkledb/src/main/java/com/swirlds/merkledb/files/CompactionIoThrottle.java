@@ -0,0 +1,125 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A token bucket to limit disk write bandwidth used by {@link DataFileCompactor compactions}, so
+ * they don't compete with flushes and snapshots for disk I/O. A single throttle is shared by all
+ * compactors, regardless of data sources and stores.
+ *
+ * <p>The throttle has two budgets: a regular one and an idle one. The idle budget is used, when
+ * there was no foreground activity like flushes or snapshots for a configured period of time.
+ * Foreground activity is reported using {@link #markForegroundActivity()}.
+ *
+ * <p>Compactors call {@link #acquire(long)} after every data item is written. If there are not
+ * enough tokens, the calling thread is parked till the bucket is refilled. Tokens are borrowed in
+ * advance, i.e. the number of available tokens may become negative, so items of any size can be
+ * written regardless of the bucket size.
+ *
+ * <p>This class is thread safe.
+ */
+public final class CompactionIoThrottle {
+
+    /** Max time, in nanos, to accumulate unused tokens for. Limits bursts after idle periods */
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Regular budget, bytes per second. Zero means no limit */
+    private final long bytesPerSecond;
+
+    /** Budget when there is no foreground activity, bytes per second. Zero means no limit */
+    private final long idleBytesPerSecond;
+
+    /** Time without foreground activity, in nanos, after which the idle budget is used */
+    private final long idleThresholdNanos;
+
+    /** Last time, in nanos, foreground activity was reported */
+    private volatile long lastForegroundActivityNanos;
+
+    /** Available tokens (bytes). May be negative. Synchronized on this */
+    private double availableBytes = 0;
+
+    /** Last time, in nanos, tokens were added to the bucket. Synchronized on this */
+    private long lastRefillNanos;
+
+    /**
+     * Creates a new throttle.
+     *
+     * @param budgetMBps regular budget, in MB per second, or zero to disable throttling
+     * @param idleBudgetMBps budget when there is no foreground activity, in MB per second, or
+     *     zero to use the regular budget
+     * @param idleThresholdMs time without foreground activity, after which the idle budget is used
+     */
+    public CompactionIoThrottle(final int budgetMBps, final int idleBudgetMBps, final long idleThresholdMs) {
+        if ((budgetMBps < 0) || (idleBudgetMBps < 0) || (idleThresholdMs < 0)) {
+            throw new IllegalArgumentException("Compaction I/O budgets and idle threshold must not be negative");
+        }
+        this.bytesPerSecond = (long) budgetMBps * MEBIBYTES_TO_BYTES;
+        this.idleBytesPerSecond = (idleBudgetMBps == 0) ? bytesPerSecond : (long) idleBudgetMBps * MEBIBYTES_TO_BYTES;
+        this.idleThresholdNanos = TimeUnit.MILLISECONDS.toNanos(idleThresholdMs);
+        final long now = System.nanoTime();
+        this.lastForegroundActivityNanos = now;
+        this.lastRefillNanos = now;
+    }
+
+    /**
+     * Reports foreground activity like a flush or a snapshot. The regular budget is used for
+     * the configured idle threshold period after this call.
+     */
+    public void markForegroundActivity() {
+        lastForegroundActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the budget currently in effect, in bytes per second, or zero if compactions are
+     * not throttled at the moment.
+     */
+    public long getCurrentBytesPerSecond() {
+        return getCurrentBytesPerSecond(System.nanoTime());
+    }
+
+    private long getCurrentBytesPerSecond(final long now) {
+        if ((bytesPerSecond == 0) || (now - lastForegroundActivityNanos < idleThresholdNanos)) {
+            return bytesPerSecond;
+        }
+        return idleBytesPerSecond;
+    }
+
+    /**
+     * Takes the given number of bytes from the bucket. If the bucket is exhausted, the current
+     * thread is parked till enough tokens are available.
+     *
+     * @param bytes number of bytes written
+     */
+    public void acquire(final long bytes) {
+        final long waitNanos;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            final long rate = getCurrentBytesPerSecond(now);
+            if (rate == 0) {
+                lastRefillNanos = now;
+                return;
+            }
+            final double maxBytes = (double) rate * MAX_BURST_NANOS / TimeUnit.SECONDS.toNanos(1);
+            availableBytes = Math.min(
+                    maxBytes, availableBytes + (double) rate * (now - lastRefillNanos) / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+            availableBytes -= bytes;
+            if (availableBytes >= 0) {
+                return;
+            }
+            waitNanos = (long) (-availableBytes * TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+        // Don't hold the lock while parked, so other compaction threads can borrow tokens and
+        // park concurrently
+        final long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while ((remaining > 0) && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
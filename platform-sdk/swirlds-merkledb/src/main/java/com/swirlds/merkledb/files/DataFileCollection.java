@@ -7,6 +7,7 @@ import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.KeyRange.INVALID_KEY_RANGE;
 import static com.swirlds.merkledb.files.DataFileCommon.FILE_EXTENSION;
 import static com.swirlds.merkledb.files.DataFileCommon.byteOffsetFromDataLocation;
+import static com.swirlds.merkledb.files.DataFileCommon.compressionCodec;
 import static com.swirlds.merkledb.files.DataFileCommon.fileIndexFromDataLocation;
 import static com.swirlds.merkledb.files.DataFileCommon.formatSizeBytes;
 import static com.swirlds.merkledb.files.DataFileCommon.isFullyWrittenDataFile;
@@ -27,6 +28,7 @@ import com.swirlds.merkledb.collections.CASableLongIndex;
 import com.swirlds.merkledb.collections.ImmutableIndexedObjectList;
 import com.swirlds.merkledb.collections.ImmutableIndexedObjectListUsingArray;
 import com.swirlds.merkledb.collections.LongList;
+import com.swirlds.merkledb.config.DataFileCompression;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
@@ -113,6 +115,12 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
     private final String legacyStoreName;
     /** True if this DataFileCollection was loaded from an existing set of files */
     private final boolean loadedFromExistingFiles;
+
+    /**
+     * Compression codec for new data files, one of {@code DataFileCommon.COMPRESSION_*} values.
+     * Existing files are read using the codec stored in their metadata, regardless of this value
+     */
+    private final int compression;
     /** The index to use for the next file we create */
     private final AtomicInteger nextFileIndex = new AtomicInteger();
     /** The range of valid data item keys for data currently stored by this data file collection. */
@@ -205,11 +213,40 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
             final String legacyStoreName,
             final LoadedDataCallback loadedDataCallback)
             throws IOException {
+        this(dbConfig, storeDir, storeName, legacyStoreName, DataFileCompression.NONE, loadedDataCallback);
+    }
+
+    /**
+     * Construct a new DataFileCollection with a custom legacy store name and a compression codec
+     * for new data files. Existing data files are read using the codecs they were written with,
+     * so compression can be turned on and off for an existing store.
+     *
+     * @param dbConfig MerkleDb dbConfig
+     * @param storeDir The directory to store data files
+     * @param storeName Base name for the data files, allowing more than one DataFileCollection to
+     *     share a directory
+     * @param legacyStoreName Base name for the data files. If not null, data files with this prefix
+     *     are processed by this file collection at startup same way as files prefixed with
+     *     storeName
+     * @param compression Compression codec name for new data files, see {@link DataFileCompression}
+     * @param loadedDataCallback Callback for rebuilding indexes from existing files, can be null if
+     *     not needed. Using this is expensive as it requires all files to be read and parsed.
+     * @throws IOException If there was a problem creating new data set or opening existing one
+     */
+    public DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            @NonNull final String compression,
+            final LoadedDataCallback loadedDataCallback)
+            throws IOException {
         this(
                 dbConfig,
                 storeDir,
                 storeName,
                 legacyStoreName,
+                compression,
                 loadedDataCallback,
                 l -> new ImmutableIndexedObjectListUsingArray<>(DataFileReader[]::new, l));
     }
@@ -242,7 +279,28 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
             final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
                     indexedObjectListConstructor)
             throws IOException {
+        this(
+                dbConfig,
+                storeDir,
+                storeName,
+                legacyStoreName,
+                DataFileCompression.NONE,
+                loadedDataCallback,
+                indexedObjectListConstructor);
+    }
+
+    private DataFileCollection(
+            final MerkleDbConfig dbConfig,
+            final Path storeDir,
+            final String storeName,
+            final String legacyStoreName,
+            @NonNull final String compression,
+            final LoadedDataCallback loadedDataCallback,
+            final Function<List<DataFileReader>, ImmutableIndexedObjectList<DataFileReader>>
+                    indexedObjectListConstructor)
+            throws IOException {
         this.dbConfig = dbConfig;
+        this.compression = compressionCodec(compression);
         this.storeDir = storeDir;
         this.storeName = storeName;
         this.legacyStoreName = legacyStoreName;
@@ -356,6 +414,7 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
         currentDataFileWriter.set(writer);
         final DataFileMetadata metadata = writer.getMetadata();
         final DataFileReader reader = addNewDataFileReader(writer.getPath(), metadata);
+        reader.setActiveWriter(writer);
         currentDataFileReader.set(reader);
     }
 
@@ -393,6 +452,29 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
         return currentDataFileForWriting.storeDataItem(dataItemWriter, dataItemSize);
     }
 
+    /**
+     * Store multiple data items into the current file opened with startWriting(). Data locations,
+     * where data items are stored, are written to the provided array in the same order as data
+     * item writers.
+     *
+     * @param dataItemWriters the data items to write into file
+     * @param dataItemSizes the data item sizes, in bytes
+     * @param dataLocations the array to store data locations to
+     * @throws IOException If there was a problem writing data items to the file.
+     */
+    public void storeDataItems(
+            final List<? extends Consumer<WritableSequentialData>> dataItemWriters,
+            final int[] dataItemSizes,
+            final long[] dataLocations)
+            throws IOException {
+        final DataFileWriter currentDataFileForWriting = currentDataFileWriter.get();
+        if (currentDataFileForWriting == null) {
+            throw new IOException(
+                    "Tried to put " + dataItemWriters.size() + " data items when we never started writing.");
+        }
+        currentDataFileForWriting.storeDataItems(dataItemWriters, dataItemSizes, dataLocations);
+    }
+
     /**
      * End writing current data file and returns the corresponding reader. The current reader is marked
      * as completed (fully written, read only, and ready for compaction), so any indexes or other data structures that
@@ -687,7 +769,14 @@ public class DataFileCollection implements FileStatisticAware, Snapshotable {
         if (logger.isTraceEnabled()) {
             setOfNewFileIndexes.add(newFileIndex);
         }
-        return new DataFileWriter(storeName, storeDir, newFileIndex, creationTime, compactionLevel);
+        return new DataFileWriter(
+                storeName,
+                storeDir,
+                newFileIndex,
+                creationTime,
+                compactionLevel,
+                compression,
+                dbConfig.dataFileCompressionBlockSize());
     }
 
     /**
@@ -11,9 +11,11 @@ import static java.util.stream.Collectors.joining;
 
 import com.hedera.pbj.runtime.FieldDefinition;
 import com.hedera.pbj.runtime.FieldType;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.KeyRange;
 import com.swirlds.merkledb.collections.IndexedObject;
 import com.swirlds.merkledb.collections.LongList;
+import com.swirlds.merkledb.config.DataFileCompression;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -32,6 +34,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -65,6 +69,27 @@ public final class DataFileCommon {
     /** Bit mask to remove file index from data location long */
     private static final long ITEM_OFFSET_MASK = MAX_ADDRESSABLE_DATA_FILE_SIZE_BYTES - 1;
 
+    /**
+     * In compressed data files, the data item byte offset part of a data location is split into
+     * a block number (upper 24 bits) and an offset within the uncompressed block (lower 16 bits).
+     * Blocks are up to 64Kb uncompressed, and a single file may contain up to 16 million blocks.
+     */
+    private static final int INTRA_BLOCK_OFFSET_BITS = 16;
+    /** Max uncompressed block size in compressed data files */
+    public static final int MAX_COMPRESSION_BLOCK_SIZE = 1 << INTRA_BLOCK_OFFSET_BITS;
+    /** Max number of compressed blocks in a single data file */
+    static final int MAX_COMPRESSION_BLOCKS = 1 << (DATA_ITEM_OFFSET_BITS - INTRA_BLOCK_OFFSET_BITS);
+    /** Bit mask to get the offset within a block from data location byte offset */
+    private static final long INTRA_BLOCK_OFFSET_MASK = MAX_COMPRESSION_BLOCK_SIZE - 1;
+
+    /** Data file compression codec: data items aren't compressed. The default for all older files */
+    public static final int COMPRESSION_NONE = 0;
+    /** Data file compression codec: data items are grouped into deflate compressed blocks */
+    public static final int COMPRESSION_DEFLATE = 1;
+
+    /** Inflaters are relatively expensive to create, they are reused per thread */
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
     /** Date formatter for dates used in data file names */
     private static final DateTimeFormatter DATE_FORMAT =
             DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS").withZone(ZoneId.of("Z"));
@@ -82,6 +107,14 @@ public final class DataFileCommon {
     public static final FieldDefinition FIELD_DATAFILE_ITEMS =
             new FieldDefinition("items", FieldType.MESSAGE, true, true, false, 11);
 
+    // Compressed data file protobuf fields. Every block contains the uncompressed block size
+    // followed by compressed data items, each written with FIELD_DATAFILE_ITEMS tag. Block index
+    // is written after all blocks, it contains file offsets of all blocks as fixed 64-bit longs
+    public static final FieldDefinition FIELD_DATAFILE_BLOCKS =
+            new FieldDefinition("blocks", FieldType.MESSAGE, true, true, false, 12);
+    public static final FieldDefinition FIELD_DATAFILE_BLOCK_INDEX =
+            new FieldDefinition("blockIndex", FieldType.BYTES, false, false, false, 13);
+
     private DataFileCommon() {
         throw new IllegalStateException("Utility class; should not be instantiated.");
     }
@@ -166,6 +199,89 @@ public final class DataFileCommon {
         return dataLocation & ITEM_OFFSET_MASK;
     }
 
+    /**
+     * Get the data item byte offset for a data item in a compressed data file. See {@link
+     * #dataLocation(int, long)} how the result is combined with file index.
+     *
+     * @param blockNumber the block number in the file
+     * @param intraBlockOffset the offset of the data item in the uncompressed block
+     * @return the data item byte offset to use in data locations
+     */
+    static long compressedByteOffset(final int blockNumber, final int intraBlockOffset) {
+        assert (blockNumber >= 0) && (blockNumber < MAX_COMPRESSION_BLOCKS);
+        assert (intraBlockOffset >= 0) && (intraBlockOffset < MAX_COMPRESSION_BLOCK_SIZE);
+        return ((long) blockNumber << INTRA_BLOCK_OFFSET_BITS) | intraBlockOffset;
+    }
+
+    /**
+     * Extract the block number from a data item byte offset in a compressed data file.
+     *
+     * @param byteOffset data item byte offset, see {@link #byteOffsetFromDataLocation(long)}
+     * @return block number
+     */
+    static int blockNumberFromByteOffset(final long byteOffset) {
+        return (int) (byteOffset >>> INTRA_BLOCK_OFFSET_BITS);
+    }
+
+    /**
+     * Extract the data item offset within its uncompressed block from a data item byte offset in
+     * a compressed data file.
+     *
+     * @param byteOffset data item byte offset, see {@link #byteOffsetFromDataLocation(long)}
+     * @return data item offset in the uncompressed block
+     */
+    static int intraBlockOffsetFromByteOffset(final long byteOffset) {
+        return (int) (byteOffset & INTRA_BLOCK_OFFSET_MASK);
+    }
+
+    /**
+     * Decompresses a data file block. The provided buffer must contain the uncompressed block size
+     * followed by compressed block data, it's read till its limit.
+     *
+     * @param blockData compressed block, without {@link #FIELD_DATAFILE_BLOCKS} tag and size
+     * @return uncompressed block bytes
+     * @throws IOException if the block is corrupted
+     */
+    static byte[] decompressBlock(final BufferedData blockData) throws IOException {
+        final int uncompressedSize = blockData.readVarInt(false);
+        if (uncompressedSize <= 0) {
+            throw new IOException("Corrupted data file block, wrong uncompressed size: " + uncompressedSize);
+        }
+        final byte[] compressed = new byte[Math.toIntExact(blockData.remaining())];
+        blockData.readBytes(compressed);
+        final byte[] uncompressed = new byte[uncompressedSize];
+        final Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            final int inflated = inflater.inflate(uncompressed);
+            if ((inflated != uncompressedSize) || !inflater.finished()) {
+                throw new IOException("Corrupted data file block, expected=" + uncompressedSize + " inflated="
+                        + inflated + " finished=" + inflater.finished());
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupted data file block", e);
+        }
+        return uncompressed;
+    }
+
+    /**
+     * Get a compression codec to use in data file metadata from {@link
+     * com.swirlds.merkledb.config.MerkleDbConfig#dataFileCompression()} config value.
+     *
+     * @param compression compression config value, see {@link com.swirlds.merkledb.config.DataFileCompression}
+     * @return compression codec
+     * @throws IllegalArgumentException if the value is unknown
+     */
+    public static int compressionCodec(final String compression) {
+        if ((compression == null) || DataFileCompression.NONE.equalsIgnoreCase(compression)) {
+            return COMPRESSION_NONE;
+        } else if (DataFileCompression.DEFLATE.equalsIgnoreCase(compression)) {
+            return COMPRESSION_DEFLATE;
+        }
+        throw new IllegalArgumentException("Unknown data file compression: " + compression);
+    }
+
     /**
      * Check if a file at path, is a data file based on name. Also checks if there is an existing
      * write lock file.
@@ -183,6 +183,13 @@ public class DataFileCompactor {
      */
     private long totalCompactedBytes;
 
+    /**
+     * Disk write bandwidth throttle, or null if this compactor isn't throttled. Set by the
+     * compaction coordinator before compaction is started.
+     */
+    @Nullable
+    private volatile CompactionIoThrottle ioThrottle;
+
     public DataFileCompactor(
             final DataFileCollection dataFileCollection,
             CASableLongIndex index,
@@ -229,6 +236,16 @@ public class DataFileCompactor {
                 -1);
     }
 
+    /**
+     * Sets the throttle to limit disk write bandwidth used by this compactor. Must be called
+     * before compaction is started.
+     *
+     * @param ioThrottle the throttle, or null to disable throttling
+     */
+    public void setIoThrottle(@Nullable final CompactionIoThrottle ioThrottle) {
+        this.ioThrottle = ioThrottle;
+    }
+
     /**
      * Returns the data file collection managed by this compactor. Used by the compaction
      * coordinator to access the file list for evaluating compaction candidates.
@@ -522,6 +539,8 @@ public class DataFileCompactor {
         // Take the lock. If a snapshot is started in a different thread, this call
         // will block until the snapshot is done. The current file will be flushed,
         // and current data file writer and reader will point to a new file
+        long newLocation = NON_EXISTENT_DATA_LOCATION;
+        long bytesWritten = 0;
         snapshotCompactionLock.lock();
         try {
             final DataFileWriter newFileWriter = currentWriter.get();
@@ -531,14 +550,19 @@ public class DataFileCompactor {
             // changed, there is no need to write the data as the following CAS call
             // would fail anyway
             if (index.get(key) == oldLocation) {
-                final long newLocation = newFileWriter.storeDataItemWithTag(itemBytesWithTag);
+                newLocation = newFileWriter.storeDataItemWithTag(itemBytesWithTag);
+                bytesWritten = itemBytesWithTag.length();
                 index.putIfEqual(key, oldLocation, newLocation);
-                return newLocation;
             }
-            return NON_EXISTENT_DATA_LOCATION;
         } finally {
             snapshotCompactionLock.unlock();
         }
+        // Throttle outside the lock, so snapshots are never blocked by throttled compactions
+        final CompactionIoThrottle throttle = ioThrottle;
+        if ((throttle != null) && (bytesWritten > 0)) {
+            throttle.acquire(bytesWritten);
+        }
+        return newLocation;
     }
 
     /**
@@ -560,6 +584,7 @@ public class DataFileCompactor {
         newCompactedFiles.add(newFileCreated);
         final DataFileMetadata newFileMetadata = newFileWriter.getMetadata();
         final DataFileReader newFileReader = dataFileCollection.addNewDataFileReader(newFileCreated, newFileMetadata);
+        newFileReader.setActiveWriter(newFileWriter);
         currentReader.set(newFileReader);
         logger.debug(
                 MERKLE_DB.getMarker(), "[{}] New compaction file, newFile={}", storeName, newFileReader.getIndex());
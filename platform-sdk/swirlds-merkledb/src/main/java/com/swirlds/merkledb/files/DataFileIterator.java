@@ -2,6 +2,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -22,6 +24,10 @@ import java.util.Objects;
  * It is designed to be used in a <code>while(iter.next()){...}</code>
  * loop, where you can then read the data items info for current item with {@link #getDataItemData()} and {@link #getDataItemDataLocation()}.
  *
+ * <p>Compressed data files are supported, too. Every compressed block is decompressed, when the
+ * iterator reaches it, and then data items are iterated over in the uncompressed block. Data item
+ * locations in compressed files contain block numbers and offsets within uncompressed blocks.
+ *
  * <p>It is designed to be used from a single thread.
  *
  * @see DataFileReader
@@ -41,8 +47,18 @@ public final class DataFileIterator implements AutoCloseable {
     private BufferedData dataItemBuffer;
     /** Index of current data item this iterator is reading, zero being the first item, -1 being before start */
     private long currentDataItem = -1;
-    /** The offset in bytes from start of file to the beginning of the current item. */
+    /**
+     * The offset in bytes from start of file to the beginning of the current item. In compressed
+     * files, this is a combination of the current block number and the offset in the block, see
+     * {@link DataFileCommon#compressedByteOffset(int, int)}
+     */
     private long currentDataItemFilePosition = 0;
+    /** Buffer that is reused for reading compressed blocks */
+    private BufferedData blockBuffer;
+    /** Current uncompressed block in compressed files, or null */
+    private BufferedData currentBlock;
+    /** Current block number in compressed files, -1 being before the first block */
+    private int currentBlockNumber = -1;
     /** True if this iterator has been closed */
     private boolean closed = false;
 
@@ -93,6 +109,8 @@ public final class DataFileIterator implements AutoCloseable {
         if (!closed) {
             closed = true;
             dataItemBuffer = null;
+            blockBuffer = null;
+            currentBlock = null;
             inputStream.close();
         }
     }
@@ -109,25 +127,53 @@ public final class DataFileIterator implements AutoCloseable {
             throw new IllegalStateException("Cannot read from a closed iterator");
         }
 
-        while (in.hasRemaining()) {
+        while (true) {
+            // Data items from the current uncompressed block, if any, go first
+            if (currentBlock != null) {
+                if (currentBlock.hasRemaining()) {
+                    final int intraBlockOffset = Math.toIntExact(currentBlock.position());
+                    final int tag = currentBlock.readVarInt(false);
+                    final int fieldNum = tag >> TAG_FIELD_OFFSET;
+                    if (fieldNum != FIELD_DATAFILE_ITEMS.number()) {
+                        throw new IllegalArgumentException("Unknown data file block field: " + fieldNum);
+                    }
+                    final int currentDataItemSize = currentBlock.readVarInt(false);
+                    dataItemBuffer = currentBlock.slice(currentBlock.position(), currentDataItemSize);
+                    currentBlock.skip(currentDataItemSize);
+                    currentDataItemFilePosition =
+                            DataFileCommon.compressedByteOffset(currentBlockNumber, intraBlockOffset);
+                    currentDataItem++;
+                    return true;
+                }
+                currentBlock = null;
+            }
+
+            if (!in.hasRemaining()) {
+                return false;
+            }
+
             currentDataItemFilePosition = in.position();
             final int tag = in.readVarInt(false);
             final int fieldNum = tag >> TAG_FIELD_OFFSET;
 
             if (fieldNum == FIELD_DATAFILE_ITEMS.number()) {
                 final int currentDataItemSize = in.readVarInt(false);
-                dataItemBuffer = fillBuffer(currentDataItemSize);
+                dataItemBuffer = fillBuffer(dataItemBuffer, currentDataItemSize);
                 currentDataItem++;
                 return true;
-            } else if (fieldNum == FIELD_DATAFILE_METADATA.number()) {
-                final int metadataSize = in.readVarInt(false);
-                in.skip(metadataSize);
+            } else if (fieldNum == FIELD_DATAFILE_BLOCKS.number()) {
+                final int blockSize = in.readVarInt(false);
+                blockBuffer = fillBuffer(blockBuffer, blockSize);
+                currentBlock = BufferedData.wrap(DataFileCommon.decompressBlock(blockBuffer));
+                currentBlockNumber++;
+            } else if ((fieldNum == FIELD_DATAFILE_METADATA.number())
+                    || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
+                final int fieldSize = in.readVarInt(false);
+                in.skip(fieldSize);
             } else {
                 throw new IllegalArgumentException("Unknown data file field: " + fieldNum);
             }
         }
-
-        return false;
     }
 
     /**
@@ -189,31 +235,32 @@ public final class DataFileIterator implements AutoCloseable {
     // Private methods
 
     /**
-     * Reads bytesToRead bytes from the current data item
+     * Reads bytesToRead bytes from the current data item or compressed block
+     * @param buffer the buffer to reuse, if it's large enough, may be null
      * @param bytesToRead bytes to read
      * @return ByteBuffer containing requested bytes
      * @throws IOException if request can not be completed
      */
-    private BufferedData fillBuffer(int bytesToRead) throws IOException {
+    private BufferedData fillBuffer(BufferedData buffer, int bytesToRead) throws IOException {
         if (bytesToRead <= 0) {
             throw new IOException("Malformed file [" + path + "], data item [" + currentDataItem
                     + "], requested bytes [" + bytesToRead + "]");
         }
 
         // Create or resize the buffer if necessary
-        if (dataItemBuffer == null || dataItemBuffer.capacity() < bytesToRead) {
-            dataItemBuffer = BufferedData.allocate(bytesToRead);
+        if (buffer == null || buffer.capacity() < bytesToRead) {
+            buffer = BufferedData.allocate(bytesToRead);
         }
 
-        dataItemBuffer.position(0);
-        dataItemBuffer.limit(bytesToRead);
-        final long bytesRead = in.readBytes(dataItemBuffer);
+        buffer.position(0);
+        buffer.limit(bytesToRead);
+        final long bytesRead = in.readBytes(buffer);
         if (bytesRead != bytesToRead) {
             throw new IOException("Couldn't read " + bytesToRead + " bytes, data item [" + currentDataItem
                     + "], requested bytes [" + bytesToRead + "]");
         }
 
-        dataItemBuffer.position(0);
-        return dataItemBuffer;
+        buffer.position(0);
+        return buffer;
     }
 }
@@ -2,6 +2,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -41,6 +43,12 @@ public final class DataFileMetadata {
     private static final FieldDefinition FIELD_COMPACTION_LEVEL =
             new FieldDefinition("compactionLevel", FieldType.UINT32, false, true, false, 6);
 
+    private static final FieldDefinition FIELD_COMPRESSION =
+            new FieldDefinition("compression", FieldType.UINT32, false, true, false, 7);
+
+    private static final FieldDefinition FIELD_BLOCK_INDEX_OFFSET =
+            new FieldDefinition("blockIndexOffset", FieldType.FIXED64, false, false, false, 8);
+
     /**
      * Maximum level of compaction for storage files.
      */
@@ -58,6 +66,19 @@ public final class DataFileMetadata {
     /** Total number of items in this file */
     private final long itemsCount;
 
+    /**
+     * Compression codec used in this file, see {@link DataFileCommon#COMPRESSION_NONE} and
+     * other codecs. Files written before compression was introduced don't have this field in
+     * metadata, they are all uncompressed
+     */
+    private final int compression;
+
+    /**
+     * Offset of the block index in compressed files. Zero, if the file is not compressed, or
+     * the file is not fully written yet
+     */
+    private final long blockIndexOffset;
+
     /**
      * Create a new metadata with complete set of data
      *
@@ -69,12 +90,35 @@ public final class DataFileMetadata {
      */
     public DataFileMetadata(
             final int index, final Instant creationDate, final int compactionLevel, final long itemsCount) {
+        this(index, creationDate, compactionLevel, itemsCount, DataFileCommon.COMPRESSION_NONE, 0);
+    }
+
+    /**
+     * Create a new metadata with complete set of data, including compression info.
+     *
+     * @param index The file index, in a data file collection
+     * @param creationDate The creation data of this file
+     * @param compactionLevel The level of compaction this file has. See {@link DataFileCompactor}
+     * @param itemsCount Total number of items in this file.
+     * @param compression Compression codec used in this file
+     * @param blockIndexOffset Offset of the block index in compressed files, or zero
+     */
+    public DataFileMetadata(
+            final int index,
+            final Instant creationDate,
+            final int compactionLevel,
+            final long itemsCount,
+            final int compression,
+            final long blockIndexOffset) {
         assert compactionLevel >= 0 && compactionLevel < MAX_COMPACTION_LEVEL;
+        assert compression == DataFileCommon.COMPRESSION_NONE || compression == DataFileCommon.COMPRESSION_DEFLATE;
 
         this.index = index;
         this.creationDate = creationDate;
         this.compactionLevel = (byte) compactionLevel;
         this.itemsCount = itemsCount;
+        this.compression = compression;
+        this.blockIndexOffset = blockIndexOffset;
     }
 
     /**
@@ -90,6 +134,8 @@ public final class DataFileMetadata {
         int creationNanos = 0;
         byte compactionLevel = 0;
         long itemsCount = 0;
+        int compression = DataFileCommon.COMPRESSION_NONE;
+        long blockIndexOffset = 0;
 
         // Read values from the file, skipping all data items
         try (final ReadableStreamingData in = new ReadableStreamingData(file)) {
@@ -116,6 +162,14 @@ public final class DataFileMetadata {
                                 final int compactionLevelInt = in.readVarInt(false);
                                 assert compactionLevelInt < MAX_COMPACTION_LEVEL;
                                 compactionLevel = (byte) compactionLevelInt;
+                            } else if (metadataFieldNum == FIELD_COMPRESSION.number()) {
+                                compression = in.readVarInt(false);
+                                if ((compression != DataFileCommon.COMPRESSION_NONE)
+                                        && (compression != DataFileCommon.COMPRESSION_DEFLATE)) {
+                                    throw new IllegalArgumentException("Unknown data file compression: " + compression);
+                                }
+                            } else if (metadataFieldNum == FIELD_BLOCK_INDEX_OFFSET.number()) {
+                                blockIndexOffset = in.readLong();
                             } else {
                                 throw new IllegalArgumentException(
                                         "Unknown data file metadata field: " + metadataFieldNum);
@@ -125,7 +179,9 @@ public final class DataFileMetadata {
                         in.limit(oldLimit);
                     }
                     break;
-                } else if (fieldNum == FIELD_DATAFILE_ITEMS.number()) {
+                } else if ((fieldNum == FIELD_DATAFILE_ITEMS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCKS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
                     // Just skip it. By default, metadata is written to the very beginning of the file,
                     // so this code should never be executed. However, with other implementations data
                     // items may come first, this code must be ready to handle it
@@ -143,7 +199,12 @@ public final class DataFileMetadata {
         }
 
         return new DataFileMetadata(
-                index, Instant.ofEpochSecond(creationSeconds, creationNanos), compactionLevel, itemsCount);
+                index,
+                Instant.ofEpochSecond(creationSeconds, creationNanos),
+                compactionLevel,
+                itemsCount,
+                compression,
+                blockIndexOffset);
     }
 
     <T extends WritableSequentialData> void writeTo(final T out) {
@@ -173,6 +234,15 @@ public final class DataFileMetadata {
             ProtoWriterTools.writeTag(out, FIELD_COMPACTION_LEVEL);
             out.writeVarInt(compactionLevel, false);
         }
+
+        // Both fields are written for all compressed files, so the header size doesn't change,
+        // when it's rewritten with the final block index offset
+        if (compression != DataFileCommon.COMPRESSION_NONE) {
+            ProtoWriterTools.writeTag(out, FIELD_COMPRESSION);
+            out.writeVarInt(compression, false);
+            ProtoWriterTools.writeTag(out, FIELD_BLOCK_INDEX_OFFSET);
+            out.writeLong(blockIndexOffset);
+        }
     }
 
     /** Get the files index, out of a set of data files */
@@ -189,6 +259,21 @@ public final class DataFileMetadata {
         return itemsCount;
     }
 
+    /** Get the compression codec used in the file */
+    public int getCompression() {
+        return compression;
+    }
+
+    /** Checks if data items in the file are stored in compressed blocks */
+    public boolean isCompressed() {
+        return compression != DataFileCommon.COMPRESSION_NONE;
+    }
+
+    /** Get the block index offset in the file, or zero if the file is not compressed */
+    public long getBlockIndexOffset() {
+        return blockIndexOffset;
+    }
+
     // For testing purposes
     int metadataSizeInBytes() {
         return ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_METADATA, calculateFieldsSizeInBytes());
@@ -213,6 +298,13 @@ public final class DataFileMetadata {
             size += ProtoWriterTools.sizeOfTag(FIELD_COMPACTION_LEVEL, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
             size += ProtoWriterTools.sizeOfVarInt32(compactionLevel);
         }
+
+        if (compression != DataFileCommon.COMPRESSION_NONE) {
+            size += ProtoWriterTools.sizeOfTag(FIELD_COMPRESSION, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(compression);
+            size += ProtoWriterTools.sizeOfTag(FIELD_BLOCK_INDEX_OFFSET, ProtoConstants.WIRE_TYPE_FIXED_64_BIT);
+            size += Long.BYTES;
+        }
         return size;
     }
 
@@ -227,6 +319,7 @@ public final class DataFileMetadata {
                 .append("index", index)
                 .append("creationDate", creationDate)
                 .append("itemsCount", itemsCount)
+                .append("compression", compression)
                 .toString();
     }
 
@@ -245,6 +338,8 @@ public final class DataFileMetadata {
         return index == that.index
                 && compactionLevel == that.compactionLevel
                 && itemsCount == that.itemsCount
+                && compression == that.compression
+                && blockIndexOffset == that.blockIndexOffset
                 && Objects.equals(this.creationDate, that.creationDate);
     }
 
@@ -253,6 +348,6 @@ public final class DataFileMetadata {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(index, creationDate, compactionLevel, itemsCount);
+        return Objects.hash(index, creationDate, compactionLevel, itemsCount, compression, blockIndexOffset);
     }
 }
@@ -2,8 +2,12 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.config.DataFileReadMode.MEMORY_MAPPED;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 
+import com.hedera.pbj.runtime.FieldDefinition;
 import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
@@ -13,10 +17,13 @@ import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -53,16 +60,45 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  *
  *     // Data items
  *     repeated bytes items = 11;
+ *
+ *     // Compressed blocks of data items, used instead of items in compressed files
+ *     repeated bytes blocks = 12;
+ *
+ *     // File offsets of all compressed blocks, fixed 64-bit longs
+ *     bytes blockIndex = 13;
  * }
  * </pre>
+ *
+ * <p>In compressed files, a data location points to a block and a data item offset within the
+ * uncompressed block. To read a data item, the whole block is read and decompressed. The last
+ * decompressed block is cached per thread, so reading multiple data items from the same block in
+ * a row only decompresses the block once. While a compressed file is still being written, blocks
+ * that are not yet flushed to disk are requested from the writer.
+ *
+ * <p>By default, data items are read using a pool of file channels. If {@link
+ * MerkleDbConfig#dataFileReadMode()} is set to {@link com.swirlds.merkledb.config.DataFileReadMode#MEMORY_MAPPED},
+ * the file is mapped to memory once it's completed, and data items are returned as zero-copy slices of the
+ * mapped memory segment. The segment is allocated in an automatic arena, it's unmapped by GC when neither the
+ * reader nor any of the returned slices are reachable. It allows data file compaction to close and delete
+ * the file while some threads may still be processing data items read from it.
  */
 public final class DataFileReader implements Comparable<DataFileReader>, IndexedObject {
 
     private static final ThreadLocal<ByteBuffer> BUFFER_CACHE = new ThreadLocal<>();
     private static final ThreadLocal<BufferedData> BUFFEREDDATA_CACHE = new ThreadLocal<>();
+    private static final ThreadLocal<DecompressedBlock> BLOCK_CACHE = new ThreadLocal<>();
 
     private final MerkleDbConfig dbConfig;
 
+    /** Indicates whether completed data files should be mapped to memory for reading */
+    private final boolean memoryMapped;
+
+    /**
+     * Memory segment mapped over the whole file, or null if the file isn't completed yet, or
+     * memory-mapped reads are disabled, or the reader is closed.
+     */
+    private volatile MemorySegment mappedSegment;
+
     /** Max number of file channels to use for reading */
     private final int maxFileChannels;
 
@@ -111,6 +147,18 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      */
     private final AtomicLong fileSizeBytes = new AtomicLong(0);
 
+    /**
+     * File offsets of compressed blocks, indexed by block numbers. Loaded from the file, when it's
+     * completed. Always null for uncompressed files.
+     */
+    private volatile long[] blockOffsets;
+
+    /**
+     * The writer of a compressed file, which is still being written. Used to read blocks, which
+     * are not flushed to disk yet. Set to null, once the file is completed.
+     */
+    private volatile DataFileWriter activeWriter;
+
     /**
      * Open an existing data file, reading the metadata from the file
      *
@@ -130,6 +178,7 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      */
     DataFileReader(final MerkleDbConfig dbConfig, final Path path, final DataFileMetadata metadata) throws IOException {
         this.dbConfig = dbConfig;
+        memoryMapped = MEMORY_MAPPED.equals(dbConfig.dataFileReadMode()) && !isWindows();
         maxFileChannels = dbConfig.maxFileChannelsPerFileReader();
         threadsPerFileChannel = dbConfig.maxThreadsPerFileChannel();
         fileChannels = new AtomicReferenceArray<>(maxFileChannels);
@@ -156,10 +205,23 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      * is created for an existing file, it's usually marked as completed immediately. If the reader
      * is created for a new file, which is still being written in a different thread, it's marked as
      * completed right after the file is fully written and the writer is closed.
+     *
+     * <p>If memory-mapped reads are enabled, this is also where the file is mapped to memory. The
+     * file is immutable from this point.
      */
     void setFileCompleted() {
         try {
-            fileSizeBytes.set(fileChannels.get(0).size());
+            final FileChannel fileChannel = fileChannels.get(0);
+            final long size = fileChannel.size();
+            fileSizeBytes.set(size);
+            if (memoryMapped && (size > 0) && isOpen()) {
+                mappedSegment = fileChannel.map(MapMode.READ_ONLY, 0, size, Arena.ofAuto());
+            }
+            if (getMetadata().isCompressed() && isOpen()) {
+                // Block offsets must be available before the writer is released
+                loadBlockIndex();
+            }
+            activeWriter = null;
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to update data file reader size", e);
         } finally {
@@ -193,6 +255,18 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
         metadataRef.set(metadata);
     }
 
+    /**
+     * Sets the writer of a compressed file, which is still being written. Data items from blocks
+     * not yet written to disk are read from the writer.
+     *
+     * @param writer the file writer
+     */
+    void setActiveWriter(final DataFileWriter writer) {
+        if (getMetadata().isCompressed() && !isFileCompleted()) {
+            activeWriter = writer;
+        }
+    }
+
     /**
      * Get the path to this data file.
      *
@@ -225,7 +299,9 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      */
     public BufferedData readDataItem(final long dataLocation) throws IOException {
         final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
-        return read(byteOffset, false);
+        return getMetadata().isCompressed()
+                ? readCompressed(byteOffset, false)
+                : read(byteOffset, false, FIELD_DATAFILE_ITEMS);
     }
 
     /**
@@ -239,7 +315,9 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      */
     public BufferedData readDataItemWithTag(final long dataLocation) throws IOException {
         final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
-        return read(byteOffset, true);
+        return getMetadata().isCompressed()
+                ? readCompressed(byteOffset, true)
+                : read(byteOffset, true, FIELD_DATAFILE_ITEMS);
     }
 
     /**
@@ -309,11 +387,24 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
         return open.get();
     }
 
+    /**
+     * Checks if completed data file is read using a memory mapped segment rather than file channels.
+     *
+     * @return true if the file is mapped to memory
+     */
+    public boolean isMemoryMapped() {
+        return mappedSegment != null;
+    }
+
     public void close() throws IOException {
         if (!open.compareAndSet(true, false)) {
             return;
         }
 
+        // The segment isn't unmapped explicitly, as data items returned by read() may still be
+        // in use by other threads. It will be unmapped, when it and all slices are GC'ed
+        mappedSegment = null;
+
         for (int i = 0; i < maxFileChannels; i++) {
             final FileChannel fileChannel = fileChannels.getAndSet(i, null);
             if (fileChannel != null) {
@@ -410,12 +501,18 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
      * @param byteOffsetInFile Offset to start reading at
      * @param includeTag Indicates whether the returned data should include FIELD_DATAFILE_ITEMS tag
      *                   and data item length, or it should be just data item data
+     * @param field Expected protobuf field at the given offset, usually FIELD_DATAFILE_ITEMS
      * @return ByteBuffer containing read data. This is a reused per thread buffer, so you can use
      *     it till your thread calls read again.
      * @throws IOException if there was a problem reading
      * @throws ClosedChannelException if the file was closed
      */
-    private BufferedData read(final long byteOffsetInFile, final boolean includeTag) throws IOException {
+    private BufferedData read(final long byteOffsetInFile, final boolean includeTag, final FieldDefinition field)
+            throws IOException {
+        final MemorySegment segment = mappedSegment;
+        if (segment != null) {
+            return readMapped(segment, byteOffsetInFile, includeTag, field);
+        }
         // Buffer size to read data item tag and size. If the whole item is small and
         // fits into this buffer, there is no need to make an extra file read
         final int PRE_READ_BUF_SIZE = 4096;
@@ -450,12 +547,7 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
                 // Then read the tag and size from the read buffer, since it's wrapped over the byte buffer
                 readBuf.reset();
                 final int tag = readBuf.getVarInt(0, false); // tag
-                if (tag
-                        != ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET)
-                                | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
-                    throw new IOException(
-                            "Unknown data item tag: tag=" + tag + " file=" + getIndex() + " off=" + byteOffsetInFile);
-                }
+                checkDataItemTag(tag, byteOffsetInFile, field);
                 final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
                 final int size = readBuf.getVarInt(sizeOfTag, false);
                 final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
@@ -499,6 +591,191 @@ public final class DataFileReader implements Comparable<DataFileReader>, Indexed
         throw new IOException("Failed to read from file, file channel keeps getting closed");
     }
 
+    /**
+     * Read a data item from a memory segment mapped over this file. No data is copied, the returned
+     * buffer is a slice of the segment. Unlike {@link #read(long, boolean)}, the returned buffer
+     * isn't reused and stays valid even after this reader is closed.
+     *
+     * @param segment Memory segment mapped over the whole file
+     * @param byteOffsetInFile Offset to start reading at
+     * @param includeTag Indicates whether the returned data should include FIELD_DATAFILE_ITEMS tag
+     *                   and data item length, or it should be just data item data
+     * @param field Expected protobuf field at the given offset, usually FIELD_DATAFILE_ITEMS
+     * @return a buffer slice containing the data item, or null if this reader is closed
+     * @throws IOException if the offset is out of file bounds or the data item is corrupted
+     */
+    private BufferedData readMapped(
+            final MemorySegment segment,
+            final long byteOffsetInFile,
+            final boolean includeTag,
+            final FieldDefinition field)
+            throws IOException {
+        if (!isOpen()) {
+            // Same as with file channels, let the caller retry with a new reader
+            return null;
+        }
+        final long available = segment.byteSize() - byteOffsetInFile;
+        if ((byteOffsetInFile < 0) || (available <= 0)) {
+            throw new IOException("Data item offset is out of file bounds: file=" + getIndex() + " off="
+                    + byteOffsetInFile + " size=" + segment.byteSize());
+        }
+        // Byte buffers are int-indexed, and no data item can be larger than that anyway
+        final ByteBuffer slice =
+                segment.asSlice(byteOffsetInFile, Math.min(available, Integer.MAX_VALUE)).asByteBuffer();
+        final BufferedData buf = BufferedData.wrap(slice);
+        final int tag = buf.getVarInt(0, false);
+        checkDataItemTag(tag, byteOffsetInFile, field);
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = buf.getVarInt(sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final long totalSize = (long) sizeOfTag + sizeOfSize + size;
+        if (totalSize > available) {
+            throw new IOException("Data item is out of file bounds: size=" + totalSize + " file=" + getIndex()
+                    + " off=" + byteOffsetInFile);
+        }
+        buf.limit(totalSize);
+        buf.position(includeTag ? 0 : sizeOfTag + sizeOfSize);
+        return buf;
+    }
+
+    /**
+     * Reads a data item from a compressed file. The block containing the data item is read and
+     * decompressed, unless it's already cached for the current thread.
+     *
+     * @param byteOffset data item byte offset, which combines block number and offset in the block
+     * @param includeTag Indicates whether the returned data should include FIELD_DATAFILE_ITEMS tag
+     *                   and data item length, or it should be just data item data
+     * @return a buffer containing the data item, or null if this reader is closed
+     * @throws IOException if there was a problem reading or decompressing the block
+     */
+    private BufferedData readCompressed(final long byteOffset, final boolean includeTag) throws IOException {
+        final int block = DataFileCommon.blockNumberFromByteOffset(byteOffset);
+        final int intraBlockOffset = DataFileCommon.intraBlockOffsetFromByteOffset(byteOffset);
+        final DecompressedBlock cached = BLOCK_CACHE.get();
+        final byte[] blockData;
+        if ((cached != null) && (cached.reader() == this) && (cached.block() == block)) {
+            blockData = cached.data();
+        } else {
+            blockData = readBlock(block);
+            if (blockData == null) {
+                return null;
+            }
+        }
+        final BufferedData buf = BufferedData.wrap(blockData);
+        if (intraBlockOffset >= blockData.length) {
+            throw new IOException("Data item offset is out of block bounds: file=" + getIndex() + " block=" + block
+                    + " off=" + intraBlockOffset);
+        }
+        final int tag = buf.getVarInt(intraBlockOffset, false);
+        checkDataItemTag(tag, byteOffset, FIELD_DATAFILE_ITEMS);
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = buf.getVarInt(intraBlockOffset + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final long end = (long) intraBlockOffset + sizeOfTag + sizeOfSize + size;
+        if (end > blockData.length) {
+            throw new IOException("Data item is out of block bounds: file=" + getIndex() + " block=" + block
+                    + " off=" + intraBlockOffset + " size=" + size);
+        }
+        buf.limit(end);
+        buf.position(includeTag ? intraBlockOffset : intraBlockOffset + sizeOfTag + sizeOfSize);
+        return buf;
+    }
+
+    /**
+     * Reads and decompresses a block. If the file is still being written, and the block isn't
+     * flushed to disk yet, the block data is requested from the file writer.
+     *
+     * @param block the block number
+     * @return uncompressed block data, or null if this reader is closed
+     * @throws IOException if there was a problem reading or decompressing the block
+     */
+    private byte[] readBlock(final int block) throws IOException {
+        long[] offsets = blockOffsets;
+        final long blockOffset;
+        if (offsets == null) {
+            final DataFileWriter writer = activeWriter;
+            if (writer != null) {
+                // Pending blocks are not cached, as they may still grow
+                final byte[] pending = writer.getPendingBlockData(block);
+                if (pending != null) {
+                    return pending;
+                }
+                blockOffset = writer.getBlockFileOffset(block);
+            } else {
+                offsets = loadBlockIndex();
+                if (offsets == null) {
+                    return null;
+                }
+                blockOffset = getBlockOffset(offsets, block);
+            }
+        } else {
+            blockOffset = getBlockOffset(offsets, block);
+        }
+        if (blockOffset <= 0) {
+            throw new IOException("Compressed block not found: file=" + getIndex() + " block=" + block);
+        }
+        final BufferedData compressed = read(blockOffset, false, FIELD_DATAFILE_BLOCKS);
+        if (compressed == null) {
+            return null;
+        }
+        final byte[] blockData = DataFileCommon.decompressBlock(compressed);
+        BLOCK_CACHE.set(new DecompressedBlock(this, block, blockData));
+        return blockData;
+    }
+
+    private long getBlockOffset(final long[] offsets, final int block) throws IOException {
+        if (block >= offsets.length) {
+            throw new IOException("Compressed block number is out of bounds: file=" + getIndex() + " block=" + block
+                    + " blocks=" + offsets.length);
+        }
+        return offsets[block];
+    }
+
+    /**
+     * Loads compressed block offsets from the file, unless they are already loaded.
+     *
+     * @return block offsets, or null if this reader is closed
+     * @throws IOException if the file is not fully written, or the block index is corrupted
+     */
+    private synchronized long[] loadBlockIndex() throws IOException {
+        if (blockOffsets != null) {
+            return blockOffsets;
+        }
+        final long indexOffset = getMetadata().getBlockIndexOffset();
+        if (indexOffset <= 0) {
+            throw new IOException("Compressed block index is not available: file=" + getIndex());
+        }
+        final BufferedData index = read(indexOffset, false, FIELD_DATAFILE_BLOCK_INDEX);
+        if (index == null) {
+            return null;
+        }
+        final long[] offsets = new long[Math.toIntExact(index.remaining() / Long.BYTES)];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = index.readLong();
+        }
+        blockOffsets = offsets;
+        return offsets;
+    }
+
+    private void checkDataItemTag(final int tag, final long byteOffsetInFile, final FieldDefinition field)
+            throws IOException {
+        if (tag != ((field.number() << TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal())) {
+            throw new IOException(
+                    "Unknown data item tag: tag=" + tag + " file=" + getIndex() + " off=" + byteOffsetInFile);
+        }
+    }
+
+    /**
+     * On Windows, files can't be deleted while they are mapped to memory. Since mapped segments are
+     * only released on GC, memory-mapped reads would break deleting compacted files.
+     */
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+    }
+
+    /** The last decompressed block, cached per thread */
+    private record DecompressedBlock(DataFileReader reader, int block, byte[] data) {}
+
     // Testing support
 
     int getFileChannelsCount() {
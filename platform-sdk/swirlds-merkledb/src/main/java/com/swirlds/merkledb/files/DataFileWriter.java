@@ -2,6 +2,10 @@
 package com.swirlds.merkledb.files;
 
 import static com.swirlds.base.units.UnitConstants.KIBIBYTES_TO_BYTES;
+import static com.swirlds.merkledb.files.DataFileCommon.COMPRESSION_DEFLATE;
+import static com.swirlds.merkledb.files.DataFileCommon.COMPRESSION_NONE;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.PAGE_SIZE;
 import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
@@ -21,11 +25,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 /**
  * Class for creating and sequentially writing to the file. A data file contains a header
@@ -50,6 +57,22 @@ import java.util.function.Consumer;
  * size of a writing window, the window is closed, and the corresponding memory segment is
  * unmapped.
  *
+ * <p>Multiple data items can be stored at once using {@link #storeDataItems(List, int[], long[])}.
+ * In this case, a single contiguous range in the file is reserved for all items, the items are
+ * serialized into a thread local buffer one after another, and then the whole buffer is copied to
+ * the writing window at once. It saves on atomic offset updates, window lookups, and memory copy
+ * calls, which is noticeable when many small data items are written.
+ *
+ * <p>If the writer is created with a compression codec other than {@link
+ * DataFileCommon#COMPRESSION_NONE}, data items aren't written to the file directly. Instead, they are
+ * appended to an in-memory block. Once the block is full, it's compressed and written to the file
+ * as a single {@link DataFileCommon#FIELD_DATAFILE_BLOCKS} field. Data locations for such data items
+ * contain block numbers and offsets in the uncompressed blocks rather than file offsets. When the
+ * writer is closed, file offsets of all blocks are written to the file as a block index, and
+ * the index offset is stored in the file metadata. Data items in compressed files can be read back
+ * using {@link DataFileReader} even before the file is fully written, the reader requests pending
+ * blocks from the writer as needed.
+ *
  * <p>Mapped memory segments are overlapping, this is done to avoid writing a single data item
  * to multiple mapped segments. If data buffer size is 100Mb, then the first window is mapped
  * at offset 0 and length 100Mb, the second window is mapped at offset 50Mb and length 100Mb,
@@ -115,6 +138,33 @@ public final class DataFileWriter {
      */
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
+    /** Compression codec, see {@link DataFileCommon#COMPRESSION_NONE} and other codecs */
+    private final int compression;
+
+    /** Max uncompressed block size, if compression is enabled */
+    private final int compressionBlockSize;
+
+    /** Compressor, or null if compression is disabled. Guarded by blockLock */
+    private final Deflater deflater;
+
+    /** Lock to guard the current block and block offsets in compressed files */
+    private final Object blockLock = new Object();
+
+    /** Current, not yet written, block data. Guarded by blockLock */
+    private byte[] blockBuffer;
+
+    /** Number of bytes in the current block. Guarded by blockLock */
+    private int blockDataSize = 0;
+
+    /** The number of the current block. Guarded by blockLock */
+    private int blockNumber = 0;
+
+    /** File offsets of all written blocks, indexed by block numbers. Guarded by blockLock */
+    private long[] blockOffsets;
+
+    /** Reusable buffer for compressed blocks. Guarded by blockLock */
+    private byte[] compressedBuffer;
+
     /**
      * Create a new data file with moving mapped byte buffer of 256Mb size.
      */
@@ -128,6 +178,34 @@ public final class DataFileWriter {
         this(filePrefix, dataFileDir, index, creationTime, compactionLevel, DEFAULT_BUF_SIZE, DEFAULT_MAX_FILE_SIZE);
     }
 
+    /**
+     * Create a new data file with moving mapped byte buffer of 256Mb size, using the given
+     * compression codec.
+     *
+     * @param compression compression codec, see {@link DataFileCommon#compressionCodec(String)}
+     * @param compressionBlockSize max uncompressed block size, ignored if compression is disabled
+     */
+    public DataFileWriter(
+            final String filePrefix,
+            final Path dataFileDir,
+            final int index,
+            final Instant creationTime,
+            final int compactionLevel,
+            final int compression,
+            final int compressionBlockSize)
+            throws IOException {
+        this(
+                filePrefix,
+                dataFileDir,
+                index,
+                creationTime,
+                compactionLevel,
+                DEFAULT_BUF_SIZE,
+                DEFAULT_MAX_FILE_SIZE,
+                compression,
+                compressionBlockSize);
+    }
+
     /**
      * Create a new data file in the given directory, in append mode. Puts the object into "writing"
      * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
@@ -149,7 +227,62 @@ public final class DataFileWriter {
             final int dataBufferSize,
             final long maxFileSize)
             throws IOException {
+        this(
+                filePrefix,
+                dataFileDir,
+                index,
+                creationTime,
+                compactionLevel,
+                dataBufferSize,
+                maxFileSize,
+                COMPRESSION_NONE,
+                0);
+    }
+
+    /**
+     * Create a new data file in the given directory, in append mode, using the given
+     * compression codec.
+     *
+     * @param filePrefix string prefix for all files, must not contain "_" chars
+     * @param dataFileDir the path to directory to create the data file in
+     * @param index the index number for this file
+     * @param creationTime the time stamp for the creation time for this file
+     * @param compactionLevel the compaction level for this file
+     * @param dataBufferSize the size of the memory mapped data buffer to use for writing data items
+     * @param maxFileSize max file size, in bytes
+     * @param compression compression codec, see {@link DataFileCommon#compressionCodec(String)}
+     * @param compressionBlockSize max uncompressed block size, ignored if compression is disabled
+     */
+    public DataFileWriter(
+            final String filePrefix,
+            final Path dataFileDir,
+            final int index,
+            final Instant creationTime,
+            final int compactionLevel,
+            final int dataBufferSize,
+            final long maxFileSize,
+            final int compression,
+            final int compressionBlockSize)
+            throws IOException {
         this.dataBufferSize = dataBufferSize;
+        this.compression = compression;
+        if (compression == COMPRESSION_NONE) {
+            this.compressionBlockSize = 0;
+            this.deflater = null;
+        } else if (compression == COMPRESSION_DEFLATE) {
+            if ((compressionBlockSize <= 0)
+                    || (compressionBlockSize > DataFileCommon.MAX_COMPRESSION_BLOCK_SIZE)
+                    || (compressionBlockSize > dataBufferSize / 2)) {
+                throw new IllegalArgumentException("Wrong compression block size: " + compressionBlockSize);
+            }
+            this.compressionBlockSize = compressionBlockSize;
+            this.deflater = new Deflater(Deflater.BEST_SPEED, true);
+            this.blockBuffer = new byte[compressionBlockSize];
+            this.compressedBuffer = new byte[compressionBlockSize];
+            this.blockOffsets = new long[16];
+        } else {
+            throw new IllegalArgumentException("Unknown compression codec: " + compression);
+        }
 
         final long maxNumWritingWindows = maxFileSize / dataBufferSize;
         if (maxNumWritingWindows > 1L << 24) {
@@ -163,7 +296,7 @@ public final class DataFileWriter {
         Files.createFile(path);
         fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
         // Items count will be updated after the file is completely written
-        metadata = new DataFileMetadata(index, creationTime, compactionLevel, 0);
+        metadata = new DataFileMetadata(index, creationTime, compactionLevel, 0, compression, 0);
 
         final int headerSize = writeHeader();
         currentWriteOffset.set(headerSize);
@@ -287,9 +420,9 @@ public final class DataFileWriter {
     public long storeDataItem(final Consumer<WritableSequentialData> dataItemWriter, final int dataItemSize)
             throws IOException {
         final int sizeToWrite = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSize);
-        return store(
-                out -> ProtoWriterTools.writeDelimited(out, FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter),
-                sizeToWrite);
+        final Consumer<MemoryData> writer =
+                out -> ProtoWriterTools.writeDelimited(out, FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter);
+        return (deflater != null) ? storeInBlock(writer, sizeToWrite) : store(writer, sizeToWrite);
     }
 
     /**
@@ -306,10 +439,116 @@ public final class DataFileWriter {
      */
     public long storeDataItemWithTag(final BufferedData dataItemWithTag) throws IOException {
         final int sizeToWrite = Math.toIntExact(dataItemWithTag.remaining());
-        return store(out -> out.writeBytes(dataItemWithTag), sizeToWrite);
+        final Consumer<MemoryData> writer = out -> out.writeBytes(dataItemWithTag);
+        return (deflater != null) ? storeInBlock(writer, sizeToWrite) : store(writer, sizeToWrite);
+    }
+
+    /**
+     * Store multiple data items in file. Data items are written with the {@link
+     * DataFileCommon#FIELD_DATAFILE_ITEMS} tag, the same way as {@link #storeDataItem(Consumer, int)}
+     * does, one after another. Data items are split into batches, so that every batch fits into a
+     * single writing buffer, and every batch is written to the file with a single memory copy.
+     *
+     * @param dataItemWriters the data items to write
+     * @param dataItemSizes the data item sizes, in bytes
+     * @param dataLocations the array to store data locations of written data items to, must be at
+     *     least as large as the list of data item writers
+     * @throws IOException if there was a problem appending data to the file
+     */
+    public void storeDataItems(
+            final List<? extends Consumer<WritableSequentialData>> dataItemWriters,
+            final int[] dataItemSizes,
+            final long[] dataLocations)
+            throws IOException {
+        final int count = dataItemWriters.size();
+        if ((dataItemSizes.length < count) || (dataLocations.length < count)) {
+            throw new IllegalArgumentException("Data item sizes and locations must have at least " + count + " items");
+        }
+        if (deflater != null) {
+            // Data items are accumulated in blocks anyway
+            for (int i = 0; i < count; i++) {
+                dataLocations[i] = storeDataItem(dataItemWriters.get(i), dataItemSizes[i]);
+            }
+            return;
+        }
+        int from = 0;
+        while (from < count) {
+            int to = from;
+            int batchSize = 0;
+            while (to < count) {
+                final int sizeToWrite = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSizes[to]);
+                if (sizeToWrite > dataBufferSize) {
+                    throw new IOException(
+                            ERROR_DATA_ITEM_TOO_LARGE + " dataSize=" + sizeToWrite + ", bufferSize=" + dataBufferSize);
+                }
+                if (batchSize + sizeToWrite > dataBufferSize) {
+                    break;
+                }
+                batchSize += sizeToWrite;
+                to++;
+            }
+            storeBatch(dataItemWriters, dataItemSizes, from, to, batchSize, dataLocations);
+            from = to;
+        }
+    }
+
+    private void storeBatch(
+            final List<? extends Consumer<WritableSequentialData>> dataItemWriters,
+            final int[] dataItemSizes,
+            final int from,
+            final int to,
+            final int batchSize,
+            final long[] dataLocations)
+            throws IOException {
+        if (closed.get()) {
+            throw new IOException("Data file is already closed");
+        }
+
+        // Batch size never exceeds data buffer size, so the whole batch fits into a single
+        // writing window, since windows are overlapping
+        final long fileOffset = currentWriteOffset.getAndAdd(batchSize);
+        final int writingWindowIndex = Math.toIntExact(fileOffset / dataBufferSize);
+        final WritingWindow writingWindow = getWritingWindow(writingWindowIndex);
+
+        try {
+            final MemoryData out = getTempLocalWriteBuffer(batchSize);
+            for (int i = from; i < to; i++) {
+                final long itemOffset = out.position();
+                final int dataItemSize = dataItemSizes[i];
+                ProtoWriterTools.writeDelimited(out, FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriters.get(i));
+                final long itemSize = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSize);
+                // double check that we wrote the expected number of bytes
+                if (out.position() - itemOffset != itemSize) {
+                    throw new IOException("Estimated size / written bytes mismatch: expected=" + itemSize
+                            + " written=" + (out.position() - itemOffset));
+                }
+                dataLocations[i] = DataFileCommon.dataLocation(metadata.getIndex(), fileOffset + itemOffset);
+            }
+
+            // The segment contains the same data as out above
+            final MemorySegment segment = SEGMENT_CACHE.get();
+            final long writingOffset = fileOffset % dataBufferSize;
+            MemorySegment.copy(segment, 0, writingWindow.writeBuffer, writingOffset, batchSize);
+        } finally {
+            bytesWritten(fileOffset, batchSize);
+        }
+
+        itemsCount.addAndGet(to - from);
     }
 
     private long store(final Consumer<MemoryData> writer, final int sizeToWrite) throws IOException {
+        final long fileOffset = storeBytes(writer, sizeToWrite);
+        itemsCount.incrementAndGet();
+        // return the offset where we wrote the data
+        return DataFileCommon.dataLocation(metadata.getIndex(), fileOffset);
+    }
+
+    /**
+     * Writes the given number of bytes to the file at the current write offset.
+     *
+     * @return the file offset, where the bytes are written
+     */
+    private long storeBytes(final Consumer<MemoryData> writer, final int sizeToWrite) throws IOException {
         if (closed.get()) {
             throw new IOException("Data file is already closed");
         }
@@ -339,19 +578,153 @@ public final class DataFileWriter {
         } finally {
             bytesWritten(fileOffset, sizeToWrite);
         }
+        return fileOffset;
+    }
 
+    /**
+     * Appends a data item to the current compressed block. If the data item doesn't fit into the
+     * block, the block is compressed and written to the file first, and a new block is started.
+     * Data items larger than compression block size are stored in their own blocks.
+     */
+    private long storeInBlock(final Consumer<MemoryData> writer, final int sizeToWrite) throws IOException {
+        if (sizeToWrite > dataBufferSize / 2) {
+            // Leave enough room for compression overhead, compressed blocks must fit into the buffer
+            throw new IOException(
+                    ERROR_DATA_ITEM_TOO_LARGE + " dataSize=" + sizeToWrite + ", bufferSize=" + dataBufferSize);
+        }
+        final long byteOffset;
+        synchronized (blockLock) {
+            if (closed.get()) {
+                throw new IOException("Data file is already closed");
+            }
+            if ((blockDataSize > 0) && (blockDataSize + sizeToWrite > compressionBlockSize)) {
+                flushBlock();
+            }
+            // Serialize the item after the previous block is flushed, since flushing uses the
+            // same thread local write buffer
+            final MemoryData out = getTempLocalWriteBuffer(sizeToWrite);
+            writer.accept(out);
+            // double check that we wrote the expected number of bytes
+            if (out.remaining() != 0) {
+                throw new IOException("Estimated size / written bytes mismatch: expected=" + sizeToWrite
+                        + " written=" + (sizeToWrite - out.remaining()));
+            }
+            if (blockBuffer.length < blockDataSize + sizeToWrite) {
+                blockBuffer = Arrays.copyOf(blockBuffer, blockDataSize + sizeToWrite);
+            }
+            MemorySegment.copy(SEGMENT_CACHE.get(), 0, MemorySegment.ofArray(blockBuffer), blockDataSize, sizeToWrite);
+            byteOffset = DataFileCommon.compressedByteOffset(blockNumber, blockDataSize);
+            blockDataSize += sizeToWrite;
+        }
         itemsCount.incrementAndGet();
-        // return the offset where we wrote the data
-        return DataFileCommon.dataLocation(metadata.getIndex(), fileOffset);
+        return DataFileCommon.dataLocation(metadata.getIndex(), byteOffset);
+    }
+
+    /**
+     * Compresses the current block and writes it to the file. Must be called under blockLock.
+     */
+    private void flushBlock() throws IOException {
+        assert Thread.holdsLock(blockLock);
+        if (blockDataSize == 0) {
+            return;
+        }
+        if (blockNumber >= DataFileCommon.MAX_COMPRESSION_BLOCKS) {
+            throw new IOException("Too many compressed blocks in data file " + path);
+        }
+        deflater.reset();
+        deflater.setInput(blockBuffer, 0, blockDataSize);
+        deflater.finish();
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+            if (compressedSize == compressedBuffer.length) {
+                compressedBuffer = Arrays.copyOf(compressedBuffer, compressedBuffer.length * 2);
+            }
+            compressedSize +=
+                    deflater.deflate(compressedBuffer, compressedSize, compressedBuffer.length - compressedSize);
+        }
+        final int uncompressedSize = blockDataSize;
+        final int compressedBytes = compressedSize;
+        final int blockSize = ProtoWriterTools.sizeOfVarInt32(uncompressedSize) + compressedBytes;
+        final long blockOffset = storeBytes(
+                out -> ProtoWriterTools.writeDelimited(out, FIELD_DATAFILE_BLOCKS, blockSize, o -> {
+                    o.writeVarInt(uncompressedSize, false);
+                    o.writeBytes(compressedBuffer, 0, compressedBytes);
+                }),
+                ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_BLOCKS, blockSize));
+        if (blockNumber == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+        }
+        blockOffsets[blockNumber] = blockOffset;
+        blockNumber++;
+        blockDataSize = 0;
+    }
+
+    /**
+     * Returns a copy of the given block data, if the block isn't written to the file yet. This
+     * method is used by data file readers to read data items from files being written.
+     *
+     * @param block the block number
+     * @return uncompressed block data, or null if the block is already written to the file
+     */
+    byte[] getPendingBlockData(final int block) {
+        synchronized (blockLock) {
+            return ((block == blockNumber) && (blockDataSize > 0)) ? Arrays.copyOf(blockBuffer, blockDataSize) : null;
+        }
+    }
+
+    /**
+     * Returns the file offset of the given block. This method is used by data file readers to
+     * read data items from files being written.
+     *
+     * @param block the block number
+     * @return the block offset in the file, or -1 if the block isn't written yet
+     */
+    long getBlockFileOffset(final int block) {
+        synchronized (blockLock) {
+            return (block < blockNumber) ? blockOffsets[block] : -1;
+        }
+    }
+
+    /**
+     * Writes the current block, if any, and the block index to the file. Returns the block
+     * index offset in the file.
+     */
+    private long writeBlockIndex() throws IOException {
+        synchronized (blockLock) {
+            flushBlock();
+            final int count = blockNumber;
+            final int indexSize = count * Long.BYTES;
+            return storeBytes(
+                    out -> ProtoWriterTools.writeDelimited(out, FIELD_DATAFILE_BLOCK_INDEX, indexSize, o -> {
+                        for (int i = 0; i < count; i++) {
+                            o.writeLong(blockOffsets[i]);
+                        }
+                    }),
+                    ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_BLOCK_INDEX, indexSize));
+        }
     }
 
     /**
      * Release all the resources like mapped buffer and file channel.
      */
     public void close() throws IOException {
+        if (closed.get()) {
+            return;
+        }
+
+        // Compressed blocks must be written before the writer is marked as closed
+        final long blockIndexOffset = (deflater != null) ? writeBlockIndex() : 0;
+
         if (!closed.compareAndSet(false, true)) {
             return;
         }
+        if (deflater != null) {
+            synchronized (blockLock) {
+                deflater.end();
+                blockBuffer = null;
+                compressedBuffer = null;
+            }
+        }
 
         // total file size is where the current writing pos is
         final long totalFileSize = currentWriteOffset.get();
@@ -366,7 +739,12 @@ public final class DataFileWriter {
         // is FIXED64 (always 8 bytes regardless of value), so this cannot
         // overwrite data items.
         metadata = new DataFileMetadata(
-                metadata.getIndex(), metadata.getCreationDate(), metadata.getCompactionLevel(), itemsCount.get());
+                metadata.getIndex(),
+                metadata.getCreationDate(),
+                metadata.getCompactionLevel(),
+                itemsCount.get(),
+                compression,
+                blockIndexOffset);
         writeHeader();
 
         // Truncate after header rewrite
@@ -15,6 +15,8 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
@@ -72,7 +74,8 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         // create store dir
         Files.createDirectories(storeDir);
         // create file collection
-        fileCollection = new DataFileCollection(config, storeDir, storeName, legacyStoreName, loadedDataCallback);
+        fileCollection = new DataFileCollection(
+                config, storeDir, storeName, legacyStoreName, config.dataFileCompression(), loadedDataCallback);
     }
 
     /**
@@ -113,6 +116,45 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         index.put(key, dataLocation);
     }
 
+    /**
+     * Put multiple values into this store, you must be in a writing session started with
+     * startWriting(). All values are written to the current data file using a single call to
+     * {@link DataFileCollection#storeDataItems(List, int[], long[])}, and then the index is
+     * updated for all keys at once.
+     *
+     * @param keys the keys to store values for
+     * @param dataItemWriters functions to write data item bytes, one per key
+     * @param dataItemSizes the data item sizes, in bytes
+     * @param dataLocations a temp array to store data locations to, must be at least as large as
+     *     the list of data item writers
+     * @throws IOException If there was a problem write key/values to the store
+     */
+    public void putAll(
+            final long[] keys,
+            final List<? extends Consumer<WritableSequentialData>> dataItemWriters,
+            final int[] dataItemSizes,
+            final long[] dataLocations)
+            throws IOException {
+        final int count = dataItemWriters.size();
+        if (count == 0) {
+            return;
+        }
+        fileCollection.storeDataItems(dataItemWriters, dataItemSizes, dataLocations);
+        // store data locations in index
+        index.putAll(keys, dataLocations, count);
+    }
+
+    /**
+     * Creates a new write batch for this store. Write batches are not thread safe, they must
+     * only be used in a single thread during a writing session started with startWriting().
+     *
+     * @param capacity max number of values to accumulate before they are written to disk
+     * @return the write batch
+     */
+    public WriteBatch newWriteBatch(final int capacity) {
+        return new WriteBatch(capacity);
+    }
+
     /**
      * End a session of writing
      *
@@ -193,4 +235,63 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
     public DataFileCollection getFileCollection() {
         return fileCollection;
     }
+
+    /**
+     * Accumulates values to put into the store and writes them in batches using {@link
+     * #putAll(long[], List, int[], long[])}. {@link #flush()} must be called after the last value
+     * is added and before the writing session is ended.
+     */
+    public final class WriteBatch {
+
+        private final int capacity;
+
+        private final long[] keys;
+
+        private final List<Consumer<WritableSequentialData>> dataItemWriters;
+
+        private final int[] dataItemSizes;
+
+        private final long[] dataLocations;
+
+        private WriteBatch(final int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Write batch capacity must be positive");
+            }
+            this.capacity = capacity;
+            keys = new long[capacity];
+            dataItemWriters = new ArrayList<>(capacity);
+            dataItemSizes = new int[capacity];
+            dataLocations = new long[capacity];
+        }
+
+        /**
+         * Adds a value to this batch. If the batch is full, all accumulated values are written
+         * to the store.
+         *
+         * @param key The key to store value for
+         * @param dataItemWriter a function to write data item bytes
+         * @param dataItemSize the data item size, in bytes
+         * @throws IOException If there was a problem write key/values to the store
+         */
+        public void put(final long key, final Consumer<WritableSequentialData> dataItemWriter, final int dataItemSize)
+                throws IOException {
+            final int i = dataItemWriters.size();
+            keys[i] = key;
+            dataItemWriters.add(dataItemWriter);
+            dataItemSizes[i] = dataItemSize;
+            if (i + 1 == capacity) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes all accumulated values to the store.
+         *
+         * @throws IOException If there was a problem write key/values to the store
+         */
+        public void flush() throws IOException {
+            putAll(keys, dataItemWriters, dataItemSizes, dataLocations);
+            dataItemWriters.clear();
+        }
+    }
 }
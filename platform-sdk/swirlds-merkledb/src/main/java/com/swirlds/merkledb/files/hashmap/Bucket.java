@@ -375,6 +375,46 @@ public sealed class Bucket implements Closeable permits ParsedBucket {
         throw new IllegalArgumentException("No bucket entry hash code found");
     }
 
+    /**
+     * Adds all keys from this bucket to the given bucket filter words, see {@link
+     * BucketKeyFilter#addKeyHash(long[], long)}.
+     *
+     * @param keyFilter the key filter
+     * @param bucketWords the bucket filter words to update
+     */
+    void addKeysToFilter(final BucketKeyFilter keyFilter, final long[] bucketWords) {
+        bucketData.resetPosition();
+        while (bucketData.hasRemaining()) {
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                bucketData.skip(Integer.BYTES);
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                final long nextEntryOffset = bucketData.position() + entrySize;
+                while (bucketData.position() < nextEntryOffset) {
+                    final int entryTag = bucketData.readVarInt(false);
+                    final int entryFieldNum = entryTag >> TAG_FIELD_OFFSET;
+                    if (entryFieldNum == FIELD_BUCKETENTRY_HASHCODE.number()) {
+                        bucketData.skip(Integer.BYTES);
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_VALUE.number()) {
+                        bucketData.skip(Long.BYTES);
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_KEYBYTES.number()) {
+                        final int keySize = bucketData.readVarInt(false);
+                        final long keyOffset = bucketData.position();
+                        keyFilter.addKeyHash(bucketWords, BucketKeyFilter.hashKey(bucketData, keyOffset, keySize));
+                        bucketData.skip(keySize);
+                    } else {
+                        throw new IllegalArgumentException("Unknown bucket entry field: " + entryFieldNum);
+                    }
+                }
+                bucketData.position(nextEntryOffset);
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+        }
+    }
+
     public void writeTo(final WritableSequentialData out) {
         bucketData.resetPosition();
         out.writeBytes(bucketData);
@@ -0,0 +1,290 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files.hashmap;
+
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.hiero.base.utility.NonCryptographicHashing;
+
+/**
+ * In-memory probabilistic filter of keys stored in {@link HalfDiskHashMap} buckets. It's used to
+ * answer most lookups of absent keys without reading buckets from disk.
+ *
+ * <p>The filter is a set of small blocked Bloom filters, one per bucket. Every bucket gets a fixed
+ * number of 64-bit words, the number is calculated based on the expected number of entries per
+ * bucket and the configured number of bits per key. Every key is mapped to a single word in its
+ * bucket, and {@link #BITS_PER_KEY_HASH} bits are set in the word. Key hashes are calculated from
+ * key bytes rather than from key hash codes, since all keys in a bucket share the lower bits of
+ * their hash codes.
+ *
+ * <p>Since the filter is maintained per bucket index rather than per data file, bucket moves
+ * between data files during compaction don't affect it. Bucket filters are rebuilt when buckets
+ * are updated in {@link HalfDiskHashMap#endWriting()}. The filter isn't persisted in snapshots.
+ * After a map is loaded from a snapshot, bucket filters are not valid, and all lookups go to
+ * disk. Every such read marks the bucket filter as valid, so the filter warms up over time.
+ *
+ * <p>The filter must never produce false negatives. Bucket writers always add all keys of the
+ * new bucket version to the filter (bitwise OR) before the new bucket is published in the bucket
+ * index, so all filter words are always a superset of keys in the currently published bucket.
+ * Only after the bucket is published, its filter words are replaced with the exact set of keys.
+ * Readers may only add keys to the filter, never remove them.
+ *
+ * <p>This class is thread safe.
+ */
+public final class BucketKeyFilter {
+
+    /** Number of bits to set in a filter word for a single key. */
+    static final int BITS_PER_KEY_HASH = 3;
+
+    /** Number of longs in a single storage chunk, as a power of two. */
+    private static final int CHUNK_SIZE_BITS = 16;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SIZE_BITS;
+
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Number of filter words per bucket. */
+    private final int wordsPerBucket;
+
+    /** Filter words, {@link #wordsPerBucket} words per bucket. Chunks are allocated on demand. */
+    private final AtomicReferenceArray<AtomicLongArray> words;
+
+    /** One bit per bucket, indicates whether the bucket filter can be used for lookups. */
+    private final AtomicReferenceArray<AtomicLongArray> validBuckets;
+
+    /** Number of allocated chunks in both {@link #words} and {@link #validBuckets}. */
+    private final AtomicLong chunksAllocated = new AtomicLong(0);
+
+    /** Number of lookups, which were answered by the filter without reading buckets. */
+    private final LongAdder negativeCount = new LongAdder();
+
+    /** Number of lookups, which the filter allowed, but the key was not found in the bucket. */
+    private final LongAdder falsePositiveCount = new LongAdder();
+
+    /**
+     * Creates a new key filter.
+     *
+     * @param bucketIndexCapacity max number of buckets in the map
+     * @param goodAverageBucketEntryCount expected average number of entries per bucket
+     * @param bitsPerKey the number of filter bits to allocate per expected bucket entry
+     */
+    public BucketKeyFilter(
+            final long bucketIndexCapacity, final int goodAverageBucketEntryCount, final int bitsPerKey) {
+        if (bitsPerKey <= 0) {
+            throw new IllegalArgumentException("Bits per key must be positive: " + bitsPerKey);
+        }
+        wordsPerBucket = Math.max(1, (goodAverageBucketEntryCount * bitsPerKey + Long.SIZE - 1) / Long.SIZE);
+        words = new AtomicReferenceArray<>(Math.toIntExact(
+                ((bucketIndexCapacity * wordsPerBucket) >>> CHUNK_SIZE_BITS) + 1));
+        validBuckets = new AtomicReferenceArray<>(Math.toIntExact(
+                ((bucketIndexCapacity / Long.SIZE) >>> CHUNK_SIZE_BITS) + 1));
+    }
+
+    /**
+     * Calculates a 64-bit hash of the given key bytes. It's the hash used by this filter.
+     *
+     * @param data the data containing key bytes
+     * @param offset key bytes offset in the data
+     * @param length key bytes length
+     * @return key hash
+     */
+    public static long hashKey(final RandomAccessData data, final long offset, final int length) {
+        long hash = length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            hash = NonCryptographicHashing.hash64(hash, data.getLong(offset + i));
+        }
+        long tail = 0;
+        for (; i < length; i++) {
+            tail = (tail << 8) | (data.getByte(offset + i) & 0xFF);
+        }
+        return NonCryptographicHashing.hash64(hash, tail);
+    }
+
+    /**
+     * Returns the number of filter words per bucket.
+     */
+    public int getWordsPerBucket() {
+        return wordsPerBucket;
+    }
+
+    /**
+     * Checks if the filter for the given bucket can be used for lookups.
+     *
+     * @param bucketIndex the bucket index
+     * @return true if the bucket filter is valid
+     */
+    public boolean isValid(final int bucketIndex) {
+        final AtomicLongArray chunk = validBuckets.get(bucketIndex >>> (CHUNK_SIZE_BITS + 6));
+        if (chunk == null) {
+            return false;
+        }
+        final long bits = chunk.get((int) ((bucketIndex >>> 6) & CHUNK_MASK));
+        // Long shift distance is taken modulo 64
+        return (bits & (1L << bucketIndex)) != 0;
+    }
+
+    /**
+     * Checks if the given key may be in the given bucket. If the bucket filter isn't valid, this
+     * method always returns true.
+     *
+     * @param bucketIndex the bucket index
+     * @param keyHash the key hash, see {@link #hashKey(RandomAccessData, long, int)}
+     * @return false if the key is definitely not in the bucket, true otherwise
+     */
+    public boolean mightContain(final int bucketIndex, final long keyHash) {
+        if (!isValid(bucketIndex)) {
+            return true;
+        }
+        final long wordIndex = (long) bucketIndex * wordsPerBucket + wordInBucket(keyHash);
+        final AtomicLongArray chunk = words.get((int) (wordIndex >>> CHUNK_SIZE_BITS));
+        if (chunk == null) {
+            return true;
+        }
+        final long mask = keyMask(keyHash);
+        return (chunk.get((int) (wordIndex & CHUNK_MASK)) & mask) == mask;
+    }
+
+    /**
+     * Adds a key hash to the given array of bucket filter words. The array length must be equal to
+     * {@link #getWordsPerBucket()}.
+     *
+     * @param bucketWords bucket filter words
+     * @param keyHash the key hash, see {@link #hashKey(RandomAccessData, long, int)}
+     */
+    public void addKeyHash(final long[] bucketWords, final long keyHash) {
+        bucketWords[wordInBucket(keyHash)] |= keyMask(keyHash);
+    }
+
+    /**
+     * Adds all bits from the given bucket words to the bucket filter. This method doesn't change
+     * bucket filter validity.
+     *
+     * @param bucketIndex the bucket index
+     * @param bucketWords bucket filter words to add
+     */
+    public void merge(final int bucketIndex, final long[] bucketWords) {
+        final long firstWordIndex = (long) bucketIndex * wordsPerBucket;
+        for (int i = 0; i < wordsPerBucket; i++) {
+            final long wordIndex = firstWordIndex + i;
+            final long bits = bucketWords[i];
+            if (bits != 0) {
+                getOrCreateChunk(words, (int) (wordIndex >>> CHUNK_SIZE_BITS))
+                        .accumulateAndGet((int) (wordIndex & CHUNK_MASK), bits, (a, b) -> a | b);
+            }
+        }
+    }
+
+    /**
+     * Replaces the bucket filter with the given bucket words and marks it as valid. This method
+     * must only be called by bucket writers after the bucket is published in the bucket index,
+     * and all bucket keys have been already {@link #merge(int, long[]) merged} to the filter.
+     *
+     * @param bucketIndex the bucket index
+     * @param bucketWords bucket filter words
+     */
+    public void set(final int bucketIndex, final long[] bucketWords) {
+        final long firstWordIndex = (long) bucketIndex * wordsPerBucket;
+        for (int i = 0; i < wordsPerBucket; i++) {
+            final long wordIndex = firstWordIndex + i;
+            getOrCreateChunk(words, (int) (wordIndex >>> CHUNK_SIZE_BITS))
+                    .set((int) (wordIndex & CHUNK_MASK), bucketWords[i]);
+        }
+        markValid(bucketIndex);
+    }
+
+    /**
+     * Marks the bucket filter as valid. Must only be called after all keys of the bucket version
+     * read from disk are {@link #merge(int, long[]) merged} to the filter.
+     *
+     * @param bucketIndex the bucket index
+     */
+    public void markValid(final int bucketIndex) {
+        getOrCreateChunk(validBuckets, bucketIndex >>> (CHUNK_SIZE_BITS + 6))
+                .accumulateAndGet((int) ((bucketIndex >>> 6) & CHUNK_MASK), 1L << bucketIndex, (a, b) -> a | b);
+    }
+
+    /**
+     * Copies the filter of one bucket to another bucket. Used when the map is resized, and all
+     * buckets in the upper half of the new bucket range are initialized from the lower half.
+     *
+     * @param fromBucketIndex the source bucket index
+     * @param toBucketIndex the target bucket index
+     */
+    public void copy(final int fromBucketIndex, final int toBucketIndex) {
+        if (!isValid(fromBucketIndex)) {
+            return;
+        }
+        final long[] bucketWords = new long[wordsPerBucket];
+        final long firstWordIndex = (long) fromBucketIndex * wordsPerBucket;
+        for (int i = 0; i < wordsPerBucket; i++) {
+            final long wordIndex = firstWordIndex + i;
+            final AtomicLongArray chunk = words.get((int) (wordIndex >>> CHUNK_SIZE_BITS));
+            bucketWords[i] = (chunk == null) ? 0 : chunk.get((int) (wordIndex & CHUNK_MASK));
+        }
+        merge(toBucketIndex, bucketWords);
+        markValid(toBucketIndex);
+    }
+
+    /** Increments the number of lookups answered by this filter without disk reads. */
+    void countNegative() {
+        negativeCount.increment();
+    }
+
+    /** Increments the number of lookups the filter allowed, but no key was found on disk. */
+    void countFalsePositive() {
+        falsePositiveCount.increment();
+    }
+
+    /**
+     * Returns the number of lookups answered by this filter without disk reads since the last
+     * call to this method.
+     */
+    public long resetNegativeCount() {
+        return negativeCount.sumThenReset();
+    }
+
+    /**
+     * Returns the number of false positive lookups since the last call to this method.
+     */
+    public long resetFalsePositiveCount() {
+        return falsePositiveCount.sumThenReset();
+    }
+
+    /**
+     * Returns the memory used by this filter, in bytes.
+     */
+    public long getMemoryUsage() {
+        return chunksAllocated.get() * CHUNK_SIZE * Long.BYTES;
+    }
+
+    private int wordInBucket(final long keyHash) {
+        return (int) (((keyHash >>> 32) * wordsPerBucket) >>> 32);
+    }
+
+    private static long keyMask(final long keyHash) {
+        long mask = 0;
+        for (int i = 0; i < BITS_PER_KEY_HASH; i++) {
+            // Long shift distance is taken modulo 64, i.e. the lowest 6 bits are used
+            mask |= 1L << (keyHash >>> (i * 6));
+        }
+        return mask;
+    }
+
+    private AtomicLongArray getOrCreateChunk(
+            final AtomicReferenceArray<AtomicLongArray> chunks, final int chunkIndex) {
+        AtomicLongArray chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            final AtomicLongArray newChunk = new AtomicLongArray(CHUNK_SIZE);
+            if (chunks.compareAndSet(chunkIndex, null, newChunk)) {
+                chunksAllocated.incrementAndGet();
+                chunk = newChunk;
+            } else {
+                chunk = chunks.get(chunkIndex);
+            }
+        }
+        return chunk;
+    }
+}
@@ -57,8 +57,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
 
     private static final Logger logger = LogManager.getLogger(HalfDiskHashMap.class);
 
-    /** The version number for format of current data files */
-    private static final int METADATA_FILE_FORMAT_VERSION = 1;
+    /**
+     * The version number for format of current data files. Version 2 allows the number of
+     * buckets to be not a power of two, when the map is in the middle of a resize.
+     */
+    private static final int METADATA_FILE_FORMAT_VERSION = 2;
+    /** The previous metadata format version, where the number of buckets is a power of two */
+    private static final int METADATA_FILE_FORMAT_VERSION_V1 = 1;
     /** Metadata file name suffix with extension. */
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
@@ -72,7 +77,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     /**
      * The average number of entries per bucket we aim for. When map size grows and
      * starts to exceed the number of buckets times this average number of entries, the
-     * map is resized by doubling the number of buckets.
+     * map is resized by doubling the number of buckets, see {@link #resizeIfNeeded(long, long)}.
      */
     private final int goodAverageBucketEntryCount;
 
@@ -91,12 +96,24 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     private final DataFileCollection fileCollection;
 
     /**
-     * This is the next power of 2 bigger than minimumBuckets. It needs to be a power of two, so
-     * that we can optimize and avoid the cost of doing a % to find the bucket index from hash code.
+     * The number of buckets in use. Initially, it's the next power of 2 bigger than minimumBuckets.
+     * When the map is resized, buckets are split one by one in the linear hashing manner, so the
+     * number of buckets is a power of two only between resizes. Let {@code N} be the highest power
+     * of two not greater than this number, then buckets in range {@code [0, numOfBuckets - N)} are
+     * already split into themselves and buckets {@code [N, numOfBuckets)}, while buckets in range
+     * {@code [numOfBuckets - N, N)} are not split yet. See {@link #computeBucketIndex(int)} for
+     * details.
      */
     private final AtomicInteger numOfBuckets = new AtomicInteger();
 
-    private final AtomicInteger bucketMaskBits = new AtomicInteger(0);
+    /** Max number of buckets to split in a single {@link #resizeIfNeeded(long, long)} call */
+    private final int maxBucketSplitsPerResize;
+
+    /**
+     * Whether the bucket index is written to snapshots as a chunked directory rather than a single
+     * file, see {@link MerkleDbConfig#incrementalIndexSnapshots()}
+     */
+    private final boolean incrementalIndexSnapshots;
 
     /** Storage dir */
     private final Path storeDir;
@@ -105,6 +122,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
 
     /** Bucket pool used by this HDHM */
     private final ReusableBucketPool bucketPool;
+
+    /**
+     * In-memory filter of bucket keys to skip disk reads for absent keys, or null if disabled
+     * by {@link MerkleDbConfig#hdhmKeyFilterBitsPerKey()}.
+     */
+    @Nullable
+    private final BucketKeyFilter keyFilter;
     /** Store for session data during a writing transaction */
     private IntObjectHashMap<List<BucketMutation>> oneTransactionsData = null;
 
@@ -174,6 +198,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         requireNonNull(config);
         initFlushingPool(config);
         this.goodAverageBucketEntryCount = config.goodAverageBucketEntryCount();
+        this.maxBucketSplitsPerResize = config.hdhmMaxBucketSplitsPerFlush();
+        this.incrementalIndexSnapshots = config.incrementalIndexSnapshots();
         // Max number of keys is limited by merkleDbConfig.maxNumberOfKeys. Number of buckets is,
         // on average, goodAverageBucketEntryCount times smaller than the number of keys.
         // Additionally, HDHM resize is initiated, when avg number of keys per bucket exceeds
@@ -184,6 +210,10 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                 calculateBucketIndexCapacity(config.maxNumOfKeys(), goodAverageBucketEntryCount);
         this.storeDir = requireNonNull(storeDir);
         this.storeName = storeName;
+        final int keyFilterBitsPerKey = config.hdhmKeyFilterBitsPerKey();
+        this.keyFilter = (keyFilterBitsPerKey > 0)
+                ? new BucketKeyFilter(bucketIndexCapacity, goodAverageBucketEntryCount, keyFilterBitsPerKey)
+                : null;
         Path indexFile = storeDir.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
         // create bucket pool
         this.bucketPool = new ReusableBucketPool(Bucket::new);
@@ -199,7 +229,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             if (Files.exists(metaDataFile)) {
                 try (DataInputStream metaIn = new DataInputStream(Files.newInputStream(metaDataFile))) {
                     final int fileVersion = metaIn.readInt();
-                    if (fileVersion != METADATA_FILE_FORMAT_VERSION) {
+                    if ((fileVersion != METADATA_FILE_FORMAT_VERSION)
+                            && (fileVersion != METADATA_FILE_FORMAT_VERSION_V1)) {
                         throw new IOException("Tried to read a file with incompatible file format version ["
                                 + fileVersion
                                 + "], expected ["
@@ -235,10 +266,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     final Bucket bucket = bucketPool.getBucket();
                     bucket.readFrom(bucketData);
                     bucketIndexToBucketLocation.put(bucket.getBucketIndex(), dataLocation);
+                    if (keyFilter != null) {
+                        // All bucket versions from all files are merged, it results in a superset
+                        // of the keys in the latest bucket versions, which is fine for the filter
+                        addToKeyFilter(bucket.getBucketIndex(), bucket);
+                    }
                 };
             }
-            // The bucket index file is no longer needed and should be deleted
-            Files.deleteIfExists(indexFile);
+            // The bucket index file is no longer needed and should be deleted. If the index is
+            // memory-mapped from a chunked snapshot, the mapping stays valid after the files are deleted
+            deleteIndexSnapshot(indexFile);
         } else {
             // create store dir
             Files.createDirectories(storeDir);
@@ -268,6 +305,20 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         writeMetadata(storeDir);
     }
 
+    /**
+     * Deletes a bucket index snapshot, which may be either a single file or a chunked index directory.
+     *
+     * @param path the index file or directory
+     * @throws IOException if an I/O error occurs
+     */
+    private static void deleteIndexSnapshot(final Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            DataFileCommon.deleteDirectoryAndContents(path);
+        } else {
+            Files.deleteIfExists(path);
+        }
+    }
+
     private void writeMetadata(final Path dir) throws IOException {
         final Path metadataFile = dir.resolve(storeName + METADATA_FILENAME_SUFFIX);
         // newOutputStream() overrides the file, if it exists, no need to delete explicitly
@@ -303,7 +354,6 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         final AtomicBoolean newDataFile = new AtomicBoolean(false);
         final AtomicLong liveEntries = new AtomicLong(0);
         final int bucketCount = numOfBuckets.get();
-        final int bucketMask = (1 << bucketMaskBits.get()) - 1;
         final LongList bucketIndex = bucketIndexToBucketLocation;
         for (int i = 0; i < bucketCount; i++) {
             final long bucketId = i;
@@ -361,7 +411,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                                 startWriting();
                             }
                             delete(keyBytes);
-                        } else if ((hashCode & bucketMask) == bucketId) {
+                        } else if (computeBucketIndex(hashCode) == bucketId) {
                             liveEntries.incrementAndGet();
                         }
                     } catch (final Exception e) {
@@ -391,8 +441,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     public void snapshot(final Path snapshotDirectory) throws IOException {
         // create snapshot directory if needed
         Files.createDirectories(snapshotDirectory);
-        // write index to file
-        bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        // write index to file, or to a chunked directory
+        final Path indexPath = snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
+        if (incrementalIndexSnapshots) {
+            bucketIndexToBucketLocation.writeToDirectory(indexPath);
+        } else {
+            bucketIndexToBucketLocation.writeToFile(indexPath);
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -659,18 +714,28 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     // Sanitize the bucket only if there have been any updates to it
                     if (bucketChanged) {
                         // Clear old bucket entries with wrong hash codes
-                        bucket.sanitize(bucketIndex, bucketMaskBits.get());
+                        bucket.sanitize(bucketIndex, computeBucketMaskBits(bucketIndex));
                     }
                 }
+                // Build the key filter for the new bucket version. It's merged into the current
+                // filter before the bucket is stored, so there are no false negatives for readers
+                // that see the new bucket location in the index before the filter is updated
+                final long[] filterWords = (keyFilter != null) ? buildKeyFilterWords(bucket) : null;
                 if (bucket.isEmpty()) {
                     // bucket is missing or empty, remove it from the index
                     bucketIndexToBucketLocation.remove(bucketIndex);
                 } else {
+                    if (filterWords != null) {
+                        keyFilter.merge(bucketIndex, filterWords);
+                    }
                     // save bucket
                     final long bucketLocation = fileCollection.storeDataItem(bucket::writeTo, bucket.sizeInBytes());
                     // update bucketIndexToBucketLocation
                     bucketIndexToBucketLocation.put(bucketIndex, bucketLocation);
                 }
+                if (filterWords != null) {
+                    keyFilter.set(bucketIndex, filterWords);
+                }
                 notifyTask.send();
             }
             return true;
@@ -701,6 +766,114 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         }
     }
 
+    // =================================================================================================================
+    // Bulk ingest API - Single thead safe
+
+    /**
+     * Start a bulk ingest session. Unlike regular writing sessions, buckets are not read from disk and
+     * updated, but built from scratch, and every bucket is written exactly once. This is only possible,
+     * if this map is empty. The number of buckets is set right away to cover the given number of keys,
+     * so no incremental resize is needed after the session.
+     *
+     * <p>Buckets are provided using {@link #bulkIngestBucket(int, List)}, and the session is completed
+     * in {@link #endBulkIngest()}. See {@link HalfDiskHashMapBulkIngester} for details.
+     *
+     * @param keyCount the number of keys to load
+     * @return true if the session is started, false if this map is not empty
+     * @throws IOException If there was a problem starting a new data file
+     */
+    boolean startBulkIngest(final long keyCount) throws IOException {
+        if ((oneTransactionsData != null) || (writingThread != null)) {
+            throw new IllegalStateException("Bulk ingest can't be started during another writing session");
+        }
+        if (fileCollection.getNumOfFiles() > 0) {
+            return false;
+        }
+        // Buckets are grouped by the lower bits of key hash codes, which requires the number of
+        // buckets to be a power of two. The map is empty, so there are no buckets to split
+        final int bucketCount = numOfBuckets.get();
+        final long maxBucketCount = bucketIndexToBucketLocation.capacity();
+        long newBucketCount = Integer.highestOneBit(bucketCount);
+        while ((newBucketCount < bucketCount)
+                || (keyCount > newBucketCount * goodAverageBucketEntryCount * PERCENT_START_RESIZE / 100)) {
+            if (newBucketCount * 2 > maxBucketCount) {
+                logger.warn(MERKLE_DB.getMarker(), "Bucket index capacity is reached, HDHM is not resized");
+                break;
+            }
+            newBucketCount *= 2;
+        }
+        final int newSize = (int) newBucketCount;
+        bucketIndexToBucketLocation.updateValidRange(0, newSize - 1);
+        fileCollection.updateValidKeyRange(0, newSize - 1);
+        setNumberOfBuckets(newSize);
+        fileCollection.startWriting();
+        writingThread = Thread.currentThread();
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "Bulk ingest to {} started, keys={}, numOfBuckets={}",
+                storeName,
+                keyCount,
+                newSize);
+        return true;
+    }
+
+    /**
+     * Builds a bucket from the given entries and writes it to disk in the current bulk ingest session.
+     * All entries must belong to the bucket. If there are multiple entries for the same key, the last
+     * one wins. Every bucket may be provided at most once in a single bulk ingest session.
+     *
+     * @param bucketIndex the bucket index
+     * @param entries bucket entries
+     * @throws IOException If there was a problem writing the bucket
+     */
+    void bulkIngestBucket(final int bucketIndex, @NonNull final List<BucketMutation> entries) throws IOException {
+        if (Thread.currentThread() != writingThread) {
+            throw new IllegalStateException("Tried to bulk ingest with different thread to startBulkIngest()");
+        }
+        try (final Bucket bucket = bucketPool.getBucket()) {
+            bucket.setBucketIndex(bucketIndex);
+            for (final BucketMutation m : entries) {
+                assert computeBucketIndex(m.keyHashCode()) == bucketIndex;
+                bucket.putValue(m.keyBytes(), m.keyHashCode(), m.value());
+            }
+            if (bucket.isEmpty()) {
+                return;
+            }
+            if (keyFilter != null) {
+                final long[] filterWords = buildKeyFilterWords(bucket);
+                keyFilter.merge(bucketIndex, filterWords);
+                keyFilter.set(bucketIndex, filterWords);
+            }
+            final long bucketLocation = fileCollection.storeDataItem(bucket::writeTo, bucket.sizeInBytes());
+            bucketIndexToBucketLocation.put(bucketIndex, bucketLocation);
+        }
+    }
+
+    /**
+     * End the current bulk ingest session.
+     *
+     * @return Data file reader for the file written
+     * @throws IOException If there was a problem completing the data file
+     */
+    DataFileReader endBulkIngest() throws IOException {
+        if (Thread.currentThread() != writingThread) {
+            throw new IllegalStateException("Tried calling endBulkIngest with different thread to startBulkIngest()");
+        }
+        try {
+            final DataFileReader dataFileReader = fileCollection.endWriting();
+            writeMetadata(storeDir);
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "Bulk ingest to {} finished, newFile={}, numOfBuckets={}",
+                    storeName,
+                    dataFileReader.getIndex(),
+                    numOfBuckets.get());
+            return dataFileReader;
+        } finally {
+            writingThread = null;
+        }
+    }
+
     // =================================================================================================================
     // Reading API - Multi thead safe
 
@@ -722,14 +895,64 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             throw new IllegalArgumentException("Can not get a null key");
         }
         final int bucketIndex = computeBucketIndex(keyHashCode);
+        final boolean keyFilterValid = (keyFilter != null) && keyFilter.isValid(bucketIndex);
+        if (keyFilterValid
+                && !keyFilter.mightContain(
+                        bucketIndex, BucketKeyFilter.hashKey(keyBytes, 0, Math.toIntExact(keyBytes.length())))) {
+            keyFilter.countNegative();
+            return notFoundValue;
+        }
         try (Bucket bucket = readBucket(bucketIndex)) {
             if (bucket != null) {
-                return bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+                if ((keyFilter != null) && !keyFilterValid) {
+                    // Warm up the filter, e.g. after the map is loaded from a snapshot
+                    addToKeyFilter(bucketIndex, bucket);
+                }
+                final long value = bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+                if (keyFilterValid && (value == notFoundValue)) {
+                    keyFilter.countFalsePositive();
+                }
+                return value;
             }
         }
         return notFoundValue;
     }
 
+    /**
+     * Get the disk location of the bucket, which the given key falls in. Locations include data
+     * file indices and offsets, so they can be used to order multiple key lookups to read data
+     * files sequentially.
+     *
+     * @param keyBytes the key
+     * @return the bucket location, or zero if the bucket is not stored on disk
+     */
+    public long getBucketLocation(final Bytes keyBytes) {
+        if (keyBytes == null) {
+            throw new IllegalArgumentException("Can not get a null key");
+        }
+        return bucketIndexToBucketLocation.get(computeBucketIndex(keyBytes.hashCode()), 0);
+    }
+
+    /**
+     * Builds key filter words for all keys in the given bucket.
+     */
+    private long[] buildKeyFilterWords(final Bucket bucket) {
+        assert keyFilter != null;
+        final long[] filterWords = new long[keyFilter.getWordsPerBucket()];
+        bucket.addKeysToFilter(keyFilter, filterWords);
+        return filterWords;
+    }
+
+    /**
+     * Adds all keys from the given bucket, which is read from disk, to the key filter and marks
+     * the bucket filter as valid.
+     */
+    private void addToKeyFilter(final int bucketIndex, final Bucket bucket) {
+        assert keyFilter != null;
+        keyFilter.merge(bucketIndex, buildKeyFilterWords(bucket));
+        keyFilter.markValid(bucketIndex);
+    }
+
     private Bucket readBucket(final int bucketIndex) throws IOException {
         final BufferedData bucketData = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex);
         if (bucketData == null) {
@@ -743,21 +966,37 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     // -- Resize --
 
     /**
-     * Check if this map should be resized, given the new virtual map size.
+     * Check if this map should be resized, given the new virtual map size. The map should be
+     * resized, if the new map size exceeds 70% of the number of buckets times {@link
+     * #goodAverageBucketEntryCount} as of the start of the current resize, or if a resize is
+     * already in progress and not all buckets are split yet.
      *
      * @param firstLeafPath The first leaf virtual path
      * @param lastLeafPath The last leaf virtual path
-     * @return true if the new map size exceeds 70% of the current number of buckets times {@link #goodAverageBucketEntryCount}
+     * @return true if the map needs to be resized
      */
     public boolean isResizeNeeded(final long firstLeafPath, final long lastLeafPath) {
+        final int bucketCount = numOfBuckets.get();
+        if (isResizeInProgress(bucketCount)) {
+            return true;
+        }
         final long currentSize = lastLeafPath - firstLeafPath + 1;
-        return !(currentSize <= (long) numOfBuckets.get() * goodAverageBucketEntryCount * PERCENT_START_RESIZE / 100);
+        return !(currentSize <= (long) bucketCount * goodAverageBucketEntryCount * PERCENT_START_RESIZE / 100);
     }
 
     /**
-     * Check if this map should be resized, given the new virtual map size. If the new map size
-     * exceeds 70% of the current number of buckets times {@link #goodAverageBucketEntryCount},
-     * the map is resized by doubling the number of buckets.
+     * Check if this map should be resized, given the new virtual map size, and if so, makes
+     * a resize step. The map is resized by doubling the number of buckets, but the buckets are
+     * split incrementally, using linear hashing. Every call to this method splits at most {@link
+     * MerkleDbConfig#hdhmMaxBucketSplitsPerFlush()} buckets. Splitting a bucket is cheap, it only
+     * copies the bucket location in the bucket index, bucket data isn't changed. Entries that
+     * belong to the other bucket after the split are removed next time the bucket is updated.
+     *
+     * <p>Once a resize is started, it continues in subsequent calls to this method till the
+     * number of buckets is doubled, regardless of the new map size.
+     *
+     * <p>This method must not be called in parallel with {@link #startWriting()} / {@link
+     * #endWriting()} or with compaction of this map's data files. Reads are allowed.
      *
      * @param firstLeafPath The first leaf virtual path
      * @param lastLeafPath The last leaf virtual path
@@ -768,26 +1007,58 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         }
 
         final int oldSize = numOfBuckets.get();
-        final int newSize = oldSize * 2;
-        if (newSize > bucketIndexToBucketLocation.capacity()) {
+        // The number of buckets at the start of the current resize
+        final int levelSize = Integer.highestOneBit(oldSize);
+        final int targetSize = levelSize * 2;
+        if (targetSize > bucketIndexToBucketLocation.capacity()) {
             logger.warn(MERKLE_DB.getMarker(), "Bucket index capacity is reached, HDHM is not resized");
             return;
         }
-        logger.info(MERKLE_DB.getMarker(), "Resize HDHM {} to {} buckets", storeName, newSize);
+        final int newSize = (int) Math.min(targetSize, (long) oldSize + maxBucketSplitsPerResize);
+        if (oldSize == levelSize) {
+            logger.info(MERKLE_DB.getMarker(), "Resize HDHM {} to {} buckets", storeName, targetSize);
+        }
 
         bucketIndexToBucketLocation.updateValidRange(0, newSize - 1);
-        // This straightforward loop works fast enough for now. If in the future it needs to be
-        // even faster, let's consider copying index batches and/or parallel index updates
-        for (int i = 0; i < oldSize; i++) {
-            final long value = bucketIndexToBucketLocation.get(i);
+        fileCollection.updateValidKeyRange(0, newSize - 1);
+        // Bucket oldSize - levelSize is the first bucket to split, it's split into itself and
+        // bucket oldSize. All new bucket locations and filters must be set before the new number
+        // of buckets is published, so readers never see empty buckets
+        for (int i = oldSize; i < newSize; i++) {
+            final int from = i - levelSize;
+            final long value = bucketIndexToBucketLocation.get(from);
             if (value != DataFileCommon.NON_EXISTENT_DATA_LOCATION) {
-                bucketIndexToBucketLocation.put(i + oldSize, value);
+                if (keyFilter != null) {
+                    // The new bucket initially has the same keys as the old one
+                    keyFilter.copy(from, i);
+                }
+                bucketIndexToBucketLocation.put(i, value);
             }
         }
-        fileCollection.updateValidKeyRange(0, newSize - 1);
 
         setNumberOfBuckets(newSize);
-        logger.info(MERKLE_DB.getMarker(), "Resize HDHM {} to {} buckets done", storeName, newSize);
+        if (newSize == targetSize) {
+            logger.info(MERKLE_DB.getMarker(), "Resize HDHM {} to {} buckets done", storeName, newSize);
+        } else {
+            logger.debug(
+                    MERKLE_DB.getMarker(),
+                    "Resize HDHM {} to {} buckets in progress, {} buckets split",
+                    storeName,
+                    targetSize,
+                    newSize - levelSize);
+        }
+    }
+
+    /**
+     * @return true if this map is in the middle of a resize, i.e. some buckets are already
+     *     split, while others are not
+     */
+    public boolean isResizeInProgress() {
+        return isResizeInProgress(numOfBuckets.get());
+    }
+
+    private static boolean isResizeInProgress(final int bucketCount) {
+        return Integer.bitCount(bucketCount) != 1;
     }
 
     // =================================================================================================================
@@ -810,6 +1081,14 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return bucketIndexToBucketLocation;
     }
 
+    /**
+     * @return The bucket key filter, or null if the filter is disabled
+     */
+    @Nullable
+    public BucketKeyFilter getKeyFilter() {
+        return keyFilter;
+    }
+
     // =================================================================================================================
     // Private API
 
@@ -821,12 +1100,11 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     }
 
     /**
-     * Updates the number of buckets and bucket mask bits. The new value must be a power of 2.
+     * Updates the number of buckets. The new value must be a power of 2, unless it's loaded from
+     * a metadata file of a map in the middle of a resize.
      */
     private void setNumberOfBuckets(final int newValue) {
         numOfBuckets.set(newValue);
-        final int trailingZeroes = Integer.numberOfTrailingZeros(newValue);
-        bucketMaskBits.set(trailingZeroes);
     }
 
     /**
@@ -837,13 +1115,37 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     }
 
     /**
-     * Computes which bucket a key with the given hash falls. Depends on the fact the numOfBuckets
-     * is a power of two. Based on same calculation that is used in java HashMap.
+     * Computes which bucket a key with the given hash falls. Let {@code N} be the highest power
+     * of two not greater than the number of buckets. First, the bucket is computed using {@code
+     * 2N} buckets. If the result is beyond the number of buckets, i.e. the corresponding bucket
+     * is not split yet, the bucket is computed using {@code N} buckets. It's the same linear
+     * hashing calculation as described in "Linear Hashing: A New Tool for File and Table
+     * Addressing" by Litwin. When the number of buckets is a power of two, the result is the
+     * same as in java HashMap.
      *
      * @param keyHash the int hash for key
      * @return the index of the bucket that key falls in
      */
-    private int computeBucketIndex(final int keyHash) {
-        return (numOfBuckets.get() - 1) & keyHash;
+    int computeBucketIndex(final int keyHash) {
+        final int bucketCount = numOfBuckets.get();
+        final int levelSize = Integer.highestOneBit(bucketCount);
+        final int bucketIndex = ((levelSize << 1) - 1) & keyHash;
+        return (bucketIndex < bucketCount) ? bucketIndex : (bucketIndex & (levelSize - 1));
+    }
+
+    /**
+     * Computes the number of lower key hash bits, which identify keys in the given bucket. This is
+     * the number of bits that {@link #computeBucketIndex(int)} uses for the bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @return the number of bucket mask bits
+     */
+    private int computeBucketMaskBits(final int bucketIndex) {
+        final int bucketCount = numOfBuckets.get();
+        final int levelSize = Integer.highestOneBit(bucketCount);
+        final int levelBits = Integer.numberOfTrailingZeros(levelSize);
+        // Buckets in the lower part of the index, which are already split, and all new buckets
+        // from the upper part use one more bit than buckets that are not split yet
+        return ((bucketIndex < bucketCount - levelSize) || (bucketIndex >= levelSize)) ? levelBits + 1 : levelBits;
     }
 }
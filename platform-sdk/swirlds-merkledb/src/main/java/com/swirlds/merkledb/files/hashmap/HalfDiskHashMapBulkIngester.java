@@ -0,0 +1,294 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files.hashmap;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.merkledb.files.DataFileReader;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Loads keys into an empty {@link HalfDiskHashMap} in bulk. Keys are collected using {@link
+ * #put(Bytes, long)}, then all buckets are built and written in {@link #load()}. Every bucket is
+ * written exactly once, and no buckets are read from disk, compared to a read-modify-write of every
+ * affected bucket in every regular writing session.
+ *
+ * <p>The bucket of a key is identified by the lower bits of the key hash code. The number of bits
+ * depends on the number of buckets, which isn't known until all keys are collected. Keys are sorted
+ * by their bit-reversed hash codes, so for any number of buckets (a power of two), keys of every
+ * bucket are adjacent in the sorted order.
+ *
+ * <p>Up to {@code sortBufferSize} keys are kept in memory. When the buffer is full, it's sorted and
+ * spilled to a run file. In {@link #load()}, all runs are merged, so the total number of keys is not
+ * limited by the buffer size. If the same key is put more than once, the last value wins.
+ *
+ * <p>This class is not thread safe. All puts must be done before {@link #load()} is called.
+ */
+public final class HalfDiskHashMapBulkIngester implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(HalfDiskHashMapBulkIngester.class);
+
+    private static final String RUN_FILE_PREFIX = "bulkingest_run_";
+
+    /** Orders entries by bit-reversed key hash codes, see class javadoc for details. */
+    private static final Comparator<BucketMutation> ENTRY_ORDER = (a, b) ->
+            Integer.compareUnsigned(Integer.reverse(a.keyHashCode()), Integer.reverse(b.keyHashCode()));
+
+    private final HalfDiskHashMap map;
+
+    /** The directory to spill sorted runs to. Created on the first spill. */
+    private final Path runsDir;
+
+    private final int sortBufferSize;
+
+    private List<BucketMutation> buffer = new ArrayList<>();
+
+    private final List<Path> runFiles = new ArrayList<>();
+
+    private long keyCount = 0;
+
+    /**
+     * Creates a new bulk ingester.
+     *
+     * @param map the map to load keys to, must be empty
+     * @param runsDir the directory to spill sorted runs to
+     * @param sortBufferSize the max number of keys to sort in memory
+     */
+    public HalfDiskHashMapBulkIngester(
+            @NonNull final HalfDiskHashMap map, @NonNull final Path runsDir, final int sortBufferSize) {
+        if (sortBufferSize <= 0) {
+            throw new IllegalArgumentException("sortBufferSize must be greater than 0");
+        }
+        this.map = requireNonNull(map);
+        this.runsDir = requireNonNull(runsDir);
+        this.sortBufferSize = sortBufferSize;
+    }
+
+    /**
+     * Adds a key/value entry to load.
+     *
+     * @param keyBytes the key
+     * @param value the value
+     * @throws IOException If there was a problem spilling the sort buffer to disk
+     */
+    public void put(@NonNull final Bytes keyBytes, final long value) throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("Bulk ingester is already loaded or closed");
+        }
+        buffer.add(new BucketMutation(keyBytes, keyBytes.hashCode(), value));
+        keyCount++;
+        if (buffer.size() >= sortBufferSize) {
+            spill();
+        }
+    }
+
+    /**
+     * @return the number of entries added to this loader
+     */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Sorts the buffer and writes it to a new run file. Run file format: a sequence of entries,
+     * every entry is key hash code (int), value (long), key size in bytes (int), and key bytes.
+     */
+    private void spill() throws IOException {
+        buffer.sort(ENTRY_ORDER);
+        Files.createDirectories(runsDir);
+        final Path runFile = runsDir.resolve(RUN_FILE_PREFIX + runFiles.size());
+        try (final DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile)))) {
+            for (final BucketMutation entry : buffer) {
+                final byte[] keyBytes = entry.keyBytes().toByteArray();
+                out.writeInt(entry.keyHashCode());
+                out.writeLong(entry.value());
+                out.writeInt(keyBytes.length);
+                out.write(keyBytes);
+            }
+        }
+        runFiles.add(runFile);
+        logger.debug(MERKLE_DB.getMarker(), "Bulk ingest run spilled: file={}, entries={}", runFile, buffer.size());
+        buffer = new ArrayList<>();
+    }
+
+    /**
+     * Merges all collected entries, builds buckets, and writes them to the map. After this method
+     * is called, no more entries can be added to this loader.
+     *
+     * @return Data file reader for the bucket file written
+     * @throws IOException If there was a problem reading runs or writing buckets
+     * @throws IllegalStateException If the map is not empty
+     */
+    public DataFileReader load() throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("Bulk ingester is already loaded or closed");
+        }
+        // Entries in the buffer are the most recent, they are merged as the last run, so they take
+        // precedence over earlier runs for the same keys
+        buffer.sort(ENTRY_ORDER);
+        final List<BucketMutation> lastRun = buffer;
+        buffer = null;
+
+        if (!map.startBulkIngest(keyCount)) {
+            throw new IllegalStateException("Bulk ingest is only possible to an empty map");
+        }
+        final PriorityQueue<RunCursor> cursors = new PriorityQueue<>();
+        try {
+            for (int i = 0; i < runFiles.size(); i++) {
+                new FileRunCursor(i, runFiles.get(i)).advanceAndEnqueue(cursors);
+            }
+            new MemoryRunCursor(runFiles.size(), lastRun).advanceAndEnqueue(cursors);
+
+            final List<BucketMutation> bucketEntries = new ArrayList<>();
+            int currentBucket = -1;
+            while (!cursors.isEmpty()) {
+                final RunCursor cursor = cursors.poll();
+                final BucketMutation entry = cursor.current;
+                final int bucketIndex = map.computeBucketIndex(entry.keyHashCode());
+                if ((bucketIndex != currentBucket) && !bucketEntries.isEmpty()) {
+                    map.bulkIngestBucket(currentBucket, bucketEntries);
+                    bucketEntries.clear();
+                }
+                currentBucket = bucketIndex;
+                bucketEntries.add(entry);
+                cursor.advanceAndEnqueue(cursors);
+            }
+            if (!bucketEntries.isEmpty()) {
+                map.bulkIngestBucket(currentBucket, bucketEntries);
+            }
+        } finally {
+            for (final RunCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+        final DataFileReader dataFileReader = map.endBulkIngest();
+        logger.info(
+                MERKLE_DB.getMarker(), "Bulk ingest completed, entries={}, spilled runs={}", keyCount, runFiles.size());
+        return dataFileReader;
+    }
+
+    /**
+     * Deletes all spilled runs. If {@link #load()} hasn't been called, all collected entries are
+     * discarded.
+     */
+    @Override
+    public void close() {
+        buffer = null;
+        try {
+            for (final Path runFile : runFiles) {
+                Files.deleteIfExists(runFile);
+            }
+            Files.deleteIfExists(runsDir);
+        } catch (final IOException e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to delete bulk ingest runs, dir={}", runsDir, e);
+        }
+    }
+
+    /**
+     * A cursor over a sorted run. Cursors are ordered by their current entries, and then by run
+     * numbers, so entries from later runs are merged after entries from earlier runs for the same
+     * key hash codes.
+     */
+    private abstract static class RunCursor implements Comparable<RunCursor>, Closeable {
+
+        private final int runNumber;
+
+        BucketMutation current;
+
+        RunCursor(final int runNumber) {
+            this.runNumber = runNumber;
+        }
+
+        /**
+         * Reads the next entry to {@link #current}.
+         *
+         * @return false if there are no more entries in the run
+         */
+        abstract boolean advance() throws IOException;
+
+        void advanceAndEnqueue(final PriorityQueue<RunCursor> cursors) throws IOException {
+            if (advance()) {
+                cursors.add(this);
+            } else {
+                close();
+            }
+        }
+
+        @Override
+        public int compareTo(final RunCursor that) {
+            final int cmp = ENTRY_ORDER.compare(current, that.current);
+            return (cmp != 0) ? cmp : Integer.compare(runNumber, that.runNumber);
+        }
+
+        @Override
+        public void close() throws IOException {}
+    }
+
+    private static final class MemoryRunCursor extends RunCursor {
+
+        private final Iterator<BucketMutation> entries;
+
+        MemoryRunCursor(final int runNumber, final List<BucketMutation> entries) {
+            super(runNumber);
+            this.entries = entries.iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!entries.hasNext()) {
+                return false;
+            }
+            current = entries.next();
+            return true;
+        }
+    }
+
+    private static final class FileRunCursor extends RunCursor {
+
+        private final DataInputStream in;
+
+        FileRunCursor(final int runNumber, final Path runFile) throws IOException {
+            super(runNumber);
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFile)));
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            final int keyHashCode;
+            try {
+                keyHashCode = in.readInt();
+            } catch (final EOFException e) {
+                return false;
+            }
+            final long value = in.readLong();
+            final byte[] keyBytes = new byte[in.readInt()];
+            in.readFully(keyBytes);
+            current = new BucketMutation(Bytes.wrap(keyBytes), keyHashCode, value);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.swirlds.merkledb;
 
 import static com.swirlds.merkledb.MerkleDbDataSource.ID_TO_HASH_CHUNK;
 import static com.swirlds.merkledb.MerkleDbDataSource.OBJECT_KEY_TO_PATH;
+import static com.swirlds.merkledb.MerkleDbDataSource.PATH_TO_KEY_VALUE;
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.DEFAULT_CONFIGURATION;
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.DEFAULT_MERKLE_DB_CONFIG;
 import static org.hiero.base.utility.test.fixtures.assertions.AssertionUtils.assertEventuallyDoesNotThrow;
@@ -34,6 +35,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -74,7 +77,22 @@ class MerkleDbCompactionCoordinatorTest {
                 defaultConfig.maxThreadsPerFileChannel(),
                 defaultConfig.useDiskIndices(),
                 defaultConfig.consolidationMaxInputFileSizeMB(),
-                defaultConfig.consolidationMinFileCount());
+                defaultConfig.consolidationMinFileCount(),
+                defaultConfig.leafRecordCachePolicy(),
+                defaultConfig.leafRecordCacheOffHeap(),
+                defaultConfig.dataFileReadMode(),
+                defaultConfig.hdhmKeyFilterBitsPerKey(),
+                defaultConfig.hdhmMaxBucketSplitsPerFlush(),
+                defaultConfig.compactionIoBudgetMBps(),
+                defaultConfig.compactionIdleIoBudgetMBps(),
+                defaultConfig.compactionIdleThresholdMs(),
+                defaultConfig.flushWriteBatchSize(),
+                defaultConfig.dataFileCompression(),
+                defaultConfig.dataFileCompressionBlockSize(),
+                defaultConfig.hashChunkPrefetchThreads(),
+                defaultConfig.incrementalIndexSnapshots(),
+                defaultConfig.bulkIngestSortBufferSize(),
+                defaultConfig.lazyIndexLoading());
         coordinator = new MerkleDbCompactionCoordinator(config);
         coordinator.enableBackgroundCompaction();
     }
@@ -91,6 +109,33 @@ class MerkleDbCompactionCoordinatorTest {
                 "Active task count is not 0");
     }
 
+    @Test
+    void testCompactionExecutorAcceptsNonPrioritizedTasks() throws Exception {
+        final ExecutorService executor = MerkleDbCompactionCoordinator.getCompactionExecutor(DEFAULT_MERKLE_DB_CONFIG);
+        // Keep all compaction threads busy, so the tasks below are queued and compared with each other
+        final CountDownLatch release = new CountDownLatch(1);
+        final int threads = DEFAULT_MERKLE_DB_CONFIG.compactionThreads();
+        final List<Future<?>> blockers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            blockers.add(executor.submit(() -> {
+                release.await();
+                return null;
+            }));
+        }
+        final AtomicInteger executed = new AtomicInteger();
+        final Future<?> submitted = executor.submit(executed::incrementAndGet);
+        final CountDownLatch executedPlain = new CountDownLatch(1);
+        executor.execute(executedPlain::countDown);
+        release.countDown();
+
+        submitted.get(2, TimeUnit.SECONDS);
+        for (final Future<?> blocker : blockers) {
+            blocker.get(2, TimeUnit.SECONDS);
+        }
+        assertTrue(executedPlain.await(2, TimeUnit.SECONDS), "Plain runnable was not executed");
+        assertEquals(1, executed.get(), "Submitted task was not executed");
+    }
+
     // ========================================================================
     // Scanner task tests
     // ========================================================================
@@ -573,6 +618,47 @@ class MerkleDbCompactionCoordinatorTest {
         }
     }
 
+    // ========================================================================
+    // Scheduling tests
+    // ========================================================================
+
+    @Test
+    void testCompactionPriorityPrefersGarbageAndReadAmplification() {
+        final DataFileReader dirty = mockFileReader(1, 0, 100, 1000);
+        final DataFileReader clean = mockFileReader(2, 0, 100, 1000);
+
+        // dirty: 10 alive, 90 dead → garbage ratio 0.9
+        // clean: 90 alive, 10 dead → garbage ratio 0.1
+        final IndexedGarbageFileStats stats = buildStats(new StatsEntry(dirty, 10), new StatsEntry(clean, 90));
+
+        assertEquals(3.6, MerkleDbCompactionCoordinator.compactionPriority(List.of(dirty), stats, 4), 1e-9);
+        assertEquals(0.4, MerkleDbCompactionCoordinator.compactionPriority(List.of(clean), stats, 4), 1e-9);
+        // aggregate garbage ratio: 100 dead / 200 total
+        assertEquals(2.0, MerkleDbCompactionCoordinator.compactionPriority(List.of(dirty, clean), stats, 4), 1e-9);
+        // More files in the store → higher read amplification → higher priority
+        assertEquals(9.0, MerkleDbCompactionCoordinator.compactionPriority(List.of(dirty), stats, 10), 1e-9);
+    }
+
+    @Test
+    void testScanPublishesCompactionDebt() {
+        final DataFileReader reader1 = mockFileReader(1, 0, 100, 1000);
+        final DataFileReader reader2 = mockFileReader(2, 0, 100, 2000);
+        // reader1: 25% alive → 750 garbage bytes, reader2: 50% alive → 1000 garbage bytes
+        final IndexedGarbageFileStats stats = buildStats(new StatsEntry(reader1, 25), new StatsEntry(reader2, 50));
+        final GarbageScanner scanner = mock(GarbageScanner.class);
+        when(scanner.scan()).thenReturn(stats);
+
+        assertEquals(0, coordinator.getCompactionDebtBytes(ID_TO_HASH_CHUNK));
+        coordinator.submitScanIfNotRunning(ID_TO_HASH_CHUNK, scanner);
+
+        assertEventuallyEquals(
+                1750L,
+                () -> coordinator.getCompactionDebtBytes(ID_TO_HASH_CHUNK),
+                Duration.ofSeconds(2),
+                "Compaction debt is not published after scan");
+        assertEquals(0, coordinator.getCompactionDebtBytes(PATH_TO_KEY_VALUE));
+    }
+
     // ========================================================================
     // absorbIntoGroup tests
     // ========================================================================
@@ -1068,6 +1154,21 @@ class MerkleDbCompactionCoordinatorTest {
                 d.maxThreadsPerFileChannel(),
                 d.useDiskIndices(),
                 maxInputSizeMB,
-                minFileCount);
+                minFileCount,
+                d.leafRecordCachePolicy(),
+                d.leafRecordCacheOffHeap(),
+                d.dataFileReadMode(),
+                d.hdhmKeyFilterBitsPerKey(),
+                d.hdhmMaxBucketSplitsPerFlush(),
+                d.compactionIoBudgetMBps(),
+                d.compactionIdleIoBudgetMBps(),
+                d.compactionIdleThresholdMs(),
+                d.flushWriteBatchSize(),
+                d.dataFileCompression(),
+                d.dataFileCompressionBlockSize(),
+                d.hashChunkPrefetchThreads(),
+                d.incrementalIndexSnapshots(),
+                d.bulkIngestSortBufferSize(),
+                d.lazyIndexLoading());
     }
 }
@@ -28,6 +28,7 @@ import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.Metric.ValueType;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.MerklePathUtils;
+import com.swirlds.virtualmap.datasource.VirtualHashChunk;
 import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
 import com.swirlds.virtualmap.test.fixtures.VirtualMapTestUtils;
 import java.io.IOException;
@@ -35,6 +36,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
@@ -93,6 +95,52 @@ class MerkleDbDataSourceTest extends AbstractMerkelDbTest {
         });
     }
 
+    @Test
+    void loadHashChunksInBulk() throws IOException {
+        final int count = 10_000;
+        final int firstLeafPath = count - 1;
+        final int lastLeafPath = firstLeafPath * 2;
+        createAndApplyDataSource(count, dataSource -> {
+            final int hashChunkHeight = dataSource.getHashChunkHeight();
+            dataSource.saveRecords(
+                    firstLeafPath,
+                    lastLeafPath,
+                    createHashChunkStream(lastLeafPath, hashChunkHeight),
+                    Stream.empty(),
+                    Stream.empty(),
+                    false);
+
+            // All chunks in random order, plus a chunk out of the path range
+            final long lastChunkId = VirtualHashChunk.lastChunkIdForPaths(lastLeafPath, hashChunkHeight);
+            final List<Long> ids = new ArrayList<>();
+            for (long id = 0; id <= lastChunkId + 1; id++) {
+                ids.add(id);
+            }
+            Collections.shuffle(ids, RANDOM);
+            final long[] chunkIds = ids.stream().mapToLong(Long::longValue).toArray();
+
+            final VirtualHashChunk[] chunks = dataSource.loadHashChunks(chunkIds);
+            assertEquals(chunkIds.length, chunks.length, "A chunk per ID is expected");
+            for (int i = 0; i < chunkIds.length; i++) {
+                final VirtualHashChunk expected = dataSource.loadHashChunk(chunkIds[i]);
+                if (expected == null) {
+                    assertNull(chunks[i], "No chunk is expected for ID " + chunkIds[i]);
+                    continue;
+                }
+                assertNotNull(chunks[i], "Chunk is expected for ID " + chunkIds[i]);
+                assertEquals(expected.path(), chunks[i].path(), "Chunk path mismatch for ID " + chunkIds[i]);
+                for (int j = 0; j < expected.getChunkSize(); j++) {
+                    assertEquals(
+                            expected.getHashAtIndex(j),
+                            chunks[i].getHashAtIndex(j),
+                            "Hash mismatch for ID " + chunkIds[i] + " at index " + j);
+                }
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> dataSource.loadHashChunks(new long[] {-1}));
+        });
+    }
+
     @Test
     void throwsOnNonPositiveInitialCapacity() {
         // 0 initial capacity
@@ -181,6 +229,46 @@ class MerkleDbDataSourceTest extends AbstractMerkelDbTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void loadLeafRecordsInBulk(final TestType testType) throws IOException {
+        final int count = 10_000;
+        final int firstLeafPath = count - 1;
+        final int lastLeafPath = firstLeafPath * 2;
+        createAndApplyDataSource(count, dataSource -> {
+            dataSource.saveRecords(
+                    firstLeafPath,
+                    lastLeafPath,
+                    createHashChunkStream(firstLeafPath, lastLeafPath, i -> i, dataSource.getHashChunkHeight()),
+                    IntStream.range(firstLeafPath, lastLeafPath + 1)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i)),
+                    Stream.empty(),
+                    false);
+
+            // All leaf keys in random order, plus some keys that aren't stored
+            final List<Bytes> keys = new ArrayList<>();
+            for (int i = firstLeafPath; i <= lastLeafPath + 100; i++) {
+                keys.add(testType.dataType().createVirtualLeafRecord(i).keyBytes());
+            }
+            Collections.shuffle(keys, RANDOM);
+
+            final VirtualLeafBytes<?>[] records = dataSource.loadLeafRecords(keys.toArray(new Bytes[0]));
+            assertEquals(keys.size(), records.length, "A record per key is expected");
+            for (int i = 0; i < keys.size(); i++) {
+                final VirtualLeafBytes<?> expected = dataSource.loadLeafRecord(keys.get(i));
+                if (expected == null) {
+                    assertNull(records[i], "No record is expected for key " + keys.get(i));
+                    continue;
+                }
+                assertNotNull(records[i], "Record is expected for key " + keys.get(i));
+                assertEquals(expected.path(), records[i].path(), "Path mismatch for key " + keys.get(i));
+                assertEquals(
+                        expected.valueBytes(), records[i].valueBytes(), "Value mismatch for key " + keys.get(i));
+            }
+            assertEquals(0, dataSource.loadLeafRecords(new Bytes[0]).length);
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(TestType.class)
     void updateLeaves(final TestType testType) throws IOException {
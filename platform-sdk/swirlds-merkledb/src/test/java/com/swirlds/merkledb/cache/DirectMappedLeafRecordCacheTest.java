@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class DirectMappedLeafRecordCacheTest {
+
+    private static Bytes key(final long i) {
+        return Bytes.wrap("key" + i);
+    }
+
+    private static VirtualLeafBytes<?> leaf(final long path, final long i) {
+        return new VirtualLeafBytes<>(path, false, key(i), Bytes.wrap("value" + i));
+    }
+
+    @Test
+    void sizeTracksOccupiedSlots() {
+        final AtomicLong evictions = new AtomicLong();
+        final LeafRecordCache cache = new DirectMappedLeafRecordCache(16, evictions::incrementAndGet);
+        assertEquals(0, cache.size(), "Empty cache should have no entries");
+        for (int i = 0; i < 100; i++) {
+            cache.put(leaf(i, i));
+        }
+        long occupied = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.get(key(i)) != null) {
+                occupied++;
+            }
+        }
+        assertEquals(occupied, cache.size(), "Size should be the number of cached keys");
+        assertEquals(100 - occupied, evictions.get(), "Every overwritten entry should be reported as evicted");
+
+        // Re-putting a cached key doesn't change the size
+        long cachedKey = -1;
+        for (int i = 0; (i < 100) && (cachedKey < 0); i++) {
+            if (cache.get(key(i)) != null) {
+                cachedKey = i;
+            }
+        }
+        cache.put(leaf(1000, cachedKey));
+        assertEquals(occupied, cache.size(), "Updating a cached key should not change the size");
+
+        cache.invalidate(key(cachedKey));
+        assertNull(cache.get(key(cachedKey)), "Invalidated key should not be cached");
+        assertEquals(occupied - 1, cache.size(), "Invalidation should decrease the size");
+        cache.invalidate(key(cachedKey));
+        assertEquals(occupied - 1, cache.size(), "Invalidating a missing key should not change the size");
+
+        cache.clear();
+        assertEquals(0, cache.size(), "Cleared cache should have no entries");
+        cache.putPath(key(1), 1);
+        assertNotNull(cache.get(key(1)), "Key-only entry should be cached");
+        assertEquals(1, cache.size(), "Key-only entries should be counted");
+    }
+}
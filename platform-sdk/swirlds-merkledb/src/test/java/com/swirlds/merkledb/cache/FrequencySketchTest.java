@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new FrequencySketch(0), "Should have thrown");
+    }
+
+    @Test
+    void incrementOnce() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+        assertEquals(0, sketch.frequency(42), "Unknown element should have zero frequency");
+        sketch.increment(42);
+        assertEquals(1, sketch.frequency(42), "Frequency should be incremented");
+    }
+
+    @Test
+    void incrementMax() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(15, sketch.frequency(42), "Frequency should be capped at 15");
+    }
+
+    @Test
+    void resetHalvesFrequencies() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(42);
+        }
+        sketch.reset();
+        assertEquals(5, sketch.frequency(42), "Frequency should be halved");
+    }
+
+    @Test
+    void periodicAging() {
+        final int size = 64;
+        final FrequencySketch sketch = new FrequencySketch(size);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(-1);
+        }
+        assertEquals(15, sketch.frequency(-1));
+        // Sample size is 10x cache size, enough increments of other elements must age the sketch
+        for (int i = 0; i < size * 10; i++) {
+            sketch.increment(i);
+        }
+        assertTrue(sketch.frequency(-1) < 15, "Frequency should be aged");
+    }
+
+    @Test
+    void hotElementsAreMoreFrequent() {
+        final FrequencySketch sketch = new FrequencySketch(1024);
+        for (int round = 0; round < 5; round++) {
+            sketch.increment(7);
+            for (int i = 1000; i < 1100; i++) {
+                sketch.increment(i * 31 + round);
+            }
+        }
+        assertTrue(sketch.frequency(7) > sketch.frequency(1000 * 31), "Hot element should be more frequent");
+    }
+}
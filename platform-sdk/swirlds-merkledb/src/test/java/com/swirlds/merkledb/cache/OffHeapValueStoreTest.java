@@ -0,0 +1,75 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static com.swirlds.merkledb.cache.OffHeapValueStore.MAX_SLOT_SIZE;
+import static com.swirlds.merkledb.cache.OffHeapValueStore.MIN_SLOT_SIZE;
+import static com.swirlds.merkledb.cache.OffHeapValueStore.NO_SLOT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OffHeapValueStoreTest {
+
+    private static Bytes randomBytes(final Random random, final int length) {
+        final byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return Bytes.wrap(bytes);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, MIN_SLOT_SIZE - 1, MIN_SLOT_SIZE, MIN_SLOT_SIZE + 1, 1000, MAX_SLOT_SIZE})
+    void storeAndRead(final int length) {
+        final OffHeapValueStore store = new OffHeapValueStore();
+        final Bytes bytes = randomBytes(new Random(length), length);
+        final long handle = store.store(bytes);
+        assertNotEquals(NO_SLOT, handle, "Value should be stored off-heap");
+        assertEquals(bytes, store.read(handle, length), "Wrong bytes read");
+        store.clear();
+    }
+
+    @Test
+    void tooLarge() {
+        final OffHeapValueStore store = new OffHeapValueStore();
+        assertEquals(NO_SLOT, store.store(Bytes.wrap(new byte[MAX_SLOT_SIZE + 1])), "Value should not be stored");
+        assertEquals(0, store.getOffHeapConsumption(), "No off-heap memory should be allocated");
+    }
+
+    @Test
+    void slotsAreReused() {
+        final OffHeapValueStore store = new OffHeapValueStore();
+        final Random random = new Random(1);
+        final long handle1 = store.store(randomBytes(random, 100));
+        final long consumption = store.getOffHeapConsumption();
+        store.free(handle1);
+        final Bytes bytes2 = randomBytes(random, 100);
+        final long handle2 = store.store(bytes2);
+        assertEquals(handle1, handle2, "Freed slot should be reused");
+        assertEquals(bytes2, store.read(handle2, 100), "Wrong bytes read");
+        assertEquals(consumption, store.getOffHeapConsumption(), "No extra off-heap memory should be allocated");
+        store.clear();
+        assertEquals(0, store.getOffHeapConsumption(), "Off-heap memory should be released");
+    }
+
+    @Test
+    void manySlabs() {
+        final OffHeapValueStore store = new OffHeapValueStore();
+        final Random random = new Random(2);
+        final int count = 3 * OffHeapValueStore.SLAB_SIZE / 64;
+        final long[] handles = new long[count];
+        final Bytes[] values = new Bytes[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = randomBytes(random, 33 + random.nextInt(31));
+            handles[i] = store.store(values[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(values[i], store.read(handles[i], Math.toIntExact(values[i].length())), "Wrong bytes read");
+        }
+        assertEquals(3L * OffHeapValueStore.SLAB_SIZE, store.getOffHeapConsumption(), "Three slabs expected");
+        store.clear();
+    }
+}
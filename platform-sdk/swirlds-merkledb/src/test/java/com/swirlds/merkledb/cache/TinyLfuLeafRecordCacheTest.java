@@ -0,0 +1,189 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.cache;
+
+import static com.swirlds.merkledb.cache.LeafRecordCache.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TinyLfuLeafRecordCacheTest {
+
+    private static Bytes key(final long i) {
+        return Bytes.wrap("key" + i);
+    }
+
+    private static Bytes value(final long i) {
+        return Bytes.wrap("value" + i);
+    }
+
+    private static VirtualLeafBytes<?> leaf(final long path, final long i) {
+        return new VirtualLeafBytes<>(path, false, key(i), value(i));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void putAndGet(final boolean offHeap) {
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(1024, offHeap, () -> {});
+        assertNull(cache.get(key(1)), "Empty cache should not contain any keys");
+        cache.put(leaf(10, 1));
+        final VirtualLeafBytes<?> byKey = cache.get(key(1));
+        assertNotNull(byKey, "Key should be cached");
+        assertEquals(10, byKey.path(), "Wrong path");
+        assertEquals(value(1), byKey.valueBytes(), "Wrong value");
+        final VirtualLeafBytes<?> byPath = cache.get(10);
+        assertNotNull(byPath, "Path should be cached");
+        assertEquals(key(1), byPath.keyBytes(), "Wrong key");
+        assertEquals(value(1), byPath.valueBytes(), "Wrong value");
+        assertNull(cache.get(11), "Path should not be cached");
+        assertEquals(
+                offHeap, cache.getOffHeapConsumption() > 0, "Off-heap memory should only be used in off-heap mode");
+        cache.clear();
+        assertNull(cache.get(key(1)), "Cache should be cleared");
+        assertEquals(0, cache.getOffHeapConsumption(), "Off-heap memory should be released");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void keyOnlyEntries(final boolean offHeap) {
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(1024, offHeap, () -> {});
+        cache.putPath(key(1), INVALID_PATH);
+        final VirtualLeafBytes<?> negative = cache.get(key(1));
+        assertNotNull(negative, "Negative lookup should be cached");
+        assertEquals(INVALID_PATH, negative.path(), "Wrong path");
+        assertNull(negative.valueBytes(), "No value expected");
+
+        cache.putPath(key(2), 20);
+        assertEquals(20, cache.get(key(2)).path(), "Wrong path");
+        assertNull(cache.get(20), "Key-only entries should not be found by path");
+
+        // Key-only entry for the same path doesn't replace a full entry
+        cache.put(leaf(30, 3));
+        cache.putPath(key(3), 30);
+        assertEquals(value(3), cache.get(key(3)).valueBytes(), "Full entry should be preserved");
+        // But it does for a different path
+        cache.putPath(key(3), 31);
+        assertNull(cache.get(key(3)).valueBytes(), "Full entry should be replaced");
+        assertNull(cache.get(30), "Old path should not be cached");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void invalidate(final boolean offHeap) {
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(1024, offHeap, () -> {});
+        cache.put(leaf(10, 1));
+        cache.invalidate(key(1));
+        assertNull(cache.get(key(1)), "Key should be invalidated");
+        assertNull(cache.get(10), "Path should be invalidated");
+        // Invalidating a missing key is a no-op
+        cache.invalidate(key(2));
+        assertEquals(0, cache.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void updatePath(final boolean offHeap) {
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(1024, offHeap, () -> {});
+        cache.put(leaf(10, 1));
+        cache.put(leaf(11, 1));
+        assertNull(cache.get(10), "Old path should not be cached");
+        assertEquals(key(1), cache.get(11).keyBytes(), "New path should be cached");
+        assertEquals(1, cache.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void boundedSize(final boolean offHeap) {
+        final int capacity = 1000;
+        final AtomicLong evictions = new AtomicLong();
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(capacity, offHeap, evictions::incrementAndGet);
+        final int count = capacity * 10;
+        for (int i = 0; i < count; i++) {
+            cache.put(leaf(i, i));
+        }
+        assertTrue(cache.size() <= capacity, "Cache size should be bounded");
+        assertEquals(count - cache.size(), evictions.get(), "All entries not in cache should be evicted");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void frequentKeysSurviveScan(final boolean offHeap) {
+        final int capacity = 1000;
+        final int hotKeys = capacity / 4;
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(capacity, offHeap, () -> {});
+        // Make some keys hot
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < hotKeys; i++) {
+                if (cache.get(key(i)) == null) {
+                    cache.put(leaf(i, i));
+                }
+            }
+        }
+        // Scan through many keys that are read once, each one is looked up, then put
+        for (int i = hotKeys; i < capacity * 20; i++) {
+            if (cache.get(key(i)) == null) {
+                cache.put(leaf(i, i));
+            }
+        }
+        int hotKeysCached = 0;
+        for (int i = 0; i < hotKeys; i++) {
+            if (cache.get(key(i)) != null) {
+                hotKeysCached++;
+            }
+        }
+        assertTrue(hotKeysCached > hotKeys * 9 / 10, "Most hot keys should survive the scan: " + hotKeysCached);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void concurrentAccess(final boolean offHeap) throws Exception {
+        final int capacity = 10_000;
+        final LeafRecordCache cache = new TinyLfuLeafRecordCache(capacity, offHeap, () -> {});
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        final int k = (i * 7 + seed) % (capacity * 2);
+                        final VirtualLeafBytes<?> cached = cache.get(key(k));
+                        if (cached == null) {
+                            cache.put(leaf(k, k));
+                        } else {
+                            assertEquals(value(k), cached.valueBytes(), "Wrong cached value");
+                            assertEquals(k, cached.path(), "Wrong cached path");
+                        }
+                        if (i % 10 == 0) {
+                            cache.invalidate(key(k));
+                        }
+                        final VirtualLeafBytes<?> byPath = cache.get((long) k);
+                        if (byPath != null) {
+                            assertEquals(key(k), byPath.keyBytes(), "Wrong key for path");
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.size() <= capacity, "Cache size should be bounded");
+        cache.clear();
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import com.swirlds.config.api.ConfigurationBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.config.MerkleDbConfig_;
+import com.swirlds.merkledb.files.DataFileCommon;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -265,6 +266,44 @@ abstract class AbstractLongListTest<T extends AbstractLongList<?>> extends Abstr
         }
     }
 
+    @Test
+    void testPutAll() {
+        final int count = 1000;
+        try (final LongList longList = createLongList(NUM_LONGS_PER_CHUNK, MAX_LONGS, 0)) {
+            longList.updateValidRange(0, MAX_LONGS - 1);
+            final long[] indices = new long[count + 1];
+            final long[] values = new long[count + 1];
+            for (int i = 0; i < count; i++) {
+                // Sorted indices with gaps, so some chunks are skipped and some are shared
+                indices[i] = i * 7L;
+                values[i] = i + 1;
+            }
+            // The last pair must be ignored, since it's beyond count
+            indices[count] = MAX_LONGS - 1;
+            values[count] = 1;
+            longList.putAll(indices, values, count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(i + 1, longList.get(i * 7L), "Wrong value at index " + i * 7L);
+                assertEquals(IMPERMISSIBLE_VALUE, longList.get(i * 7L + 1), "Unexpected value at " + (i * 7L + 1));
+            }
+            assertEquals(IMPERMISSIBLE_VALUE, longList.get(MAX_LONGS - 1));
+            assertEquals((count - 1) * 7L + 1, longList.size(), "List size should cover the max index in the batch");
+        }
+    }
+
+    @Test
+    void testPutAllValidatesArgsBeforeUpdates() {
+        try (final LongList longList = createLongList(NUM_LONGS_PER_CHUNK, MAX_LONGS, 0)) {
+            longList.updateValidRange(0, MAX_LONGS - 1);
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> longList.putAll(new long[] {1, 2}, new long[] {1, IMPERMISSIBLE_VALUE}, 2));
+            assertThrows(
+                    IndexOutOfBoundsException.class, () -> longList.putAll(new long[] {1, -1}, new long[] {1, 1}, 2));
+            assertEquals(IMPERMISSIBLE_VALUE, longList.get(1), "No values should be stored if any pair is invalid");
+        }
+    }
+
     @Test
     void testInsertAtTheEndOfTheListCustomConfigured() {
         final int MAX_LONGS = 10;
@@ -605,6 +644,103 @@ abstract class AbstractLongListTest<T extends AbstractLongList<?>> extends Abstr
         }
     }
 
+    @Test
+    void testIncrementalSnapshotLinksUnchangedChunks(@TempDir Path testDir) throws IOException {
+        try (final LongList longList = createLongList(100, MAX_LONGS, 0)) {
+            longList.updateValidRange(50, 999);
+            for (int i = 50; i <= 999; i++) {
+                longList.put(i, i + 1000);
+            }
+            final Path snapshot1 = testDir.resolve("snapshot1");
+            longList.writeToDirectory(snapshot1);
+            longList.put(550, 42); // chunk 5
+            final Path snapshot2 = testDir.resolve("snapshot2");
+            longList.writeToDirectory(snapshot2);
+
+            // Unchanged chunks are hard-linked, the first, the last, and changed chunks are written
+            final Path chunk3 = AbstractLongList.chunkFile(snapshot2, 3);
+            assertTrue(Files.isSameFile(AbstractLongList.chunkFile(snapshot1, 3), chunk3));
+            final Path chunk5 = AbstractLongList.chunkFile(snapshot2, 5);
+            assertFalse(Files.isSameFile(AbstractLongList.chunkFile(snapshot1, 5), chunk5));
+            final Path chunk0 = AbstractLongList.chunkFile(snapshot2, 0);
+            assertFalse(Files.isSameFile(AbstractLongList.chunkFile(snapshot1, 0), chunk0));
+            final Path chunk9 = AbstractLongList.chunkFile(snapshot2, 9);
+            assertFalse(Files.isSameFile(AbstractLongList.chunkFile(snapshot1, 9), chunk9));
+
+            try (final LongList restored = createLongList(snapshot2, 100, MAX_LONGS, 0)) {
+                assertEquals(50, restored.getMinValidIndex());
+                assertEquals(999, restored.getMaxValidIndex());
+                for (int i = 50; i <= 999; i++) {
+                    assertEquals(i == 550 ? 42 : i + 1000, restored.get(i), "Data should match");
+                }
+            }
+
+            // If the previous snapshot is deleted, all chunks are written
+            DataFileCommon.deleteDirectoryAndContents(snapshot2);
+            final Path snapshot3 = testDir.resolve("snapshot3");
+            longList.writeToDirectory(snapshot3);
+            try (final LongList restored = createLongList(snapshot3, 100, MAX_LONGS, 0)) {
+                for (int i = 50; i <= 999; i++) {
+                    assertEquals(i == 550 ? 42 : i + 1000, restored.get(i), "Data should match");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalSnapshotAfterShrinkAndGrow(@TempDir Path testDir) throws IOException {
+        try (final LongList longList = createLongList(100, MAX_LONGS, 0)) {
+            longList.updateValidRange(0, 999);
+            for (int i = 0; i <= 999; i++) {
+                longList.put(i, i + 1000);
+            }
+            longList.writeToDirectory(testDir.resolve("snapshot1"));
+            // Chunks 4 to 9 are released, then the list grows again, and chunk 5 isn't updated
+            longList.updateValidRange(0, 349);
+            longList.updateValidRange(0, 999);
+            longList.put(999, 1999);
+            final Path snapshot2 = testDir.resolve("snapshot2");
+            longList.writeToDirectory(snapshot2);
+            try (final LongList restored = createLongList(snapshot2, 100, MAX_LONGS, 0)) {
+                assertEquals(1300, restored.get(300));
+                assertEquals(0, restored.get(550));
+                assertEquals(1999, restored.get(999));
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalSnapshotEmptyList(@TempDir Path testDir) throws IOException {
+        try (final LongList longList = createLongList(100, MAX_LONGS, 0)) {
+            final Path snapshot = testDir.resolve("snapshot");
+            longList.writeToDirectory(snapshot);
+            try (final LongList restored = createLongList(snapshot, 100, MAX_LONGS, 0)) {
+                assertEquals(0, restored.size());
+                assertEquals(-1, restored.getMinValidIndex());
+                assertEquals(-1, restored.getMaxValidIndex());
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalSnapshotLoadDifferentChunkSize(@TempDir Path testDir) throws IOException {
+        final Path snapshot = testDir.resolve("snapshot");
+        try (final LongList longList = createLongList(100, MAX_LONGS, 0)) {
+            longList.updateValidRange(50, 950);
+            for (int i = 50; i <= 950; i += 3) {
+                longList.put(i, i * 2L);
+            }
+            longList.writeToDirectory(snapshot);
+        }
+        try (final LongList restored = createLongList(snapshot, 200, MAX_LONGS, 0)) {
+            assertEquals(50, restored.getMinValidIndex());
+            assertEquals(950, restored.getMaxValidIndex());
+            for (int i = 50; i <= 950; i++) {
+                assertEquals(i % 3 == 2 ? i * 2L : 0, restored.get(i), "Data should match");
+            }
+        }
+    }
+
     @Test
     void forEachWhileTest() throws Exception {
         try (final LongList list = createLongList(10, 100, 0)) {
@@ -1,10 +1,18 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.merkledb.collections;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.swirlds.config.api.ConfigurationBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.config.MerkleDbConfig_;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.provider.Arguments;
 
 class LongListSegmentTest extends AbstractLongListTest<LongListSegment> {
@@ -75,4 +83,60 @@ class LongListSegmentTest extends AbstractLongListTest<LongListSegment> {
     static Stream<Arguments> longListWriterReaderOffsetPairsProvider() {
         return longListWriterReaderOffsetPairsProviderBase(longListWriterReaderPairsProvider());
     }
+
+    @Test
+    void testLazyLoadingFromChunkedSnapshot(@TempDir final Path testDir) throws IOException {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withValue(MerkleDbConfig_.LONG_LIST_CHUNK_SIZE, "100")
+                .withValue(MerkleDbConfig_.LAZY_INDEX_LOADING, "true")
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final Path snapshot = testDir.resolve("snapshot");
+        try (final LongListSegment longList = new LongListSegment(10_000, config)) {
+            longList.updateValidRange(50, 999);
+            for (int i = 50; i <= 999; i++) {
+                longList.put(i, i + 1000);
+            }
+            longList.writeToDirectory(snapshot);
+        }
+        final byte[] chunk3Bytes = Files.readAllBytes(AbstractLongList.chunkFile(snapshot, 3));
+
+        try (final LongListSegment restored = new LongListSegment(snapshot, 10_000, config)) {
+            // The first and the last chunks are partial and read, chunks 1 to 8 are mapped
+            assertEquals(8 * 100 * Long.BYTES, restored.getMappedBytes());
+            for (int i = 50; i <= 999; i++) {
+                assertEquals(i + 1000, restored.get(i), "Data should match");
+            }
+
+            // Changes to mapped chunks are not written to snapshot files
+            restored.put(350, 42);
+            assertEquals(42, restored.get(350));
+            assertArrayEquals(
+                    chunk3Bytes,
+                    Files.readAllBytes(AbstractLongList.chunkFile(snapshot, 3)),
+                    "Snapshot file must not be changed");
+
+            // Chunks outside the valid range are released and not warmed up
+            restored.updateValidRange(50, 649);
+            long warmedUp = 0;
+            long bytes;
+            while ((bytes = restored.warmUpNextChunk()) > 0) {
+                warmedUp += bytes;
+            }
+            assertEquals(6 * 100 * Long.BYTES, warmedUp);
+            assertEquals(42, restored.get(350));
+            assertEquals(1649, restored.get(649));
+
+            // A new snapshot of a lazily loaded list contains all changes
+            final Path snapshot2 = testDir.resolve("snapshot2");
+            restored.writeToDirectory(snapshot2);
+            try (final LongListSegment restored2 = new LongListSegment(snapshot2, 100, 10_000, 0)) {
+                assertEquals(0, restored2.getMappedBytes());
+                assertEquals(42, restored2.get(350));
+                assertEquals(1649, restored2.get(649));
+                assertEquals(649, restored2.getMaxValidIndex());
+            }
+        }
+    }
 }
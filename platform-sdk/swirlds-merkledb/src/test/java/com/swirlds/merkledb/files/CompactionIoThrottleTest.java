@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CompactionIoThrottleTest {
+
+    @Test
+    void negativeBudgetsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactionIoThrottle(-1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CompactionIoThrottle(0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CompactionIoThrottle(0, 0, -1));
+    }
+
+    @Test
+    void zeroBudgetDisablesThrottling() {
+        final CompactionIoThrottle throttle = new CompactionIoThrottle(0, 0, 0);
+        assertEquals(0, throttle.getCurrentBytesPerSecond());
+        final long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            throttle.acquire(MEBIBYTES_TO_BYTES);
+        }
+        final long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(tookMs < 1000, "Unlimited throttle should not block, took " + tookMs + " ms");
+    }
+
+    @Test
+    void acquireBlocksWhenBudgetIsExhausted() {
+        // 8 MB/s, no idle budget
+        final CompactionIoThrottle throttle = new CompactionIoThrottle(8, 0, 0);
+        assertEquals(8L * MEBIBYTES_TO_BYTES, throttle.getCurrentBytesPerSecond());
+        final long start = System.nanoTime();
+        // 4 MB at 8 MB/s should take about 500 ms
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire(MEBIBYTES_TO_BYTES);
+        }
+        final long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(tookMs >= 400, "Throttle should block, took " + tookMs + " ms");
+    }
+
+    @Test
+    void idleBudgetIsUsedWithoutForegroundActivity() throws InterruptedException {
+        final CompactionIoThrottle throttle = new CompactionIoThrottle(10, 100, 50);
+        // Just created, the idle threshold hasn't passed yet
+        assertEquals(10L * MEBIBYTES_TO_BYTES, throttle.getCurrentBytesPerSecond());
+        Thread.sleep(100);
+        assertEquals(100L * MEBIBYTES_TO_BYTES, throttle.getCurrentBytesPerSecond());
+        throttle.markForegroundActivity();
+        assertEquals(10L * MEBIBYTES_TO_BYTES, throttle.getCurrentBytesPerSecond());
+    }
+
+    @Test
+    void zeroIdleBudgetMeansRegularBudget() throws InterruptedException {
+        final CompactionIoThrottle throttle = new CompactionIoThrottle(10, 0, 0);
+        Thread.sleep(10);
+        assertEquals(10L * MEBIBYTES_TO_BYTES, throttle.getCurrentBytesPerSecond());
+    }
+}
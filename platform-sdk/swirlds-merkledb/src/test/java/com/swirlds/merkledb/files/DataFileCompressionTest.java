@@ -0,0 +1,249 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.merkledb.files.DataFileCommon.COMPRESSION_DEFLATE;
+import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.DEFAULT_CONFIGURATION;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.merkledb.config.DataFileCompression;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DataFileCompressionTest {
+
+    private static final MerkleDbConfig MERKLE_DB_CONFIG = DEFAULT_CONFIGURATION.getConfigData(MerkleDbConfig.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int BLOCK_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Generates a compressible data item: random bytes every fourth byte, zeros otherwise.
+     */
+    private static byte[] dataItem(final Random random, final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i += 4) {
+            bytes[i] = (byte) random.nextInt();
+        }
+        return bytes;
+    }
+
+    private static byte[] toBytes(final BufferedData data) {
+        final byte[] bytes = new byte[Math.toIntExact(data.remaining())];
+        data.readBytes(bytes);
+        return bytes;
+    }
+
+    private DataFileWriter newCompressedWriter(final int index) throws IOException {
+        return new DataFileWriter(
+                "test",
+                tempDir,
+                index,
+                Instant.now(),
+                0,
+                BUFFER_SIZE,
+                BUFFER_SIZE * 1024L,
+                COMPRESSION_DEFLATE,
+                BLOCK_SIZE);
+    }
+
+    @Test
+    void unknownCompressionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DataFileCommon.compressionCodec("lz77"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new DataFileWriter("test", tempDir, 0, Instant.now(), 0, BUFFER_SIZE, BUFFER_SIZE, 42, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, BUFFER_SIZE})
+    void wrongBlockSizeIsRejected(final int blockSize) {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new DataFileWriter(
+                        "test",
+                        tempDir,
+                        0,
+                        Instant.now(),
+                        0,
+                        BUFFER_SIZE,
+                        BUFFER_SIZE,
+                        COMPRESSION_DEFLATE,
+                        blockSize));
+    }
+
+    @Test
+    void compressedByteOffsets() {
+        final long offset = DataFileCommon.compressedByteOffset(12345, 678);
+        assertEquals(12345, DataFileCommon.blockNumberFromByteOffset(offset));
+        assertEquals(678, DataFileCommon.intraBlockOffsetFromByteOffset(offset));
+        final long location = DataFileCommon.dataLocation(7, offset);
+        assertEquals(offset, DataFileCommon.byteOffsetFromDataLocation(location));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000, 20_000})
+    void readWhileWritingAndAfterClose(final int count) throws IOException {
+        final Random random = new Random(count);
+        final byte[][] items = new byte[count][];
+        final long[] locations = new long[count];
+        final DataFileWriter writer = newCompressedWriter(1);
+        final DataFileReader reader = new DataFileReader(MERKLE_DB_CONFIG, writer.getPath(), writer.getMetadata());
+        reader.setActiveWriter(writer);
+        try {
+            long rawSize = 0;
+            for (int i = 0; i < count; i++) {
+                items[i] = dataItem(random, 1 + random.nextInt(512));
+                locations[i] = writer.storeDataItem(BufferedData.wrap(items[i]));
+                rawSize += ProtoWriterTools.sizeOfDelimited(DataFileCommon.FIELD_DATAFILE_ITEMS, items[i].length);
+                // Read some previous item, it may be in a pending or in an already flushed block
+                final int j = random.nextInt(i + 1);
+                assertArrayEquals(items[j], toBytes(reader.readDataItem(locations[j])), "Item mismatch at " + j);
+            }
+            writer.close();
+            reader.updateMetadata(writer.getMetadata());
+            reader.setFileCompleted();
+
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(items[i], toBytes(reader.readDataItem(locations[i])), "Item mismatch at " + i);
+            }
+            if (count >= 1000) {
+                assertTrue(Files.size(writer.getPath()) < rawSize, "Compressed file must be smaller than items");
+            }
+        } finally {
+            reader.close();
+        }
+
+        // Reopen the file, block offsets must be loaded from the block index
+        final DataFileReader reopened = new DataFileReader(MERKLE_DB_CONFIG, writer.getPath());
+        try {
+            reopened.setFileCompleted();
+            for (int i = count - 1; i >= 0; i--) {
+                assertArrayEquals(items[i], toBytes(reopened.readDataItem(locations[i])), "Item mismatch at " + i);
+                final BufferedData withTag = reopened.readDataItemWithTag(locations[i]);
+                assertEquals(
+                        ProtoWriterTools.sizeOfDelimited(DataFileCommon.FIELD_DATAFILE_ITEMS, items[i].length),
+                        withTag.remaining());
+            }
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void iteratorReturnsDataLocations() throws IOException {
+        final Random random = new Random(1);
+        final int count = 5000;
+        final byte[][] items = new byte[count][];
+        final long[] locations = new long[count];
+        final DataFileWriter writer = newCompressedWriter(2);
+        for (int i = 0; i < count; i++) {
+            items[i] = dataItem(random, 1 + random.nextInt(256));
+            locations[i] = writer.storeDataItem(BufferedData.wrap(items[i]));
+        }
+        writer.close();
+
+        final DataFileReader reader = new DataFileReader(MERKLE_DB_CONFIG, writer.getPath());
+        try (final DataFileIterator iterator = reader.createIterator()) {
+            for (int i = 0; i < count; i++) {
+                assertTrue(iterator.next(), "Iterator must have item " + i);
+                assertEquals(locations[i], iterator.getDataItemDataLocation(), "Location mismatch at " + i);
+                assertArrayEquals(items[i], toBytes(iterator.getDataItemData()), "Item mismatch at " + i);
+            }
+            assertFalse(iterator.next(), "No more items expected");
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void metadataIsPersisted() throws IOException {
+        final DataFileWriter writer = newCompressedWriter(3);
+        writer.storeDataItem(BufferedData.wrap(new byte[100]));
+        writer.close();
+
+        final DataFileMetadata metadata = writer.getMetadata();
+        assertTrue(metadata.isCompressed());
+        assertEquals(COMPRESSION_DEFLATE, metadata.getCompression());
+        assertTrue(metadata.getBlockIndexOffset() > 0);
+        assertEquals(1, metadata.getItemsCount());
+        final DataFileMetadata loaded = DataFileMetadata.readFromFile(writer.getPath());
+        assertEquals(metadata, loaded);
+
+        final BufferedData buffer = BufferedData.allocate(metadata.metadataSizeInBytes());
+        metadata.writeTo(buffer);
+        assertEquals(metadata.metadataSizeInBytes(), buffer.position());
+    }
+
+    @Test
+    void uncompressedAndCompressedFilesInOneCollection() throws IOException {
+        final Path storeDir = tempDir.resolve("store");
+        final Random random = new Random(2);
+        final int count = 2000;
+        final byte[][] items = new byte[count][];
+        final long[] locations = new long[count];
+
+        // The first half of items is written to an uncompressed file
+        DataFileCollection collection = new DataFileCollection(MERKLE_DB_CONFIG, storeDir, "test", null);
+        collection.updateValidKeyRange(0, count - 1);
+        collection.startWriting();
+        for (int i = 0; i < count / 2; i++) {
+            items[i] = dataItem(random, 64);
+            locations[i] = collection.storeDataItem(BufferedData.wrap(items[i]));
+        }
+        collection.endWriting();
+        collection.close();
+
+        // The second half is written to a compressed file
+        collection =
+                new DataFileCollection(MERKLE_DB_CONFIG, storeDir, "test", null, DataFileCompression.DEFLATE, null);
+        try {
+            collection.updateValidKeyRange(0, count - 1);
+            collection.startWriting();
+            for (int i = count / 2; i < count; i++) {
+                items[i] = dataItem(random, 64);
+                locations[i] = collection.storeDataItem(BufferedData.wrap(items[i]));
+            }
+            // Items in the file being written are readable, too
+            assertArrayEquals(items[count - 1], toBytes(collection.readDataItem(locations[count - 1])));
+            final DataFileReader compressedReader = collection.endWriting();
+            assertNotNull(compressedReader);
+            assertTrue(compressedReader.getMetadata().isCompressed());
+            assertEquals(2, collection.getAllCompletedFiles().size());
+            assertFalse(collection.getAllCompletedFiles().get(0).getMetadata().isCompressed());
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(items[i], toBytes(collection.readDataItem(locations[i])), "Item mismatch at " + i);
+            }
+        } finally {
+            collection.close();
+        }
+
+        // Both files are readable, after compression is disabled again
+        collection = new DataFileCollection(MERKLE_DB_CONFIG, storeDir, "test", null);
+        try {
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(items[i], toBytes(collection.readDataItem(locations[i])), "Item mismatch at " + i);
+            }
+        } finally {
+            collection.close();
+        }
+    }
+}
@@ -4,6 +4,11 @@ package com.swirlds.merkledb.files;
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.DEFAULT_MERKLE_DB_CONFIG;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.merkledb.config.DataFileReadMode;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.config.MerkleDbConfig_;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,6 +16,8 @@ import java.time.Instant;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 
 class DataFileReaderTest {
@@ -120,4 +127,53 @@ class DataFileReaderTest {
         assertEquals(1, dataFileReader.leaseFileChannel());
         assertEquals(2, dataFileReader.leaseFileChannel());
     }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void testMemoryMappedReads(@TempDir Path tmpDir) throws IOException {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withValue(MerkleDbConfig_.DATA_FILE_READ_MODE, DataFileReadMode.MEMORY_MAPPED)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final int count = 1000;
+        final long[] locations = new long[count];
+        final DataFileWriter writer = new DataFileWriter("test", tmpDir, 1, Instant.now(), 0);
+        for (int i = 0; i < count; i++) {
+            final int fi = i;
+            // Make some data items larger than the pre-read buffer used by file channel reads
+            final int longs = (i % 10 == 0) ? 1000 : 2;
+            locations[i] = writer.storeDataItem(
+                    o -> {
+                        for (int j = 0; j < longs; j++) {
+                            o.writeLong(fi + j);
+                        }
+                    },
+                    longs * Long.BYTES);
+        }
+        writer.close();
+
+        final DataFileReader reader = new DataFileReader(config, writer.getPath(), writer.getMetadata());
+        // Files are only mapped, when completed
+        assertFalse(reader.isMemoryMapped());
+        reader.setFileCompleted();
+        assertTrue(reader.isMemoryMapped());
+
+        final BufferedData[] items = new BufferedData[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = reader.readDataItem(locations[i]);
+            assertEquals((i % 10 == 0) ? 1000 * Long.BYTES : 2 * Long.BYTES, items[i].remaining());
+            final BufferedData withTag = reader.readDataItemWithTag(locations[i]);
+            assertTrue(withTag.remaining() > items[i].remaining());
+        }
+
+        reader.close();
+        assertNull(reader.readDataItem(locations[0]));
+        // The file can be deleted, as in compaction, while previously read data items are still in use
+        Files.delete(writer.getPath());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, items[i].readLong());
+            assertEquals(i + 1, items[i].readLong());
+        }
+    }
 }
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
 import java.io.IOException;
@@ -19,8 +20,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -157,6 +161,51 @@ class DataFileWriterTest {
         assertEquals(reloaded.metadataSizeInBytes(), fileSize, "Empty file size should equal header size only");
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 100, 1000})
+    void batchWritesAreReadable(final int count) throws IOException {
+        final List<Consumer<WritableSequentialData>> writers = new ArrayList<>();
+        final int[] sizes = new int[count];
+        final long[] dataLocations = new long[count];
+        for (int i = 0; i < count; i++) {
+            final long value = i;
+            writers.add(o -> o.writeLong(value));
+            sizes[i] = Long.BYTES;
+        }
+        // A single item first, so the batch doesn't start at a window boundary
+        final long firstLocation = dataFileWriter.storeDataItem(o -> o.writeInt(42), Integer.BYTES);
+        dataFileWriter.storeDataItems(writers, sizes, dataLocations);
+        dataFileWriter.close();
+
+        assertEquals(count + 1, dataFileWriter.getMetadata().getItemsCount());
+        final int itemSize = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, Long.BYTES);
+        final int firstItemSize = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, Integer.BYTES);
+        final int headerSize = dataFileWriter.getMetadata().metadataSizeInBytes();
+        assertEquals((long) headerSize + firstItemSize + (long) itemSize * count, Files.size(dataFilePath));
+        try (final FileChannel fileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ)) {
+            final ByteBuffer buf = ByteBuffer.allocate(itemSize);
+            long expectedOffset = DataFileCommon.byteOffsetFromDataLocation(firstLocation) + firstItemSize;
+            for (int i = 0; i < count; i++) {
+                final long offset = DataFileCommon.byteOffsetFromDataLocation(dataLocations[i]);
+                assertEquals(expectedOffset, offset, "Batch items must be written one after another");
+                buf.clear();
+                assertEquals(itemSize, MerkleDbFileUtils.completelyRead(fileChannel, buf, offset));
+                // skip the tag and the length
+                assertEquals(i, buf.getLong(itemSize - Long.BYTES), "Value mismatch at " + i);
+                expectedOffset += itemSize;
+            }
+        }
+    }
+
+    @Test
+    void batchWriteWrongEstimatedSize() {
+        final List<Consumer<WritableSequentialData>> writers = List.of(o -> o.writeLong(1), o -> o.writeInt(2));
+        assertThrows(
+                IOException.class,
+                () -> dataFileWriter.storeDataItems(writers, new int[] {Long.BYTES, Long.BYTES}, new long[2]),
+                "Wrong estimated data size");
+    }
+
     private void verifyFileSize(int singleItemDataLength, int itemCount) throws IOException {
         int fileSize = (int) Files.size(dataFileWriter.getPath());
         int dataSize = singleItemDataLength * itemCount;
@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files.hashmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.merkledb.test.fixtures.ExampleLongKey;
+import org.junit.jupiter.api.Test;
+
+class BucketKeyFilterTest {
+
+    private static long keyHash(final long key) {
+        final Bytes keyBytes = ExampleLongKey.longToKey(key);
+        return BucketKeyFilter.hashKey(keyBytes, 0, Math.toIntExact(keyBytes.length()));
+    }
+
+    @Test
+    void invalidBucketMightContainAnything() {
+        final BucketKeyFilter filter = new BucketKeyFilter(1024, 32, 8);
+        assertFalse(filter.isValid(1));
+        assertTrue(filter.mightContain(1, keyHash(1)));
+        assertEquals(0, filter.getMemoryUsage());
+    }
+
+    @Test
+    void noFalseNegativesAndLowFalsePositiveRate() {
+        final int bucketCount = 1024;
+        final int keysPerBucket = 20;
+        final BucketKeyFilter filter = new BucketKeyFilter(bucketCount, 32, 10);
+        assertEquals(5, filter.getWordsPerBucket());
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            final long[] words = new long[filter.getWordsPerBucket()];
+            for (int i = 0; i < keysPerBucket; i++) {
+                filter.addKeyHash(words, keyHash((long) bucket * keysPerBucket + i));
+            }
+            filter.set(bucket, words);
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            assertTrue(filter.isValid(bucket));
+            for (int i = 0; i < keysPerBucket; i++) {
+                assertTrue(filter.mightContain(bucket, keyHash((long) bucket * keysPerBucket + i)));
+            }
+        }
+        int falsePositives = 0;
+        final int absentKeys = 100_000;
+        for (int i = 0; i < absentKeys; i++) {
+            if (filter.mightContain(i % bucketCount, keyHash(1_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < absentKeys / 20, "Too many false positives: " + falsePositives);
+        assertTrue(filter.getMemoryUsage() > 0);
+    }
+
+    @Test
+    void mergeKeepsExistingKeys() {
+        final BucketKeyFilter filter = new BucketKeyFilter(16, 32, 8);
+        final long[] words1 = new long[filter.getWordsPerBucket()];
+        filter.addKeyHash(words1, keyHash(1));
+        filter.set(3, words1);
+        final long[] words2 = new long[filter.getWordsPerBucket()];
+        filter.addKeyHash(words2, keyHash(2));
+        filter.merge(3, words2);
+        assertTrue(filter.mightContain(3, keyHash(1)));
+        assertTrue(filter.mightContain(3, keyHash(2)));
+        // Set replaces the filter
+        filter.set(3, words2);
+        assertTrue(filter.mightContain(3, keyHash(2)));
+    }
+
+    @Test
+    void copyToNewBucket() {
+        final BucketKeyFilter filter = new BucketKeyFilter(16, 32, 8);
+        final long[] words = new long[filter.getWordsPerBucket()];
+        filter.addKeyHash(words, keyHash(7));
+        filter.set(1, words);
+        filter.copy(1, 9);
+        assertTrue(filter.isValid(9));
+        assertTrue(filter.mightContain(9, keyHash(7)));
+        // Invalid bucket filters are not copied
+        filter.copy(2, 10);
+        assertFalse(filter.isValid(10));
+    }
+
+    @Test
+    void lookupCounters() {
+        final BucketKeyFilter filter = new BucketKeyFilter(16, 32, 8);
+        filter.countNegative();
+        filter.countNegative();
+        filter.countFalsePositive();
+        assertEquals(2, filter.resetNegativeCount());
+        assertEquals(1, filter.resetFalsePositiveCount());
+        assertEquals(0, filter.resetNegativeCount());
+        assertEquals(0, filter.resetFalsePositiveCount());
+    }
+}
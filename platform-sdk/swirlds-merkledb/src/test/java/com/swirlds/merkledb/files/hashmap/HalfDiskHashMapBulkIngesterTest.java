@@ -0,0 +1,111 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.files.hashmap;
+
+import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.DEFAULT_MERKLE_DB_CONFIG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hiero.base.utility.test.fixtures.file.AbstractFileManagerAwareTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HalfDiskHashMapBulkIngesterTest extends AbstractFileManagerAwareTest {
+
+    private HalfDiskHashMap createNewTempMap(final String name, final long count) throws IOException {
+        return new HalfDiskHashMap(
+                DEFAULT_MERKLE_DB_CONFIG,
+                fileSystemManager,
+                count,
+                fileSystemManager.resolve(name),
+                "HalfDiskHashMapBulkIngesterTest",
+                null,
+                false);
+    }
+
+    private static Bytes key(final long i) {
+        return Bytes.wrap(ByteBuffer.allocate(Long.BYTES).putLong(i * 31 + 7).array());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 1_000_000})
+    @DisplayName("All ingested keys are found, with and without spilled runs")
+    void ingestAndGet(final int sortBufferSize) throws IOException {
+        final int count = 50_000;
+        final Path runsDir = fileSystemManager.resolve("ingestRuns" + sortBufferSize);
+        try (final HalfDiskHashMap map = createNewTempMap("ingestAndGet" + sortBufferSize, 1_000)) {
+            try (final HalfDiskHashMapBulkIngester ingester =
+                    new HalfDiskHashMapBulkIngester(map, runsDir, sortBufferSize)) {
+                for (int i = 0; i < count; i++) {
+                    ingester.put(key(i), i + 1);
+                }
+                assertEquals(count, ingester.getKeyCount());
+                ingester.load();
+                assertThrows(IllegalStateException.class, () -> ingester.put(key(0), 0));
+            }
+            assertFalse(Files.exists(runsDir), "Runs must be deleted on close");
+            // The number of buckets is set to cover all keys, no incremental resize is needed
+            assertFalse(map.isResizeNeeded(1, count));
+            assertEquals(1, Integer.bitCount(map.getNumOfBuckets()));
+            assertEquals(1, map.getFileCollection().getNumOfFiles());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i + 1, map.get(key(i), -1), "Wrong value for key " + i);
+            }
+            assertEquals(-1, map.get(key(count), -1));
+
+            // Regular writes work after bulk ingest
+            map.startWriting();
+            map.put(key(0), 100);
+            map.delete(key(1));
+            map.put(key(count), 200);
+            map.endWriting();
+            assertEquals(100, map.get(key(0), -1));
+            assertEquals(-1, map.get(key(1), -1));
+            assertEquals(200, map.get(key(count), -1));
+            assertEquals(3, map.get(key(2), -1));
+        }
+    }
+
+    @Test
+    @DisplayName("The last value wins for duplicate keys across runs")
+    void duplicateKeys() throws IOException {
+        try (final HalfDiskHashMap map = createNewTempMap("duplicateKeys", 100);
+                final HalfDiskHashMapBulkIngester ingester =
+                        new HalfDiskHashMapBulkIngester(map, fileSystemManager.resolve("duplicateKeysRuns"), 10)) {
+            for (int i = 0; i < 25; i++) {
+                ingester.put(key(i), i);
+            }
+            // The first values are spilled to runs, the last ones are in memory
+            ingester.put(key(3), 103);
+            ingester.put(key(24), 124);
+            ingester.load();
+            assertEquals(103, map.get(key(3), -1));
+            assertEquals(124, map.get(key(24), -1));
+            assertEquals(5, map.get(key(5), -1));
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk ingest to a non-empty map fails")
+    void nonEmptyMap() throws IOException {
+        try (final HalfDiskHashMap map = createNewTempMap("nonEmptyMap", 100)) {
+            map.startWriting();
+            map.put(key(1), 1);
+            map.endWriting();
+            try (final HalfDiskHashMapBulkIngester ingester =
+                    new HalfDiskHashMapBulkIngester(map, fileSystemManager.resolve("nonEmptyMapRuns"), 10)) {
+                ingester.put(key(2), 2);
+                assertThrows(IllegalStateException.class, ingester::load);
+            }
+            assertTrue(map.get(key(2), -1) < 0);
+        }
+    }
+}
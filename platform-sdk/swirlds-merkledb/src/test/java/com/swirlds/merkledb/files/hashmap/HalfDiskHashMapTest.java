@@ -173,6 +173,69 @@ class HalfDiskHashMapTest extends AbstractFileManagerAwareTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void keyFilterSkipsAbsentKeys(FilesTestType testType) throws Exception {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .withConfigDataType(MerkleDbConfig.class)
+                .withValue(MerkleDbConfig_.HDHM_KEY_FILTER_BITS_PER_KEY, "10")
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final int count = 10_000;
+        final Path storeDir = fileSystemManager.resolve("keyFilterSkipsAbsentKeys");
+        final Path snapshotDir = fileSystemManager.resolve("keyFilterSkipsAbsentKeysSnapshot");
+        try (HalfDiskHashMap map =
+                new HalfDiskHashMap(config, fileSystemManager, count, storeDir, "keyFilter", null, false)) {
+            final BucketKeyFilter keyFilter = map.getKeyFilter();
+            assertNotNull(keyFilter);
+            createSomeData(testType, map, 1, count, 1);
+            checkData(testType, map, 1, count, 1);
+            assertEquals(0, keyFilter.resetFalsePositiveCount() + keyFilter.resetNegativeCount());
+            // Absent keys
+            for (int i = count + 1; i <= count * 2; i++) {
+                assertEquals(-1, map.get(testType.createVirtualLongKey(i), -1));
+            }
+            final long negatives = keyFilter.resetNegativeCount();
+            final long falsePositives = keyFilter.resetFalsePositiveCount();
+            assertEquals(count, negatives + falsePositives);
+            assertTrue(falsePositives < count / 20, "Too many false positives: " + falsePositives);
+            // Deleted keys are not found, remaining keys are still there
+            map.startWriting();
+            for (int i = 1; i <= count; i += 2) {
+                map.delete(testType.createVirtualLongKey(i));
+            }
+            map.endWriting();
+            for (int i = 1; i <= count; i++) {
+                assertEquals((i % 2 == 0) ? i : -1, map.get(testType.createVirtualLongKey(i), -1));
+            }
+            // Compaction doesn't affect the filter
+            final DataFileCompactor dataFileCompactor = new DataFileCompactor(
+                    map.getFileCollection(), map.getBucketIndexToBucketLocation(), null, null, null, null);
+            dataFileCompactor.compactSingleLevel(map.getFileCollection().getAllCompletedFiles(), 1);
+            // Resize, then check all keys again
+            map.resizeIfNeeded(0, count * 10L);
+            for (int i = 1; i <= count; i++) {
+                assertEquals((i % 2 == 0) ? i : -1, map.get(testType.createVirtualLongKey(i), -1));
+            }
+            map.snapshot(snapshotDir);
+        }
+        // Filter isn't restored from snapshots, but it's warmed up on reads
+        try (HalfDiskHashMap map =
+                new HalfDiskHashMap(config, fileSystemManager, count, snapshotDir, "keyFilter", null, false)) {
+            final BucketKeyFilter keyFilter = map.getKeyFilter();
+            assertNotNull(keyFilter);
+            assertFalse(keyFilter.isValid(0));
+            for (int i = 2; i <= count; i += 2) {
+                assertEquals(i, map.get(testType.createVirtualLongKey(i), -1));
+            }
+            assertEquals(0, keyFilter.resetNegativeCount());
+            for (int i = 1; i <= count; i += 2) {
+                assertEquals(-1, map.get(testType.createVirtualLongKey(i), -1));
+            }
+            assertTrue(keyFilter.resetNegativeCount() > 0);
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(FilesTestType.class)
     void updateData(FilesTestType testType) throws Exception {
@@ -636,6 +699,63 @@ class HalfDiskHashMapTest extends AbstractFileManagerAwareTest {
         }
     }
 
+    @Test
+    void incrementalResize() throws Exception {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .withConfigDataType(MerkleDbConfig.class)
+                .withValue(MerkleDbConfig_.HDHM_MAX_BUCKET_SPLITS_PER_FLUSH, "3")
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final Path snapshotDir = fileSystemManager.resolve("incrementalResizeSnapshot");
+        final HalfDiskHashMap map = new HalfDiskHashMap(
+                config, fileSystemManager, 200, fileSystemManager.resolve("test"), "incrementalResize", null, false);
+        try (map) {
+            final int initialNumOfBuckets = calcExpectedNumOfBuckets(200);
+            assertEquals(8, initialNumOfBuckets);
+            map.startWriting();
+            for (int i = 0; i < 200; i++) {
+                map.put(Bytes.wrap(intToByteArray(i)), i, i * 2);
+            }
+            map.endWriting();
+            // 8 -> 11 -> 14 -> 16 buckets
+            final int[] expectedNumOfBuckets = {11, 14, 16};
+            for (int step = 0; step < expectedNumOfBuckets.length; step++) {
+                assertTrue(map.isResizeNeeded(499, 998));
+                map.resizeIfNeeded(499, 998);
+                assertEquals(expectedNumOfBuckets[step], map.getNumOfBuckets());
+                assertEquals(step < expectedNumOfBuckets.length - 1, map.isResizeInProgress());
+                // All keys must be available in the middle of the resize
+                for (int i = 0; i < 200; i++) {
+                    assertEquals(i * 2 + step, map.get(Bytes.wrap(intToByteArray(i)), i, -1));
+                }
+                // Update all keys, so both split and not split buckets are sanitized
+                map.startWriting();
+                for (int i = 0; i < 200; i++) {
+                    map.put(Bytes.wrap(intToByteArray(i)), i, i * 2 + step + 1);
+                }
+                map.endWriting();
+                if (step == 0) {
+                    // A map loaded from a snapshot taken in the middle of a resize must continue
+                    // the resize from the same point
+                    map.snapshot(snapshotDir);
+                    try (HalfDiskHashMap mapFromSnapshot = new HalfDiskHashMap(
+                            config, fileSystemManager, 200, snapshotDir, "incrementalResize", null, false)) {
+                        assertEquals(11, mapFromSnapshot.getNumOfBuckets());
+                        assertTrue(mapFromSnapshot.isResizeInProgress());
+                        for (int i = 0; i < 200; i++) {
+                            assertEquals(i * 2 + 1, mapFromSnapshot.get(Bytes.wrap(intToByteArray(i)), i, -1));
+                        }
+                    }
+                }
+            }
+            // Once all buckets are split, no more resizes are needed for the same map size
+            assertFalse(map.isResizeNeeded(299, 598));
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i * 2 + 3, map.get(Bytes.wrap(intToByteArray(i)), i, -1));
+            }
+        }
+    }
+
     private int calcExpectedNumOfBuckets(final long mapSizeHint) {
         int goodAverageBucketEntryCount = DEFAULT_MERKLE_DB_CONFIG.goodAverageBucketEntryCount();
         return Integer.highestOneBit(Math.toIntExact(mapSizeHint / goodAverageBucketEntryCount)) * 2;
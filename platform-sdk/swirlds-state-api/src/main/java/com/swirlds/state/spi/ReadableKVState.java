@@ -3,6 +3,9 @@ package com.swirlds.state.spi;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -67,4 +70,39 @@ public interface ReadableKVState<K, V> extends ReadableState {
      * @param key the key of the entity
      */
     default void warm(@NonNull final K key) {}
+
+    /**
+     * Gets the values associated with the given keys in a <strong>READ-ONLY</strong> way. This is
+     * the same as calling {@link #get(Object)} for every key, but implementations may load all the
+     * values from the underlying data store at once, which is much faster for states stored on disk.
+     *
+     * <p>The default implementation calls {@link #get(Object)} for every key.
+     *
+     * @param keys The keys. Neither the collection nor the keys can be null.
+     * @return A map of the keys found in this {@link ReadableKVState} to their values, in the
+     *     iteration order of the given keys. Keys not found in the state are not in the map.
+     * @throws NullPointerException if the collection or any of the keys is null.
+     */
+    @NonNull
+    default Map<K, V> getAll(@NonNull final Collection<K> keys) {
+        final Map<K, V> values = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Warms the system by preloading multiple entities into memory at once, see {@link #warm(Object)}.
+     *
+     * <p>The default implementation calls {@link #warm(Object)} for every key.
+     *
+     * @param keys the keys of the entities
+     */
+    default void warmAll(@NonNull final Collection<K> keys) {
+        keys.forEach(this::warm);
+    }
 }
@@ -78,6 +78,38 @@ public abstract class ReadableKVStateBase<K, V> implements ReadableKVState<K, V>
         return (value == marker) ? null : value;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All keys, which haven't been read yet, are read from the underlying data source at once
+     * using {@link #readAllFromDataSource(List)}, and are added to the read cache.
+     */
+    @Override
+    @NonNull
+    public Map<K, V> getAll(@NonNull Collection<K> keys) {
+        Objects.requireNonNull(keys);
+        final List<K> keysToRead = new ArrayList<>();
+        for (final K key : keys) {
+            if (needsRead(Objects.requireNonNull(key))) {
+                keysToRead.add(key);
+            }
+        }
+        if (!keysToRead.isEmpty()) {
+            final List<V> values = readAllFromDataSource(keysToRead);
+            for (int i = 0; i < keysToRead.size(); i++) {
+                markRead(keysToRead.get(i), values.get(i));
+            }
+        }
+        final Map<K, V> result = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets the set of keys that a client read from the {@link ReadableKVState}.
      *
@@ -103,6 +135,35 @@ public abstract class ReadableKVStateBase<K, V> implements ReadableKVState<K, V>
      */
     protected abstract V readFromDataSource(@NonNull K key);
 
+    /**
+     * Reads multiple keys from the underlying data source. Implementations backed by data stored
+     * on disk should override this method to read all the keys at once. The default implementation
+     * calls {@link #readFromDataSource(Object)} for every key.
+     *
+     * @param keys keys to read from state
+     * @return The values read from the underlying data source, in the same order as the keys.
+     *     Values may be null.
+     */
+    @NonNull
+    protected List<V> readAllFromDataSource(@NonNull List<K> keys) {
+        final List<V> values = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            values.add(readFromDataSource(key));
+        }
+        return values;
+    }
+
+    /**
+     * Gets whether the given key needs to be read from the underlying data source in {@link
+     * #getAll(Collection)}, because it hasn't been read yet.
+     *
+     * @param key The key.
+     * @return Whether the key needs to be read
+     */
+    protected boolean needsRead(@NonNull K key) {
+        return !hasBeenRead(key);
+    }
+
     /**
      * Records the given key and associated value were read.
      *
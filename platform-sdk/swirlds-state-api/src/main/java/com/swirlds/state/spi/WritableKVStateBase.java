@@ -123,6 +123,16 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Modified keys don't need to be read, since {@link #get(Object)} returns modified values.
+     */
+    @Override
+    protected boolean needsRead(@NonNull K key) {
+        return !modifications.containsKey(key) && super.needsRead(key);
+    }
+
     /** {@inheritDoc} */
     @Nullable
     @Override
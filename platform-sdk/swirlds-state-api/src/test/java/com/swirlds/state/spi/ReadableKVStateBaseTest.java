@@ -3,11 +3,13 @@ package com.swirlds.state.spi;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.hedera.hapi.node.state.primitives.ProtoBytes;
 import com.swirlds.state.test.fixtures.MapReadableKVState;
 import com.swirlds.state.test.fixtures.StateTestBase;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -89,6 +91,16 @@ public class ReadableKVStateBaseTest extends StateTestBase {
         assertThat(state.readKeys()).contains(A_KEY);
     }
 
+    /** Like get, but for multiple keys. All keys must be recorded in "readKeys". */
+    @Test
+    @DisplayName("`getAll` returns known items and records all keys as read")
+    void testGetAll() {
+        assertThat(state.readKeys()).isEmpty();
+        final var values = state.getAll(List.of(A_KEY, UNKNOWN_KEY, B_KEY));
+        assertThat(values).containsExactly(entry(A_KEY, APPLE), entry(B_KEY, BANANA));
+        assertThat(state.readKeys()).containsExactlyInAnyOrder(A_KEY, B_KEY, UNKNOWN_KEY);
+    }
+
     /** Similar to get, but for "contains". We must record this in "readKeys". */
     @Test
     @DisplayName("`contains` of an unknown item returns false")
@@ -2,6 +2,7 @@
 package com.swirlds.state.spi;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
@@ -100,6 +101,18 @@ public class WritableKVStateBaseTest extends ReadableKVStateBaseTest {
         assertThat(customState.readKeys()).contains(B_KEY);
     }
 
+    @Test
+    @DisplayName("`getAll` returns modified values and doesn't read modified keys")
+    void testGetAllWithModifications() {
+        state.put(A_KEY, ACAI);
+        state.remove(B_KEY);
+        final var values = state.getAll(List.of(A_KEY, B_KEY, C_KEY));
+        assertThat(values).containsExactly(entry(A_KEY, ACAI));
+        assertThat(state.readKeys()).containsExactly(C_KEY);
+        verify(state, Mockito.never()).readFromDataSource(A_KEY);
+        verify(state, Mockito.never()).readFromDataSource(B_KEY);
+    }
+
     @Nested
     @DisplayName("with registered listeners")
     @ExtendWith(MockitoExtension.class)
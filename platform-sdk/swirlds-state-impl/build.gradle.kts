@@ -13,6 +13,7 @@ testModuleInfo {
     requires("org.junit.jupiter.api")
     requires("org.mockito")
     requires("com.hedera.node.hapi")
+    requires("org.hiero.consensus.fakes")
     requires("org.mockito.junit.jupiter")
     runtimeOnly("com.swirlds.config.api")
     runtimeOnly("com.swirlds.config.impl")
@@ -1,6 +1,8 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.state.merkle;
 
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_DELIMITED;
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG;
 import static java.lang.StrictMath.toIntExact;
 
 import com.hedera.pbj.runtime.Codec;
@@ -8,13 +10,12 @@ import com.hedera.pbj.runtime.ParseException;
 import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoParserTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
-import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
-import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -44,42 +45,64 @@ public class StateKeyUtils {
     // StateKey.key OneOf field number for singletons
     public static final int FIELD_NUM_SINGLETON = 1;
 
+    // State IDs below this limit have their singleton keys and tag prefixes cached
+    private static final int CACHED_STATE_IDS = 65536;
+
+    // Initial capacity of per-thread buffers to write K/V keys
+    private static final int INITIAL_KEY_BUFFER_CAPACITY = 256;
+
+    // Pre-computed singleton keys, indexed by state ID. Singleton keys are immutable, so they are
+    // shared by all callers
+    private static final Bytes[] SINGLETON_KEY_CACHE = new Bytes[CACHED_STATE_IDS];
+
+    // Pre-computed tag prefixes for queue element keys (wire type == VARINT), indexed by state ID
+    private static final byte[][] VARINT_TAG_CACHE = new byte[CACHED_STATE_IDS][];
+
+    // Pre-computed tag prefixes for K/V keys (wire type == DELIMITED), indexed by state ID
+    private static final byte[][] DELIMITED_TAG_CACHE = new byte[CACHED_STATE_IDS][];
+
+    // Per-thread buffers to write K/V keys using codecs. Keys are written to these buffers, then
+    // copied to byte arrays of exact sizes, which are wrapped into the resulting Bytes objects
+    private static final ThreadLocal<KeyBuffer> KEY_BUFFER = ThreadLocal.withInitial(KeyBuffer::new);
+
     private StateKeyUtils() {}
 
     // Singleton key: OneOf field number is FIELD_NUM_SINGLETON (1), field value is varint,
-    // the value is singleton state ID
+    // the value is singleton state ID. Keys for state IDs below CACHED_STATE_IDS are cached
     public static Bytes singletonKey(final int stateId) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == FIELD_NUM_SINGLETON (1), wire type == VARINT
-            out.writeVarInt(
-                    (FIELD_NUM_SINGLETON << ProtoParserTools.TAG_FIELD_OFFSET)
-                            | ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal(),
-                    false);
-            // Write varint value, singleton state ID
-            out.writeVarInt(stateId, false);
-            return Bytes.wrap(bout.toByteArray());
-        } catch (final IOException e) {
-            throw new UncheckedIOException(e);
+        if ((stateId < 0) || (stateId >= CACHED_STATE_IDS)) {
+            return createSingletonKey(stateId);
+        }
+        Bytes key = SINGLETON_KEY_CACHE[stateId];
+        if (key == null) {
+            // Races are benign here, all threads would create equal keys
+            key = createSingletonKey(stateId);
+            SINGLETON_KEY_CACHE[stateId] = key;
         }
+        return key;
+    }
+
+    private static Bytes createSingletonKey(final int stateId) {
+        // Tag: field number == FIELD_NUM_SINGLETON (1), wire type == VARINT
+        final int tag =
+                (FIELD_NUM_SINGLETON << ProtoParserTools.TAG_FIELD_OFFSET) | WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal();
+        final byte[] bytes = new byte[varIntSize(tag) + varIntSize(stateId)];
+        final int pos = writeVarInt(bytes, 0, tag);
+        // Varint value, singleton state ID
+        writeVarInt(bytes, pos, stateId);
+        return Bytes.wrap(bytes);
     }
 
     // Queue key: OneOf field number is queue state ID, field value is varint, the value
     // is a long index in the queue
     public static Bytes queueKey(final int stateId, final long index) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == state ID, wire type == VARINT
-            out.writeVarInt(
-                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET)
-                            | ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal(),
-                    false);
-            // Write index, varlong
-            out.writeVarLong(index, false);
-            return Bytes.wrap(bout.toByteArray());
-        } catch (final IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        // Tag: field number == state ID, wire type == VARINT
+        final byte[] tag = tagPrefix(stateId, WIRE_TYPE_VARINT_OR_ZIGZAG, VARINT_TAG_CACHE);
+        final byte[] bytes = new byte[tag.length + varIntSize(index)];
+        System.arraycopy(tag, 0, bytes, 0, tag.length);
+        // Index, varlong
+        writeVarInt(bytes, tag.length, index);
+        return Bytes.wrap(bytes);
     }
 
     // Queue state key: same as a singleton with the corresponding state ID
@@ -89,37 +112,106 @@ public class StateKeyUtils {
 
     // K/V key: OneOf field number is K/V state ID, field value is the key
     public static <K> Bytes kvKey(final int stateId, final K key, final Codec<K> keyCodec) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == state ID, wire type == DELIMITED
-            out.writeVarInt(
-                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal(),
-                    false);
-            // Write length, varint
-            out.writeVarInt(keyCodec.measureRecord(key), false);
-            // Write key
+        // Tag: field number == state ID, wire type == DELIMITED
+        final byte[] tag = tagPrefix(stateId, WIRE_TYPE_DELIMITED, DELIMITED_TAG_CACHE);
+        final int keySize = keyCodec.measureRecord(key);
+        final int size = tag.length + varIntSize(keySize) + keySize;
+        final KeyBuffer keyBuffer = KEY_BUFFER.get();
+        final BufferedData out = keyBuffer.prepare(size);
+        out.writeBytes(tag);
+        // Length, varint
+        out.writeVarInt(keySize, false);
+        // Key
+        try {
             keyCodec.write(key, out);
-            return Bytes.wrap(bout.toByteArray());
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
+        assert out.position() == size;
+        return Bytes.wrap(Arrays.copyOf(keyBuffer.array, size));
     }
 
     // K/V key: OneOf field number is K/V state ID, field value is the key
     public static Bytes kvKey(final int stateId, final Bytes key) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == state ID, wire type == DELIMITED
-            out.writeVarInt(
-                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal(),
-                    false);
-            // Write length, varint
-            out.writeVarInt(toIntExact(key.length()), false);
-            // Write key
-            out.writeBytes(key);
-            return Bytes.wrap(bout.toByteArray());
-        } catch (final IOException e) {
-            throw new UncheckedIOException(e);
+        // Tag: field number == state ID, wire type == DELIMITED
+        final byte[] tag = tagPrefix(stateId, WIRE_TYPE_DELIMITED, DELIMITED_TAG_CACHE);
+        final int keySize = toIntExact(key.length());
+        final byte[] bytes = new byte[tag.length + varIntSize(keySize) + keySize];
+        System.arraycopy(tag, 0, bytes, 0, tag.length);
+        // Length, varint
+        final int pos = writeVarInt(bytes, tag.length, keySize);
+        // Key
+        key.getBytes(0, bytes, pos, keySize);
+        return Bytes.wrap(bytes);
+    }
+
+    /**
+     * Returns serialized OneOf tag bytes for the given state ID (field number) and wire type.
+     * Tags for state IDs below {@link #CACHED_STATE_IDS} are cached in the given array. Returned
+     * arrays must not be modified.
+     */
+    private static byte[] tagPrefix(final int stateId, final ProtoConstants wireType, final byte[][] cache) {
+        if ((stateId < 0) || (stateId >= CACHED_STATE_IDS)) {
+            return createTag(stateId, wireType);
+        }
+        byte[] tag = cache[stateId];
+        if (tag == null) {
+            // Races are benign here, all threads would create equal tags
+            tag = createTag(stateId, wireType);
+            cache[stateId] = tag;
+        }
+        return tag;
+    }
+
+    private static byte[] createTag(final int stateId, final ProtoConstants wireType) {
+        final int tag = (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | wireType.ordinal();
+        final byte[] bytes = new byte[varIntSize(tag)];
+        writeVarInt(bytes, 0, tag);
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes needed to write the value as a (non-zigzag) varint. Negative int
+     * values are sign-extended to longs, the same way as protobuf does.
+     */
+    private static int varIntSize(final long value) {
+        // 7 bits per byte, at least one byte
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Writes the value as a (non-zigzag) varint to the array starting at the given position.
+     *
+     * @return the position in the array after the last written byte
+     */
+    private static int writeVarInt(final byte[] bytes, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * A thread-confined buffer to write K/V keys using key codecs. The buffer grows when a key
+     * doesn't fit into it.
+     */
+    private static final class KeyBuffer {
+
+        private byte[] array = new byte[INITIAL_KEY_BUFFER_CAPACITY];
+
+        private BufferedData buffer = BufferedData.wrap(array);
+
+        // Returns the buffer to write a key of the given size to, the buffer position is zero
+        private BufferedData prepare(final int size) {
+            if (size > array.length) {
+                array = new byte[Math.max(size, array.length * 2)];
+                buffer = BufferedData.wrap(array);
+            }
+            buffer.position(0);
+            buffer.limit(size);
+            return buffer;
         }
     }
 
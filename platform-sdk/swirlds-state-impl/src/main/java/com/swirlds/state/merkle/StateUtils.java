@@ -22,9 +22,6 @@ public final class StateUtils {
     // This has to match virtual_map_state.proto
     public static final int STATE_VALUE_QUEUE_STATE = 8001;
 
-    /** Cache for pre-computed virtual map keys for singleton states. */
-    private static final Bytes[] VIRTUAL_MAP_KEY_CACHE = new Bytes[65536];
-
     /** Prevent instantiation */
     private StateUtils() {}
 
@@ -36,12 +33,7 @@ public final class StateUtils {
      * @return a state key for the singleton serialized into {@link Bytes} object
      */
     public static Bytes getStateKeyForSingleton(final int stateId) {
-        Bytes key = VIRTUAL_MAP_KEY_CACHE[stateId];
-        if (key == null) {
-            key = StateKeyUtils.singletonKey(stateId);
-            VIRTUAL_MAP_KEY_CACHE[stateId] = key;
-        }
-        return key;
+        return StateKeyUtils.singletonKey(stateId);
     }
 
     /**
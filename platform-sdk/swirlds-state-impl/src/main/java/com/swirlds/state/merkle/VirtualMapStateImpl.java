@@ -70,16 +70,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.base.Reservable;
+import org.hiero.base.crypto.Cryptography;
 import org.hiero.base.crypto.Hash;
+import org.hiero.base.crypto.HashBuilder;
 import org.hiero.base.crypto.Mnemonics;
 import org.json.JSONObject;
 
 /**
  * An implementation of {@link State} backed by a single Virtual Map.
+ *
+ * <p>Optionally, selected K/V states may be stored in separate virtual maps, partitions. Every
+ * partition has its own data source and path space, so large K/V states don't share indices,
+ * caches, flushes, and compactions with other states. Partitions are hashed independently, in
+ * parallel. The state hash is then a hash of the main virtual map hash and all partition hashes.
+ * If there are no partitions, the state hash is the main virtual map hash. Merkle proofs and
+ * reconnects are only supported for states without partitions.
  */
 public class VirtualMapStateImpl implements VirtualMapState {
 
@@ -113,6 +124,17 @@ public class VirtualMapStateImpl implements VirtualMapState {
      */
     protected VirtualMap virtualMap;
 
+    /**
+     * Partition virtual maps for K/V states stored separately from {@link #virtualMap}, by state ID.
+     * Sorted by state ID, this is the order partition hashes are included into the state hash.
+     */
+    protected final SortedMap<Integer, VirtualMap> partitions = new TreeMap<>();
+
+    /**
+     * The state hash, if this state has partitions and is already hashed.
+     */
+    private volatile Hash partitionedHash;
+
     /**
      * Initializes a {@link VirtualMapStateImpl} with the specified {@link VirtualMap}.
      *
@@ -120,7 +142,23 @@ public class VirtualMapStateImpl implements VirtualMapState {
      * @param metrics    the platform metric instance to use when creating the new instance of state
      */
     public VirtualMapStateImpl(@NonNull final VirtualMap virtualMap, @NonNull final Metrics metrics) {
+        this(virtualMap, Map.of(), metrics);
+    }
+
+    /**
+     * Initializes a {@link VirtualMapStateImpl} with the specified main {@link VirtualMap} and
+     * partition virtual maps for K/V states, which are stored separately from the main map.
+     *
+     * @param virtualMap the virtual map with pre-registered metrics
+     * @param partitions partition virtual maps, by K/V state ID
+     * @param metrics    the platform metric instance to use when creating the new instance of state
+     */
+    public VirtualMapStateImpl(
+            @NonNull final VirtualMap virtualMap,
+            @NonNull final Map<Integer, VirtualMap> partitions,
+            @NonNull final Metrics metrics) {
         this.virtualMap = requireNonNull(virtualMap);
+        this.partitions.putAll(requireNonNull(partitions));
         this.metrics = requireNonNull(metrics);
         this.virtualMap.registerMetrics(metrics);
     }
@@ -132,6 +170,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
      */
     protected VirtualMapStateImpl(@NonNull final VirtualMapStateImpl from) {
         this.virtualMap = from.virtualMap.copy();
+        from.partitions.forEach((stateId, partition) -> this.partitions.put(stateId, partition.copy()));
         this.metrics = from.metrics;
         this.listeners.addAll(from.listeners);
 
@@ -194,6 +233,8 @@ public class VirtualMapStateImpl implements VirtualMapState {
         virtualMap.throwIfMutable("Hashing should only be done on immutable states");
         virtualMap.throwIfDestroyed("Hashing should not be done on destroyed states");
 
+        // Partitions are independent trees, so they are hashed in parallel
+        partitions.values().parallelStream().forEach(VirtualMap::getHash);
         // this call will result in synchronous hash computation
         virtualMap.getHash();
     }
@@ -251,19 +292,57 @@ public class VirtualMapStateImpl implements VirtualMapState {
 
     /**
      * Get the virtual map behind {@link VirtualMapStateImpl}. For more detailed docs, see
-     * {@code VirtualMapStateImpl#getRoot()}.
+     * {@code VirtualMapStateImpl#getRoot()}. If this state has partitions, the returned map
+     * doesn't contain states stored in the partitions.
      */
     public VirtualMap getRoot() {
         return virtualMap;
     }
 
+    /**
+     * Get partition virtual maps for K/V states stored separately from the {@link #getRoot() main
+     * virtual map}, by state ID.
+     *
+     * @return an unmodifiable view of partition virtual maps, sorted by state ID
+     */
+    @NonNull
+    public SortedMap<Integer, VirtualMap> getPartitions() {
+        return Collections.unmodifiableSortedMap(partitions);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @NonNull
     public Hash getHash() {
-        return virtualMap.getHash();
+        if (partitions.isEmpty()) {
+            return virtualMap.getHash();
+        }
+        Hash hash = partitionedHash;
+        if (hash == null) {
+            final HashBuilder hashBuilder = new HashBuilder(Cryptography.DEFAULT_DIGEST_TYPE);
+            hashBuilder.update(virtualMap.getHash());
+            partitions.forEach((stateId, partition) -> {
+                hashBuilder.update(stateId);
+                hashBuilder.update(partition.getHash());
+            });
+            // No synchronization here. In the worst case, the hash is computed multiple times,
+            // but it's always the same hash
+            hash = hashBuilder.build();
+            partitionedHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the virtual map to store the given state in: either a partition, if the state is
+     * partitioned, or the main virtual map.
+     */
+    @NonNull
+    private VirtualMap storageFor(final int stateId) {
+        final VirtualMap partition = partitions.get(stateId);
+        return partition != null ? partition : virtualMap;
     }
 
     /**
@@ -305,7 +384,12 @@ public class VirtualMapStateImpl implements VirtualMapState {
      * @return true if this call to release() caused the Virtual Map to become destroyed
      */
     public boolean release() {
-        return virtualMap.release();
+        final boolean destroyed = virtualMap.release();
+        if (destroyed) {
+            // Partitions are owned by this state and have no other reservations
+            partitions.values().forEach(VirtualMap::release);
+        }
+        return destroyed;
     }
 
     // Clean up
@@ -320,6 +404,13 @@ public class VirtualMapStateImpl implements VirtualMapState {
         } catch (IOException e) {
             logger.warn("Unable to close data source for the Virtual Map", e);
         }
+        partitions.forEach((stateId, partition) -> {
+            try {
+                partition.getDataSource().close();
+            } catch (IOException e) {
+                logger.warn("Unable to close data source for the Virtual Map partition {}", stateId, e);
+            }
+        });
     }
 
     /**
@@ -464,7 +555,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
                     computeLabel(md.serviceName(), extractStateKey(md)),
                     extractKeyCodec(md),
                     extractValueCodec(md),
-                    virtualMap);
+                    storageFor(extractStateId(md)));
         }
 
         @Override
@@ -516,11 +607,18 @@ public class VirtualMapStateImpl implements VirtualMapState {
          */
         public void copyAndReleaseVirtualMap(final int stateId) {
             final var md = stateMetadata.get(stateId);
-            final var mutableCopy = virtualMap.copy();
-            mutableCopy.registerMetrics(metrics);
-            virtualMap.release();
-
-            virtualMap = mutableCopy; // so createReadableKVState below will do the job with updated map (copy)
+            final var partition = partitions.get(stateId);
+            if (partition != null) {
+                final var mutableCopy = partition.copy();
+                partition.release();
+                partitions.put(stateId, mutableCopy);
+            } else {
+                final var mutableCopy = virtualMap.copy();
+                mutableCopy.registerMetrics(metrics);
+                virtualMap.release();
+
+                virtualMap = mutableCopy; // so createReadableKVState below will do the job with updated map (copy)
+            }
             kvInstances.put(stateId, createReadableKVState(md));
         }
 
@@ -550,7 +648,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
                     computeLabel(md.serviceName(), extractStateKey(md)),
                     extractKeyCodec(md),
                     extractValueCodec(md),
-                    virtualMap);
+                    storageFor(extractStateId(md)));
             listeners.forEach(listener -> {
                 if (listener.stateTypes().contains(MAP)) {
                     registerKVListener(state, listener);
@@ -713,6 +811,9 @@ public class VirtualMapStateImpl implements VirtualMapState {
      */
     @Override
     public long getKvPath(final int stateId, @NonNull final Bytes key) {
+        if (partitions.containsKey(stateId)) {
+            throw new UnsupportedOperationException("State " + stateId + " is stored in a separate partition");
+        }
         return virtualMap.getRecords().findPath(kvKey(stateId, key));
     }
 
@@ -729,6 +830,9 @@ public class VirtualMapStateImpl implements VirtualMapState {
         if (!isHashed()) {
             throw new IllegalStateException("Cannot get Merkle proof for unhashed virtual map");
         }
+        if (!partitions.isEmpty()) {
+            throw new UnsupportedOperationException("Merkle proofs are not supported for states with partitions");
+        }
 
         VirtualLeafBytes<?> leafRecord = virtualMap.getRecords().findLeafRecord(path);
         if (leafRecord == null) {
@@ -766,7 +870,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
      */
     @Override
     public boolean isHashed() {
-        return virtualMap.isHashed();
+        return virtualMap.isHashed() && partitions.values().stream().allMatch(VirtualMap::isHashed);
     }
 
     @Override
@@ -835,6 +939,18 @@ public class VirtualMapStateImpl implements VirtualMapState {
         rootJson.put("Singletons", singletons);
         rootJson.put("Queues (Queue States)", queues);
 
+        if (!partitions.isEmpty()) {
+            final JSONObject partitionsJson = new JSONObject();
+            partitions.forEach((stateId, partition) -> {
+                final JSONObject partitionJson = new JSONObject();
+                partitionJson.put("size", partition.size());
+                partitionJson.put("firstLeafPath", partition.getMetadata().getFirstLeafPath());
+                partitionJson.put("lastLeafPath", partition.getMetadata().getLastLeafPath());
+                partitionsJson.put(String.valueOf(stateId), partitionJson);
+            });
+            rootJson.put("Partitions", partitionsJson);
+        }
+
         return rootJson.toString();
     }
 
@@ -845,7 +961,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
     @Override
     public Bytes getKv(final int stateId, @NonNull final Bytes key) {
         final Bytes stateKey = kvKey(stateId, key);
-        final Bytes stored = virtualMap.getBytes(stateKey);
+        final Bytes stored = storageFor(stateId).getBytes(stateKey);
         return stored == null ? null : unwrap(stored);
     }
 
@@ -977,11 +1093,12 @@ public class VirtualMapStateImpl implements VirtualMapState {
     public void updateKv(final int stateId, @NonNull final Bytes key, @Nullable final Bytes value) {
         requireNonNull(key, "key must not be null");
         final Bytes stateKey = kvKey(stateId, key);
+        final VirtualMap storage = storageFor(stateId);
         if (value == null) {
-            virtualMap.remove(stateKey);
+            storage.remove(stateKey);
         } else {
             final Bytes wrapped = wrapValue(stateId, value);
-            virtualMap.putBytes(stateKey, wrapped);
+            storage.putBytes(stateKey, wrapped);
         }
     }
 
@@ -991,7 +1108,7 @@ public class VirtualMapStateImpl implements VirtualMapState {
     @Override
     public void removeKv(final int stateId, @NonNull final Bytes key) {
         requireNonNull(key, "key must not be null");
-        virtualMap.remove(kvKey(stateId, key));
+        storageFor(stateId).remove(kvKey(stateId, key));
     }
 
     /**
@@ -14,12 +14,21 @@ import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.state.State;
 import com.swirlds.state.StateLifecycleManager;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.base.crypto.Hash;
@@ -45,11 +54,28 @@ import org.hiero.base.file.FileSystemManager;
  *
  * <b>Important:</b> {@link #copyMutableState()} is NOT supposed to be called from multiple threads.
  * It only provides the happens-before guarantees that are described above.
+ * <p>
+ * K/V states listed in {@link VirtualMapStateConfig#partitionedStateIds()} are stored in separate
+ * virtual maps (partitions) in genesis states. Partition snapshots are written to and loaded from
+ * {@value #PARTITIONS_DIR_NAME} subdirectories of state snapshot directories. When a snapshot is
+ * loaded, the set of partitions is taken from the snapshot rather than from the config. Reconnect
+ * only transfers the main virtual map, see {@link #createStateFrom(VirtualMap)}, so partitioned
+ * states are rejected at startup until reconnect supports them.
+ * <p>
+ * If {@link VirtualMapStateConfig#deltaLogDir()} is set, the delta log of the main virtual map is
+ * replayed when a snapshot is loaded, and the log is enabled for the loaded state, see
+ * {@link #loadSnapshot(Path)}.
  */
 public class VirtualMapStateLifecycleManager implements StateLifecycleManager<VirtualMapState, VirtualMap> {
 
     private static final Logger log = LogManager.getLogger(VirtualMapStateLifecycleManager.class);
 
+    /**
+     * Name of the subdirectory in state snapshot directories to store partition snapshots in.
+     * Every partition is stored in a subdirectory named after its state ID.
+     */
+    public static final String PARTITIONS_DIR_NAME = "partitions";
+
     /**
      * Metrics for the state object
      */
@@ -93,6 +119,7 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
      * @param metrics the metrics object to gather state metrics
      * @param time the time object
      * @param configuration the configuration
+     * @throws IllegalStateException if partitioned states are configured, they aren't supported by reconnect yet
      */
     public VirtualMapStateLifecycleManager(
             @NonNull final Metrics metrics,
@@ -100,6 +127,13 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
             @NonNull final Configuration configuration,
             @NonNull final FileSystemManager fileSystemManager) {
         this.configuration = requireNonNull(configuration);
+        final Set<Integer> partitionedStateIds =
+                configuration.getConfigData(VirtualMapStateConfig.class).partitionedStateIds();
+        if (!partitionedStateIds.isEmpty()) {
+            // A learner would only receive the main virtual map and end up with a different state hash
+            throw new IllegalStateException("Partitioned states " + partitionedStateIds
+                    + " are not supported by reconnect yet, state.virtualMap.partitionedStateIds must be empty");
+        }
         this.fileSystemManager = requireNonNull(fileSystemManager);
         this.metrics = requireNonNull(metrics);
         this.time = requireNonNull(time);
@@ -113,7 +147,15 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
         final MerkleDbDataSourceBuilder dsBuilder = new MerkleDbDataSourceBuilder(
                 defaultMerkleDbFodlerName, configuration, fileSystemManager, merkleDbConfig.initialCapacity());
         final VirtualMap genesisVirtualMap = new VirtualMap(dsBuilder, configuration);
-        final VirtualMapState genesisState = new VirtualMapStateImpl(genesisVirtualMap, metrics);
+        final Map<Integer, VirtualMap> genesisPartitions = new TreeMap<>();
+        for (final int stateId : partitionedStateIds) {
+            // Every partition gets its own MerkleDb instance in a new temp folder
+            final MerkleDbDataSourceBuilder partitionDsBuilder = new MerkleDbDataSourceBuilder(
+                    configuration, fileSystemManager, merkleDbConfig.initialCapacity());
+            genesisPartitions.put(stateId, new VirtualMap(partitionDsBuilder, configuration));
+        }
+        final VirtualMapState genesisState =
+                new VirtualMapStateImpl(genesisVirtualMap, genesisPartitions, metrics);
         genesisState.getRoot().reserve();
         stateRef.set(genesisState);
     }
@@ -197,6 +239,9 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
             log.info(STATE_TO_DISK.getMarker(), "Creating a snapshot on demand in {} for {}", targetPath, state);
             VirtualMap virtualMap = state.getRoot();
             virtualMap.createSnapshot(targetPath);
+            for (final Map.Entry<Integer, VirtualMap> entry : getPartitions(state).entrySet()) {
+                entry.getValue().createSnapshot(partitionDir(targetPath, entry.getKey()));
+            }
             log.info(
                     STATE_TO_DISK.getMarker(),
                     "Successfully created a snapshot on demand in {}  for {}",
@@ -223,7 +268,15 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
         log.info(STATE_TO_DISK.getMarker(), "Creating a snapshot on demand (async) in {} for {}", targetPath, state);
 
         final VirtualMap virtualMap = state.getRoot();
-        return virtualMap.createSnapshotAsync(targetPath).whenComplete((result, error) -> {
+        final List<CompletableFuture<Void>> snapshotFutures = new ArrayList<>();
+        snapshotFutures.add(virtualMap.createSnapshotAsync(targetPath));
+        getPartitions(state)
+                .forEach((stateId, partition) ->
+                        snapshotFutures.add(partition.createSnapshotAsync(partitionDir(targetPath, stateId))));
+        final CompletableFuture<Void> snapshotFuture = snapshotFutures.size() == 1
+                ? snapshotFutures.getFirst()
+                : CompletableFuture.allOf(snapshotFutures.toArray(new CompletableFuture[0]));
+        return snapshotFuture.whenComplete((result, error) -> {
             if (error != null) {
                 log.error(
                         EXCEPTION.getMarker(),
@@ -249,8 +302,15 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
      * and replaces the current mutable state (including the eagerly-created genesis state) with the loaded state.
      * The loaded state is immediately available via {@link #getMutableState()} after this call returns.
      *
+     * <p>
+     * If the delta log is configured, see {@link VirtualMapStateConfig#deltaLogDir()}, it's enabled for the loaded
+     * virtual map, and changes logged after the snapshot was created are replayed to it. The loaded state then
+     * reflects the last logged copy rather than the snapshot.
+     *
      * @return the hash of the original immutable snapshot as it was stored on disk (captured before the mutable copy
-     *         is made)
+     *         is made), or the hash of the last logged copy, if changes were replayed from the delta log
+     * @throws IOException if the snapshot or the delta log can't be read, or if the hash after replay doesn't match
+     *         the last logged hash
      */
     @NonNull
     @Override
@@ -259,15 +319,29 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
         // MerkleDb capacity will be loaded from the snapshot, so can be set to 0 here
         final VirtualMap snapshotVirtualMap = VirtualMap.loadFromDirectory(
                 targetPath, configuration, () -> new MerkleDbDataSourceBuilder(configuration, fileSystemManager, 0));
+        final String deltaLogDir = configuration.getConfigData(VirtualMapStateConfig.class).deltaLogDir();
+        Hash replayedHash = null;
+        if (!deltaLogDir.isBlank()) {
+            // The log must be enabled before replay, so its records continue the chain from the snapshot hash
+            final Path logDir = Path.of(deltaLogDir);
+            snapshotVirtualMap.enableDeltaLog(logDir);
+            replayedHash = snapshotVirtualMap.replayDeltaLog(logDir);
+        }
 
-        // Capture the hash of the original immutable snapshot before releasing it
-        final Hash originalHash = snapshotVirtualMap.getHash();
+        final Map<Integer, VirtualMap> snapshotPartitions = loadPartitions(targetPath);
+        final VirtualMapStateImpl snapshotState =
+                new VirtualMapStateImpl(snapshotVirtualMap, snapshotPartitions, metrics);
 
-        final VirtualMap mutableCopy = snapshotVirtualMap.copy();
-        snapshotVirtualMap.release();
+        // Capture the hash of the original immutable snapshot before releasing it
+        final Hash originalHash = snapshotState.getHash();
+        if ((replayedHash != null) && !replayedHash.equals(originalHash)) {
+            snapshotState.release();
+            throw new IOException("State hash after delta log replay " + originalHash
+                    + " doesn't match the last logged hash " + replayedHash);
+        }
 
-        // VirtualMapStateImpl constructor calls registerMetrics internally
-        final VirtualMapStateImpl loadedState = new VirtualMapStateImpl(mutableCopy, metrics);
+        final VirtualMapStateImpl loadedState = snapshotState.copy();
+        snapshotState.release();
         if (latestImmutableStateRef.get() != null
                 && latestImmutableStateRef.get().isDestroyed()) {
             latestImmutableStateRef.set(null);
@@ -282,6 +356,52 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
         return originalHash;
     }
 
+    /**
+     * Loads partition virtual maps from the {@value #PARTITIONS_DIR_NAME} subdirectory of the given
+     * snapshot directory, if it exists.
+     */
+    @NonNull
+    private Map<Integer, VirtualMap> loadPartitions(@NonNull final Path targetPath) throws IOException {
+        final Map<Integer, VirtualMap> partitions = new TreeMap<>();
+        final Path partitionsDir = targetPath.resolve(PARTITIONS_DIR_NAME);
+        if (!Files.isDirectory(partitionsDir)) {
+            return partitions;
+        }
+        try (final Stream<Path> partitionDirs = Files.list(partitionsDir)) {
+            for (final Path partitionDir : partitionDirs.toList()) {
+                final int stateId = Integer.parseInt(partitionDir.getFileName().toString());
+                log.info(STARTUP.getMarker(), "Loading state partition {} from disk {}", stateId, partitionDir);
+                partitions.put(
+                        stateId,
+                        VirtualMap.loadFromDirectory(
+                                partitionDir,
+                                configuration,
+                                () -> new MerkleDbDataSourceBuilder(configuration, fileSystemManager, 0)));
+            }
+        }
+        final Set<Integer> configuredIds =
+                configuration.getConfigData(VirtualMapStateConfig.class).partitionedStateIds();
+        if (!configuredIds.equals(partitions.keySet())) {
+            log.warn(
+                    STARTUP.getMarker(),
+                    "State partitions in the snapshot {} don't match configured partitioned states {}, "
+                            + "partitions from the snapshot are used",
+                    partitions.keySet(),
+                    configuredIds);
+        }
+        return partitions;
+    }
+
+    @NonNull
+    private static Path partitionDir(@NonNull final Path targetPath, final int stateId) {
+        return targetPath.resolve(PARTITIONS_DIR_NAME).resolve(String.valueOf(stateId));
+    }
+
+    @NonNull
+    private static Map<Integer, VirtualMap> getPartitions(@NonNull final VirtualMapState state) {
+        return state instanceof VirtualMapStateImpl stateImpl ? stateImpl.getPartitions() : Map.of();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -296,6 +416,9 @@ public class VirtualMapStateLifecycleManager implements StateLifecycleManager<Vi
 
     /**
      *  {@inheritDoc}
+     * <p>
+     * The created state has no partitions. Reconnect only transfers the main virtual map, this is why
+     * partitioned states are rejected at startup.
      */
     @Override
     public VirtualMapState createStateFrom(@NonNull VirtualMap rootNode) {
@@ -0,0 +1,24 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle.config;
+
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+import java.util.Set;
+
+/**
+ * Configuration for states backed by virtual maps.
+ *
+ * @param partitionedStateIds IDs of K/V states to store in separate virtual maps (partitions), each with its own
+ *                            MerkleDb instance and path space, rather than in the main virtual map shared by all
+ *                            states. Only applied to genesis states, the set of partitions of a state loaded from a
+ *                            snapshot is taken from the snapshot. Reconnect doesn't transfer partitions yet, so a
+ *                            non-empty set is rejected at startup
+ * @param deltaLogDir         directory of the main virtual map delta log, or empty to disable the log. When set, a
+ *                            state loaded from a snapshot is brought up to the last logged copy by replaying the log,
+ *                            and changes in its copies are logged until the next restart or reconnect. States created
+ *                            at genesis or received during reconnect aren't logged
+ */
+@ConfigData("state.virtualMap")
+public record VirtualMapStateConfig(
+        @ConfigProperty(defaultValue = "[]") Set<Integer> partitionedStateIds,
+        @ConfigProperty(defaultValue = "") String deltaLogDir) {}
@@ -0,0 +1,18 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle.config;
+
+import com.swirlds.config.api.ConfigurationExtension;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Set;
+
+/**
+ * {@link ConfigurationExtension} for the state implementation, allowing to fetch {@link VirtualMapStateConfig}.
+ */
+public class VirtualMapStateConfigExtension implements ConfigurationExtension {
+
+    @NonNull
+    @Override
+    public Set<Class<? extends Record>> getConfigDataTypes() {
+        return Set.of(VirtualMapStateConfig.class);
+    }
+}
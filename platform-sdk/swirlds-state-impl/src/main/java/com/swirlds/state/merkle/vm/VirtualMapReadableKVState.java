@@ -12,6 +12,9 @@ import com.swirlds.state.spi.ReadableKVState;
 import com.swirlds.state.spi.ReadableKVStateBase;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * An implementation of {@link ReadableKVState} backed by a {@link VirtualMap}, resulting in a state
@@ -62,6 +65,24 @@ public final class VirtualMapReadableKVState<K, V> extends ReadableKVStateBase<K
         return stateValue != null ? stateValue.value() : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    protected List<V> readAllFromDataSource(@NonNull final List<K> keys) {
+        final List<Bytes> stateKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            stateKeys.add(getStateKeyForKv(stateId, key, keyCodec));
+        }
+        final List<StateValue<V>> stateValues = virtualMap.getAll(stateKeys, stateValueCodec);
+        final List<V> values = new ArrayList<>(stateValues.size());
+        for (final StateValue<V> stateValue : stateValues) {
+            values.add(stateValue != null ? stateValue.value() : null);
+        }
+        return values;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,4 +97,13 @@ public final class VirtualMapReadableKVState<K, V> extends ReadableKVStateBase<K
         final Bytes stateKey = getStateKeyForKv(stateId, key, keyCodec);
         virtualMap.warm(stateKey);
     }
+
+    @Override
+    public void warmAll(@NonNull final Collection<K> keys) {
+        final List<Bytes> stateKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            stateKeys.add(getStateKeyForKv(stateId, key, keyCodec));
+        }
+        virtualMap.warmAll(stateKeys);
+    }
 }
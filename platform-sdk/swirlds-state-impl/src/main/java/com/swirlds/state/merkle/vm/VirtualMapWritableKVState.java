@@ -13,6 +13,8 @@ import com.swirlds.state.spi.WritableKVState;
 import com.swirlds.state.spi.WritableKVStateBase;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An implementation of {@link WritableKVState} backed by a {@link VirtualMap}, resulting in a state
@@ -63,6 +65,24 @@ public final class VirtualMapWritableKVState<K, V> extends WritableKVStateBase<K
         return stateValue != null ? stateValue.value() : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    protected List<V> readAllFromDataSource(@NonNull final List<K> keys) {
+        final List<Bytes> stateKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            stateKeys.add(getStateKeyForKv(stateId, key, keyCodec));
+        }
+        final List<StateValue<V>> stateValues = virtualMap.getAll(stateKeys, stateValueCodec);
+        final List<V> values = new ArrayList<>(stateValues.size());
+        for (final StateValue<V> stateValue : stateValues) {
+            values.add(stateValue != null ? stateValue.value() : null);
+        }
+        return values;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void putIntoDataSource(@NonNull K key, @NonNull V value) {
@@ -2,6 +2,7 @@
 module com.swirlds.state.impl {
     exports com.swirlds.state.merkle.vm;
     exports com.swirlds.state.merkle;
+    exports com.swirlds.state.merkle.config;
 
     // allow reflective access for tests
     opens com.swirlds.state.merkle.vm to
@@ -21,4 +22,7 @@ module com.swirlds.state.impl {
     requires org.apache.logging.log4j;
     requires org.json;
     requires static transitive com.github.spotbugs.annotations;
+
+    provides com.swirlds.config.api.ConfigurationExtension with
+            com.swirlds.state.merkle.config.VirtualMapStateConfigExtension;
 }
@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle;
+
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_DELIMITED;
+import static com.hedera.pbj.runtime.ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG;
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.state.merkle.StateKeyUtils.FIELD_NUM_SINGLETON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Key;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StateKeyUtilsTest {
+
+    // State IDs to test, including IDs that need multi-byte tags and IDs that aren't cached
+    private static final int[] STATE_IDS = {0, 1, 2, 15, 16, 2047, 2048, 65535, 65536, 1_000_000};
+
+    @Test
+    @DisplayName("Singleton keys are the same as streamed keys and are cached")
+    void singletonKeys() throws IOException {
+        for (final int stateId : STATE_IDS) {
+            final int tag = (FIELD_NUM_SINGLETON << TAG_FIELD_OFFSET) | WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal();
+            final Bytes expected = streamed(out -> {
+                out.writeVarInt(tag, false);
+                out.writeVarInt(stateId, false);
+            });
+            assertEquals(expected, StateKeyUtils.singletonKey(stateId));
+            assertEquals(expected, StateKeyUtils.queueStateKey(stateId));
+            assertEquals(expected, StateUtils.getStateKeyForSingleton(stateId));
+        }
+        assertSame(StateKeyUtils.singletonKey(42), StateKeyUtils.singletonKey(42));
+    }
+
+    @Test
+    @DisplayName("Queue keys are the same as streamed keys")
+    void queueKeys() throws IOException {
+        final long[] indices = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, Long.MAX_VALUE};
+        for (final int stateId : STATE_IDS) {
+            for (final long index : indices) {
+                final Bytes expected = streamed(out -> {
+                    out.writeVarInt((stateId << TAG_FIELD_OFFSET) | WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal(), false);
+                    out.writeVarLong(index, false);
+                });
+                assertEquals(expected, StateKeyUtils.queueKey(stateId, index));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("K/V keys are the same as streamed keys")
+    void kvKeys() throws IOException, ParseException {
+        final Random random = new Random(11);
+        for (final int stateId : STATE_IDS) {
+            final AccountID accountId =
+                    AccountID.newBuilder().accountNum(random.nextLong(1L << 40)).build();
+            final Bytes accountKey = StateKeyUtils.kvKey(stateId, accountId, AccountID.PROTOBUF);
+            assertEquals(streamedKvKey(stateId, accountId, AccountID.PROTOBUF), accountKey);
+            assertEquals(stateId, StateKeyUtils.extractStateIdFromStateKeyOneOf(accountKey));
+            assertEquals(accountId, StateKeyUtils.extractKeyFromStateKeyOneOf(accountKey, AccountID.PROTOBUF));
+
+            final Bytes accountBytes = AccountID.PROTOBUF.toBytes(accountId);
+            assertEquals(accountKey, StateKeyUtils.kvKey(stateId, accountBytes));
+        }
+    }
+
+    @Test
+    @DisplayName("Large K/V keys are written correctly")
+    void largeKvKeys() throws IOException {
+        final Random random = new Random(17);
+        // Keys both smaller and larger than the initial key buffer size
+        for (final int size : new int[] {16, 255, 1024, 10_000, 100}) {
+            final byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+            final Key key = Key.newBuilder().ed25519(Bytes.wrap(bytes)).build();
+            final Bytes expected = streamedKvKey(3, key, Key.PROTOBUF);
+            assertEquals(expected, StateKeyUtils.kvKey(3, key, Key.PROTOBUF));
+            assertEquals(expected, StateKeyUtils.kvKey(3, Key.PROTOBUF.toBytes(key)));
+        }
+    }
+
+    private interface StreamWriter {
+        void write(WritableSequentialData out) throws IOException;
+    }
+
+    // Keys are created the same way as StateKeyUtils created them originally
+    private static Bytes streamed(final StreamWriter writer) throws IOException {
+        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
+            writer.write(new WritableStreamingData(bout));
+            return Bytes.wrap(bout.toByteArray());
+        }
+    }
+
+    private static <K> Bytes streamedKvKey(final int stateId, final K key, final Codec<K> keyCodec)
+            throws IOException {
+        return streamed(out -> {
+            out.writeVarInt((stateId << TAG_FIELD_OFFSET) | WIRE_TYPE_DELIMITED.ordinal(), false);
+            out.writeVarInt(keyCodec.measureRecord(key), false);
+            keyCodec.write(key, out);
+        });
+    }
+}
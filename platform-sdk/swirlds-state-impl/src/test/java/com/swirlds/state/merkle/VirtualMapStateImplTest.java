@@ -5,6 +5,7 @@ import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.assertAllData
 import static com.swirlds.state.StateChangeListener.StateType.MAP;
 import static com.swirlds.state.StateChangeListener.StateType.QUEUE;
 import static com.swirlds.state.StateChangeListener.StateType.SINGLETON;
+import static com.swirlds.state.test.fixtures.merkle.VirtualMapStateTestUtils.createPartitionedTestState;
 import static com.swirlds.state.test.fixtures.merkle.VirtualMapStateTestUtils.createTestState;
 import static com.swirlds.virtualmap.MerklePathUtils.INVALID_PATH;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,8 +48,10 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.hiero.base.crypto.Cryptography;
 import org.hiero.base.crypto.Hash;
+import org.hiero.base.crypto.HashBuilder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -744,6 +747,88 @@ public class VirtualMapStateImplTest extends MerkleTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Partitioned state tests")
+    class PartitionTest {
+
+        @BeforeEach
+        void setUp() {
+            // Replace the default state with a state, where fruits are stored in a partition
+            virtualMapState.release();
+            virtualMapState = createPartitionedTestState(Set.of(FRUIT_STATE_ID));
+
+            // calling below setup methods only for metadata init
+            setupFruitVirtualMap();
+            setupSingletonCountry();
+            virtualMapState.initializeState(fruitMetadata);
+            virtualMapState.initializeState(countryMetadata);
+
+            final var writableStates = virtualMapState.getWritableStates(FIRST_SERVICE);
+            writableStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(A_KEY, APPLE);
+            writableStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(B_KEY, BANANA);
+            writableStates.<ProtoBytes>getSingleton(COUNTRY_STATE_ID).put(GHANA);
+            ((CommittableWritableStates) writableStates).commit();
+        }
+
+        @Test
+        @DisplayName("K/V states are stored in partitions")
+        void kvStatesAreStoredInPartitions() {
+            final VirtualMap partition = virtualMapState.getPartitions().get(FRUIT_STATE_ID);
+            assertNotNull(partition);
+            assertThat(partition.size()).isEqualTo(2);
+
+            final Bytes stateKey = StateKeyUtils.kvKey(FRUIT_STATE_ID, A_KEY, ProtoBytes.PROTOBUF);
+            assertTrue(partition.containsKey(stateKey));
+            assertFalse(virtualMapState.getRoot().containsKey(stateKey));
+
+            final ReadableKVState<ProtoBytes, ProtoBytes> fruitState =
+                    virtualMapState.getReadableStates(FIRST_SERVICE).get(FRUIT_STATE_ID);
+            assertThat(fruitState.get(A_KEY)).isEqualTo(APPLE);
+            assertThat(fruitState.get(B_KEY)).isEqualTo(BANANA);
+            assertThat(virtualMapState.getKv(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(A_KEY)))
+                    .isEqualTo(ProtoBytes.PROTOBUF.toBytes(APPLE));
+        }
+
+        @Test
+        @DisplayName("State hash includes partition hashes")
+        void hashIncludesPartitions() {
+            final var stateCopy = virtualMapState.copy();
+            virtualMapState.computeHash();
+            assertTrue(virtualMapState.isHashed());
+
+            final Hash hash = virtualMapState.getHash();
+            assertThat(hash).isNotEqualTo(virtualMapState.getRoot().getHash());
+            assertSame(hash, virtualMapState.getHash());
+
+            final VirtualMap partition = virtualMapState.getPartitions().get(FRUIT_STATE_ID);
+            final HashBuilder hashBuilder = new HashBuilder(Cryptography.DEFAULT_DIGEST_TYPE);
+            hashBuilder.update(virtualMapState.getRoot().getHash());
+            hashBuilder.update(FRUIT_STATE_ID);
+            hashBuilder.update(partition.getHash());
+            assertThat(hash).isEqualTo(hashBuilder.build());
+
+            // Unchanged copies have the same hash
+            final var nextCopy = stateCopy.copy();
+            stateCopy.computeHash();
+            assertThat(stateCopy.getHash()).isEqualTo(hash);
+
+            nextCopy.release();
+            stateCopy.release();
+        }
+
+        @Test
+        @DisplayName("Paths and proofs aren't supported for partitioned states")
+        void pathsAndProofsAreNotSupported() {
+            final var stateCopy = virtualMapState.copy();
+            virtualMapState.computeHash();
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> virtualMapState.getKvPath(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(A_KEY)));
+            assertThrows(UnsupportedOperationException.class, () -> virtualMapState.getMerkleProof(1));
+            stateCopy.release();
+        }
+    }
+
     @Nested
     @DisplayName("Path lookup tests")
     class PathLookupTest {
@@ -0,0 +1,159 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle;
+
+import static com.swirlds.state.test.fixtures.merkle.TestStateUtils.destroyStateLifecycleManager;
+import static com.swirlds.state.test.fixtures.merkle.VirtualMapStateTestUtils.createPartitionedTestState;
+import static com.swirlds.state.test.fixtures.merkle.VirtualMapStateTestUtils.createTestState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.hapi.node.state.primitives.ProtoBytes;
+import com.swirlds.base.time.Time;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
+import com.swirlds.state.spi.CommittableWritableStates;
+import com.swirlds.state.test.fixtures.merkle.MerkleTestBase;
+import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import org.hiero.base.crypto.Hash;
+import org.hiero.base.crypto.config.CryptoConfig;
+import org.hiero.consensus.fakes.noop.NoOpMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VirtualMapStateLifecycleManagerTest extends MerkleTestBase {
+
+    @TempDir
+    Path snapshotDir;
+
+    private VirtualMapStateLifecycleManager createManager(final Configuration configuration) {
+        return new VirtualMapStateLifecycleManager(
+                new NoOpMetrics(), Time.getCurrent(), configuration, FILE_SYSTEM_MANAGER);
+    }
+
+    @Test
+    @DisplayName("Partitioned states are rejected at startup, since reconnect doesn't transfer partitions")
+    void partitionedStatesAreRejected() {
+        final Configuration configuration = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withValue("state.virtualMap.partitionedStateIds", String.valueOf(FRUIT_STATE_ID))
+                .build();
+        assertThrows(IllegalStateException.class, () -> createManager(configuration));
+    }
+
+    @Test
+    @DisplayName("Partitions are written to snapshots and loaded with the same state hash")
+    void partitionedSnapshotRoundTrip() throws IOException {
+        final VirtualMapStateImpl state = createPartitionedTestState(Set.of(FRUIT_STATE_ID));
+        setupFruitVirtualMap();
+        setupSingletonCountry();
+        state.initializeState(fruitMetadata);
+        state.initializeState(countryMetadata);
+        final var writableStates = state.getWritableStates(FIRST_SERVICE);
+        writableStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(A_KEY, APPLE);
+        writableStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(B_KEY, BANANA);
+        writableStates.<ProtoBytes>getSingleton(COUNTRY_STATE_ID).put(GHANA);
+        ((CommittableWritableStates) writableStates).commit();
+
+        final VirtualMapStateLifecycleManager savingManager = createManager(CONFIGURATION);
+        final VirtualMapStateLifecycleManager loadingManager = createManager(CONFIGURATION);
+        try {
+            // The state becomes the latest immutable state
+            savingManager.initWithState(state);
+            state.computeHash();
+            final Hash hash = state.getHash();
+            savingManager.createSnapshot(state, snapshotDir);
+
+            final Hash loadedHash = loadingManager.loadSnapshot(snapshotDir);
+            assertEquals(hash, loadedHash, "Loaded snapshot should have the hash of the saved state");
+
+            final VirtualMapStateImpl loaded = (VirtualMapStateImpl) loadingManager.getMutableState();
+            assertEquals(Set.of(FRUIT_STATE_ID), loaded.getPartitions().keySet());
+            final VirtualMap partition = loaded.getPartitions().get(FRUIT_STATE_ID);
+            assertNotNull(partition);
+            assertEquals(2, partition.size());
+            assertFalse(loaded.getRoot().containsKey(StateKeyUtils.kvKey(FRUIT_STATE_ID, A_KEY, ProtoBytes.PROTOBUF)));
+            assertEquals(
+                    ProtoBytes.PROTOBUF.toBytes(APPLE),
+                    loaded.getKv(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(A_KEY)));
+            assertEquals(
+                    ProtoBytes.PROTOBUF.toBytes(BANANA),
+                    loaded.getKv(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(B_KEY)));
+
+            // The loaded state is rehashed from the loaded data, including partitions
+            final VirtualMapState loadedImmutable = loadingManager.getLatestImmutableState();
+            loadedImmutable.computeHash();
+            assertEquals(hash, loadedImmutable.getHash(), "Rehashed loaded state should have the same hash");
+        } finally {
+            destroyStateLifecycleManager(savingManager);
+            destroyStateLifecycleManager(loadingManager);
+        }
+    }
+
+    @Test
+    @DisplayName("Delta log is replayed when a snapshot is loaded after a restart without a new snapshot")
+    void deltaLogReplayOnLoad(@TempDir final Path deltaLogDir) throws IOException {
+        final Configuration deltaLogConfiguration = ConfigurationBuilder.create()
+                .withConfigDataType(VirtualMapConfig.class)
+                .withConfigDataType(MerkleDbConfig.class)
+                .withConfigDataType(VirtualMapStateConfig.class)
+                .withConfigDataType(CryptoConfig.class)
+                .withValue("state.virtualMap.deltaLogDir", deltaLogDir.toString())
+                .build();
+        final VirtualMapStateImpl state = createTestState(FILE_SYSTEM_MANAGER);
+        setupFruitVirtualMap();
+        state.initializeState(fruitMetadata);
+        final var writableStates = state.getWritableStates(FIRST_SERVICE);
+        writableStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(A_KEY, APPLE);
+        ((CommittableWritableStates) writableStates).commit();
+
+        final VirtualMapStateLifecycleManager savingManager = createManager(CONFIGURATION);
+        final VirtualMapStateLifecycleManager firstRunManager = createManager(deltaLogConfiguration);
+        final VirtualMapStateLifecycleManager secondRunManager = createManager(deltaLogConfiguration);
+        try {
+            savingManager.initWithState(state);
+            state.computeHash();
+            final Hash snapshotHash = state.getHash();
+            savingManager.createSnapshot(state, snapshotDir);
+
+            // First run: nothing is logged yet, then a change is made, and the node is stopped
+            // before the next snapshot
+            assertEquals(snapshotHash, firstRunManager.loadSnapshot(snapshotDir));
+            final VirtualMapStateImpl firstRunState = (VirtualMapStateImpl) firstRunManager.getMutableState();
+            firstRunState.initializeState(fruitMetadata);
+            final var firstRunStates = firstRunState.getWritableStates(FIRST_SERVICE);
+            firstRunStates.<ProtoBytes, ProtoBytes>get(FRUIT_STATE_ID).put(B_KEY, BANANA);
+            ((CommittableWritableStates) firstRunStates).commit();
+            firstRunManager.copyMutableState();
+            final VirtualMapState lastLogged = firstRunManager.getLatestImmutableState();
+            lastLogged.computeHash();
+            final Hash lastLoggedHash = lastLogged.getHash();
+            destroyStateLifecycleManager(firstRunManager);
+
+            // Second run: the change is replayed on top of the same snapshot
+            assertEquals(
+                    lastLoggedHash,
+                    secondRunManager.loadSnapshot(snapshotDir),
+                    "Loaded state should have the hash of the last logged copy");
+            final VirtualMapStateImpl loaded = (VirtualMapStateImpl) secondRunManager.getMutableState();
+            assertEquals(
+                    ProtoBytes.PROTOBUF.toBytes(APPLE),
+                    loaded.getKv(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(A_KEY)));
+            assertEquals(
+                    ProtoBytes.PROTOBUF.toBytes(BANANA),
+                    loaded.getKv(FRUIT_STATE_ID, ProtoBytes.PROTOBUF.toBytes(B_KEY)));
+        } finally {
+            destroyStateLifecycleManager(savingManager);
+            destroyStateLifecycleManager(firstRunManager);
+            destroyStateLifecycleManager(secondRunManager);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.swirlds.state.merkle.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.state.primitives.ProtoBytes;
@@ -11,6 +12,7 @@ import com.swirlds.state.merkle.StateUtils;
 import com.swirlds.state.test.fixtures.merkle.MerkleTestBase;
 import com.swirlds.virtualmap.VirtualMap;
 import java.io.IOException;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -86,6 +88,15 @@ class VirtualMapReadableStateTest extends MerkleTestBase {
             assertThat(state.get(F_KEY)).isNull();
             assertThat(state.get(G_KEY)).isNull();
         }
+
+        @Test
+        @DisplayName("Get multiple keys from the virtual map at once")
+        void getAll() {
+            final var values = state.getAll(List.of(C_KEY, D_KEY, A_KEY));
+            assertThat(values).containsExactly(entry(C_KEY, CHERRY), entry(A_KEY, APPLE));
+            assertThat(state.readKeys()).containsExactlyInAnyOrder(A_KEY, C_KEY, D_KEY);
+            assertThat(state.getAll(List.of())).isEmpty();
+        }
     }
 
     @Test
@@ -97,6 +108,18 @@ class VirtualMapReadableStateTest extends MerkleTestBase {
         verify(virtualMapMock).warm(StateUtils.getStateKeyForKv(FRUIT_STATE_ID, A_KEY, ProtoBytes.PROTOBUF));
     }
 
+    @Test
+    @DisplayName("The method warmAll() calls the appropriate method on the virtual map")
+    void warmAll(@Mock VirtualMap virtualMapMock) {
+        final var state = new VirtualMapReadableKVState<>(
+                FRUIT_STATE_ID, FRUIT_STATE_LABEL, ProtoBytes.PROTOBUF, ProtoBytes.PROTOBUF, virtualMapMock);
+        state.warmAll(List.of(A_KEY, B_KEY));
+        verify(virtualMapMock)
+                .warmAll(List.of(
+                        StateUtils.getStateKeyForKv(FRUIT_STATE_ID, A_KEY, ProtoBytes.PROTOBUF),
+                        StateUtils.getStateKeyForKv(FRUIT_STATE_ID, B_KEY, ProtoBytes.PROTOBUF)));
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         fruitVirtualMap.getDataSource().close();
@@ -21,6 +21,7 @@ import com.swirlds.state.lifecycle.StateMetadata;
 import com.swirlds.state.merkle.StateUtils;
 import com.swirlds.state.merkle.StateValue;
 import com.swirlds.state.merkle.StateValue.StateValueCodec;
+import com.swirlds.state.merkle.config.VirtualMapStateConfig;
 import com.swirlds.state.test.fixtures.StateTestBase;
 import com.swirlds.state.test.fixtures.TestArgumentUtils;
 import com.swirlds.virtualmap.VirtualMap;
@@ -64,6 +65,7 @@ public class MerkleTestBase extends StateTestBase {
     protected final Configuration CONFIGURATION = ConfigurationBuilder.create()
             .withConfigDataType(VirtualMapConfig.class)
             .withConfigDataType(MerkleDbConfig.class)
+            .withConfigDataType(VirtualMapStateConfig.class)
             .withConfigDataType(CryptoConfig.class)
             .build();
 
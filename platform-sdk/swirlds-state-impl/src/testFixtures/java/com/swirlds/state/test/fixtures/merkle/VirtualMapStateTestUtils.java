@@ -12,6 +12,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import org.hiero.base.file.FileSystemManager;
 import org.hiero.base.file.FileUtils;
 import org.hiero.base.utility.test.fixtures.file.TestFileSystemManager;
@@ -90,5 +93,25 @@ public final class VirtualMapStateTestUtils {
         return new VirtualMapStateImpl(virtualMap, new NoOpMetrics());
     }
 
+    /**
+     * Creates a virtual map state with separate partitions for the given K/V state IDs.
+     * @param partitionedStateIds the K/V state IDs to store in partitions.
+     * @return the created virtual map state.
+     */
+    public static VirtualMapStateImpl createPartitionedTestState(@NonNull final Set<Integer> partitionedStateIds) {
+        final FileSystemManager fileSystemManager = fallbackFileSystemManager();
+        final MerkleDbConfig merkleDbConfig = CONFIGURATION.getConfigData(MerkleDbConfig.class);
+        final Map<Integer, VirtualMap> partitions = new HashMap<>();
+        for (final int stateId : partitionedStateIds) {
+            final MerkleDbDataSourceBuilder dsBuilder =
+                    new MerkleDbDataSourceBuilder(CONFIGURATION, fileSystemManager, merkleDbConfig.initialCapacity());
+            partitions.put(stateId, new VirtualMap(dsBuilder, CONFIGURATION));
+        }
+        final MerkleDbDataSourceBuilder dsBuilder =
+                new MerkleDbDataSourceBuilder(CONFIGURATION, fileSystemManager, merkleDbConfig.initialCapacity());
+        final VirtualMap virtualMap = new VirtualMap(dsBuilder, CONFIGURATION);
+        return new VirtualMapStateImpl(virtualMap, partitions, new NoOpMetrics());
+    }
+
     private VirtualMapStateTestUtils() {}
 }
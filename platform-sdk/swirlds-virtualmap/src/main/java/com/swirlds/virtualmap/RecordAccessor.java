@@ -149,20 +149,57 @@ public final class RecordAccessor {
     public VirtualLeafBytes findLeafRecord(final @NonNull Bytes key) {
         VirtualLeafBytes rec = cache.lookupLeafByKey(key);
         if (rec == null) {
-            try {
-                rec = dataSource.loadLeafRecord(key);
-                if (rec != null) {
-                    assert rec.keyBytes().equals(key)
-                            : "The key we found from the DB does not match the one we were looking for! key=" + key;
-                }
-            } catch (final IOException ex) {
-                throw new UncheckedIOException("Failed to read a leaf record from the data source by key", ex);
-            }
+            rec = loadLeafRecord(key);
         }
 
         return rec == VirtualNodeCache.DELETED_LEAF_RECORD ? null : rec;
     }
 
+    /**
+     * Loads a leaf node with the given key from the data source. Unlike {@link #findLeafRecord(Bytes)},
+     * this method doesn't check the cache, so it must only be used when the cache is known to not
+     * contain the key.
+     *
+     * @param key The key. Must not be null.
+     * @return The leaf, or null if there is not one in the data source.
+     * @throws UncheckedIOException
+     * 		If we fail to access the data store, then a catastrophic error occurred and
+     * 		an UncheckedIOException is thrown.
+     */
+    @Nullable
+    public VirtualLeafBytes loadLeafRecord(final @NonNull Bytes key) {
+        try {
+            final VirtualLeafBytes rec = dataSource.loadLeafRecord(key);
+            if (rec != null) {
+                assert rec.keyBytes().equals(key)
+                        : "The key we found from the DB does not match the one we were looking for! key=" + key;
+            }
+            return rec;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to read a leaf record from the data source by key", ex);
+        }
+    }
+
+    /**
+     * Loads leaf nodes with the given keys from the data source in bulk. Like {@link #loadLeafRecord(Bytes)},
+     * this method doesn't check the cache, so it must only be used for keys known to not be in the cache.
+     *
+     * @param keys The keys. Must not be null.
+     * @return The leaves, in the same order as the keys. Array elements are null for the keys, for
+     *      which there are no leaves in the data source.
+     * @throws UncheckedIOException
+     * 		If we fail to access the data store, then a catastrophic error occurred and
+     * 		an UncheckedIOException is thrown.
+     */
+    @NonNull
+    public VirtualLeafBytes[] loadLeafRecords(final @NonNull Bytes[] keys) {
+        try {
+            return dataSource.loadLeafRecords(keys);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to read leaf records from the data source by keys", ex);
+        }
+    }
+
     /**
      * Locates and returns a leaf node based on the path. If the leaf
      * node already exists in memory, then the same instance is returned each time.
@@ -33,10 +33,12 @@ import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
 import com.swirlds.virtualmap.internal.AbstractVirtualRoot;
 import com.swirlds.virtualmap.internal.VirtualMapStatistics;
 import com.swirlds.virtualmap.internal.VirtualRoot;
+import com.swirlds.virtualmap.internal.cache.DecodedValueCache;
 import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
 import com.swirlds.virtualmap.internal.hash.FullLeafRehashHashListener;
 import com.swirlds.virtualmap.internal.hash.VirtualHashListener;
 import com.swirlds.virtualmap.internal.hash.VirtualHasher;
+import com.swirlds.virtualmap.internal.pipeline.VirtualDeltaLog;
 import com.swirlds.virtualmap.internal.pipeline.VirtualPipeline;
 import com.swirlds.virtualmap.internal.reconnect.ConcurrentBlockingIterator;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -46,6 +48,9 @@ import java.io.UncheckedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -218,6 +223,14 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
      */
     private final VirtualNodeCache cache;
 
+    /**
+     * A cache of parsed values of leaves loaded from the data source. Shared across all copies of
+     * a {@link VirtualMap}, like the data source. Invalidated on every flush. Null, if parsed
+     * values caching is disabled in the config.
+     */
+    @Nullable
+    private final DecodedValueCache decodedValueCache;
+
     /**
      * A reference to the map metadata, such as the first leaf path, last leaf path.
      */
@@ -328,6 +341,7 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         final int hashChunkHeight = this.dataSource.getHashChunkHeight();
         this.hasher = new VirtualHasher(virtualMapConfig);
         this.cache = new VirtualNodeCache(virtualMapConfig, hashChunkHeight, this.dataSource::loadHashChunk);
+        this.decodedValueCache = createDecodedValueCache(virtualMapConfig);
         this.records = new RecordAccessor(this.metadata, hashChunkHeight, this.cache, this.dataSource);
         this.pipeline = new VirtualPipeline(virtualMapConfig, LABEL);
         this.pipeline.registerCopy(this);
@@ -353,6 +367,7 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         final int hashChunkHeight = this.dataSource.getHashChunkHeight();
         this.hasher = source.hasher;
         this.cache = source.cache.copy();
+        this.decodedValueCache = source.decodedValueCache;
         this.records = new RecordAccessor(this.metadata, hashChunkHeight, this.cache, this.dataSource);
         this.pipeline = source.pipeline;
         this.pipeline.registerCopy(this);
@@ -397,6 +412,7 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         final int hashChunkHeight = this.dataSource.getHashChunkHeight();
         this.hasher = requireNonNull(hasher);
         this.cache = new VirtualNodeCache(virtualMapConfig, hashChunkHeight, this.dataSource::loadHashChunk);
+        this.decodedValueCache = createDecodedValueCache(virtualMapConfig);
         this.records = new RecordAccessor(this.metadata, hashChunkHeight, this.cache, this.dataSource);
         this.pipeline = new VirtualPipeline(virtualMapConfig, LABEL);
         this.pipeline.registerCopy(this);
@@ -613,9 +629,99 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
      */
     public <V> V get(@NonNull final Bytes key, final Codec<V> valueCodec) {
         requireNonNull(key, NO_NULL_KEYS_ALLOWED_MESSAGE);
-        final VirtualLeafBytes<V> rec = records.findLeafRecord(key);
+        if ((decodedValueCache == null) || (valueCodec == null)) {
+            final VirtualLeafBytes<V> rec = records.findLeafRecord(key);
+            statistics.countReadEntities();
+            return rec == null ? null : rec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+        }
         statistics.countReadEntities();
-        return rec == null ? null : rec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+        // Leaves in the node cache keep their parsed values, and they may be different from the
+        // values in the data source, so the node cache must be checked first
+        final VirtualLeafBytes<V> cachedRec = cache.lookupLeafByKey(key);
+        if (cachedRec != null) {
+            return cachedRec == VirtualNodeCache.DELETED_LEAF_RECORD
+                    ? null
+                    : cachedRec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+        }
+        final V decodedValue = decodedValueCache.get(key, valueCodec);
+        if (decodedValue != null) {
+            return decodedValue;
+        }
+        // The epoch must be checked before the record is loaded, see DecodedValueCache for details
+        final long epoch = decodedValueCache.epoch();
+        final VirtualLeafBytes<V> rec = records.loadLeafRecord(key);
+        if (rec == null) {
+            return null;
+        }
+        final V value = rec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+        decodedValueCache.put(key, epoch, valueCodec, rec.valueBytes(), value);
+        return value;
+    }
+
+    /**
+     * Gets the values associated with the given keys. Keys, which aren't found in the node cache or
+     * the decoded value cache, are loaded from the data source in bulk, which is usually much faster
+     * than loading them one by one using {@link #get(Bytes, Codec)}.
+     *
+     * @param keys
+     * 		The keys. The list and the keys must not be null.
+     * @param valueCodec
+     * 		The value codec
+     * @return The values, in the same order as the keys. Values are null for keys not in the map
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <V> List<V> getAll(@NonNull final List<Bytes> keys, final Codec<V> valueCodec) {
+        requireNonNull(keys);
+        final int count = keys.size();
+        final Object[] values = new Object[count];
+        final int[] toLoad = new int[count];
+        int toLoadCount = 0;
+        final boolean useDecodedValueCache = (decodedValueCache != null) && (valueCodec != null);
+        for (int i = 0; i < count; i++) {
+            final Bytes key = requireNonNull(keys.get(i), NO_NULL_KEYS_ALLOWED_MESSAGE);
+            statistics.countReadEntities();
+            final VirtualLeafBytes<V> cachedRec = cache.lookupLeafByKey(key);
+            if (cachedRec != null) {
+                if (cachedRec != VirtualNodeCache.DELETED_LEAF_RECORD) {
+                    values[i] = cachedRec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+                }
+                continue;
+            }
+            final V decodedValue = useDecodedValueCache ? decodedValueCache.get(key, valueCodec) : null;
+            if (decodedValue != null) {
+                values[i] = decodedValue;
+            } else {
+                toLoad[toLoadCount++] = i;
+            }
+        }
+        if (toLoadCount > 0) {
+            final Bytes[] keysToLoad = new Bytes[toLoadCount];
+            for (int j = 0; j < toLoadCount; j++) {
+                keysToLoad[j] = keys.get(toLoad[j]);
+            }
+            // The epoch must be checked before the records are loaded, see DecodedValueCache for details
+            final long epoch = useDecodedValueCache ? decodedValueCache.epoch() : 0;
+            final VirtualLeafBytes<V>[] loaded = records.loadLeafRecords(keysToLoad);
+            for (int j = 0; j < toLoadCount; j++) {
+                final VirtualLeafBytes<V> rec = loaded[j];
+                if (rec == null) {
+                    continue;
+                }
+                final V value = rec.value(valueCodec, virtualMapConfig.valueParseMaxSizeBytes());
+                if (useDecodedValueCache) {
+                    decodedValueCache.put(keysToLoad[j], epoch, valueCodec, rec.valueBytes(), value);
+                }
+                values[toLoad[j]] = value;
+            }
+        }
+        return (List<V>) Arrays.asList(values);
+    }
+
+    @Nullable
+    private static DecodedValueCache createDecodedValueCache(@NonNull final VirtualMapConfig virtualMapConfig) {
+        final int size = virtualMapConfig.decodedValueCacheSize();
+        return size > 0 ? new DecodedValueCache(size, virtualMapConfig.decodedValueCacheMaxValueSize()) : null;
     }
 
     /**
@@ -969,6 +1075,12 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
 
         final long start = System.currentTimeMillis();
         flush(cache, dataSource);
+        if (decodedValueCache != null) {
+            // Leaf values in the data source may be changed by the flush. The cache must be
+            // invalidated before the node cache is released, as readers of newer copies start
+            // loading flushed leaves from the data source after that
+            decodedValueCache.invalidate();
+        }
         cache.release();
         final long end = System.currentTimeMillis();
         flushed.set(true);
@@ -988,6 +1100,7 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
                             targetPath);
                 } else {
                     dataSourceBuilder.snapshot(targetPath, dataSource);
+                    notifyDeltaLogSnapshotCreated();
                     future.complete(null);
                 }
             }
@@ -1154,6 +1267,14 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
      */
     @Override
     public void computeHash() {
+        computeHash(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void computeHash(@Nullable final ChangesListener changesListener) {
         if (hash.get() != null) {
             return;
         }
@@ -1170,20 +1291,47 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
                 cache.putHashChunk(chunk);
             }
         };
-        Hash virtualHash = hasher.hash(
-                dataSource.getHashChunkHeight(),
-                cache::preloadHashChunk,
-                cache.dirtyLeavesForHash(metadata.getFirstLeafPath(), metadata.getLastLeafPath())
-                        .iterator(),
-                metadata.getFirstLeafPath(),
-                metadata.getLastLeafPath(),
-                hashListener);
+        final List<VirtualLeafBytes> dirtyLeaves = cache.dirtyLeavesForHash(
+                        metadata.getFirstLeafPath(), metadata.getLastLeafPath())
+                .toList();
+        if (virtualMapConfig.hashChunkPrefetchEnabled() && !dirtyLeaves.isEmpty()) {
+            // Load all hash chunks needed to hash this copy in bulk, so hashing tasks don't
+            // have to wait for random disk reads
+            final long[] dirtyLeafPaths = new long[dirtyLeaves.size()];
+            for (int i = 0; i < dirtyLeafPaths.length; i++) {
+                dirtyLeafPaths[i] = dirtyLeaves.get(i).path();
+            }
+            cache.prefetchHashChunks(dirtyLeafPaths, dataSource::loadHashChunks);
+        }
+        Hash virtualHash;
+        try {
+            virtualHash = hasher.hash(
+                    dataSource.getHashChunkHeight(),
+                    cache::preloadHashChunk,
+                    dirtyLeaves.iterator(),
+                    metadata.getFirstLeafPath(),
+                    metadata.getLastLeafPath(),
+                    hashListener);
+        } finally {
+            cache.clearPrefetchedHashChunks();
+        }
 
         if (virtualHash == null) {
             final Hash rootHash = (metadata.getSize() == 0) ? null : records.rootHash();
             virtualHash = (rootHash != null) ? rootHash : MerkleHasher.emptyRootHash(Cryptography.DEFAULT_DIGEST_TYPE);
         }
 
+        // Report leaf changes before the copy is marked as hashed. Once hashed, the copy may be merged
+        // to the next copy, and its changes can't be queried anymore
+        if (changesListener != null) {
+            changesListener.onHashed(
+                    virtualHash,
+                    metadata.getFirstLeafPath(),
+                    metadata.getLastLeafPath(),
+                    dirtyLeaves,
+                    cache.deletedLeaves().toList());
+        }
+
         // There are no remaining changes to be made to the cache, so we can seal it.
         cache.seal();
 
@@ -1292,6 +1440,21 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         records.findLeafRecord(key);
     }
 
+    /**
+     * Warms multiple leaf records at once, see {@link #warm(Bytes)}. Leaf records, which aren't in
+     * the node cache, are loaded from the data source in bulk.
+     *
+     * @param keys The keys of the leaves to warm, must not be null
+     */
+    public void warmAll(@NonNull final Collection<Bytes> keys) {
+        final Bytes[] keysToLoad = keys.stream()
+                .filter(key -> cache.lookupLeafByKey(requireNonNull(key, NO_NULL_KEYS_ALLOWED_MESSAGE)) == null)
+                .toArray(Bytes[]::new);
+        if (keysToLoad.length > 0) {
+            records.loadLeafRecords(keysToLoad);
+        }
+    }
+
     // ----------------------
 
     /**
@@ -1415,6 +1578,7 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
             flush(cacheSnapshot.getValue(), dataSourceCopy);
             // And finally snapshot the copy to the target dir
             dataSourceBuilder.snapshot(outputDirectory, dataSourceCopy);
+            notifyDeltaLogSnapshotCreated();
         } finally {
             // Delete the snapshot directory
             FileUtils.deleteDirectory(snapshotPath);
@@ -1425,6 +1589,13 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         }
     }
 
+    private void notifyDeltaLogSnapshotCreated() {
+        final VirtualDeltaLog deltaLog = pipeline.getDeltaLog();
+        if (deltaLog != null) {
+            deltaLog.snapshotCreated();
+        }
+    }
+
     /**
      * Initiates an asynchronous snapshot creation for this virtual map. Unlike {@link #createSnapshot(Path)},
      * this method does not block and instead returns a future that completes when the snapshot is written.
@@ -1461,6 +1632,91 @@ public final class VirtualMap extends AbstractVirtualRoot implements Labeled, Vi
         return virtualMap;
     }
 
+    /**
+     * Enables the delta log for this virtual map and all its future copies. When a copy is hashed,
+     * all its leaf changes are appended to the log. After a restart, the changes can be replayed on
+     * top of the last snapshot using {@link #replayDeltaLog(Path)}, which is much faster than
+     * replaying all transactions since the snapshot round.
+     *
+     * <p>This method must be called on a new or a freshly loaded virtual map, see {@link #loadFromDirectory},
+     * before any changes are made to it, and before changes are replayed to it. Records appended to the log
+     * continue the hash chain from the hash of the map as it was created or loaded, so changes in this run can
+     * be replayed again after the next restart, even if no snapshot is created in between. Replayed changes
+     * are logged as changes of the loaded copy.
+     *
+     * <p>The log is closed when the virtual pipeline is shut down.
+     *
+     * @param logDir the log directory
+     * @throws IOException if the log can't be opened
+     * @throws IllegalStateException if the delta log is already enabled, or if this virtual map is not
+     *      a new or a freshly loaded mutable copy
+     */
+    public void enableDeltaLog(@NonNull final Path logDir) throws IOException {
+        throwIfImmutable();
+        requireNonNull(logDir);
+        if ((fastCopyVersion != 0) || isHashed()) {
+            throw new IllegalStateException("Delta log can only be enabled for a new or freshly loaded virtual map");
+        }
+        final VirtualDeltaLog deltaLog = VirtualDeltaLog.open(logDir, virtualMapConfig, loadedRootHash());
+        try {
+            pipeline.setDeltaLog(deltaLog);
+        } catch (final IllegalStateException e) {
+            deltaLog.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays changes from the delta log in the given directory to this virtual map. This method must
+     * be called on a virtual map just loaded from a snapshot, see {@link #loadFromDirectory}, before
+     * any other changes are made to it. Only changes in copies after the snapshot copy are applied. To
+     * keep logging changes after replay, the delta log must be enabled before replay, see
+     * {@link #enableDeltaLog(Path)}.
+     *
+     * <p>Hashes aren't replayed. When this virtual map is hashed after replay, its hash is expected
+     * to be equal to the returned hash. The caller should verify it.
+     *
+     * @param logDir the log directory
+     * @return the hash of the last replayed copy, or null if no changes were replayed
+     * @throws IOException if the log can't be read
+     * @throws IllegalStateException if this virtual map is not a freshly loaded mutable copy
+     */
+    @Nullable
+    public Hash replayDeltaLog(@NonNull final Path logDir) throws IOException {
+        throwIfImmutable();
+        requireNonNull(logDir);
+        if ((fastCopyVersion != 0) || isHashed()) {
+            throw new IllegalStateException("Delta log can only be replayed to a freshly loaded virtual map");
+        }
+        return VirtualDeltaLog.replay(logDir, loadedRootHash(), this::applyDelta);
+    }
+
+    /**
+     * Returns the root hash of this virtual map as it was created or loaded from a snapshot, before
+     * any changes are made to it.
+     */
+    @NonNull
+    private Hash loadedRootHash() {
+        final Hash rootHash = (metadata.getSize() == 0) ? null : records.rootHash();
+        return (rootHash != null) ? rootHash : MerkleHasher.emptyRootHash(Cryptography.DEFAULT_DIGEST_TYPE);
+    }
+
+    private void applyDelta(
+            final long firstLeafPath,
+            final long lastLeafPath,
+            @NonNull final List<VirtualLeafBytes> dirtyLeaves,
+            @NonNull final List<VirtualLeafBytes> deletedLeaves) {
+        // Deleted leaves first, as their paths may be taken by moved or new leaves
+        for (final VirtualLeafBytes leaf : deletedLeaves) {
+            cache.deleteLeaf(leaf);
+        }
+        for (final VirtualLeafBytes leaf : dirtyLeaves) {
+            cache.putLeaf(leaf);
+        }
+        metadata.setPaths(firstLeafPath, lastLeafPath);
+        statistics.setSize(metadata.getSize());
+    }
+
     /**
      * Gets the number of elements in this map.
      *
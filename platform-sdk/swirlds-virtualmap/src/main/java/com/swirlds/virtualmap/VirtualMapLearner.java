@@ -10,16 +10,19 @@ import com.swirlds.virtualmap.config.VirtualMapConfig;
 import com.swirlds.virtualmap.datasource.DataSourceHashChunkPreloader;
 import com.swirlds.virtualmap.datasource.VirtualDataSource;
 import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.datasource.VirtualHashChunk;
 import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
 import com.swirlds.virtualmap.internal.VirtualMapStatistics;
 import com.swirlds.virtualmap.internal.hash.VirtualHasher;
 import com.swirlds.virtualmap.internal.reconnect.ConcurrentBlockingIterator;
+import com.swirlds.virtualmap.internal.reconnect.ReconnectCheckpoint;
 import com.swirlds.virtualmap.internal.reconnect.ReconnectHashLeafFlusher;
 import com.swirlds.virtualmap.internal.reconnect.ReconnectHashListener;
 import com.swirlds.virtualmap.sync.LearnerTreeExchanger;
 import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -39,10 +42,23 @@ import org.hiero.base.crypto.Hash;
  *     <li>Constructor {@link #VirtualMapLearner(VirtualMap)}</li>
  *     <li>When synchronization starts, the teacher first sends its current leaf path range and triggers {@link #init(long, long)}.</li>
  *     <li>Then on each dirty leaf {@link #onDirtyLeaf(VirtualLeafBytes)} has to be called</li>
+ *     <li>Optionally, once all nodes are received, {@link #completeHashing()} may be called to hash and flush the
+ *     received tree before the map is created, for example, to check hashes of received subtrees with
+ *     {@link #findReconnectedHash(long)}</li>
  *     <li>On successful reconnect completion, the reconnect framework calls {@link #finish()} to finalize synchronization and return new {@link VirtualMap}.</li>
  *     <li>If reconnect fails before successful completion, the caller/reconnect orchestration code is responsible for aborting the reconnect attempt and cleaning up resources associated with the failed attempt via {@link #abortOnException()}.</li>
  * </ul>
  *
+ * <p>If a {@link ReconnectCheckpoint} is provided, all dirty leaves received from the teacher are appended
+ * to it. Leaves restored from the checkpoint, which were received in a previous failed attempt, are offered
+ * to the teacher instead of the original leaves, see {@link #findCheckpointLeafHash(long)} and
+ * {@link #onCleanLeaf(long)}. On successful completion, the checkpoint is deleted. On failure, it's kept
+ * for the next attempt.
+ *
+ * <p>If the learner state is empty, and {@link VirtualMapConfig#reconnectBulkIngestEnabled()} is set, the
+ * reconnect data source is switched to bulk ingest mode in {@link #init(long, long)}, and the mode is completed
+ * in {@link #finish()}, see {@link VirtualDataSource#startBulkIngest()}.
+ *
  * <p>No {@link VirtualMap} is created until {@link #finish()} is called during successful reconnect completion, at which point a fresh, fully
  * initialized {@link VirtualMap} is constructed from the reconnected state.
  *
@@ -80,9 +96,16 @@ public final class VirtualMapLearner {
     private final VirtualMapStatistics statistics;
     private final ReconnectHashLeafFlusher reconnectFlusher;
 
+    /** Reconnect checkpoint, or null if checkpointing is disabled. */
+    @Nullable
+    private final ReconnectCheckpoint checkpoint;
+
     private final ConcurrentBlockingIterator<VirtualLeafBytes> reconnectIterator =
             new ConcurrentBlockingIterator<>(MAX_RECONNECT_HASHING_BUFFER_SIZE);
 
+    /** Whether the reconnect data source is in bulk ingest mode, see {@link VirtualDataSource#startBulkIngest()}. */
+    private volatile boolean bulkIngest = false;
+
     private volatile CompletableFuture<Hash> reconnectHashingFuture;
     private volatile FutureTask<Void> leafDeletionTask;
 
@@ -99,6 +122,8 @@ public final class VirtualMapLearner {
         NEW,
         INITIALIZING,
         INITIALIZED,
+        HASHING,
+        HASHED,
         FINISHING,
         FINISHED,
     }
@@ -116,7 +141,20 @@ public final class VirtualMapLearner {
      * @param originalMap the learner's current virtual map; must not be {@code null}
      */
     public VirtualMapLearner(@NonNull final VirtualMap originalMap) {
+        this(originalMap, null);
+    }
+
+    /**
+     * Creates a new {@link VirtualMapLearner} from the learner's current (outdated) {@link VirtualMap}
+     * with an optional reconnect checkpoint. This learner takes ownership of the checkpoint, it's deleted
+     * on successful completion and closed on failure.
+     *
+     * @param originalMap the learner's current virtual map; must not be {@code null}
+     * @param checkpoint the reconnect checkpoint, or null if checkpointing is disabled
+     */
+    public VirtualMapLearner(@NonNull final VirtualMap originalMap, @Nullable final ReconnectCheckpoint checkpoint) {
         requireNonNull(originalMap, "originalMap must not be null");
+        this.checkpoint = checkpoint;
 
         // Ensure the original map is hashed. Once hashed, all internal nodes are also hashed,
         // which is required for the reconnect process — the teacher uses these hashes to decide
@@ -155,6 +193,19 @@ public final class VirtualMapLearner {
         return originalRecords.findHash(path);
     }
 
+    /**
+     * Returns the hash of a leaf restored from the reconnect checkpoint for the given path. If not null,
+     * this hash must be sent to the teacher for the leaf path instead of the original node hash, and
+     * {@link #onCleanLeaf(long)} must be called, if the teacher reports the path as clean.
+     *
+     * @param path a leaf path in the teacher tree
+     * @return the restored leaf hash, or null if checkpointing is disabled or there is no restored leaf
+     */
+    @Nullable
+    public Hash findCheckpointLeafHash(final long path) {
+        return checkpoint != null ? checkpoint.findRestoredLeafHash(path) : null;
+    }
+
     /**
      * Updates the stage of the reconnect process, ensuring that stage transitions happen in the expected order.
      *
@@ -193,6 +244,16 @@ public final class VirtualMapLearner {
 
         reconnectFlusher.init(firstLeafPath, lastLeafPath);
 
+        // A learner with an empty state only adds leaves to its data source, so the data source may
+        // build its key indices once in the end of reconnect
+        if (virtualMapConfig.reconnectBulkIngestEnabled() && (originalMetadata.getSize() == 0)) {
+            try {
+                bulkIngest = dataSource.startBulkIngest();
+            } catch (final IOException e) {
+                throw new MerkleSynchronizationException("Failed to start bulk ingest to the learner data source", e);
+            }
+        }
+
         startLeafDeletionThread(firstLeafPath, lastLeafPath);
         startReconnectHashingThread(firstLeafPath, lastLeafPath);
 
@@ -201,12 +262,38 @@ public final class VirtualMapLearner {
 
     /**
      * Called when a dirty leaf is received from the teacher. Registers the leaf for stale-key
-     * removal tracking and feeds it into the background hashing pipeline.
+     * removal tracking and feeds it into the background hashing pipeline. If checkpointing is enabled,
+     * the leaf is also appended to the reconnect checkpoint.
      * May block if the hashing thread is slower than the incoming data rate.
      *
      * @param leaf the leaf record received from the teacher; must not be null
      */
     public void onDirtyLeaf(@NonNull final VirtualLeafBytes<?> leaf) {
+        if (checkpoint != null) {
+            checkpoint.append(leaf);
+        }
+        updateLeaf(leaf);
+    }
+
+    /**
+     * Called when the teacher reports a leaf as clean. If the leaf hash sent to the teacher was the hash
+     * of a leaf restored from the reconnect checkpoint, the restored leaf is handled the same way as a
+     * dirty leaf received from the teacher. Otherwise, the original leaf is kept, and this is a no-op.
+     *
+     * @param path the leaf path
+     */
+    public void onCleanLeaf(final long path) {
+        if (checkpoint == null) {
+            return;
+        }
+        final VirtualLeafBytes<?> restoredLeaf = checkpoint.findRestoredLeaf(path);
+        if (restoredLeaf != null) {
+            checkpoint.restoredLeafUsed();
+            updateLeaf(restoredLeaf);
+        }
+    }
+
+    private void updateLeaf(@NonNull final VirtualLeafBytes<?> leaf) {
         assert stage.get() == Stage.INITIALIZED : "reconnect is not initialized yet";
         checkOldLeafToBeDeleted(leaf);
         reconnectFlusher.updateLeaf(leaf);
@@ -237,27 +324,94 @@ public final class VirtualMapLearner {
     }
 
     /**
-     * Signals that all nodes have been received from the teacher, then finalizes the reconnect
-     * process. Waits for hashing to complete and creates the fully initialized {@link VirtualMap}.
+     * Signals that all nodes have been received from the teacher, waits for hashing to complete,
+     * and flushes all received data to the reconnect data source. After this method is called,
+     * hashes in the received tree can be checked using {@link #findReconnectedHash(long)}.
      *
-     * <p>This method is called automatically when the {@link LearnerTreeExchanger} is closed.
+     * <p>If this method isn't called explicitly, it's called by {@link #finish()}.
      *
-     * @return synchronized virtual map
      * @throws MerkleSynchronizationException if hashing fails or if the calling thread is interrupted
      */
-    public VirtualMap finish() {
-        updateStage(Stage.INITIALIZED, Stage.FINISHING);
+    public void completeHashing() {
+        updateStage(Stage.INITIALIZED, Stage.HASHING);
 
-        logger.info(RECONNECT.getMarker(), "Finalizing learner reconnect");
+        logger.info(RECONNECT.getMarker(), "Completing learner reconnect hashing");
 
         reconnectIterator.close();
         waitForLeafDeletionToComplete();
         waitForHashingToComplete();
         reconnectFlusher.finish();
+        if (bulkIngest) {
+            try {
+                dataSource.endBulkIngest();
+            } catch (final IOException e) {
+                throw new MerkleSynchronizationException(
+                        "Failed to complete bulk ingest to the learner data source", e);
+            }
+        }
+
+        updateStage(Stage.HASHING, Stage.HASHED);
+    }
+
+    /**
+     * Returns the hash of a node in the received tree. Must only be called after {@link #completeHashing()}.
+     *
+     * @param path the node path in the teacher tree
+     * @return the node hash, or null if there is no node at the path
+     * @throws MerkleSynchronizationException if the hash can't be loaded from the reconnect data source
+     */
+    @Nullable
+    public Hash findReconnectedHash(final long path) {
+        assert stage.get() == Stage.HASHED : "reconnect hashing is not completed yet";
+        final long firstLeafPath = dataSource.getFirstLeafPath();
+        final long lastLeafPath = dataSource.getLastLeafPath();
+        if ((path < 0) || (path > lastLeafPath)) {
+            return null;
+        }
+        if (path == MerklePathUtils.ROOT_PATH) {
+            return finalHash;
+        }
+        try {
+            final VirtualHashChunk hashChunk =
+                    dataSource.loadHashChunk(VirtualHashChunk.pathToChunkId(path, dataSource.getHashChunkHeight()));
+            return (hashChunk != null)
+                    ? hashChunk.calcHash(MerkleHasher.threadSafeDefault(), path, firstLeafPath, lastLeafPath)
+                    : null;
+        } catch (final IOException e) {
+            throw new MerkleSynchronizationException("Failed to load a hash from the reconnect data source", e);
+        }
+    }
+
+    /**
+     * Signals that all nodes have been received from the teacher, then finalizes the reconnect
+     * process. Waits for hashing to complete, unless already completed with {@link #completeHashing()},
+     * and creates the fully initialized {@link VirtualMap}.
+     *
+     * <p>This method is called automatically when the {@link LearnerTreeExchanger} is closed.
+     *
+     * @return synchronized virtual map
+     * @throws MerkleSynchronizationException if hashing fails or if the calling thread is interrupted
+     */
+    public VirtualMap finish() {
+        if (stage.get() == Stage.INITIALIZED) {
+            completeHashing();
+        }
+        updateStage(Stage.HASHED, Stage.FINISHING);
+
+        logger.info(RECONNECT.getMarker(), "Finalizing learner reconnect");
 
         VirtualMap virtualMap =
                 new VirtualMap(virtualMapConfig, dataSourceBuilder, dataSource, statistics, hasher, finalHash);
 
+        if (checkpoint != null) {
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "Leaves restored from reconnect checkpoint: {}, received from teacher: {}",
+                    checkpoint.getRestoredLeavesUsed(),
+                    checkpoint.getLeavesAppended());
+            checkpoint.delete();
+        }
+
         updateStage(Stage.FINISHING, Stage.FINISHED);
         logger.info(RECONNECT.getMarker(), "Learner reconnect complete");
 
@@ -465,6 +619,10 @@ public final class VirtualMapLearner {
         if (reconnectHashingFuture != null) {
             reconnectHashingFuture.cancel(true);
         }
+        if (checkpoint != null) {
+            // Keep the checkpoint for the next reconnect attempt
+            checkpoint.close();
+        }
         try {
             dataSource.close(false);
         } catch (final Exception e) {
@@ -45,6 +45,27 @@ import com.swirlds.config.api.validation.annotation.Min;
  * @param valueParseMaxSizeBytes
  *      Maximum allowed size for parsing a delimited virtual-map value payload.
  * @param fullRehashTimeoutMs the number of milliseconds to wait for the full leaf rehash to finish before it fail with an exception.
+ * @param hashChunkPrefetchEnabled
+ *      If true, all hash chunks affected by dirty leaves are loaded from the data source in bulk before
+ *      a virtual map copy is hashed, rather than one by one on demand by hashing tasks.
+ * @param decodedValueCacheSize
+ *      Max number of parsed values of leaves loaded from the data source to cache and share across all
+ *      copies of a virtual map. If zero, parsed values are not cached.
+ * @param decodedValueCacheMaxValueSize
+ *      Max size of a serialized leaf value, in bytes, for the value to be cached in the parsed values cache.
+ * @param reconnectBulkIngestEnabled
+ *      If true, and the learner state is empty, the learner data source is switched to bulk ingest mode during
+ *      reconnect. In this mode, data sources may build their key indices once in the end of reconnect rather
+ *      than update them on every flush, see
+ *      {@link com.swirlds.virtualmap.datasource.VirtualDataSource#startBulkIngest()}.
+ * @param deltaLogSyncEveryCopy
+ *      If a delta log is enabled for a virtual map, see {@link com.swirlds.virtualmap.VirtualMap#enableDeltaLog},
+ *      this flag indicates whether the log is synced to disk after the changes of every copy are appended. If
+ *      false, the log is only synced when its segments are rotated, and changes of the last copies may be lost
+ *      on a crash.
+ * @param deltaLogSnapshotsToKeep
+ *      The number of most recent virtual map snapshots, which delta log segments are kept for. Delta log
+ *      segments are rotated every time a snapshot is created, older segments are deleted.
  */
 // spotless:off
 @ConfigData("virtualMap")
@@ -59,7 +80,13 @@ public record VirtualMapConfig(
         @Min(-1) @Max(100) @ConfigProperty(defaultValue = "10.0") double familyThrottlePercent,
         @Min(-1) @ConfigProperty(defaultValue = "-1") long familyThrottleThreshold,
         @Min(1) @ConfigProperty(defaultValue = "37748736") int valueParseMaxSizeBytes,
-        @Min(0) @ConfigProperty(defaultValue = "600000") int fullRehashTimeoutMs) {
+        @Min(0) @ConfigProperty(defaultValue = "600000") int fullRehashTimeoutMs,
+        @ConfigProperty(defaultValue = "true") boolean hashChunkPrefetchEnabled,
+        @Min(0) @ConfigProperty(defaultValue = "16384") int decodedValueCacheSize,
+        @Min(0) @ConfigProperty(defaultValue = "4096") int decodedValueCacheMaxValueSize,
+        @ConfigProperty(defaultValue = "false") boolean reconnectBulkIngestEnabled,
+        @ConfigProperty(defaultValue = "true") boolean deltaLogSyncEveryCopy,
+        @Min(1) @ConfigProperty(defaultValue = "2") int deltaLogSnapshotsToKeep) {
 
     // spotless:on
 
@@ -3,6 +3,8 @@ package com.swirlds.virtualmap.config;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Max;
+import com.swirlds.config.api.validation.annotation.Min;
 import com.swirlds.config.api.validation.annotation.Positive;
 import java.time.Duration;
 
@@ -17,6 +19,19 @@ import java.time.Duration;
  * @param asyncStreamBufferSize                  The size of the buffers for async input and output streams.
  * @param asyncOutputStreamFlush                 In order to ensure that data is not languishing in the
  *                                               asyncOutputStream buffer a periodic flush is performed.
+ * @param compressStreamEnabled                  Whether requests to the teacher are sent in compressed batches. The
+ *                                               teacher accepts both compressed and uncompressed streams.
+ * @param compressedBatchSizeBytes               Max size of an uncompressed batch of requests, when stream compression
+ *                                               is enabled. Must not exceed the teacher's max message size.
+ * @param checkpointEnabled                      Whether leaves received from the teacher are checkpointed to disk next
+ *                                               to the data source directory. If a reconnect attempt fails, the next
+ *                                               attempt offers checkpointed leaves to the teacher, so they are not
+ *                                               transferred again, unless changed.
+ * @param multiTeacherPartitionRank              When a map is reconnected from several teachers in parallel (see
+ *                                               {@code reconnect.maxTeachers}), the rank at which the tree is split
+ *                                               into subtrees. Subtrees are assigned to teachers in contiguous ranges.
+ *                                               Higher ranks give more even split between teachers, lower ranks give
+ *                                               longer contiguous leaf ranges.
  */
 // spotless:off
 @ConfigData("reconnect.learner")
@@ -26,5 +41,9 @@ public record VirtualMapLearnerSyncConfig(
         @ConfigProperty(defaultValue = "256000000") @Positive int maxMessageSizeBytes,
         @ConfigProperty(defaultValue = "60s") Duration asyncStreamIdleTimeout,
         @ConfigProperty(defaultValue = "10000") @Positive int asyncStreamBufferSize,
-        @ConfigProperty(defaultValue = "8ms") Duration asyncOutputStreamFlush) {}
+        @ConfigProperty(defaultValue = "8ms") Duration asyncOutputStreamFlush,
+        @ConfigProperty(defaultValue = "false") boolean compressStreamEnabled,
+        @ConfigProperty(defaultValue = "1048576") @Positive int compressedBatchSizeBytes,
+        @ConfigProperty(defaultValue = "false") boolean checkpointEnabled,
+        @ConfigProperty(defaultValue = "8") @Min(0) @Max(31) int multiTeacherPartitionRank) {}
 // spotless:on
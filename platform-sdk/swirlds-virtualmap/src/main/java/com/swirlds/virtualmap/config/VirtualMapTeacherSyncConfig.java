@@ -16,6 +16,10 @@ import java.time.Duration;
  * @param asyncStreamBufferSize                  The size of the buffers for async input and output streams.
  * @param asyncOutputStreamFlush                 In order to ensure that data is not languishing in the
  *                                               asyncOutputStream buffer a periodic flush is performed.
+ * @param compressStreamEnabled                  Whether responses to the learner are sent in compressed batches. The
+ *                                               learner accepts both compressed and uncompressed streams.
+ * @param compressedBatchSizeBytes               Max size of an uncompressed batch of responses, when stream compression
+ *                                               is enabled. Must not exceed the learner's max message size.
  */
 @ConfigData("reconnect.teacher")
 public record VirtualMapTeacherSyncConfig(
@@ -23,4 +27,6 @@ public record VirtualMapTeacherSyncConfig(
         @ConfigProperty(defaultValue = "8000000") @Positive int maxMessageSizeBytes,
         @ConfigProperty(defaultValue = "60s") Duration asyncStreamIdleTimeout,
         @ConfigProperty(defaultValue = "10000") @Positive int asyncStreamBufferSize,
-        @ConfigProperty(defaultValue = "8ms") Duration asyncOutputStreamFlush) {}
+        @ConfigProperty(defaultValue = "8ms") Duration asyncOutputStreamFlush,
+        @ConfigProperty(defaultValue = "false") boolean compressStreamEnabled,
+        @ConfigProperty(defaultValue = "1048576") @Positive int compressedBatchSizeBytes) {}
@@ -102,6 +102,25 @@ public interface VirtualDataSource {
     @Nullable
     VirtualLeafBytes loadLeafRecord(final long path) throws IOException;
 
+    /**
+     * Load virtual record bytes for multiple leaf nodes by keys. Data sources may look up the keys
+     * in a different order or in parallel, for example, to read them sequentially from disk. The
+     * default implementation loads the records one by one using {@link #loadLeafRecord(Bytes)}.
+     *
+     * @param keys the key bytes for leaves
+     * @return the leaf records, in the same order as the keys. Array elements are {@code null} for
+     *      the keys, for which no records were stored
+     * @throws IOException if there was a problem reading the leaf records
+     */
+    @NonNull
+    default VirtualLeafBytes[] loadLeafRecords(@NonNull final Bytes[] keys) throws IOException {
+        final VirtualLeafBytes[] records = new VirtualLeafBytes[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            records[i] = loadLeafRecord(keys[i]);
+        }
+        return records;
+    }
+
     /**
      * Find the path of the given key.
      *
@@ -121,6 +140,25 @@ public interface VirtualDataSource {
     @Nullable
     VirtualHashChunk loadHashChunk(final long chunkId) throws IOException;
 
+    /**
+     * Load multiple virtual node hash chunks with the given IDs. Data sources may load the chunks in
+     * a different order or in parallel, for example, to read them sequentially from disk. The default
+     * implementation loads the chunks one by one using {@link #loadHashChunk(long)}.
+     *
+     * @param chunkIds The chunk IDs
+     * @return The hash chunks, in the same order as the IDs. Array elements are {@code null} for
+     *      the IDs, for which no chunks were stored
+     * @throws IOException If there was a problem loading the hash chunks from data source
+     */
+    @NonNull
+    default VirtualHashChunk[] loadHashChunks(@NonNull final long[] chunkIds) throws IOException {
+        final VirtualHashChunk[] chunks = new VirtualHashChunk[chunkIds.length];
+        for (int i = 0; i < chunkIds.length; i++) {
+            chunks[i] = loadHashChunk(chunkIds[i]);
+        }
+        return chunks;
+    }
+
     /**
      * Write a snapshot of the current state of the database at this moment in time. This will need to be called between
      * calls to saveRecords to have a reliable state. This will block till the snapshot is completely created.
@@ -177,4 +215,39 @@ public interface VirtualDataSource {
      * Returns the height of hash chunks stored in this data source.
      */
     int getHashChunkHeight();
+
+    /**
+     * Returns the directory, where this data source stores its files, or null if this data source
+     * doesn't store data on disk. The default implementation returns null.
+     */
+    @Nullable
+    default Path getStorageDir() {
+        return null;
+    }
+
+    /**
+     * Switches this data source to bulk ingest mode. This mode is used, when the data source is
+     * populated from scratch, for example, by a learner with an empty state during reconnect. In
+     * this mode, the data source may defer building its key indices till {@link #endBulkIngest()}
+     * is called, so keys can't be looked up in the data source until then. Leaves may only be added
+     * in this mode, but not deleted or moved to different paths.
+     *
+     * <p>The default implementation doesn't support bulk ingest and returns false.
+     *
+     * @return true if the data source is switched to bulk ingest mode, false if bulk ingest is
+     *      not supported, or the data source is not empty
+     * @throws IOException if an I/O error occurred
+     */
+    default boolean startBulkIngest() throws IOException {
+        return false;
+    }
+
+    /**
+     * Completes bulk ingest started with {@link #startBulkIngest()}. All deferred key indices are
+     * built, and the data source is switched back to the regular mode. Must not be called in
+     * parallel with {@link #saveRecords}.
+     *
+     * @throws IOException if an I/O error occurred
+     */
+    default void endBulkIngest() throws IOException {}
 }
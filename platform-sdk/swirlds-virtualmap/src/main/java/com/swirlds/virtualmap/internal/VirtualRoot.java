@@ -1,8 +1,13 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.virtualmap.internal;
 
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
 import org.hiero.base.FastCopyable;
 import org.hiero.base.Reservable;
+import org.hiero.base.crypto.Hash;
 import org.hiero.base.crypto.Hashable;
 import org.hiero.base.io.SerializableDet;
 
@@ -11,6 +16,29 @@ import org.hiero.base.io.SerializableDet;
  */
 public interface VirtualRoot extends FastCopyable, Hashable, Reservable, SerializableDet {
 
+    /**
+     * Receives leaf changes of a copy, when the copy is hashed. See {@link #computeHash(ChangesListener)}.
+     */
+    @FunctionalInterface
+    interface ChangesListener {
+
+        /**
+         * Called with leaf changes of a copy, after its hash is computed.
+         *
+         * @param hash the copy hash
+         * @param firstLeafPath the first leaf path of the copy
+         * @param lastLeafPath the last leaf path of the copy
+         * @param dirtyLeaves leaves changed in the copy
+         * @param deletedLeaves leaves deleted in the copy
+         */
+        void onHashed(
+                @NonNull Hash hash,
+                long firstLeafPath,
+                long lastLeafPath,
+                @NonNull List<VirtualLeafBytes> dirtyLeaves,
+                @NonNull List<VirtualLeafBytes> deletedLeaves);
+    }
+
     /**
      * Check if this copy is a copy that has been designated for flushing. Once designated
      * as a flushable copy, this method should still return true after the flush has completed.
@@ -81,6 +109,18 @@ public interface VirtualRoot extends FastCopyable, Hashable, Reservable, Seriali
      */
     void computeHash();
 
+    /**
+     * Compute the hash for this copy, same as {@link #computeHash()}, and report leaf changes of this copy
+     * to the given listener. The listener is called after the hash is computed, but before this copy is
+     * marked as hashed, so the copy can't be merged or flushed yet. Roots, which don't track leaf changes,
+     * don't call the listener.
+     *
+     * @param changesListener the listener to report leaf changes to, or null
+     */
+    default void computeHash(@Nullable final ChangesListener changesListener) {
+        computeHash();
+    }
+
     /**
      * Called on the most recent remaining copy in the pipeline when the pipeline is
      * shut down gracefully, or due to some catastrophic failure.
@@ -0,0 +1,323 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map with primitive long keys optimized for use by the {@link VirtualNodeCache}, where
+ * paths and hash chunk IDs are used as keys.
+ * <p>
+ * Unlike {@link java.util.concurrent.ConcurrentHashMap ConcurrentHashMap&lt;Long, V&gt;}, this map
+ * doesn't box keys and doesn't allocate a node object per entry. Entries are stored in open-addressing
+ * tables with linear probing: a long array of keys and an array of values. The map is split into a fixed
+ * number of segments, each segment has its own table.
+ * <p>
+ * Reads are lock-free. Updates lock a single segment. Within a table, a slot is never reused for a
+ * different key. When an entry is removed, its key is kept in the slot, but the value is set to null.
+ * Such slots are only dropped, when the segment table is rebuilt. A table is rebuilt, when the number
+ * of used slots exceeds the load factor. Tables are never modified after they are replaced, so readers
+ * that hold a reference to an old table still see consistent (slightly outdated) data.
+ *
+ * @param <V>
+ * 		the value type
+ */
+final class ConcurrentLongKeyMap<V> {
+
+    /**
+     * A function to compute a new value for a key, see {@link #compute(long, Remapping)}.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface Remapping<V> {
+        /**
+         * Computes a new value for the key.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the current value, or null if there is no value for the key
+         * @return the new value, or null to remove the entry
+         */
+        @Nullable
+        V apply(long key, @Nullable V value);
+    }
+
+    /**
+     * A consumer of map entries, see {@link #forEach(EntryConsumer)}.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        /**
+         * Handles a map entry.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the value, never null
+         */
+        void accept(long key, @NonNull V value);
+    }
+
+    /**
+     * A key that is used to mark empty slots. This key may not be stored in the map.
+     */
+    static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    /**
+     * Number of bits to select a segment. Segments are selected by the highest bits of key hashes.
+     */
+    private static final int SEGMENT_BITS = 8;
+
+    /**
+     * Initial number of slots in segment tables. Must be a power of two.
+     */
+    private static final int MIN_TABLE_CAPACITY = 16;
+
+    /**
+     * Segments.
+     */
+    private final Segment<V>[] segments;
+
+    /**
+     * Creates a new empty map.
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentLongKeyMap() {
+        segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Returns the value for the given key, or null if there is no such value in this map.
+     * This method is lock-free.
+     *
+     * @param key
+     * 		the key
+     * @return the value, or null
+     */
+    @Nullable
+    V get(final long key) {
+        final long hash = hash(key);
+        final Table<V> table = segmentFor(hash).table;
+        final AtomicLongArray keys = table.keys;
+        for (int i = (int) hash & table.mask; ; i = (i + 1) & table.mask) {
+            final long k = keys.get(i);
+            if (k == key) {
+                return table.values.get(i);
+            }
+            if (k == EMPTY_KEY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Checks if this map contains a value for the given key. This method is lock-free.
+     *
+     * @param key
+     * 		the key
+     * @return whether there is a value for the key
+     */
+    boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores a value for the given key.
+     *
+     * @param key
+     * 		the key, may not be {@link #EMPTY_KEY}
+     * @param value
+     * 		the value, may not be null
+     */
+    void put(final long key, @NonNull final V value) {
+        requireNonNull(value);
+        compute(key, (k, v) -> value);
+    }
+
+    /**
+     * Computes a new value for the given key, the same way as {@link java.util.Map#compute} does. The
+     * whole method invocation is performed atomically. The remapping function is called under the segment
+     * lock, so it should be short and simple, and must not update this map.
+     *
+     * @param key
+     * 		the key, may not be {@link #EMPTY_KEY}
+     * @param remapping
+     * 		the function to compute a new value
+     * @return the new value, or null if the entry is removed
+     */
+    @Nullable
+    V compute(final long key, @NonNull final Remapping<V> remapping) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key " + key + " is not supported");
+        }
+        final long hash = hash(key);
+        final Segment<V> segment = segmentFor(hash);
+        synchronized (segment) {
+            Table<V> table = segment.table;
+            int i = (int) hash & table.mask;
+            long k;
+            while (((k = table.keys.get(i)) != key) && (k != EMPTY_KEY)) {
+                i = (i + 1) & table.mask;
+            }
+            final V oldValue = (k == key) ? table.values.get(i) : null;
+            final V newValue = remapping.apply(key, oldValue);
+            if (newValue == null) {
+                if (oldValue != null) {
+                    table.values.set(i, null);
+                    segment.size--;
+                }
+                return null;
+            }
+            if (k == key) {
+                if (newValue != oldValue) {
+                    table.values.set(i, newValue);
+                }
+                if (oldValue == null) {
+                    segment.size++;
+                }
+                return newValue;
+            }
+            // A new key
+            if ((table.usedSlots + 1) * 4L > table.keys.length() * 3L) {
+                table = segment.rebuild();
+                i = (int) hash & table.mask;
+                while (table.keys.get(i) != EMPTY_KEY) {
+                    i = (i + 1) & table.mask;
+                }
+            }
+            // The value must be set before the key, so readers that see the key see the value, too
+            table.values.set(i, newValue);
+            table.keys.set(i, key);
+            table.usedSlots++;
+            segment.size++;
+            return newValue;
+        }
+    }
+
+    /**
+     * Calls the given consumer for every entry in this map. If the map is updated concurrently, some
+     * updates may not be visible to the consumer.
+     *
+     * @param consumer
+     * 		the entry consumer
+     */
+    void forEach(@NonNull final EntryConsumer<V> consumer) {
+        requireNonNull(consumer);
+        for (final Segment<V> segment : segments) {
+            final Table<V> table = segment.table;
+            for (int i = 0; i < table.keys.length(); i++) {
+                final long key = table.keys.get(i);
+                if (key != EMPTY_KEY) {
+                    final V value = table.values.get(i);
+                    if (value != null) {
+                        consumer.accept(key, value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries in this map. If the map is updated concurrently, the result
+     * may be inaccurate.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        int size = 0;
+        for (final Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(final long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    /**
+     * Spreads key bits, so sequential keys (paths, chunk IDs) are distributed over all segments
+     * and table slots.
+     */
+    private static long hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * A map segment. All updates to a segment are made under the segment lock.
+     */
+    private static final class Segment<V> {
+
+        /** The current segment table */
+        private volatile Table<V> table = new Table<>(MIN_TABLE_CAPACITY);
+
+        /** The number of entries in the segment */
+        private volatile int size = 0;
+
+        /**
+         * Creates a new table for this segment and copies all entries from the current table to it.
+         * Slots of removed entries are not copied. Must be called under the segment lock.
+         *
+         * @return the new table
+         */
+        private Table<V> rebuild() {
+            final Table<V> oldTable = table;
+            // The new table is at most half full after the next entry is added
+            final int capacity = Math.max(MIN_TABLE_CAPACITY, Integer.highestOneBit((size + 1) * 4 - 1));
+            final Table<V> newTable = new Table<>(capacity);
+            for (int i = 0; i < oldTable.keys.length(); i++) {
+                final long key = oldTable.keys.get(i);
+                final V value = oldTable.values.get(i);
+                if ((key != EMPTY_KEY) && (value != null)) {
+                    int j = (int) hash(key) & newTable.mask;
+                    while (newTable.keys.get(j) != EMPTY_KEY) {
+                        j = (j + 1) & newTable.mask;
+                    }
+                    newTable.values.set(j, value);
+                    newTable.keys.set(j, key);
+                    newTable.usedSlots++;
+                }
+            }
+            table = newTable;
+            return newTable;
+        }
+    }
+
+    /**
+     * An open-addressing table of keys and values.
+     */
+    private static final class Table<V> {
+
+        private final AtomicLongArray keys;
+
+        private final AtomicReferenceArray<V> values;
+
+        private final int mask;
+
+        /** The number of slots with keys, including removed entries. Guarded by the segment lock */
+        private int usedSlots = 0;
+
+        private Table(final int capacity) {
+            keys = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                keys.setPlain(i, EMPTY_KEY);
+            }
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of parsed values of leaves stored in a virtual data source. Values of leaves in the
+ * {@link VirtualNodeCache} are parsed once per leaf record, but every time a leaf is loaded from
+ * the data source, its value is parsed again. This cache lets parsed values of frequently read,
+ * but rarely modified leaves be shared by all reads from all copies of a virtual map.
+ * <p>
+ * The cache only contains values as they are stored in the data source. Callers must check the
+ * {@link VirtualNodeCache} first, since a leaf may be modified in a copy that isn't flushed yet.
+ * Contents of the data source only change, when a copy is flushed. Every flush must be followed
+ * by a call to {@link #invalidate()}, which increments the cache epoch. Every cache entry is
+ * stamped with the epoch when the value was loaded from the data source, and entries from older
+ * epochs are never returned.
+ * <p>
+ * Values are shared between callers, so they must be immutable. This is the case for all PBJ
+ * generated model classes.
+ */
+public final class DecodedValueCache {
+
+    /**
+     * A cache entry.
+     *
+     * @param epoch the cache epoch before the value was loaded from the data source
+     * @param codec the codec used to parse the value
+     * @param value the parsed value
+     */
+    private record Entry(long epoch, @NonNull Codec<?> codec, @NonNull Object value) {}
+
+    /** Max number of entries in the cache. When the cache is full, new entries are not added */
+    private final int maxEntries;
+
+    /** Max size of serialized values to cache. Larger values are not cached */
+    private final int maxValueSize;
+
+    /** The current cache epoch */
+    private final AtomicLong epoch = new AtomicLong(0);
+
+    /** Cache entries, indexed by leaf key bytes */
+    private final ConcurrentHashMap<Bytes, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param maxEntries
+     * 		max number of entries in the cache
+     * @param maxValueSize
+     * 		max size of serialized values to cache, in bytes
+     */
+    public DecodedValueCache(final int maxEntries, final int maxValueSize) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxValueSize = maxValueSize;
+    }
+
+    /**
+     * Returns the current cache epoch. This method must be called before a value is loaded from the
+     * data source, and the epoch must be provided to {@link #put(Bytes, long, Codec, Bytes, Object)}.
+     *
+     * @return the current epoch
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Returns a cached parsed value for the given key, if the value was parsed with the given codec,
+     * and no flushes to the data source happened since the value was loaded.
+     *
+     * @param key
+     * 		the leaf key
+     * @param codec
+     * 		the value codec
+     * @return the cached value, or null if the value isn't cached
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V get(@NonNull final Bytes key, @NonNull final Codec<V> codec) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.epoch() != epoch.get()) {
+            // The entry was added concurrently with a flush, remove it
+            entries.remove(key, entry);
+            return null;
+        }
+        return (entry.codec() == codec) ? (V) entry.value() : null;
+    }
+
+    /**
+     * Adds a parsed value loaded from the data source to this cache. The value is not added, if the
+     * cache is full, if the serialized value is too large, or if the given epoch isn't current.
+     *
+     * @param key
+     * 		the leaf key
+     * @param loadEpoch
+     * 		the cache epoch before the value was loaded, see {@link #epoch()}
+     * @param codec
+     * 		the codec used to parse the value
+     * @param valueBytes
+     * 		the serialized value
+     * @param value
+     * 		the parsed value
+     */
+    public <V> void put(
+            @NonNull final Bytes key,
+            final long loadEpoch,
+            @NonNull final Codec<V> codec,
+            @Nullable final Bytes valueBytes,
+            @Nullable final V value) {
+        if ((value == null) || (valueBytes == null) || (valueBytes.length() > maxValueSize)) {
+            return;
+        }
+        if ((loadEpoch != epoch.get()) || (entries.size() >= maxEntries)) {
+            return;
+        }
+        entries.put(key, new Entry(loadEpoch, requireNonNull(codec), value));
+    }
+
+    /**
+     * Invalidates all entries in this cache. Must be called after every flush to the data source.
+     */
+    public void invalidate() {
+        // The epoch must be incremented before entries are cleared. Entries added after the
+        // entries are cleared, but with older epochs, are ignored by get()
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries in this cache, including entries from old epochs.
+     *
+     * @return the number of cache entries
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -18,9 +18,13 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -78,7 +82,9 @@ import org.hiero.base.exceptions.PlatformException;
  * <p>
  * To fulfill these design requirements, each "chain" of caches share three different indexes:
  * {@link #keyToDirtyLeafIndex}, {@link #pathToDirtyKeyIndex}, and {@link #idToDirtyHashChunkIndex}. Each of these is a
- * map from either the leaf key or a path (long) to a custom linked list data structure. Each element in the list is a
+ * map from either the leaf key or a path (long) to a custom linked list data structure. Path and chunk ID indexes are
+ * {@link ConcurrentLongKeyMap}s, which don't box keys and don't allocate an object per entry, this is important, as
+ * these indexes are updated for every dirty leaf and every dirty hash chunk. Each element in the list is a
  * {@link Mutation} with a reference to the data item (either a {@link VirtualHashChunk} or a {@link VirtualLeafBytes},
  * depending on the list), and a reference to the next {@link Mutation} in the list. In this way, given a leaf key or
  * path (based on the index), you can get the linked list and walk the links from mutation to mutation. The most recent
@@ -161,7 +167,7 @@ public final class VirtualNodeCache {
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, Bytes>> pathToDirtyKeyIndex;
+    private final ConcurrentLongKeyMap<Mutation<Long, Bytes>> pathToDirtyKeyIndex;
 
     /**
      * A shared index of chunk IDs to hash chunks, via {@link Mutation}s. Works the same as
@@ -169,7 +175,16 @@ public final class VirtualNodeCache {
      *
      * <p><strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, VirtualHashChunk>> idToDirtyHashChunkIndex;
+    private final ConcurrentLongKeyMap<Mutation<Long, VirtualHashChunk>> idToDirtyHashChunkIndex;
+
+    /**
+     * Hash chunks loaded from the data source in advance to hash this cache copy, see
+     * {@link #prefetchHashChunks(long[], CheckedFunction)}. Chunks are removed from this map once they
+     * are preloaded by the hasher.
+     *
+     * <p><strong>ONE PER CACHE INSTANCE</strong>.
+     */
+    private final Map<Long, VirtualHashChunk> prefetchedHashChunks = new ConcurrentHashMap<>();
 
     /**
      * Whether this instance is released. A released cache is often the last in the chain, but may be any in the middle
@@ -324,8 +339,8 @@ public final class VirtualNodeCache {
         this.hashChunkHeight = hashChunkHeight;
         this.hashChunkLoader = requireNonNull(hashChunkLoader);
         this.keyToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyKeyIndex = new ConcurrentHashMap<>();
-        this.idToDirtyHashChunkIndex = new ConcurrentHashMap<>();
+        this.pathToDirtyKeyIndex = new ConcurrentLongKeyMap<>();
+        this.idToDirtyHashChunkIndex = new ConcurrentLongKeyMap<>();
         this.lastReleased = new AtomicLong(-1L);
         this.fastCopyVersion.set(fastCopyVersion);
         this.cleaningPool = requireNonNull(cleaningPool);
@@ -998,6 +1013,93 @@ public final class VirtualNodeCache {
         });
     }
 
+    /**
+     * Loads all hash chunks, which will be needed to hash this cache copy, from the data source in a
+     * single bulk request. Without prefetching, hash chunks are loaded one by one by hashing tasks
+     * in {@link #preloadHashChunk(long)}, which results in random disk reads on the hashing path.
+     *
+     * <p>Hash chunks to prefetch are the chunks that contain the given dirty leaf paths, and all
+     * their parent chunks up to the root chunk. Chunks that already have mutations in this cache
+     * are skipped, they are never loaded from the data source. Prefetched chunks are kept till they
+     * are preloaded by the hasher, or till {@link #clearPrefetchedHashChunks()} is called.
+     *
+     * <p>This method must be called before hashing is started.
+     *
+     * @param dirtyLeafPaths paths of all dirty leaves in this cache copy
+     * @param bulkLoader hash chunk loader, usually the current data source, see {@link
+     *      com.swirlds.virtualmap.datasource.VirtualDataSource#loadHashChunks(long[])}
+     * @return the number of prefetched hash chunks
+     */
+    public int prefetchHashChunks(
+            @NonNull final long[] dirtyLeafPaths,
+            @NonNull final CheckedFunction<long[], VirtualHashChunk[], IOException> bulkLoader) {
+        requireNonNull(dirtyLeafPaths);
+        requireNonNull(bulkLoader);
+        final long[] chunkIds = hashChunkIdsForPaths(dirtyLeafPaths, hashChunkHeight);
+        int count = 0;
+        for (final long chunkId : chunkIds) {
+            if (!idToDirtyHashChunkIndex.containsKey(chunkId)) {
+                chunkIds[count++] = chunkId;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long[] idsToLoad = (count == chunkIds.length) ? chunkIds : Arrays.copyOf(chunkIds, count);
+        final VirtualHashChunk[] chunks;
+        try {
+            chunks = bulkLoader.apply(idsToLoad);
+        } catch (final IOException e) {
+            logger.error(VIRTUAL_MERKLE_STATS.getMarker(), "Failed to prefetch {} hash chunks", count, e);
+            throw new UncheckedIOException(e);
+        }
+        int prefetched = 0;
+        for (int i = 0; i < count; i++) {
+            if (chunks[i] != null) {
+                prefetchedHashChunks.put(idsToLoad[i], chunks[i]);
+                prefetched++;
+            }
+        }
+        return prefetched;
+    }
+
+    /**
+     * Drops all prefetched hash chunks, which haven't been used by the hasher. This method should be
+     * called when this cache copy is hashed.
+     */
+    public void clearPrefetchedHashChunks() {
+        prefetchedHashChunks.clear();
+    }
+
+    /**
+     * Returns sorted IDs of all hash chunks that contain the given paths, and all their parent
+     * chunks up to the root chunk.
+     *
+     * @param paths virtual paths
+     * @param hashChunkHeight hash chunk height
+     * @return sorted unique hash chunk IDs
+     */
+    static long[] hashChunkIdsForPaths(@NonNull final long[] paths, final int hashChunkHeight) {
+        final Set<Long> chunkIds = new HashSet<>();
+        for (final long path : paths) {
+            if (path <= 0) {
+                continue;
+            }
+            long chunkPath = VirtualHashChunk.pathToChunkPath(path, hashChunkHeight);
+            // If a chunk is already in the set, so are all its parent chunks
+            while (chunkIds.add(VirtualHashChunk.chunkPathToChunkId(chunkPath, hashChunkHeight)) && (chunkPath > 0)) {
+                chunkPath = VirtualHashChunk.pathToChunkPath(chunkPath, hashChunkHeight);
+            }
+        }
+        final long[] result = new long[chunkIds.size()];
+        int i = 0;
+        for (final long chunkId : chunkIds) {
+            result[i++] = chunkId;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
     /**
      * Preload a hash chunk for the given path. This method is used by virtual hasher to load partially clean/dirty
      * chunks before updating any hashes in them. Completely dirty chunks are not preloaded.
@@ -1020,7 +1122,10 @@ public final class VirtualNodeCache {
                     }
                     long sizeDelta = 0;
                     if (nextMutation == null) {
-                        VirtualHashChunk hashChunk = loadHashChunk(hashChunkId);
+                        VirtualHashChunk hashChunk = prefetchedHashChunks.remove(hashChunkId);
+                        if (hashChunk == null) {
+                            hashChunk = loadHashChunk(hashChunkId);
+                        }
                         if (hashChunk == null) {
                             final long hashChunkPath =
                                     VirtualHashChunk.chunkIdToChunkPath(hashChunkId, hashChunkHeight);
@@ -1126,23 +1231,48 @@ public final class VirtualNodeCache {
             // copy. When this newer mutation is purged, it also takes care of the filtered
             // mutation, so there is no need to handle filtered mutations explicitly
             if (element.notFiltered()) {
-                index.compute(element.key, (key, mutation) -> {
-                    if ((mutation == null) || element.equals(mutation)) {
-                        // Already removed for a more recent mutation
-                        return null;
-                    }
-                    for (Mutation<K, V> m = mutation; m.next != null; m = m.next) {
-                        if (element == m.next) {
-                            m.next = null;
-                            break;
-                        }
-                    }
-                    return mutation;
-                });
+                index.compute(element.key, (key, mutation) -> purgeMutation(element, mutation));
+            }
+        });
+    }
+
+    /**
+     * The same as {@link #purge(ConcurrentArray, Map)}, but for indexes with long keys.
+     *
+     * @param index The index to look through for entries to purge
+     * @param <V>   The value type referenced by the mutation list
+     */
+    private <V> void purge(
+            final ConcurrentArray<Mutation<Long, V>> array, final ConcurrentLongKeyMap<Mutation<Long, V>> index) {
+        array.parallelTraverse(cleaningPool, (i, element) -> {
+            if (element.notFiltered()) {
+                index.compute(element.key, (key, mutation) -> purgeMutation(element, mutation));
             }
         });
     }
 
+    /**
+     * Removes the given mutation from a mutation list.
+     *
+     * @param element  The mutation to remove
+     * @param mutation The mutation list, can be null
+     * @return The new mutation list head, or null if the list is empty
+     */
+    private static <K, V> Mutation<K, V> purgeMutation(
+            final Mutation<K, V> element, @Nullable final Mutation<K, V> mutation) {
+        if ((mutation == null) || element.equals(mutation)) {
+            // Already removed for a more recent mutation
+            return null;
+        }
+        for (Mutation<K, V> m = mutation; m.next != null; m = m.next) {
+            if (element == m.next) {
+                m.next = null;
+                break;
+            }
+        }
+        return mutation;
+    }
+
     /**
      * Node cache contains lists of hash and leaf mutations for every cache version. When caches are merged, the lists
      * are merged, too. To make merges very fast, duplicates aren't removed from the lists on merge. On flush / hash, no
@@ -1193,23 +1323,55 @@ public final class VirtualNodeCache {
             final Map<K, Mutation<K, L>> src,
             final Map<K, Mutation<K, L>> dst,
             final ConcurrentArray<Mutation<K, L>> array) {
-        final long accepted = fastCopyVersion.get();
-        final long rejected = lastReleased.get();
         for (final Map.Entry<K, Mutation<K, L>> entry : src.entrySet()) {
-            Mutation<K, L> mutation = entry.getValue();
-
-            while (mutation != null && mutation.version > accepted) {
-                mutation = mutation.next;
+            final Mutation<K, L> mutation = snapshotMutation(entry.getValue());
+            if (mutation != null) {
+                dst.put(entry.getKey(), mutation);
+                array.add(mutation);
             }
+        }
+    }
 
-            if (mutation == null || mutation.version <= rejected) {
-                continue;
+    /**
+     * The same as {@link #setMapSnapshotAndArray(Map, Map, ConcurrentArray)}, but for indexes with
+     * long keys.
+     *
+     * @param src Map that contains the original mutations
+     * @param dst Map that acts as the destination of mutations
+     * @param <L> Value type
+     */
+    private <L> void setMapSnapshotAndArray(
+            final ConcurrentLongKeyMap<Mutation<Long, L>> src,
+            final ConcurrentLongKeyMap<Mutation<Long, L>> dst,
+            final ConcurrentArray<Mutation<Long, L>> array) {
+        src.forEach((key, value) -> {
+            final Mutation<Long, L> mutation = snapshotMutation(value);
+            if (mutation != null) {
+                dst.put(key, mutation);
+                array.add(mutation);
             }
+        });
+    }
 
-            dst.put(entry.getKey(), mutation);
-            array.add(mutation);
-            // Estimated size is not updated, which is hopefully fine
+    /**
+     * Finds the latest mutation in a mutation list to include to a snapshot of this cache copy. The
+     * mutation version must be less than or equal to the {@code fastCopyVersion}, and must be greater
+     * than the last released version.
+     *
+     * @param mutation The mutation list
+     * @return The mutation to include to the snapshot, or null if there is no such mutation
+     */
+    private <K, L> Mutation<K, L> snapshotMutation(Mutation<K, L> mutation) {
+        final long accepted = fastCopyVersion.get();
+        final long rejected = lastReleased.get();
+        while (mutation != null && mutation.version > accepted) {
+            mutation = mutation.next;
         }
+        if (mutation == null || mutation.version <= rejected) {
+            return null;
+        }
+        // Estimated size is not updated, which is hopefully fine
+        return mutation;
     }
 
     /**
@@ -1311,12 +1473,9 @@ public final class VirtualNodeCache {
         //noinspection unchecked
         builder.append(toDebugStringIndex("keyToDirtyLeafIndex", (Map<Object, Mutation>) (Object) keyToDirtyLeafIndex))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex("pathToDirtyLeafIndex", (Map<Object, Mutation>) (Object) pathToDirtyKeyIndex))
+        builder.append(toDebugStringIndex("pathToDirtyLeafIndex", pathToDirtyKeyIndex))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex(
-                        "idToDirtyHashChunkIndex", (Map<Object, Mutation>) (Object) idToDirtyHashChunkIndex))
+        builder.append(toDebugStringIndex("idToDirtyHashChunkIndex", idToDirtyHashChunkIndex))
                 .append("\n");
         //noinspection unchecked
         builder.append(toDebugStringArray("dirtyLeaves", (ConcurrentArray<Mutation>) (Object) dirtyLeaves));
@@ -1375,6 +1534,13 @@ public final class VirtualNodeCache {
         return builder.toString();
     }
 
+    private String toDebugStringIndex(
+            final String indexName, final ConcurrentLongKeyMap<? extends Mutation> index) {
+        final Map<Object, Mutation> entries = new TreeMap<>();
+        index.forEach(entries::put);
+        return toDebugStringIndex(indexName, entries);
+    }
+
     private String toDebugStringArray(
             final String name, @SuppressWarnings("rawtypes") final ConcurrentArray<Mutation> arr) {
         final StringBuilder builder = new StringBuilder();
@@ -0,0 +1,477 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.pipeline;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+import static com.swirlds.logging.legacy.LogMarker.STARTUP;
+import static com.swirlds.logging.legacy.LogMarker.VIRTUAL_MERKLE_STATS;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hiero.base.crypto.Cryptography;
+import org.hiero.base.crypto.DigestType;
+import org.hiero.base.crypto.Hash;
+
+/**
+ * An append-only log of virtual map changes. When a virtual map copy is hashed, all leaves changed
+ * in the copy, all leaves deleted in the copy, the leaf path range, and the copy hash are appended
+ * to the log as a single record. Since copies are hashed in order, records are appended in order, too.
+ *
+ * <p>On restart, the log is replayed on top of the last virtual map snapshot, see {@link
+ * #replay(Path, Hash, DeltaConsumer)}. Every record contains the hash of the previous copy, so
+ * records form a hash chain. Replay starts with the record, which follows the snapshot hash, and
+ * stops at the end of the chain. When the log is opened, it's given the hash of the virtual map
+ * before any logged changes, so the first record appended after a restart continues the chain.
+ *
+ * <p>The log is split into segment files. A new segment is started every time the log is opened
+ * and every time a virtual map snapshot is created. Old segments, which aren't needed to replay
+ * changes on top of the last {@link VirtualMapConfig#deltaLogSnapshotsToKeep()} snapshots, are
+ * deleted on rotation.
+ *
+ * <p>Segment file format: a sequence of records. Every record is body size (int), body CRC32
+ * checksum (int), and the body. Record body is the previous copy hash, the copy hash, first and
+ * last leaf paths (longs), the number of changed leaves and the number of deleted leaves (ints),
+ * followed by the leaves. Every leaf is its size in bytes (int) and the leaf itself, see {@link
+ * VirtualLeafBytes#writeTo}. Deleted leaves only contain paths and keys. If a segment is truncated
+ * or corrupted, for example, because the node was stopped during a write, records after the last
+ * valid record in the segment are ignored.
+ *
+ * <p>If the log can't be written, an error is logged, and all subsequent changes are ignored. Log
+ * failures don't affect virtual map operations.
+ *
+ * <p>This class is thread safe.
+ */
+public final class VirtualDeltaLog implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(VirtualDeltaLog.class);
+
+    /** Segment file name prefix. */
+    static final String SEGMENT_FILE_PREFIX = "delta-";
+
+    /** Segment file name suffix. */
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    private static final DigestType DIGEST_TYPE = Cryptography.DEFAULT_DIGEST_TYPE;
+
+    private static final int HASH_SIZE = DIGEST_TYPE.digestLength();
+
+    /** Record header size: body size and body checksum. */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /** Record body header size: two hashes, first and last leaf paths, and leaf counts. */
+    private static final int BODY_HEADER_SIZE = HASH_SIZE * 2 + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Applies changes from a single delta log record to a virtual map during replay.
+     */
+    @FunctionalInterface
+    public interface DeltaConsumer {
+
+        /**
+         * Applies changes of a single virtual map copy.
+         *
+         * @param firstLeafPath the first leaf path of the copy
+         * @param lastLeafPath the last leaf path of the copy
+         * @param dirtyLeaves leaves changed in the copy, with their paths
+         * @param deletedLeaves leaves deleted in the copy, with their paths and keys
+         */
+        void apply(
+                long firstLeafPath,
+                long lastLeafPath,
+                @NonNull List<VirtualLeafBytes> dirtyLeaves,
+                @NonNull List<VirtualLeafBytes> deletedLeaves);
+    }
+
+    private final Path logDir;
+
+    private final boolean syncEveryCopy;
+
+    private final int snapshotsToKeep;
+
+    private int segmentIndex;
+
+    private FileChannel channel;
+
+    private DataOutputStream out;
+
+    /** The hash of the last appended copy, or the initial hash, if nothing is appended since the log is opened. */
+    private Hash lastHash;
+
+    private long recordsAppended = 0;
+
+    // Set, if the log couldn't be written. Virtual map operations aren't affected
+    private boolean writeFailed = false;
+
+    private boolean closed = false;
+
+    private VirtualDeltaLog(
+            @NonNull final Path logDir, @NonNull final VirtualMapConfig config, @NonNull final Hash initialHash)
+            throws IOException {
+        if (initialHash.getDigestType() != DIGEST_TYPE) {
+            throw new IllegalArgumentException("Unsupported hash digest type: " + initialHash.getDigestType());
+        }
+        this.logDir = logDir;
+        this.lastHash = initialHash;
+        this.syncEveryCopy = config.deltaLogSyncEveryCopy();
+        this.snapshotsToKeep = config.deltaLogSnapshotsToKeep();
+        Files.createDirectories(logDir);
+        final List<Path> segments = listSegments(logDir);
+        openSegment(segments.isEmpty() ? 0 : segmentIndex(segments.getLast()) + 1);
+    }
+
+    /**
+     * Opens a delta log in the given directory. Existing segments in the directory are kept, new
+     * records are appended to a new segment.
+     *
+     * @param logDir the log directory, created if it doesn't exist
+     * @param config virtual map config
+     * @param initialHash the hash of the virtual map before the first appended copy, it's used as the
+     *      previous hash of the first record
+     * @return the log
+     * @throws IOException if the log can't be opened
+     */
+    @NonNull
+    public static VirtualDeltaLog open(
+            @NonNull final Path logDir, @NonNull final VirtualMapConfig config, @NonNull final Hash initialHash)
+            throws IOException {
+        Objects.requireNonNull(logDir, "logDir must not be null");
+        Objects.requireNonNull(config, "config must not be null");
+        Objects.requireNonNull(initialHash, "initialHash must not be null");
+        final VirtualDeltaLog log = new VirtualDeltaLog(logDir, config, initialHash);
+        logger.info(STARTUP.getMarker(), "Virtual map delta log opened: dir={}, segment={}", logDir, log.segmentIndex);
+        return log;
+    }
+
+    private void openSegment(final int index) throws IOException {
+        final Path segmentFile = segmentFile(logDir, index);
+        channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE));
+        segmentIndex = index;
+    }
+
+    private void closeSegment() throws IOException {
+        try {
+            out.flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    static Path segmentFile(@NonNull final Path logDir, final int index) {
+        return logDir.resolve(SEGMENT_FILE_PREFIX + String.format("%08d", index) + SEGMENT_FILE_SUFFIX);
+    }
+
+    private static int segmentIndex(@NonNull final Path segmentFile) {
+        final String name = segmentFile.getFileName().toString();
+        return Integer.parseInt(
+                name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_SUFFIX.length()));
+    }
+
+    /**
+     * Lists all segment files in the given log directory, sorted by segment index.
+     */
+    static List<Path> listSegments(@NonNull final Path logDir) throws IOException {
+        try (final Stream<Path> files = Files.list(logDir)) {
+            return files.filter(file -> {
+                        final String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_FILE_PREFIX)
+                                && name.endsWith(SEGMENT_FILE_SUFFIX)
+                                && (name.length() > SEGMENT_FILE_PREFIX.length() + SEGMENT_FILE_SUFFIX.length())
+                                && name.substring(
+                                                SEGMENT_FILE_PREFIX.length(),
+                                                name.length() - SEGMENT_FILE_SUFFIX.length())
+                                        .chars()
+                                        .allMatch(Character::isDigit);
+                    })
+                    .sorted(Comparator.comparingInt(VirtualDeltaLog::segmentIndex))
+                    .toList();
+        }
+    }
+
+    /**
+     * Returns the number of records appended to this log since it was opened.
+     */
+    public synchronized long getRecordsAppended() {
+        return recordsAppended;
+    }
+
+    /**
+     * Appends changes of a hashed virtual map copy to this log. Must be called for copies in the
+     * order they are hashed.
+     *
+     * @param hash the copy hash
+     * @param firstLeafPath the first leaf path of the copy
+     * @param lastLeafPath the last leaf path of the copy
+     * @param dirtyLeaves leaves changed in the copy
+     * @param deletedLeaves leaves deleted in the copy
+     */
+    public synchronized void append(
+            @NonNull final Hash hash,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            @NonNull final List<VirtualLeafBytes> dirtyLeaves,
+            @NonNull final List<VirtualLeafBytes> deletedLeaves) {
+        if (closed || writeFailed) {
+            return;
+        }
+        try {
+            final byte[] body =
+                    writeRecordBody(lastHash, hash, firstLeafPath, lastLeafPath, dirtyLeaves, deletedLeaves);
+            final CRC32 crc = new CRC32();
+            crc.update(body);
+            out.writeInt(body.length);
+            out.writeInt((int) crc.getValue());
+            out.write(body);
+            out.flush();
+            if (syncEveryCopy) {
+                channel.force(false);
+            }
+            lastHash = hash;
+            recordsAppended++;
+        } catch (final IOException | RuntimeException e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to write to virtual map delta log, logging is stopped", e);
+            writeFailed = true;
+        }
+    }
+
+    private static byte[] writeRecordBody(
+            @NonNull final Hash prevHash,
+            @NonNull final Hash hash,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            @NonNull final List<VirtualLeafBytes> dirtyLeaves,
+            @NonNull final List<VirtualLeafBytes> deletedLeaves) {
+        final List<VirtualLeafBytes> deletedKeys = new ArrayList<>(deletedLeaves.size());
+        for (final VirtualLeafBytes leaf : deletedLeaves) {
+            // Values of deleted leaves aren't needed for replay
+            deletedKeys.add(new VirtualLeafBytes<>(leaf.path(), leaf.keyBytes(), null));
+        }
+        long size = BODY_HEADER_SIZE;
+        for (final VirtualLeafBytes leaf : dirtyLeaves) {
+            size += Integer.BYTES + leaf.getSizeInBytes();
+        }
+        for (final VirtualLeafBytes leaf : deletedKeys) {
+            size += Integer.BYTES + leaf.getSizeInBytes();
+        }
+        final byte[] body = new byte[Math.toIntExact(size)];
+        final BufferedData buf = BufferedData.wrap(body);
+        writeHash(buf, prevHash);
+        writeHash(buf, hash);
+        buf.writeLong(firstLeafPath);
+        buf.writeLong(lastLeafPath);
+        buf.writeInt(dirtyLeaves.size());
+        buf.writeInt(deletedKeys.size());
+        for (final VirtualLeafBytes leaf : dirtyLeaves) {
+            buf.writeInt(leaf.getSizeInBytes());
+            leaf.writeTo(buf);
+        }
+        for (final VirtualLeafBytes leaf : deletedKeys) {
+            buf.writeInt(leaf.getSizeInBytes());
+            leaf.writeTo(buf);
+        }
+        assert buf.position() == size;
+        return body;
+    }
+
+    private static void writeHash(@NonNull final BufferedData buf, @NonNull final Hash hash) {
+        if (hash.getDigestType() != DIGEST_TYPE) {
+            throw new IllegalArgumentException("Unsupported hash digest type: " + hash.getDigestType());
+        }
+        buf.writeBytes(hash.getBytes());
+    }
+
+    @NonNull
+    private static Hash readHash(@NonNull final BufferedData buf) {
+        final byte[] bytes = new byte[HASH_SIZE];
+        buf.readBytes(bytes);
+        return new Hash(bytes, DIGEST_TYPE);
+    }
+
+    private static List<VirtualLeafBytes> readLeaves(@NonNull final BufferedData buf, final int count) {
+        final List<VirtualLeafBytes> leaves = new ArrayList<>(count);
+        final long limit = buf.limit();
+        for (int i = 0; i < count; i++) {
+            final int size = buf.readInt();
+            buf.limit(buf.position() + size);
+            leaves.add(VirtualLeafBytes.parseFrom(buf));
+            buf.limit(limit);
+        }
+        return leaves;
+    }
+
+    /**
+     * Starts a new segment, called when a virtual map snapshot is created. Segments, which are no
+     * longer needed to replay changes on top of the last {@link VirtualMapConfig#deltaLogSnapshotsToKeep()}
+     * snapshots, are deleted.
+     *
+     * <p>A record for the snapshot copy may be in any of the segments closed since the previous
+     * snapshot, and records for the next copies may be in the same segment. That's why one more
+     * segment than the number of snapshots to keep is retained.
+     */
+    public synchronized void snapshotCreated() {
+        if (closed || writeFailed) {
+            return;
+        }
+        try {
+            closeSegment();
+            openSegment(segmentIndex + 1);
+            for (final Path segment : listSegments(logDir)) {
+                if (segmentIndex(segment) < segmentIndex - snapshotsToKeep - 1) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (final IOException e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to rotate virtual map delta log, logging is stopped", e);
+            writeFailed = true;
+        }
+    }
+
+    /**
+     * Flushes all appended records to disk and closes this log.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeSegment();
+        } catch (final IOException e) {
+            logger.warn(EXCEPTION.getMarker(), "Failed to close virtual map delta log", e);
+        }
+        logger.info(
+                VIRTUAL_MERKLE_STATS.getMarker(),
+                "Virtual map delta log closed: dir={}, records appended: {}",
+                logDir,
+                recordsAppended);
+    }
+
+    /**
+     * Replays changes from delta log segments in the given directory. Records are read in order.
+     * The first record applied is the one, which previous hash is the given base hash. Every next
+     * applied record must have the previous hash equal to the hash of the last applied record. All
+     * other records are skipped.
+     *
+     * @param logDir the log directory
+     * @param baseHash the hash of the virtual map to apply changes to, usually the hash of the last
+     *      virtual map snapshot
+     * @param consumer the consumer to apply changes
+     * @return the hash of the last applied record, which the virtual map hash is expected to match
+     *      after all changes are applied, or null if no records were applied
+     * @throws IOException if delta log segments can't be read
+     */
+    @Nullable
+    public static Hash replay(
+            @NonNull final Path logDir, @NonNull final Hash baseHash, @NonNull final DeltaConsumer consumer)
+            throws IOException {
+        Objects.requireNonNull(logDir, "logDir must not be null");
+        Objects.requireNonNull(baseHash, "baseHash must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        if (!Files.isDirectory(logDir)) {
+            return null;
+        }
+        Hash expectedPrevHash = baseHash;
+        Hash lastAppliedHash = null;
+        long recordsApplied = 0;
+        for (final Path segment : listSegments(logDir)) {
+            try (final FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                final long segmentSize = segmentChannel.size();
+                final DataInputStream in =
+                        new DataInputStream(new BufferedInputStream(Channels.newInputStream(segmentChannel)));
+                long offset = 0;
+                try {
+                    while (offset + RECORD_HEADER_SIZE <= segmentSize) {
+                        final int bodySize = in.readInt();
+                        final int checksum = in.readInt();
+                        if ((bodySize < BODY_HEADER_SIZE) || (offset + RECORD_HEADER_SIZE + bodySize > segmentSize)) {
+                            break;
+                        }
+                        final byte[] body = in.readNBytes(bodySize);
+                        final CRC32 crc = new CRC32();
+                        crc.update(body);
+                        if ((body.length != bodySize) || ((int) crc.getValue() != checksum)) {
+                            break;
+                        }
+                        offset += RECORD_HEADER_SIZE + bodySize;
+                        final BufferedData buf = BufferedData.wrap(body);
+                        final Hash prevHash = readHash(buf);
+                        final Hash hash = readHash(buf);
+                        if (!expectedPrevHash.equals(prevHash)) {
+                            continue;
+                        }
+                        final long firstLeafPath = buf.readLong();
+                        final long lastLeafPath = buf.readLong();
+                        final int dirtyLeafCount = buf.readInt();
+                        final int deletedLeafCount = buf.readInt();
+                        final List<VirtualLeafBytes> dirtyLeaves = readLeaves(buf, dirtyLeafCount);
+                        final List<VirtualLeafBytes> deletedLeaves = readLeaves(buf, deletedLeafCount);
+                        consumer.apply(firstLeafPath, lastLeafPath, dirtyLeaves, deletedLeaves);
+                        expectedPrevHash = hash;
+                        lastAppliedHash = hash;
+                        recordsApplied++;
+                    }
+                } catch (final EOFException e) {
+                    // Incomplete record at the end of the segment
+                }
+                if (offset != segmentSize) {
+                    logger.warn(
+                            STARTUP.getMarker(),
+                            "Virtual map delta log segment {} is truncated from {} to {} bytes",
+                            segment,
+                            segmentSize,
+                            offset);
+                }
+            }
+        }
+        logger.info(
+                STARTUP.getMarker(),
+                "Virtual map delta log replayed: dir={}, records applied: {}, last hash: {}",
+                logDir,
+                recordsApplied,
+                lastAppliedHash);
+        return lastAppliedHash;
+    }
+
+    /**
+     * Deletes all delta log segments in the given directory, for example, when the virtual map state
+     * is replaced during reconnect, and the log no longer describes it.
+     *
+     * @param logDir the log directory
+     * @throws IOException if segments can't be deleted
+     */
+    public static void deleteSegments(@NonNull final Path logDir) throws IOException {
+        Objects.requireNonNull(logDir, "logDir must not be null");
+        if (!Files.isDirectory(logDir)) {
+            return;
+        }
+        for (final Path segment : listSegments(logDir)) {
+            Files.deleteIfExists(segment);
+        }
+    }
+}
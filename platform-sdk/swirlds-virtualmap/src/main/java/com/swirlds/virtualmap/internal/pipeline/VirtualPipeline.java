@@ -12,6 +12,7 @@ import com.swirlds.virtualmap.config.VirtualMapConfig;
 import com.swirlds.virtualmap.internal.VirtualMapStatistics;
 import com.swirlds.virtualmap.internal.VirtualRoot;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
@@ -142,6 +143,12 @@ public class VirtualPipeline {
 
     private final VirtualMapStatistics statistics;
 
+    /**
+     * An optional log of changes in all copies in this pipeline. Changes are appended to the log,
+     * when copies are hashed.
+     */
+    private volatile VirtualDeltaLog deltaLog = null;
+
     /**
      * Create a new pipeline for a family of fast copies on a virtual root.
      */
@@ -169,6 +176,29 @@ public class VirtualPipeline {
         statistics.registerMetrics(metrics);
     }
 
+    /**
+     * Sets the delta log for all copies in this pipeline. The log is closed when the pipeline is
+     * shut down.
+     *
+     * @param deltaLog the delta log
+     * @throws IllegalStateException if the delta log is already set
+     */
+    public synchronized void setDeltaLog(@NonNull final VirtualDeltaLog deltaLog) {
+        Objects.requireNonNull(deltaLog);
+        if (this.deltaLog != null) {
+            throw new IllegalStateException("Delta log is already set");
+        }
+        this.deltaLog = deltaLog;
+    }
+
+    /**
+     * Returns the delta log for all copies in this pipeline, or null if the log isn't set.
+     */
+    @Nullable
+    public VirtualDeltaLog getDeltaLog() {
+        return deltaLog;
+    }
+
     /**
      * Slow down the fast copy operation if total size of all (unreleased) virtual root copies
      * in this pipeline exceeds {@link VirtualMapConfig#getFamilyThrottleThreshold()}.
@@ -305,7 +335,9 @@ public class VirtualPipeline {
                 // outside of the synchronized block. When it finally enters the block, unhashedCopy
                 // is already hashed by the other thread
                 if (!unhashedCopy.isHashed()) {
-                    unhashedCopy.computeHash();
+                    // Copies are hashed in order, so changes are appended to the delta log in order, too
+                    final VirtualDeltaLog log = deltaLog;
+                    unhashedCopy.computeHash(log != null ? log::append : null);
                 }
                 assert unhashedCopy.isHashed();
                 unhashedCopies.remove(unhashedCopy);
@@ -552,6 +584,10 @@ public class VirtualPipeline {
         if (copy != null) {
             copy.onShutdown(immediately);
         }
+        final VirtualDeltaLog log = deltaLog;
+        if (log != null) {
+            log.close();
+        }
     }
 
     private static String uppercaseBoolean(final boolean value) {
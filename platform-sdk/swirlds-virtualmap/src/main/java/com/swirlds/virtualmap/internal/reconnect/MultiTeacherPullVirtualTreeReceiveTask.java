@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.virtualmap.sync.LearnerTreeExchanger;
+import com.swirlds.virtualmap.sync.streams.AsyncInputStream;
+import com.swirlds.virtualmap.sync.streams.YieldStrategy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A task running on the learner side, which is responsible for getting responses from a single
+ * teacher, when a virtual map is reconnected from multiple teachers in parallel.
+ *
+ * <p>Every response is checked against {@link TeacherRequestRouter}. Responses to requests,
+ * which were reassigned to other teachers, are ignored. Responses to subtree verification requests
+ * are passed to the router rather than to the learner view. If the teacher's stream ends while some
+ * requests to the teacher are still outstanding, the teacher is marked as failed.
+ *
+ * <p>This task terminates when no more messages are provided by {@link AsyncInputStream}, or when
+ * a message can't be read or parsed. In the latter case, the teacher is marked as failed, and requests
+ * outstanding to it are sent to other teachers. Exceptions thrown by the learner view are not related
+ * to the teacher, they are propagated to fail the whole reconnect.
+ */
+public class MultiTeacherPullVirtualTreeReceiveTask implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(MultiTeacherPullVirtualTreeReceiveTask.class);
+
+    private final int teacher;
+    private final AsyncInputStream in;
+    private final TeacherRequestRouter router;
+    private final LearnerTreeExchanger treeExchanger;
+
+    /**
+     * Create a thread for receiving responses from a teacher.
+     *
+     * @param teacher
+     * 		the teacher index
+     * @param in
+     * 		the teacher's input stream
+     * @param router
+     * 		the router to check responses against
+     * @param treeExchanger
+     * 		the exchanger used to callback on tree node received
+     */
+    public MultiTeacherPullVirtualTreeReceiveTask(
+            final int teacher,
+            final AsyncInputStream in,
+            final TeacherRequestRouter router,
+            final LearnerTreeExchanger treeExchanger) {
+        this.teacher = teacher;
+        this.in = in;
+        this.router = router;
+        this.treeExchanger = treeExchanger;
+    }
+
+    /**
+     * Main loop for the receiver thread. Reads responses from the async input stream and delegates
+     * them to the learner view. Terminates when input streams returns no more messages to process.
+     */
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final PullVirtualTreeResponse response;
+            try {
+                final byte[] responseBytes = in.readOrWait(YieldStrategy.SLEEP);
+                if (responseBytes == null) {
+                    break;
+                }
+                response = PullVirtualTreeResponse.parseFrom(BufferedData.wrap(responseBytes));
+                if (response.path() < 0) {
+                    throw new IllegalStateException("Invalid path received from teacher: " + response.path());
+                }
+            } catch (final RuntimeException e) {
+                logger.warn(RECONNECT.getMarker(), "Failed to receive a response from teacher {}", teacher, e);
+                router.teacherFailed(teacher);
+                return;
+            }
+            final long path = response.path();
+            if (router.verificationReceived(path, teacher, response.isClean())) {
+                continue;
+            }
+            if (router.responseReceived(path, teacher, treeExchanger.isLeafOnTeacher(path))) {
+                try {
+                    treeExchanger.responseReceived(response);
+                } finally {
+                    router.responseHandled();
+                }
+            }
+        }
+        if (router.hasOutstanding(teacher)) {
+            router.teacherFailed(teacher);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.virtualmap.MerklePathUtils;
+import com.swirlds.virtualmap.sync.LearnerTreeExchanger;
+import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
+import com.swirlds.virtualmap.sync.streams.AsyncOutputStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A task running on the learner side, which is responsible for sending requests to several
+ * teachers, when a virtual map is reconnected from multiple teachers in parallel. Every request
+ * is sent to the teacher chosen by {@link TeacherRequestRouter}.
+ *
+ * <p>Requests outstanding to failed teachers are sent again to other teachers before any new
+ * requests. This task terminates either on exception, or when no more paths are available to
+ * send, and all sent requests are responded. If all teachers fail, this task throws a {@link
+ * MerkleSynchronizationException}.
+ */
+public class MultiTeacherPullVirtualTreeSendTask implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(MultiTeacherPullVirtualTreeSendTask.class);
+
+    private final List<AsyncOutputStream> outs;
+    private final TeacherRequestRouter router;
+    private final LearnerTreeExchanger treeExchanger;
+
+    private final CountDownLatch tasksDone;
+
+    /**
+     * Create a thread for sending node requests to teachers.
+     *
+     * @param outs
+     * 		output streams to teachers, in teacher index order
+     * @param router
+     * 		the router to choose a teacher for every request
+     * @param treeExchanger
+     * 		the exchanger used to determine what to send to teachers
+     * @param tasksDone
+     *      the counter to decrease when this task is finished
+     */
+    public MultiTeacherPullVirtualTreeSendTask(
+            final List<AsyncOutputStream> outs,
+            final TeacherRequestRouter router,
+            final LearnerTreeExchanger treeExchanger,
+            final CountDownLatch tasksDone) {
+        this.outs = outs;
+        this.router = router;
+        this.treeExchanger = treeExchanger;
+        this.tasksDone = tasksDone;
+    }
+
+    /**
+     * Main loop for the sender thread. Sends requests to retry first, then queries the exchanger for
+     * the next path to request. Task finishes when all paths are exhausted, and no requests are
+     * outstanding.
+     */
+    @Override
+    public void run() {
+        try {
+            boolean allPathsSent = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                if (router.allFailed()) {
+                    throw new MerkleSynchronizationException("All teachers failed");
+                }
+                final long retryPath = router.nextRetryPath();
+                if (retryPath != MerklePathUtils.INVALID_PATH) {
+                    sendRequest(retryPath);
+                    continue;
+                }
+                if (!allPathsSent) {
+                    final long path = treeExchanger.getNextPathToSend();
+                    if (path == MerklePathUtils.INVALID_PATH) {
+                        allPathsSent = true;
+                        continue;
+                    }
+                    if (path < 0) {
+                        assert path == NodeTraversalOrder.PATH_NOT_AVAILABLE_YET;
+                        // No path available to send yet. Slow down
+                        Thread.sleep(0, 1);
+                        continue;
+                    }
+                    sendRequest(path);
+                    treeExchanger.onRequestSend();
+                    continue;
+                }
+                if (!router.hasOutstanding()) {
+                    break;
+                }
+                // Requests to failed teachers may need to be sent again, until all are responded
+                Thread.sleep(1);
+            }
+        } catch (final InterruptedException ex) {
+            logger.warn(RECONNECT.getMarker(), "Learner sending task is interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            tasksDone.countDown();
+        }
+    }
+
+    /**
+     * Assigns a request for the given path to a teacher and sends it through the teacher's async output
+     * stream. If the stream fails, the teacher is marked as failed, and the request is queued for retry.
+     *
+     * @param path the path to request
+     * @throws InterruptedException if interrupted while waiting to enqueue
+     */
+    private void sendRequest(final long path) throws InterruptedException {
+        final PullVirtualTreeRequest request = new PullVirtualTreeRequest(path, treeExchanger.getNodeHash(path));
+        final byte[] bytes = new byte[request.getSizeInBytes()];
+        request.writeTo(BufferedData.wrap(bytes));
+        final int teacher = router.assign(path);
+        if (teacher < 0) {
+            throw new MerkleSynchronizationException("All teachers failed");
+        }
+        try {
+            outs.get(teacher).sendAsync(bytes);
+        } catch (final IllegalStateException | MerkleSynchronizationException e) {
+            logger.warn(RECONNECT.getMarker(), "Failed to send a request to teacher {}", teacher, e);
+            router.teacherFailed(teacher);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.virtualmap.MerkleHasher;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hiero.base.crypto.Hash;
+
+/**
+ * A learner reconnect checkpoint. Every dirty leaf received from the teacher is appended to a
+ * checkpoint file. If the reconnect attempt fails, the file is kept, and the next attempt restores
+ * leaves from it. For every leaf path on the teacher, which has a leaf in the checkpoint, the learner
+ * sends the hash of the checkpointed leaf rather than the hash of its original leaf. If the teacher
+ * reports the path as clean, the checkpointed leaf is used, and leaf data isn't transferred again.
+ *
+ * <p>Checkpointed leaves are never trusted blindly. They are only used when confirmed by the teacher,
+ * so a checkpoint can be used to resume reconnect against the same or a different teacher, even if
+ * the teacher state has changed since the checkpoint was written. If the checkpoint file is truncated,
+ * for example, because the node was stopped during a write, leaves after the last complete record
+ * are ignored.
+ *
+ * <p>Checkpoint file format: a sequence of leaf records. Every record is a leaf path (long), leaf
+ * size in bytes (int), and the leaf itself, see {@link VirtualLeafBytes#writeTo}. If a path is
+ * present in the file more than once, the last record wins.
+ *
+ * <p>This class is thread safe. Restored leaves are indexed when the checkpoint is opened, and the
+ * index isn't changed after that. Leaves appended during the current attempt are only restored
+ * in the next attempt.
+ */
+public final class ReconnectCheckpoint implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(ReconnectCheckpoint.class);
+
+    /** Checkpoint file name in the checkpoint directory. */
+    static final String CHECKPOINT_FILE_NAME = "reconnect-leaves.bin";
+
+    /** Leaf record header size: leaf path and leaf size. */
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path checkpointDir;
+
+    private final Path checkpointFile;
+
+    private final FileChannel channel;
+
+    private final DataOutputStream out;
+
+    /** Leaf record offsets in the checkpoint file, by leaf path. Not modified after the checkpoint is opened. */
+    private final Map<Long, Long> restoredLeafOffsets;
+
+    private long restoredLeavesUsed = 0;
+
+    private long leavesAppended = 0;
+
+    // Set, if the checkpoint file couldn't be written. The current reconnect attempt isn't affected
+    private boolean writeFailed = false;
+
+    private boolean closed = false;
+
+    private ReconnectCheckpoint(@NonNull final Path checkpointDir) throws IOException {
+        this.checkpointDir = checkpointDir;
+        Files.createDirectories(checkpointDir);
+        this.checkpointFile = checkpointDir.resolve(CHECKPOINT_FILE_NAME);
+        this.channel = FileChannel.open(
+                checkpointFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.restoredLeafOffsets = new HashMap<>();
+            final long validSize = indexLeaves(channel, restoredLeafOffsets);
+            // Drop the incomplete record at the end of the file, if any. New leaves are appended after
+            // the last complete record
+            channel.truncate(validSize);
+            channel.position(validSize);
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE));
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a checkpoint in the given directory. If the directory contains a checkpoint from a
+     * previous reconnect attempt, its leaves are restored. Otherwise, a new empty checkpoint is
+     * created.
+     *
+     * @param checkpointDir the checkpoint directory, created if it doesn't exist
+     * @return the checkpoint
+     * @throws IOException if the checkpoint can't be opened
+     */
+    @NonNull
+    public static ReconnectCheckpoint open(@NonNull final Path checkpointDir) throws IOException {
+        Objects.requireNonNull(checkpointDir, "checkpointDir must not be null");
+        final ReconnectCheckpoint checkpoint = new ReconnectCheckpoint(checkpointDir);
+        logger.info(
+                RECONNECT.getMarker(),
+                "Reconnect checkpoint opened: dir={}, restored leaves: {}",
+                checkpointDir,
+                checkpoint.restoredLeafOffsets.size());
+        return checkpoint;
+    }
+
+    /**
+     * Reads leaf record headers from the given channel and indexes leaf record offsets by path.
+     *
+     * @return the size of the file up to the end of the last complete record
+     */
+    private static long indexLeaves(final FileChannel channel, final Map<Long, Long> offsets) throws IOException {
+        final long fileSize = channel.size();
+        channel.position(0);
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        long offset = 0;
+        try {
+            while (offset + RECORD_HEADER_SIZE <= fileSize) {
+                final long path = in.readLong();
+                final int size = in.readInt();
+                if ((path <= 0) || (size <= 0) || (offset + RECORD_HEADER_SIZE + size > fileSize)) {
+                    break;
+                }
+                in.skipNBytes(size);
+                offsets.put(path, offset);
+                offset += RECORD_HEADER_SIZE + size;
+            }
+        } catch (final EOFException e) {
+            // Incomplete record at the end of the file
+        }
+        if (offset != fileSize) {
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "Reconnect checkpoint file is truncated from {} to {} bytes",
+                    fileSize,
+                    offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the number of leaves restored from a previous reconnect attempt.
+     */
+    public int getRestoredLeafCount() {
+        return restoredLeafOffsets.size();
+    }
+
+    /**
+     * Returns the number of restored leaves confirmed by the teacher and used in the current attempt.
+     */
+    public synchronized long getRestoredLeavesUsed() {
+        return restoredLeavesUsed;
+    }
+
+    /**
+     * Returns the number of leaves appended to this checkpoint in the current attempt.
+     */
+    public synchronized long getLeavesAppended() {
+        return leavesAppended;
+    }
+
+    /**
+     * Loads a leaf restored from a previous reconnect attempt.
+     *
+     * @param path the leaf path
+     * @return the restored leaf, or null if there is no leaf for the path in the checkpoint
+     */
+    @Nullable
+    public VirtualLeafBytes<?> findRestoredLeaf(final long path) {
+        final Long offset = restoredLeafOffsets.get(path);
+        if (offset == null) {
+            return null;
+        }
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            readFully(header, offset);
+            header.flip();
+            final long recordPath = header.getLong();
+            final int size = header.getInt();
+            assert recordPath == path;
+            final ByteBuffer leafBytes = ByteBuffer.allocate(size);
+            readFully(leafBytes, offset + RECORD_HEADER_SIZE);
+            leafBytes.flip();
+            final VirtualLeafBytes<?> leaf = VirtualLeafBytes.parseFrom(BufferedData.wrap(leafBytes));
+            return leaf.withPath(path);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read a leaf from reconnect checkpoint, path=" + path, e);
+        }
+    }
+
+    /**
+     * Returns the hash of a leaf restored from a previous reconnect attempt.
+     *
+     * @param path the leaf path
+     * @return the restored leaf hash, or null if there is no leaf for the path in the checkpoint
+     */
+    @Nullable
+    public Hash findRestoredLeafHash(final long path) {
+        final VirtualLeafBytes<?> leaf = findRestoredLeaf(path);
+        return leaf != null ? MerkleHasher.threadSafeDefault().leafNodeHash(leaf) : null;
+    }
+
+    /**
+     * Records that a restored leaf was confirmed by the teacher and used in the current attempt.
+     */
+    public synchronized void restoredLeafUsed() {
+        restoredLeavesUsed++;
+    }
+
+    private void readFully(final ByteBuffer buf, final long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            final int read = channel.read(buf, pos);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of reconnect checkpoint file");
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Appends a leaf received from the teacher to this checkpoint. If the checkpoint can't be
+     * written, a warning is logged, and all subsequent leaves are ignored. Checkpoint failures
+     * don't fail the current reconnect attempt.
+     *
+     * @param leaf the leaf to append
+     */
+    public synchronized void append(@NonNull final VirtualLeafBytes<?> leaf) {
+        if (closed || writeFailed) {
+            return;
+        }
+        try {
+            final int size = leaf.getSizeInBytes();
+            final byte[] leafBytes = new byte[size];
+            leaf.writeTo(BufferedData.wrap(leafBytes));
+            out.writeLong(leaf.path());
+            out.writeInt(size);
+            out.write(leafBytes);
+            leavesAppended++;
+        } catch (final IOException e) {
+            logger.warn(RECONNECT.getMarker(), "Failed to write to reconnect checkpoint, checkpointing is stopped", e);
+            writeFailed = true;
+        }
+    }
+
+    /**
+     * Flushes all appended leaves to disk and closes this checkpoint. The checkpoint file is kept,
+     * so it can be restored in the next reconnect attempt.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.flush();
+            channel.force(false);
+        } catch (final IOException e) {
+            logger.warn(RECONNECT.getMarker(), "Failed to flush reconnect checkpoint", e);
+        } finally {
+            closeChannel();
+        }
+        logger.info(
+                RECONNECT.getMarker(),
+                "Reconnect checkpoint closed: restored leaves used: {}, leaves appended: {}",
+                restoredLeavesUsed,
+                leavesAppended);
+    }
+
+    /**
+     * Closes this checkpoint and deletes the checkpoint file and directory. Called when reconnect
+     * is complete, and the checkpoint is no longer needed.
+     */
+    public synchronized void delete() {
+        closed = true;
+        closeChannel();
+        try {
+            Files.deleteIfExists(checkpointFile);
+            Files.deleteIfExists(checkpointDir);
+        } catch (final IOException e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to delete reconnect checkpoint, dir={}", checkpointDir, e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            logger.warn(RECONNECT.getMarker(), "Failed to close reconnect checkpoint file", e);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.swirlds.virtualmap.MerklePathUtils;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Routes learner requests to teachers, when a virtual map is reconnected from several teachers
+ * in parallel. All teachers must hold the same state (the same round).
+ *
+ * <p>The tree is split into disjoint subtrees at the partition rank. Subtrees are assigned to
+ * live teachers in contiguous ranges, so every teacher serves a continuous range of leaf paths.
+ * Paths above the partition rank are assigned to the teacher, which serves the leftmost subtree
+ * below the path.
+ *
+ * <p>Every request sent to a teacher is tracked as outstanding, until a response for it is
+ * received. If a teacher fails, it's excluded from routing, and all requests outstanding to it
+ * are queued for retry. Retried requests, as well as all new requests, are assigned to the
+ * remaining live teachers. Late responses from failed teachers are ignored.
+ *
+ * <p>Connection failures are not the only way a teacher may fail. A teacher may send leaves, which don't
+ * match its own state. To detect it, the router tracks teachers, which served leaves in every subtree. Once
+ * all responses are received, and the received tree is hashed, every such subtree is verified: the hash of
+ * the subtree root in the received tree is sent to a teacher, which served leaves in the subtree, see {@link
+ * #startVerification()}. If the teacher doesn't report the hash as clean, all teachers, which served leaves
+ * in the subtree, are considered inconsistent and failed, see {@link #getInconsistentTeachers()}.
+ *
+ * <p>This class is thread safe.
+ */
+public final class TeacherRequestRouter {
+
+    private static final Logger logger = LogManager.getLogger(TeacherRequestRouter.class);
+
+    private final int teacherCount;
+
+    private final int partitionRank;
+
+    private final boolean[] failed;
+
+    private final IntConsumer teacherFailureAction;
+
+    // Indices of live teachers, in ascending order
+    private int[] liveTeachers;
+
+    /** Outstanding request paths, mapped to teachers the requests are sent to. */
+    private final Map<Long, Integer> outstanding = new HashMap<>();
+
+    private final Queue<Long> retryPaths = new ArrayDeque<>();
+
+    /** The number of received responses, which are being handled by the learner. */
+    private int responsesInHandling;
+
+    /** Teachers, which served leaves in every subtree, by subtree verification paths. */
+    private final Map<Long, BitSet> leafSenders = new HashMap<>();
+
+    /** Subtree verification paths, which haven't been sent to teachers yet. */
+    private final Queue<Long> pendingVerifications = new ArrayDeque<>();
+
+    /** Outstanding subtree verification paths, mapped to teachers the requests are sent to. */
+    private final Map<Long, Integer> outstandingVerifications = new HashMap<>();
+
+    private final boolean[] inconsistent;
+
+    /**
+     * Creates a new router.
+     *
+     * @param teacherCount the number of teachers, must be positive
+     * @param partitionRank the rank, at which the tree is split into subtrees
+     * @param teacherFailureAction the action to run once for every failed teacher, for example,
+     *      to break the connection to the teacher
+     */
+    public TeacherRequestRouter(
+            final int teacherCount, final int partitionRank, @NonNull final IntConsumer teacherFailureAction) {
+        if (teacherCount <= 0) {
+            throw new IllegalArgumentException("teacherCount must be positive");
+        }
+        if ((partitionRank < 0) || (partitionRank > MerklePathUtils.MAX_RANK_VALUE / 2)) {
+            throw new IllegalArgumentException("Wrong partition rank: " + partitionRank);
+        }
+        this.teacherCount = teacherCount;
+        this.partitionRank = partitionRank;
+        this.failed = new boolean[teacherCount];
+        this.inconsistent = new boolean[teacherCount];
+        this.teacherFailureAction =
+                Objects.requireNonNull(teacherFailureAction, "teacherFailureAction must not be null");
+        this.liveTeachers = new int[teacherCount];
+        for (int i = 0; i < teacherCount; i++) {
+            liveTeachers[i] = i;
+        }
+    }
+
+    /**
+     * Returns the total number of teachers, including failed ones.
+     */
+    public int getTeacherCount() {
+        return teacherCount;
+    }
+
+    /**
+     * Returns the number of teachers, which haven't failed yet.
+     */
+    public synchronized int getLiveTeacherCount() {
+        return liveTeachers.length;
+    }
+
+    /**
+     * Checks if the given teacher has failed.
+     *
+     * @param teacher the teacher index
+     * @return true if the teacher has failed
+     */
+    public synchronized boolean isFailed(final int teacher) {
+        return failed[teacher];
+    }
+
+    /**
+     * Checks if all teachers have failed. If so, no requests can be routed anymore.
+     */
+    public synchronized boolean allFailed() {
+        return liveTeachers.length == 0;
+    }
+
+    /**
+     * Returns the index of the subtree at the partition rank, which contains the given path, or
+     * for paths above the partition rank, the index of the leftmost subtree under the path.
+     */
+    long getSubtreeIndex(final long path) {
+        final int rank = MerklePathUtils.getRank(path);
+        final long indexInRank = MerklePathUtils.getIndexInRank(path);
+        return (rank >= partitionRank) ? indexInRank >> (rank - partitionRank) : indexInRank << (partitionRank - rank);
+    }
+
+    /**
+     * Returns the path, which is used to verify the subtree containing the given leaf path. It's the
+     * ancestor of the leaf at the partition rank, or the leaf itself, if it's above the partition rank.
+     */
+    long getVerificationPath(final long leafPath) {
+        final int rank = MerklePathUtils.getRank(leafPath);
+        return (rank > partitionRank) ? MerklePathUtils.getGrandParentPath(leafPath, rank - partitionRank) : leafPath;
+    }
+
+    /**
+     * Assigns a request for the given path to a live teacher and marks it as outstanding.
+     *
+     * @param path the request path
+     * @return the teacher index, or -1 if all teachers have failed
+     */
+    public synchronized int assign(final long path) {
+        final int teacher = chooseLiveTeacher(path);
+        if (teacher >= 0) {
+            outstanding.put(path, teacher);
+        }
+        return teacher;
+    }
+
+    private int chooseLiveTeacher(final long path) {
+        final int liveCount = liveTeachers.length;
+        if (liveCount == 0) {
+            return -1;
+        }
+        return liveTeachers[(int) ((getSubtreeIndex(path) * liveCount) >> partitionRank)];
+    }
+
+    /**
+     * Called when a response for the given path is received from the given teacher. If the response
+     * should be handled, {@link #responseHandled()} must be called, once the learner is done with it.
+     *
+     * @param path the response path
+     * @param teacher the teacher index
+     * @param leaf whether the path is a leaf path in the teacher tree
+     * @return true if the response should be handled, false if the request was reassigned to a
+     *      different teacher, or the response is a duplicate
+     */
+    public synchronized boolean responseReceived(final long path, final int teacher, final boolean leaf) {
+        final Integer assigned = outstanding.get(path);
+        if ((assigned == null) || (assigned != teacher)) {
+            return false;
+        }
+        outstanding.remove(path);
+        responsesInHandling++;
+        if (leaf) {
+            leafSenders
+                    .computeIfAbsent(getVerificationPath(path), p -> new BitSet(teacherCount))
+                    .set(teacher);
+        }
+        return true;
+    }
+
+    /**
+     * Called when the learner is done with a response, for which {@link #responseReceived(long, int, boolean)}
+     * returned true.
+     */
+    public synchronized void responseHandled() {
+        responsesInHandling--;
+    }
+
+    /**
+     * Marks the given teacher as failed. All requests outstanding to the teacher are queued for retry,
+     * and the teacher failure action is run. This method is idempotent.
+     *
+     * @param teacher the teacher index
+     */
+    public void teacherFailed(final int teacher) {
+        if (markFailed(teacher)) {
+            teacherFailureAction.accept(teacher);
+        }
+    }
+
+    private synchronized boolean markFailed(final int teacher) {
+        if (failed[teacher]) {
+            return false;
+        }
+        failed[teacher] = true;
+        final int[] newLive = new int[liveTeachers.length - 1];
+        int j = 0;
+        for (final int t : liveTeachers) {
+            if (t != teacher) {
+                newLive[j++] = t;
+            }
+        }
+        liveTeachers = newLive;
+        final List<Long> paths = removeOutstanding(outstanding, teacher);
+        // Retry in path order, so leaves are requested in the same order as originally
+        retryPaths.addAll(paths);
+        // Subtrees, which were being verified by the teacher, are verified by other teachers
+        pendingVerifications.addAll(removeOutstanding(outstandingVerifications, teacher));
+        logger.warn(
+                RECONNECT.getMarker(),
+                "Teacher {} failed, requests to retry: {}, live teachers: {}",
+                teacher,
+                paths.size(),
+                liveTeachers.length);
+        return true;
+    }
+
+    /**
+     * Removes all requests outstanding to the given teacher from the given map.
+     *
+     * @return removed request paths, sorted
+     */
+    private static List<Long> removeOutstanding(final Map<Long, Integer> requests, final int teacher) {
+        final List<Long> paths = new ArrayList<>();
+        final Iterator<Map.Entry<Long, Integer>> it = requests.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<Long, Integer> entry = it.next();
+            if (entry.getValue() == teacher) {
+                paths.add(entry.getKey());
+                it.remove();
+            }
+        }
+        paths.sort(Long::compare);
+        return paths;
+    }
+
+    /**
+     * Returns the next path to request again after a teacher failure, or {@link
+     * MerklePathUtils#INVALID_PATH} if there are no requests to retry.
+     */
+    public synchronized long nextRetryPath() {
+        final Long path = retryPaths.poll();
+        return path != null ? path : MerklePathUtils.INVALID_PATH;
+    }
+
+    /**
+     * Checks if there are requests, which are sent to teachers and not responded yet, or queued for retry,
+     * or responses, which are still being handled by the learner.
+     */
+    public synchronized boolean hasOutstanding() {
+        return !outstanding.isEmpty() || !retryPaths.isEmpty() || (responsesInHandling > 0);
+    }
+
+    /**
+     * Checks if there are requests outstanding to the given teacher.
+     *
+     * @param teacher the teacher index
+     */
+    public synchronized boolean hasOutstanding(final int teacher) {
+        return outstanding.containsValue(teacher);
+    }
+
+    /**
+     * Starts verification of all subtrees, which contain leaves received from teachers. Must be called
+     * after all responses are received, and the received tree is hashed.
+     *
+     * @return the number of subtrees to verify
+     */
+    public synchronized int startVerification() {
+        final List<Long> paths = new ArrayList<>(leafSenders.keySet());
+        paths.sort(Long::compare);
+        pendingVerifications.addAll(paths);
+        return paths.size();
+    }
+
+    /**
+     * Returns the next subtree verification path to send to a teacher, or {@link MerklePathUtils#INVALID_PATH}
+     * if there are no verifications to send at the moment.
+     */
+    public synchronized long nextVerificationPath() {
+        final Long path = pendingVerifications.poll();
+        return path != null ? path : MerklePathUtils.INVALID_PATH;
+    }
+
+    /**
+     * Assigns a subtree verification to a live teacher and marks it as outstanding. The last live teacher,
+     * which served leaves in the subtree, is preferred. If all of them have failed, the subtree is verified
+     * by the teacher, which the subtree is currently assigned to.
+     *
+     * @param path the subtree verification path
+     * @return the teacher index, or -1 if all teachers have failed
+     */
+    public synchronized int assignVerification(final long path) {
+        int teacher = -1;
+        final BitSet senders = leafSenders.get(path);
+        if (senders != null) {
+            for (int t = senders.nextSetBit(0); t >= 0; t = senders.nextSetBit(t + 1)) {
+                if (!failed[t]) {
+                    teacher = t;
+                }
+            }
+        }
+        if (teacher < 0) {
+            teacher = chooseLiveTeacher(path);
+        }
+        if (teacher >= 0) {
+            outstandingVerifications.put(path, teacher);
+        }
+        return teacher;
+    }
+
+    /**
+     * Called when a response for the given path is received from the given teacher. If the response
+     * is for an outstanding subtree verification, and the teacher doesn't report the subtree as clean,
+     * the teacher and all teachers, which served leaves in the subtree, are marked as inconsistent and
+     * failed.
+     *
+     * @param path the response path
+     * @param teacher the teacher index
+     * @param isClean whether the teacher reported the node hash as clean
+     * @return true if the response is for an outstanding subtree verification, false otherwise
+     */
+    public boolean verificationReceived(final long path, final int teacher, final boolean isClean) {
+        final List<Integer> toFail = new ArrayList<>();
+        synchronized (this) {
+            final Integer assigned = outstandingVerifications.get(path);
+            if ((assigned == null) || (assigned != teacher)) {
+                return false;
+            }
+            outstandingVerifications.remove(path);
+            if (isClean) {
+                return true;
+            }
+            final BitSet senders = leafSenders.getOrDefault(path, new BitSet());
+            senders.set(teacher);
+            for (int t = senders.nextSetBit(0); t >= 0; t = senders.nextSetBit(t + 1)) {
+                inconsistent[t] = true;
+                toFail.add(t);
+            }
+            logger.warn(
+                    RECONNECT.getMarker(),
+                    "Subtree at path {} doesn't match teacher {}, inconsistent teachers: {}",
+                    path,
+                    teacher,
+                    toFail);
+        }
+        toFail.forEach(this::teacherFailed);
+        return true;
+    }
+
+    /**
+     * Checks if there are subtree verifications, which are not sent to teachers yet, or not responded yet.
+     */
+    public synchronized boolean hasPendingVerifications() {
+        return !pendingVerifications.isEmpty() || !outstandingVerifications.isEmpty();
+    }
+
+    /**
+     * Returns indices of teachers, which sent leaves not matching their own state, in ascending order.
+     */
+    @NonNull
+    public synchronized List<Integer> getInconsistentTeachers() {
+        final List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < teacherCount; i++) {
+            if (inconsistent[i]) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.sync;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * This exception is thrown, when a map is reconnected from several teachers, and some teachers sent leaves,
+ * which don't match their own state. The received map can't be used. Reconnect may be retried without the
+ * inconsistent teachers.
+ */
+public class InconsistentTeachersException extends MerkleSynchronizationException {
+
+    private final List<Integer> teachers;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param teachers indices of inconsistent teachers, in the order teachers were provided to the learner
+     */
+    public InconsistentTeachersException(@NonNull final List<Integer> teachers) {
+        super("Teachers sent leaves, which don't match their state: " + teachers);
+        this.teachers = List.copyOf(teachers);
+    }
+
+    /**
+     * Returns indices of inconsistent teachers, in the order teachers were provided to the learner.
+     */
+    @NonNull
+    public List<Integer> getTeachers() {
+        return teachers;
+    }
+}
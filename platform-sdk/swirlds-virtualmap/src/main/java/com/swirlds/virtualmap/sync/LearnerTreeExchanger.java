@@ -94,6 +94,25 @@ public final class LearnerTreeExchanger {
         handleResponse(rootResponse);
     }
 
+    /**
+     * Called when all responses are received from the teacher to hash the received tree before the
+     * map is created, see {@link #getReconnectedHash(long)}.
+     */
+    void completeHashing() {
+        vmapLearner.completeHashing();
+    }
+
+    /**
+     * Get the hash of a node in the received tree. Must only be called after {@link #completeHashing()}.
+     *
+     * @param path the node path in the teacher tree
+     * @return the hash of the node, or {@link Cryptography#NULL_HASH null hash} if there is no node at the path
+     */
+    Hash getReconnectedHash(final long path) {
+        final Hash hash = vmapLearner.findReconnectedHash(path);
+        return hash != null ? hash : Cryptography.NULL_HASH;
+    }
+
     VirtualMap onSuccessfulComplete() {
         return vmapLearner.finish();
     }
@@ -185,6 +204,9 @@ public final class LearnerTreeExchanger {
                 assert leaf != null;
                 assert path == leaf.path();
                 vmapLearner.onDirtyLeaf(leaf); // may block if hashing is slower than ingest
+            } else {
+                // If the leaf was restored from a reconnect checkpoint, it's now confirmed by the teacher
+                vmapLearner.onCleanLeaf(path);
             }
             stats.incrementLeafData(isClean);
         } else {
@@ -194,7 +216,8 @@ public final class LearnerTreeExchanger {
 
     /**
      * Get the hash of a node. If this view represents a tree that has null nodes within it, those nodes should cause
-     * this method to return a {@link Cryptography#NULL_HASH null hash}.
+     * this method to return a {@link Cryptography#NULL_HASH null hash}. For leaf paths restored from a reconnect
+     * checkpoint, hashes of restored leaves are returned.
      *
      * @param originalNodePath the original node path
      * @return the hash of the node
@@ -203,6 +226,15 @@ public final class LearnerTreeExchanger {
         // The path given is the _ORIGINAL_ node. Each call to this
         // method will be made only for the original state from the original tree.
 
+        // Leaves received in a previous failed reconnect attempt take precedence over the original
+        // leaves. They are only used, if confirmed by the teacher, see handleResponse()
+        if (isLeafOnTeacher(originalNodePath)) {
+            final Hash checkpointHash = vmapLearner.findCheckpointLeafHash(originalNodePath);
+            if (checkpointHash != null) {
+                return checkpointHash;
+            }
+        }
+
         // Make sure the path is valid for the original state
         if (originalNodePath > vmapLearner.getOriginalMetadata().getLastLeafPath()) {
             return Cryptography.NULL_HASH;
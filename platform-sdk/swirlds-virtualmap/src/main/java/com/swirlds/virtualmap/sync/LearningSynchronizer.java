@@ -14,27 +14,46 @@ import com.swirlds.virtualmap.config.VirtualMapLearnerSyncConfig;
 import com.swirlds.virtualmap.config.VirtualMapReconnectMode;
 import com.swirlds.virtualmap.internal.reconnect.LearnerPullVirtualTreeReceiveTask;
 import com.swirlds.virtualmap.internal.reconnect.LearnerPullVirtualTreeSendTask;
+import com.swirlds.virtualmap.internal.reconnect.MultiTeacherPullVirtualTreeReceiveTask;
+import com.swirlds.virtualmap.internal.reconnect.MultiTeacherPullVirtualTreeSendTask;
 import com.swirlds.virtualmap.internal.reconnect.ParallelSyncTraversalOrder;
 import com.swirlds.virtualmap.internal.reconnect.PullVirtualTreeRequest;
 import com.swirlds.virtualmap.internal.reconnect.PullVirtualTreeResponse;
+import com.swirlds.virtualmap.internal.reconnect.ReconnectCheckpoint;
+import com.swirlds.virtualmap.internal.reconnect.TeacherRequestRouter;
 import com.swirlds.virtualmap.internal.reconnect.TopToBottomTraversalOrder;
 import com.swirlds.virtualmap.internal.reconnect.TwoPhasePessimisticTraversalOrder;
 import com.swirlds.virtualmap.sync.streams.AsyncInputStream;
 import com.swirlds.virtualmap.sync.streams.AsyncOutputStream;
+import com.swirlds.virtualmap.sync.streams.CompressedAsyncOutputStream;
 import com.swirlds.virtualmap.sync.streams.YieldStrategy;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.base.concurrent.manager.ThreadManager;
+import org.hiero.base.concurrent.pool.ParallelExecutionException;
 import org.hiero.base.concurrent.pool.StandardWorkGroup;
 import org.hiero.base.crypto.Hash;
 
 /**
  * Performs reconnect in the role of the learner.
+ *
+ * <p>A map can be reconnected from a single teacher, or from several teachers holding the same
+ * state in parallel. In the latter case, the tree is split into disjoint subtrees, and requests
+ * for every subtree are sent to a single teacher, see {@link TeacherRequestRouter}. If a teacher
+ * fails, its connection is broken, and requests outstanding to it are sent to the remaining teachers.
+ * Once the received tree is hashed, every subtree with received leaves is verified against a teacher,
+ * which served it. If some teachers sent leaves, which don't match their own state, reconnect fails
+ * with {@link InconsistentTeachersException}.
  */
 public class LearningSynchronizer {
 
@@ -42,6 +61,26 @@ public class LearningSynchronizer {
 
     private static final String WORK_GROUP_NAME = "learning-synchronizer";
 
+    private static final String CHECKPOINT_DIR_PREFIX = "reconnect-checkpoint-";
+
+    /**
+     * A connection to a single teacher, when a map is reconnected from several teachers.
+     *
+     * @param in data input stream for reading responses from the teacher
+     * @param out data output stream for sending requests to the teacher
+     * @param breakConnection action to break the connection to the teacher. Called if the teacher
+     *      fails and is excluded from reconnect, or if the whole reconnect fails
+     */
+    public record TeacherConnection(
+            @NonNull DataInputStream in, @NonNull DataOutputStream out, @NonNull Runnable breakConnection) {
+
+        public TeacherConnection {
+            Objects.requireNonNull(in, "input stream cannot be null");
+            Objects.requireNonNull(out, "output stream cannot be null");
+            Objects.requireNonNull(breakConnection, "break connection action cannot be null");
+        }
+    }
+
     private final ThreadManager threadManager;
     private final VirtualMapLearnerSyncConfig syncConfig;
     private final Metrics metrics;
@@ -73,7 +112,9 @@ public class LearningSynchronizer {
                 originalVirtualMap.getMetadata().getLastLeafPath());
 
         final VirtualMapConfig virtualMapConfig = originalVirtualMap.getVirtualMapConfig();
-        final VirtualMapLearner vmapLearner = new VirtualMapLearner(originalVirtualMap);
+        final ReconnectCheckpoint checkpoint =
+                syncConfig.checkpointEnabled() ? openCheckpoint(originalVirtualMap) : null;
+        final VirtualMapLearner vmapLearner = new VirtualMapLearner(originalVirtualMap, checkpoint);
 
         return switch (virtualMapConfig.reconnectMode()) {
             case VirtualMapReconnectMode.PULL_TOP_TO_BOTTOM ->
@@ -90,6 +131,31 @@ public class LearningSynchronizer {
         };
     }
 
+    /**
+     * Opens a reconnect checkpoint for the given map. The checkpoint is stored next to the map's data
+     * source directory, so it survives failed reconnect attempts, which discard data source copies.
+     *
+     * @param originalVirtualMap original learner virtual map
+     * @return the checkpoint, or null if the data source doesn't store data on disk, or if the checkpoint
+     *      can't be opened. Reconnect proceeds without a checkpoint in this case
+     */
+    @Nullable
+    private static ReconnectCheckpoint openCheckpoint(@NonNull final VirtualMap originalVirtualMap) {
+        final Path storageDir = originalVirtualMap.getDataSource().getStorageDir();
+        if ((storageDir == null) || (storageDir.getParent() == null)) {
+            logger.info(RECONNECT.getMarker(), "Reconnect checkpoint is not supported by the data source");
+            return null;
+        }
+        final Path checkpointDir =
+                storageDir.getParent().resolve(CHECKPOINT_DIR_PREFIX + originalVirtualMap.getLabel());
+        try {
+            return ReconnectCheckpoint.open(checkpointDir);
+        } catch (final IOException e) {
+            logger.warn(RECONNECT.getMarker(), "Failed to open reconnect checkpoint, dir={}", checkpointDir, e);
+            return null;
+        }
+    }
+
     /**
      * Perform reconnect in the role of the learner blocking until it's finished.
      *
@@ -181,6 +247,205 @@ public class LearningSynchronizer {
         }
     }
 
+    /**
+     * Perform reconnect in the role of the learner from several teachers in parallel, blocking until
+     * it's finished. All teachers must hold the same state. If some teachers fail, reconnect continues
+     * with the remaining teachers. Reconnect fails, if all teachers fail, or if some teachers turn out to
+     * be inconsistent, when received subtrees are verified. In the latter case, {@link
+     * InconsistentTeachersException} is thrown, and reconnect may be retried without these teachers.
+     *
+     * @param originalMap original learner virtual map
+     * @param teachers connections to teachers, must not be empty
+     *
+     * @return the synchronized virtual map
+     * @throws InterruptedException if the synchronization is interrupted
+     * @throws InconsistentTeachersException if some teachers sent leaves, which don't match their state
+     * @throws MerkleSynchronizationException if the synchronization fails due to an exception
+     */
+    public VirtualMap synchronize(
+            @NonNull final VirtualMap originalMap, @NonNull final List<TeacherConnection> teachers)
+            throws InterruptedException {
+
+        Objects.requireNonNull(originalMap, "originalMap cannot be null");
+        Objects.requireNonNull(teachers, "teachers cannot be null");
+        if (teachers.isEmpty()) {
+            throw new IllegalArgumentException("At least one teacher is required");
+        }
+        if (teachers.size() == 1) {
+            final TeacherConnection teacher = teachers.get(0);
+            return synchronize(originalMap, teacher.in(), teacher.out(), teacher.breakConnection());
+        }
+
+        final int teacherCount = teachers.size();
+        final LearnerSyncMetrics syncMetrics = new LearnerSyncMetrics(metrics);
+        final LearnerTreeExchanger exchanger = buildLearnerExchanger(originalMap, syncMetrics);
+        final TeacherRequestRouter router = new TeacherRequestRouter(
+                teacherCount,
+                syncConfig.multiTeacherPartitionRank(),
+                teacher -> teachers.get(teacher).breakConnection().run());
+        final Runnable breakAllConnections =
+                () -> teachers.forEach(teacher -> teacher.breakConnection().run());
+
+        // Async streams of every teacher run in a separate work group, so a teacher failure doesn't abort
+        // the whole reconnect. It only excludes the teacher
+        final List<StandardWorkGroup> teacherWorkGroups = new ArrayList<>(teacherCount);
+        try (final StandardWorkGroup workGroup = createStandardWorkGroup(threadManager, breakAllConnections)) {
+            try {
+                logger.info(RECONNECT.getMarker(), "learner start synchronizing with {} teachers", teacherCount);
+
+                final List<AsyncInputStream> inputs = new ArrayList<>(teacherCount);
+                final List<AsyncOutputStream> outputs = new ArrayList<>(teacherCount);
+                for (int i = 0; i < teacherCount; i++) {
+                    final int teacher = i;
+                    final StandardWorkGroup teacherWorkGroup =
+                            createStandardWorkGroup(threadManager, () -> router.teacherFailed(teacher));
+                    teacherWorkGroups.add(teacherWorkGroup);
+                    final TeacherConnection connection = teachers.get(i);
+                    final AsyncInputStream input = new AsyncInputStream(
+                            connection.in(),
+                            syncConfig.asyncStreamBufferSize(),
+                            syncConfig.asyncStreamIdleTimeout(),
+                            syncConfig.maxMessageSizeBytes());
+                    input.start(teacherWorkGroup);
+                    inputs.add(input);
+                    final AsyncOutputStream output = buildOutputStream(connection.out(), syncConfig);
+                    output.start(teacherWorkGroup);
+                    outputs.add(output);
+                }
+
+                exchangeRootNode(exchanger, inputs, outputs, router);
+
+                final int receiveTasksPerTeacher = Math.max(1, syncConfig.numReceiveThreads() / teacherCount);
+                for (int i = 0; i < teacherCount; i++) {
+                    for (int j = 0; j < receiveTasksPerTeacher; j++) {
+                        workGroup.fork(
+                                "reconnect-learner-receiver",
+                                new MultiTeacherPullVirtualTreeReceiveTask(i, inputs.get(i), router, exchanger));
+                    }
+                }
+
+                final int learnerSendTasks = syncConfig.numSendThreads();
+                final CountDownLatch sendTasksDone = new CountDownLatch(learnerSendTasks);
+                for (int i = 0; i < learnerSendTasks; i++) {
+                    workGroup.fork(
+                            "reconnect-learner-sender",
+                            new MultiTeacherPullVirtualTreeSendTask(outputs, router, exchanger, sendTasksDone));
+                }
+
+                // Send tasks are done, when all requests are responded. Received subtrees are verified
+                // before output streams are closed
+                try {
+                    sendTasksDone.await();
+                    if (!workGroup.isShutdown()) {
+                        verifySubtrees(exchanger, outputs, router);
+                    }
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    outputs.forEach(AsyncOutputStream::done); // always signal the peers, even on interrupt
+                }
+
+                workGroup.join();
+                joinTeacherWorkGroups(teacherWorkGroups, router);
+            } finally {
+                teacherWorkGroups.forEach(StandardWorkGroup::close);
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            exchanger.abortOnException();
+            throw ie;
+        } catch (final Throwable t) {
+            logger.info(RECONNECT.getMarker(), "Caught exception while receiving tree", t);
+            exchanger.abortOnException();
+            throwCause(t);
+        }
+
+        try {
+            VirtualMap syncedVirtualMap = exchanger.onSuccessfulComplete();
+            logger.info(
+                    RECONNECT.getMarker(),
+                    "learner is done synchronizing, live teachers: {} of {}",
+                    router.getLiveTeacherCount(),
+                    teacherCount);
+            logger.info(RECONNECT.getMarker(), syncMetrics::toString);
+            return syncedVirtualMap;
+        } catch (final Throwable t) {
+            logger.info(RECONNECT.getMarker(), "Caught exception while completing synchronization", t);
+            exchanger.abortOnException();
+            throw new MerkleSynchronizationException("Failed to finish synchronization", t);
+        }
+    }
+
+    /**
+     * Hashes the received tree and verifies all subtrees, which contain leaves received from teachers. For
+     * every subtree, the hash of the subtree root in the received tree is sent to a teacher, which served
+     * leaves in the subtree. Responses are handled by receive tasks, see {@link
+     * TeacherRequestRouter#verificationReceived(long, int, boolean)}. If a teacher fails, its verifications
+     * are sent to other teachers.
+     *
+     * @throws InconsistentTeachersException if some teachers sent leaves, which don't match their state
+     * @throws MerkleSynchronizationException if all teachers failed
+     * @throws InterruptedException if interrupted while sending requests
+     */
+    private static void verifySubtrees(
+            final LearnerTreeExchanger exchanger,
+            final List<AsyncOutputStream> outs,
+            final TeacherRequestRouter router)
+            throws InterruptedException {
+        exchanger.completeHashing();
+        final int subtreeCount = router.startVerification();
+        logger.info(RECONNECT.getMarker(), "Learner verifying {} received subtrees", subtreeCount);
+        while (router.hasPendingVerifications() && !router.allFailed()) {
+            final long path = router.nextVerificationPath();
+            if (path == MerklePathUtils.INVALID_PATH) {
+                // Waiting for responses from teachers
+                Thread.sleep(1);
+                continue;
+            }
+            final int teacher = router.assignVerification(path);
+            if (teacher < 0) {
+                break;
+            }
+            final PullVirtualTreeRequest request = new PullVirtualTreeRequest(path, exchanger.getReconnectedHash(path));
+            final byte[] bytes = new byte[request.getSizeInBytes()];
+            request.writeTo(BufferedData.wrap(bytes));
+            try {
+                outs.get(teacher).sendAsync(bytes);
+            } catch (final IllegalStateException | MerkleSynchronizationException e) {
+                logger.warn(RECONNECT.getMarker(), "Failed to send a verification request to teacher {}", teacher, e);
+                router.teacherFailed(teacher);
+            }
+        }
+        final List<Integer> inconsistentTeachers = router.getInconsistentTeachers();
+        if (!inconsistentTeachers.isEmpty()) {
+            throw new InconsistentTeachersException(inconsistentTeachers);
+        }
+        if (router.allFailed()) {
+            throw new MerkleSynchronizationException("All teachers failed while verifying received subtrees");
+        }
+        logger.info(RECONNECT.getMarker(), "Learner verified {} received subtrees", subtreeCount);
+    }
+
+    /**
+     * Waits for async streams of all teachers to finish. Failures of teachers, which were excluded from
+     * reconnect, are logged and otherwise ignored, since all their requests have been served by other
+     * teachers by this point.
+     */
+    private static void joinTeacherWorkGroups(
+            final List<StandardWorkGroup> teacherWorkGroups, final TeacherRequestRouter router)
+            throws InterruptedException {
+        for (int i = 0; i < teacherWorkGroups.size(); i++) {
+            try {
+                teacherWorkGroups.get(i).join();
+            } catch (final ParallelExecutionException e) {
+                if (!router.isFailed(i)) {
+                    throw new MerkleSynchronizationException("Teacher " + i + " streams failed", e);
+                }
+                logger.info(RECONNECT.getMarker(), "Streams of excluded teacher {} failed", i, e);
+            }
+        }
+    }
+
     private void throwCause(Throwable ex) throws MerkleSynchronizationException {
         if (ex instanceof MerkleSynchronizationException) {
             throw (MerkleSynchronizationException) ex;
@@ -196,10 +461,19 @@ public class LearningSynchronizer {
     }
 
     /**
-     * Build the output stream. Exposed to allow unit tests to override implementation to simulate latency.
+     * Build the output stream. If stream compression is enabled, messages are sent in compressed batches.
+     * Exposed to allow unit tests to override implementation to simulate latency.
      */
     protected AsyncOutputStream buildOutputStream(
             @NonNull final DataOutputStream out, @NonNull final VirtualMapLearnerSyncConfig syncConfig) {
+        if (syncConfig.compressStreamEnabled()) {
+            return new CompressedAsyncOutputStream(
+                    out,
+                    syncConfig.asyncStreamBufferSize(),
+                    syncConfig.asyncOutputStreamFlush(),
+                    syncConfig.asyncStreamIdleTimeout(),
+                    syncConfig.compressedBatchSizeBytes());
+        }
         return new AsyncOutputStream(
                 out,
                 syncConfig.asyncStreamBufferSize(),
@@ -221,9 +495,7 @@ public class LearningSynchronizer {
     private void exchangeRootNode(
             LearnerTreeExchanger exchanger, final AsyncInputStream in, final AsyncOutputStream out) {
         logger.info(RECONNECT.getMarker(), "Learner sending root node request to teacher");
-        final PullVirtualTreeRequest rootRequest = new PullVirtualTreeRequest(MerklePathUtils.ROOT_PATH, new Hash());
-        final byte[] rootRequestBytes = new byte[rootRequest.getSizeInBytes()];
-        rootRequest.writeTo(BufferedData.wrap(rootRequestBytes));
+        final byte[] rootRequestBytes = buildRootRequest();
         try {
             out.sendAsync(rootRequestBytes);
         } catch (final InterruptedException e) {
@@ -233,6 +505,91 @@ public class LearningSynchronizer {
         exchanger.onRequestSend();
 
         // wait for response
+        final PullVirtualTreeResponse rootResponse = readRootResponse(in);
+        logger.info(RECONNECT.getMarker(), "Root node response received from teacher");
+
+        exchanger.init(rootResponse);
+    }
+
+    /**
+     * Multi-teacher version of {@link #exchangeRootNode(LearnerTreeExchanger, AsyncInputStream,
+     * AsyncOutputStream)}. The root node request is sent to all teachers. The first teacher, which
+     * responds, is used as a reference. All other teachers must report the same leaf path range,
+     * otherwise they don't hold the same state and are excluded from reconnect. Teachers, which
+     * fail to respond, are excluded, too.
+     *
+     * @param exchanger learner view
+     * @param ins async input streams to read root responses from, in teacher index order
+     * @param outs async output streams to send the root request to, in teacher index order
+     * @param router the router to mark failed teachers
+     * @throws MerkleSynchronizationException if no teacher responds, or if interrupted
+     */
+    private void exchangeRootNode(
+            final LearnerTreeExchanger exchanger,
+            final List<AsyncInputStream> ins,
+            final List<AsyncOutputStream> outs,
+            final TeacherRequestRouter router) {
+        logger.info(RECONNECT.getMarker(), "Learner sending root node request to {} teachers", outs.size());
+        final byte[] rootRequestBytes = buildRootRequest();
+        for (int i = 0; i < outs.size(); i++) {
+            try {
+                outs.get(i).sendAsync(rootRequestBytes);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MerkleSynchronizationException("Interrupted while sending root node request", e);
+            } catch (final RuntimeException e) {
+                logger.warn(RECONNECT.getMarker(), "Failed to send root node request to teacher {}", i, e);
+                router.teacherFailed(i);
+            }
+        }
+        exchanger.onRequestSend();
+
+        PullVirtualTreeResponse reference = null;
+        for (int i = 0; i < ins.size(); i++) {
+            if (router.isFailed(i)) {
+                continue;
+            }
+            final PullVirtualTreeResponse rootResponse;
+            try {
+                rootResponse = readRootResponse(ins.get(i));
+            } catch (final RuntimeException e) {
+                logger.warn(RECONNECT.getMarker(), "Failed to receive root node response from teacher {}", i, e);
+                router.teacherFailed(i);
+                continue;
+            }
+            if (reference == null) {
+                reference = rootResponse;
+            } else if ((rootResponse.isClean() != reference.isClean())
+                    || (rootResponse.firstLeafPath() != reference.firstLeafPath())
+                    || (rootResponse.lastLeafPath() != reference.lastLeafPath())) {
+                logger.warn(
+                        RECONNECT.getMarker(),
+                        "Teacher {} root node response {} doesn't match reference response {}, teacher is excluded",
+                        i,
+                        rootResponse,
+                        reference);
+                router.teacherFailed(i);
+            }
+        }
+        if (reference == null) {
+            throw new MerkleSynchronizationException("No root node response received from any teacher");
+        }
+        logger.info(
+                RECONNECT.getMarker(),
+                "Root node responses received, live teachers: {}",
+                router.getLiveTeacherCount());
+
+        exchanger.init(reference);
+    }
+
+    private static byte[] buildRootRequest() {
+        final PullVirtualTreeRequest rootRequest = new PullVirtualTreeRequest(MerklePathUtils.ROOT_PATH, new Hash());
+        final byte[] rootRequestBytes = new byte[rootRequest.getSizeInBytes()];
+        rootRequest.writeTo(BufferedData.wrap(rootRequestBytes));
+        return rootRequestBytes;
+    }
+
+    private static PullVirtualTreeResponse readRootResponse(final AsyncInputStream in) {
         final byte[] rootResponseBytes = in.readOrWait(YieldStrategy.PARK);
         if (rootResponseBytes == null) {
             throw new MerkleSynchronizationException("Stream closed before root node response was received");
@@ -243,8 +600,6 @@ public class LearningSynchronizer {
             throw new MerkleSynchronizationException(
                     "Expected root node response, but received response for path " + rootResponse.path());
         }
-        logger.info(RECONNECT.getMarker(), "Root node response received from teacher");
-
-        exchanger.init(rootResponse);
+        return rootResponse;
     }
 }
@@ -15,6 +15,7 @@ import com.swirlds.virtualmap.internal.reconnect.PullVirtualTreeResponse;
 import com.swirlds.virtualmap.internal.reconnect.TeacherPullVirtualTreeReceiveTask;
 import com.swirlds.virtualmap.sync.streams.AsyncInputStream;
 import com.swirlds.virtualmap.sync.streams.AsyncOutputStream;
+import com.swirlds.virtualmap.sync.streams.CompressedAsyncOutputStream;
 import com.swirlds.virtualmap.sync.streams.YieldStrategy;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.DataInputStream;
@@ -150,10 +151,19 @@ public class TeachingSynchronizer {
     }
 
     /**
-     * Build the output stream. Exposed to allow unit tests to override implementation to simulate latency.
+     * Build the output stream. If stream compression is enabled, messages are sent in compressed batches.
+     * Exposed to allow unit tests to override implementation to simulate latency.
      */
     protected AsyncOutputStream buildOutputStream(
             @NonNull final DataOutputStream out, @NonNull final VirtualMapTeacherSyncConfig syncConfig) {
+        if (syncConfig.compressStreamEnabled()) {
+            return new CompressedAsyncOutputStream(
+                    out,
+                    syncConfig.asyncStreamBufferSize(),
+                    syncConfig.asyncOutputStreamFlush(),
+                    syncConfig.asyncStreamIdleTimeout(),
+                    syncConfig.compressedBatchSizeBytes());
+        }
         return new AsyncOutputStream(
                 out,
                 syncConfig.asyncStreamBufferSize(),
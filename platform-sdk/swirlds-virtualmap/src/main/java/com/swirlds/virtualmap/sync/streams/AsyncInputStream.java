@@ -9,12 +9,15 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.base.concurrent.pool.StandardWorkGroup;
@@ -26,7 +29,8 @@ import org.hiero.base.concurrent.pool.StandardWorkGroup;
  *
  * <p>
  * A background thread continuously reads messages from the underlying {@link DataInputStream}
- * and enqueues them as raw {@code byte[]} arrays. Consumers retrieve messages via
+ * and enqueues them as raw {@code byte[]} arrays. Both plain length-prefixed messages and compressed
+ * batches of messages written by {@link CompressedAsyncOutputStream} are accepted. Consumers retrieve messages via
  * {@link #readOrWait(YieldStrategy)}, which blocks (with the caller-chosen yield strategy)
  * until a message is available or the stream is permanently done. There is no timeout for readers,
  * because this class intended to be used with socket input stream, which should have a timeout.
@@ -79,6 +83,9 @@ public class AsyncInputStream {
 
     private final long maxMessageSizeBytes;
 
+    // Created lazily on the first compressed batch, accessed on the reader thread only
+    private Inflater inflater;
+
     /**
      * Create a new async input stream.
      *
@@ -134,7 +141,9 @@ public class AsyncInputStream {
 
     /**
      * Background thread loop. Continuously reads length-prefixed messages from the stream and
-     * enqueues them. A negative length value serves as a termination marker.
+     * enqueues them. A {@link AsyncOutputStream#END_OF_STREAM_MARKER} length value serves as a
+     * termination marker. A {@link AsyncOutputStream#COMPRESSED_BATCH_MARKER} length value starts
+     * a compressed batch of messages, see {@link CompressedAsyncOutputStream}.
      */
     private void run() {
         logger.debug(RECONNECT.getMarker(), "Background reader thread started");
@@ -142,9 +151,14 @@ public class AsyncInputStream {
         try {
             while (!Thread.currentThread().isInterrupted()) {
                 final int len = inputStream.readInt();
-                if (len < 0) {
+                if (len == AsyncOutputStream.END_OF_STREAM_MARKER) {
                     logger.info(RECONNECT.getMarker(), "Async input stream is done");
                     return;
+                } else if (len == AsyncOutputStream.COMPRESSED_BATCH_MARKER) {
+                    readCompressedBatch();
+                    continue;
+                } else if (len < 0) {
+                    throw new MerkleSynchronizationException("Unexpected message size: " + len);
                 } else if (len > maxMessageSizeBytes) {
                     throw new MerkleSynchronizationException(
                             "Message size exceeds maximum size of " + maxMessageSizeBytes + " bytes");
@@ -152,24 +166,88 @@ public class AsyncInputStream {
 
                 final byte[] messageBytes = new byte[len];
                 inputStream.readFully(messageBytes, 0, len);
-                inputQueue.add(messageBytes);
-
-                if (inputQueueSize.incrementAndGet() >= queueSizeThreshold) {
-                    while (inputQueueSize.get() >= queueSizeThreshold
-                            && !Thread.currentThread().isInterrupted()) {
-                        Thread.onSpinWait();
-                    }
-                }
+                enqueue(messageBytes);
             }
         } catch (final IOException e) {
             logger.warn(RECONNECT.getMarker(), "Async input stream failed due to I/O error", e);
             throw new UncheckedIOException(e);
         } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
             status.set(Status.DONE);
             logger.debug(RECONNECT.getMarker(), "Background reader thread stopped");
         }
     }
 
+    /**
+     * Adds a message to the queue. If the queue is full, waits till consumers read some messages.
+     *
+     * @param messageBytes the message bytes
+     */
+    private void enqueue(@NonNull final byte[] messageBytes) {
+        inputQueue.add(messageBytes);
+
+        if (inputQueueSize.incrementAndGet() >= queueSizeThreshold) {
+            while (inputQueueSize.get() >= queueSizeThreshold
+                    && !Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Reads a compressed batch of messages, decompresses it, and enqueues all messages from the
+     * batch. The batch marker has already been read from the stream.
+     *
+     * @throws IOException if reading from the stream fails, or if the batch is malformed
+     */
+    private void readCompressedBatch() throws IOException {
+        final int uncompressedSize = inputStream.readInt();
+        final int compressedSize = inputStream.readInt();
+        // A batch may contain a single message of the max size, plus its length prefix
+        if ((uncompressedSize < 0) || (uncompressedSize > maxMessageSizeBytes + Integer.BYTES)) {
+            throw new MerkleSynchronizationException("Batch size exceeds maximum size of " + maxMessageSizeBytes
+                    + " bytes, uncompressed size: " + uncompressedSize);
+        }
+        if ((compressedSize < 0) || (compressedSize > maxMessageSizeBytes + Integer.BYTES)) {
+            throw new MerkleSynchronizationException("Compressed batch size exceeds maximum size of "
+                    + maxMessageSizeBytes + " bytes, compressed size: " + compressedSize);
+        }
+        final byte[] compressed = new byte[compressedSize];
+        inputStream.readFully(compressed, 0, compressedSize);
+
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(compressed);
+        final ByteBuffer batch = ByteBuffer.allocate(uncompressedSize);
+        try {
+            while (batch.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(batch) == 0 && inflater.needsInput()) {
+                    break;
+                }
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Malformed compressed batch", e);
+        }
+        if (batch.hasRemaining() || !inflater.finished()) {
+            throw new IOException("Compressed batch size mismatch, expected " + uncompressedSize + " bytes");
+        }
+
+        batch.flip();
+        while (batch.hasRemaining()) {
+            final int len = batch.remaining() >= Integer.BYTES ? batch.getInt() : -1;
+            if ((len < 0) || (len > batch.remaining())) {
+                throw new IOException("Malformed message in compressed batch, size: " + len);
+            }
+            final byte[] messageBytes = new byte[len];
+            batch.get(messageBytes);
+            enqueue(messageBytes);
+        }
+    }
+
     /**
      * @return current lifecycle status of the background reader thread. Visible for tests.
      */
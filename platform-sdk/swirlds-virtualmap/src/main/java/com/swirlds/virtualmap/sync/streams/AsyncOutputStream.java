@@ -54,6 +54,15 @@ public class AsyncOutputStream {
 
     private static final String THREAD_NAME = "async-output-stream";
 
+    /** Frame length value that marks the end of the stream. */
+    static final int END_OF_STREAM_MARKER = -1;
+
+    /**
+     * Frame length value that marks a compressed batch of messages, see {@link CompressedAsyncOutputStream}.
+     * {@link AsyncInputStream} accepts both plain and compressed frames.
+     */
+    static final int COMPRESSED_BATCH_MARKER = -2;
+
     /** Lifecycle states of the background writer thread. Transitions are monotonic. */
     public enum Status {
         /** {@link #start(StandardWorkGroup)} has not been called yet. */
@@ -202,6 +211,7 @@ public class AsyncOutputStream {
                     dirty = true;
                 }
                 if (dirty && (System.nanoTime() - lastFlushNanos) >= flushIntervalNanos) {
+                    flushMessages();
                     outputStream.flush();
                     dirty = false;
                     lastFlushNanos = System.nanoTime();
@@ -214,8 +224,10 @@ public class AsyncOutputStream {
                 writeMessage(msg);
             }
 
+            flushMessages();
+
             // Termination marker
-            outputStream.writeInt(-1);
+            outputStream.writeInt(END_OF_STREAM_MARKER);
             outputStream.flush();
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -224,6 +236,7 @@ public class AsyncOutputStream {
             logger.warn(RECONNECT.getMarker(), "Async output stream failed due to I/O error", e);
             throw new UncheckedIOException(e);
         } finally {
+            releaseResources();
             status.set(Status.DONE);
             logger.debug(RECONNECT.getMarker(), "Background writer thread stopped");
         }
@@ -241,4 +254,23 @@ public class AsyncOutputStream {
         outputStream.writeInt(messageBytes.length);
         outputStream.write(messageBytes);
     }
+
+    /**
+     * Writes any messages buffered by {@link #writeMessage(byte[])} to the underlying output stream.
+     * Called on the <b>writer thread</b> before every flush of the underlying stream and before the
+     * termination marker is written. No-op by default, since messages are written immediately.
+     *
+     * @throws IOException if writing to the stream fails
+     */
+    protected void flushMessages() throws IOException {
+        // no-op by default
+    }
+
+    /**
+     * Releases any resources held by this stream. Called on the <b>writer thread</b> when it exits.
+     * No-op by default.
+     */
+    protected void releaseResources() {
+        // no-op by default
+    }
 }
@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.sync.streams;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link AsyncOutputStream} that groups messages into batches and writes every batch as a single
+ * deflate-compressed frame. Reconnect messages are small (a path, a hash, a leaf key and value), and
+ * neighbour leaves often share key and value prefixes, so batches compress much better than
+ * individual messages would.
+ *
+ * <p>A compressed frame has the following layout:
+ * <ul>
+ *     <li>{@link AsyncOutputStream#COMPRESSED_BATCH_MARKER} instead of a message length</li>
+ *     <li>uncompressed batch size, int</li>
+ *     <li>compressed batch size, int</li>
+ *     <li>compressed batch bytes</li>
+ * </ul>
+ * An uncompressed batch is a sequence of length-prefixed messages, the same as they would be written
+ * by a plain {@link AsyncOutputStream}. {@link AsyncInputStream} accepts both plain and compressed
+ * frames, so only the sending side needs to be configured to use compression.
+ *
+ * <p>A batch is written, when adding the next message would exceed the configured batch size, or
+ * when the stream is flushed, so compression doesn't add more latency than the flush interval.
+ */
+public class CompressedAsyncOutputStream extends AsyncOutputStream {
+
+    private final DataOutputStream outputStream;
+
+    /**
+     * Max uncompressed batch size, in bytes. Must not exceed max message size configured on the
+     * receiving side, since {@link AsyncInputStream} applies the limit to batches, too.
+     */
+    private final int batchSizeBytes;
+
+    // Accessed on the writer thread only
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    // Uncompressed batch, accessed on the writer thread only
+    private byte[] batch;
+
+    private int batchSize = 0;
+
+    // Compressed batch buffer, accessed on the writer thread only
+    private byte[] compressed;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param outputStream   the stream all serialized messages are written to
+     * @param bufferSize     capacity of the internal queue; must be {@code > 0}
+     * @param flushInterval  maximum time the background thread waits for a new message before flushing
+     *                       buffered data; must be non-null and positive
+     * @param timeout        maximum time {@link #sendAsync(byte[])} will wait when the buffer is full;
+     *                       must be non-null and positive
+     * @param batchSizeBytes max uncompressed batch size, in bytes; must be {@code > 0}
+     */
+    public CompressedAsyncOutputStream(
+            @NonNull final DataOutputStream outputStream,
+            final int bufferSize,
+            @NonNull final Duration flushInterval,
+            @NonNull final Duration timeout,
+            final int batchSizeBytes) {
+        super(outputStream, bufferSize, flushInterval, timeout);
+        if (batchSizeBytes <= 0) {
+            throw new IllegalArgumentException("batchSizeBytes must be greater than 0");
+        }
+        this.outputStream = Objects.requireNonNull(outputStream);
+        this.batchSizeBytes = batchSizeBytes;
+        this.batch = new byte[batchSizeBytes];
+        this.compressed = new byte[batchSizeBytes];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The message is added to the current batch. If the batch is full, it's compressed and
+     * written to the underlying stream.
+     */
+    @Override
+    protected void writeMessage(@NonNull final byte[] messageBytes) throws IOException {
+        final int len = messageBytes.length;
+        if ((batchSize > 0) && (batchSize + Integer.BYTES + len > batchSizeBytes)) {
+            // Batches never exceed the batch size, unless a single message is larger than that
+            flushMessages();
+        }
+        if (Integer.BYTES + len > batch.length) {
+            batch = new byte[Integer.BYTES + len];
+        }
+        batch[batchSize++] = (byte) (len >>> 24);
+        batch[batchSize++] = (byte) (len >>> 16);
+        batch[batchSize++] = (byte) (len >>> 8);
+        batch[batchSize++] = (byte) len;
+        System.arraycopy(messageBytes, 0, batch, batchSize, len);
+        batchSize += len;
+        if (batchSize >= batchSizeBytes) {
+            flushMessages();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Compresses the current batch, if not empty, and writes it to the underlying stream.
+     */
+    @Override
+    protected void flushMessages() throws IOException {
+        if (batchSize == 0) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(batch, 0, batchSize);
+        deflater.finish();
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+            if (compressedSize == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedSize += deflater.deflate(compressed, compressedSize, compressed.length - compressedSize);
+        }
+        outputStream.writeInt(COMPRESSED_BATCH_MARKER);
+        outputStream.writeInt(batchSize);
+        outputStream.writeInt(compressedSize);
+        outputStream.write(compressed, 0, compressedSize);
+        batchSize = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void releaseResources() {
+        deflater.end();
+    }
+}
@@ -15,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -44,6 +45,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
@@ -987,6 +989,83 @@ class VirtualMapTests extends VirtualTestBase {
         map.release();
     }
 
+    @Test
+    @Tags({@Tag("VirtualMerkle")})
+    @DisplayName("Parsed values of flushed leaves are shared and invalidated on flush")
+    void decodedValuesAreSharedUntilFlush() throws InterruptedException {
+        VirtualMap map = createMap();
+        for (int i = 0; i < 8; i++) {
+            map.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+        }
+        map.enableFlush();
+        VirtualMap copy = map.copy();
+        map.release();
+        map.waitUntilFlushed();
+        map = copy;
+
+        // Leaf 3 is in the data source now, its parsed value is shared by all reads from all copies
+        final TestValue value3 = map.get(TestKey.longToKey(3), TestValueCodec.INSTANCE);
+        assertEquals(new TestValue(3), value3);
+        assertSame(value3, map.get(TestKey.longToKey(3), TestValueCodec.INSTANCE));
+
+        // Modified leaves are read from the node cache, not from the parsed values cache
+        map.put(TestKey.longToKey(3), new TestValue(33), TestValueCodec.INSTANCE);
+        assertEquals(new TestValue(33), map.get(TestKey.longToKey(3), TestValueCodec.INSTANCE));
+        map.remove(TestKey.longToKey(4));
+        assertNull(map.get(TestKey.longToKey(4), TestValueCodec.INSTANCE));
+
+        map.enableFlush();
+        copy = map.copy();
+        map.release();
+        map.waitUntilFlushed();
+        map = copy;
+
+        // After the flush, the new values are loaded from the data source
+        assertEquals(new TestValue(33), map.get(TestKey.longToKey(3), TestValueCodec.INSTANCE));
+        assertNull(map.get(TestKey.longToKey(4), TestValueCodec.INSTANCE));
+        assertEquals(new TestValue(5), map.get(TestKey.longToKey(5), TestValueCodec.INSTANCE));
+
+        map.release();
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle")})
+    @DisplayName("Multiple values are read from the node cache and the data source at once")
+    void getAllValues() throws InterruptedException {
+        VirtualMap map = createMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+        }
+        map.enableFlush();
+        VirtualMap copy = map.copy();
+        map.release();
+        map.waitUntilFlushed();
+        map = copy;
+
+        // Some values are modified in the node cache, others are only in the data source
+        map.put(TestKey.longToKey(3), new TestValue(33), TestValueCodec.INSTANCE);
+        map.remove(TestKey.longToKey(4));
+        map.put(TestKey.longToKey(100), new TestValue(100), TestValueCodec.INSTANCE);
+
+        final List<Bytes> keys = new ArrayList<>();
+        for (int i = 101; i >= 0; i--) {
+            keys.add(TestKey.longToKey(i));
+        }
+        final List<TestValue> values = map.getAll(keys, TestValueCodec.INSTANCE);
+        assertEquals(keys.size(), values.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(map.get(keys.get(i), TestValueCodec.INSTANCE), values.get(i), "Wrong value for key " + i);
+        }
+        assertNull(values.get(0));
+        assertEquals(new TestValue(100), values.get(1));
+        assertEquals(new TestValue(33), values.get(98));
+        assertNull(values.get(97));
+        assertEquals(new TestValue(5), values.get(96));
+
+        map.warmAll(keys);
+        map.release();
+    }
+
     @Test
     void testEnableVirtualRootFlush() {
         VirtualMap fcm0 = createMap();
@@ -1199,6 +1278,125 @@ class VirtualMapTests extends VirtualTestBase {
         }
     }
 
+    @Test
+    @DisplayName("Delta log replay after snapshot restore")
+    void deltaLogReplay() throws IOException {
+        final Path logDir = testDirectory.resolve("deltaLogReplay");
+        final List<VirtualMap> copies = new LinkedList<>();
+        final VirtualMap copy0 = new VirtualMap(new InMemoryBuilder(), DEFAULT_CONFIGURATION);
+        copy0.enableDeltaLog(logDir);
+        copies.add(copy0);
+        for (int i = 1; i <= 10; i++) {
+            final VirtualMap copy = copies.get(i - 1).copy();
+            copy.put(TestKey.longToKey(i), new TestValue(i + 100), TestValueCodec.INSTANCE);
+            if (i == 7) {
+                copy.remove(TestKey.longToKey(3));
+            }
+            if (i == 8) {
+                copy.put(TestKey.longToKey(2), new TestValue(200), TestValueCodec.INSTANCE);
+            }
+            copies.add(copy);
+        }
+        for (VirtualMap copy : copies) {
+            copy.getHash();
+        }
+        final VirtualMap copy5 = copies.get(5);
+        final Path snapshotPath = new TestFileSystemManager(testDirectory).resolveNewTemp("deltaLogReplay");
+        Files.createDirectories(snapshotPath);
+        copy5.createSnapshot(snapshotPath);
+        final Hash lastHash = copies.get(10).getHash();
+        VirtualMap restored = null;
+        VirtualMap restoredCopy = null;
+        try {
+            restored = VirtualMap.loadFromDirectory(snapshotPath, DEFAULT_CONFIGURATION, InMemoryBuilder::new);
+            // Only changes made after the snapshot copy are replayed
+            assertEquals(lastHash, restored.replayDeltaLog(logDir));
+            restoredCopy = restored.copy();
+            assertEquals(lastHash, restored.getHash(), "Hash after replay must match the last logged hash");
+            assertEquals(9, restored.size());
+            assertFalse(restored.containsKey(TestKey.longToKey(3)));
+            assertEquals(new TestValue(200), restored.get(TestKey.longToKey(2), TestValueCodec.INSTANCE));
+            for (int i = 4; i <= 10; i++) {
+                assertEquals(
+                        new TestValue(i + 100), restored.get(TestKey.longToKey(i), TestValueCodec.INSTANCE));
+            }
+            // Replay is only allowed to a freshly loaded map
+            final VirtualMap mutableCopy = restoredCopy;
+            assertThrows(IllegalStateException.class, () -> mutableCopy.replayDeltaLog(logDir));
+        } finally {
+            copies.forEach(VirtualMap::release);
+            if (restored != null) {
+                restored.release();
+            }
+            if (restoredCopy != null) {
+                restoredCopy.release();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Delta log replay after a restart and a crash before the next snapshot")
+    void deltaLogReplayAfterRestart() throws IOException {
+        final Path logDir = testDirectory.resolve("deltaLogReplayAfterRestart");
+        final Path snapshotPath = new TestFileSystemManager(testDirectory).resolveNewTemp("deltaLogReplayAfterRestart");
+        Files.createDirectories(snapshotPath);
+
+        // First run: a snapshot is created, then more changes are logged
+        final List<VirtualMap> copies = new LinkedList<>();
+        final VirtualMap original = new VirtualMap(new InMemoryBuilder(), DEFAULT_CONFIGURATION);
+        original.enableDeltaLog(logDir);
+        copies.add(original);
+        for (int i = 1; i <= 6; i++) {
+            final VirtualMap copy = copies.getLast().copy();
+            copy.put(TestKey.longToKey(i), new TestValue(i + 100), TestValueCodec.INSTANCE);
+            copies.add(copy);
+        }
+        copies.forEach(VirtualMap::getHash);
+        copies.get(3).createSnapshot(snapshotPath);
+        final Hash firstRunHash = copies.getLast().getHash();
+        copies.forEach(VirtualMap::release);
+        copies.clear();
+
+        // Second run: restored from the snapshot, changes are replayed and logged again, but the node
+        // is stopped before the next snapshot is created
+        final VirtualMap restored =
+                VirtualMap.loadFromDirectory(snapshotPath, DEFAULT_CONFIGURATION, InMemoryBuilder::new);
+        restored.enableDeltaLog(logDir);
+        assertEquals(firstRunHash, restored.replayDeltaLog(logDir));
+        copies.add(restored);
+        for (int i = 7; i <= 9; i++) {
+            final VirtualMap copy = copies.getLast().copy();
+            copy.put(TestKey.longToKey(i), new TestValue(i + 100), TestValueCodec.INSTANCE);
+            if (i == 8) {
+                copy.remove(TestKey.longToKey(2));
+            }
+            copies.add(copy);
+        }
+        copies.forEach(VirtualMap::getHash);
+        assertEquals(firstRunHash, restored.getHash(), "Hash after replay must match the last logged hash");
+        final Hash secondRunHash = copies.getLast().getHash();
+        copies.forEach(VirtualMap::release);
+        copies.clear();
+
+        // Third run: restored from the same snapshot, changes from both runs are replayed
+        final VirtualMap restoredAgain =
+                VirtualMap.loadFromDirectory(snapshotPath, DEFAULT_CONFIGURATION, InMemoryBuilder::new);
+        try {
+            assertEquals(secondRunHash, restoredAgain.replayDeltaLog(logDir));
+            copies.add(restoredAgain.copy());
+            assertEquals(secondRunHash, restoredAgain.getHash(), "Hash after replay must match the last logged hash");
+            assertEquals(8, restoredAgain.size());
+            assertFalse(restoredAgain.containsKey(TestKey.longToKey(2)));
+            for (int i = 7; i <= 9; i++) {
+                assertEquals(
+                        new TestValue(i + 100), restoredAgain.get(TestKey.longToKey(i), TestValueCodec.INSTANCE));
+            }
+        } finally {
+            restoredAgain.release();
+            copies.forEach(VirtualMap::release);
+        }
+    }
+
     @Test
     @DisplayName("Detach is not affected when map destroyed")
     void detachIsNotAffectedByMapDestroy() throws IOException, InterruptedException {
@@ -0,0 +1,142 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongKeyMapTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Put, get, and remove entries")
+    void putGetRemove() {
+        final ConcurrentLongKeyMap<String> map = new ConcurrentLongKeyMap<>();
+        assertNull(map.get(0));
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+        map.put(Long.MAX_VALUE, "max");
+        assertEquals("zero", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertEquals(3, map.size());
+
+        map.put(0, "ZERO");
+        assertEquals("ZERO", map.get(0));
+        assertEquals(3, map.size());
+
+        assertNull(map.compute(0, (k, v) -> null));
+        assertFalse(map.containsKey(0));
+        assertEquals(2, map.size());
+        // A removed key can be added again
+        map.put(0, "zero again");
+        assertEquals("zero again", map.get(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Empty key marker can't be stored")
+    void emptyKeyIsRejected() {
+        final ConcurrentLongKeyMap<String> map = new ConcurrentLongKeyMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(ConcurrentLongKeyMap.EMPTY_KEY, "empty"));
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Compute gets the current value")
+    void computeGetsCurrentValue() {
+        final ConcurrentLongKeyMap<Integer> map = new ConcurrentLongKeyMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.compute(42, (k, v) -> {
+                assertEquals(42, k);
+                return v == null ? 1 : v + 1;
+            });
+        }
+        assertEquals(10, map.get(42));
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Many entries, tables are rebuilt")
+    void manyEntries() {
+        final ConcurrentLongKeyMap<Long> map = new ConcurrentLongKeyMap<>();
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(50_000);
+            if (random.nextInt(4) == 0) {
+                map.compute(key, (k, v) -> null);
+                expected.remove(key);
+            } else {
+                map.put(key, (long) i);
+                expected.put(key, (long) i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 50_000; key++) {
+            assertEquals(expected.get(key), map.get(key), "Wrong value for key " + key);
+        }
+        final Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent updates and reads")
+    void concurrentUpdatesAndReads() throws Exception {
+        final ConcurrentLongKeyMap<Long> map = new ConcurrentLongKeyMap<>();
+        final int threads = 8;
+        final int keysPerThread = 20_000;
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        try {
+            final Future<?>[] futures = new Future<?>[threads * 2];
+            for (int t = 0; t < threads; t++) {
+                final long first = (long) t * keysPerThread;
+                // Writers: every key is updated twice, values are never decreased
+                futures[t] = executor.submit(() -> {
+                    for (long key = first; key < first + keysPerThread; key++) {
+                        map.put(key, key);
+                        map.compute(key, (k, v) -> v + 1);
+                    }
+                });
+                // Readers: a value, if present, must be consistent with its key
+                futures[threads + t] = executor.submit(() -> {
+                    for (long key = first; key < first + keysPerThread; key++) {
+                        final Long value = map.get(key);
+                        if ((value != null) && (value != key) && (value != key + 1)) {
+                            failed.set(true);
+                        }
+                    }
+                });
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(failed.get(), "Readers must not see wrong values");
+        assertEquals(threads * keysPerThread, map.size());
+        for (long key = 0; key < (long) threads * keysPerThread; key++) {
+            assertEquals(key + 1, map.get(key));
+        }
+        assertTrue(map.containsKey(0));
+    }
+}
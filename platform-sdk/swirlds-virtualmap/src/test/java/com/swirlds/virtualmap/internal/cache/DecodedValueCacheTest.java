@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import com.swirlds.virtualmap.test.fixtures.TestValueCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class DecodedValueCacheTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Cached values are returned until invalidated")
+    void putGetInvalidate() {
+        final DecodedValueCache cache = new DecodedValueCache(16, 1024);
+        final Bytes key = TestKey.longToKey(1);
+        final TestValue value = new TestValue(1);
+        assertNull(cache.get(key, TestValueCodec.INSTANCE));
+
+        cache.put(key, cache.epoch(), TestValueCodec.INSTANCE, value.toBytes(), value);
+        assertSame(value, cache.get(key, TestValueCodec.INSTANCE));
+        assertEquals(1, cache.size());
+
+        cache.invalidate();
+        assertNull(cache.get(key, TestValueCodec.INSTANCE));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Values loaded before invalidation are not cached")
+    void staleEpochIsIgnored() {
+        final DecodedValueCache cache = new DecodedValueCache(16, 1024);
+        final Bytes key = TestKey.longToKey(2);
+        final TestValue value = new TestValue(2);
+        final long epoch = cache.epoch();
+        // A flush happens while the value is being loaded
+        cache.invalidate();
+        cache.put(key, epoch, TestValueCodec.INSTANCE, value.toBytes(), value);
+        assertNull(cache.get(key, TestValueCodec.INSTANCE));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Cache size and value size limits")
+    void limits() {
+        final DecodedValueCache cache = new DecodedValueCache(2, 16);
+        for (int i = 0; i < 4; i++) {
+            final TestValue value = new TestValue(i);
+            cache.put(TestKey.longToKey(i), cache.epoch(), TestValueCodec.INSTANCE, value.toBytes(), value);
+        }
+        assertEquals(2, cache.size());
+        assertEquals(new TestValue(0), cache.get(TestKey.longToKey(0), TestValueCodec.INSTANCE));
+        assertNull(cache.get(TestKey.longToKey(3), TestValueCodec.INSTANCE));
+
+        cache.invalidate();
+        final TestValue large = new TestValue("a value that is larger than 16 bytes");
+        cache.put(TestKey.longToKey(5), cache.epoch(), TestValueCodec.INSTANCE, large.toBytes(), large);
+        assertNull(cache.get(TestKey.longToKey(5), TestValueCodec.INSTANCE));
+
+        assertThrows(IllegalArgumentException.class, () -> new DecodedValueCache(0, 16));
+    }
+}
@@ -2793,6 +2793,61 @@ class VirtualNodeCacheTest extends VirtualTestBase {
         }
     }
 
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Hash chunk IDs for paths include all parent chunks")
+    void hashChunkIdsForPaths() {
+        final long[] paths = {7, 8, 13, 30, 31, 62, 100, 1000};
+        final Set<Long> expected = new HashSet<>();
+        for (final long path : paths) {
+            // Every path on the way to the root belongs to some chunk
+            for (long p = path; p > 0; p = (p - 1) / 2) {
+                expected.add(VirtualHashChunk.pathToChunkId(p, HASH_CHUNK_HEIGHT));
+            }
+        }
+        final long[] chunkIds = VirtualNodeCache.hashChunkIdsForPaths(paths, HASH_CHUNK_HEIGHT);
+        assertEquals(expected.size(), chunkIds.length, "Chunk IDs should be unique");
+        for (int i = 0; i < chunkIds.length; i++) {
+            assertTrue(expected.contains(chunkIds[i]), "Unexpected chunk ID " + chunkIds[i]);
+            if (i > 0) {
+                assertTrue(chunkIds[i - 1] < chunkIds[i], "Chunk IDs should be sorted");
+            }
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Prefetched hash chunks are used by preload")
+    void prefetchHashChunks() {
+        // Chunk 0 is dirty in the cache, it must not be prefetched
+        final VirtualHashChunk rootChunk = cache.preloadHashChunk(0);
+        chunkLoader.reset();
+
+        final Set<Long> requested = new HashSet<>();
+        final int prefetched = cache.prefetchHashChunks(new long[] {7, 8, 13}, ids -> {
+            final VirtualHashChunk[] chunks = new VirtualHashChunk[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                requested.add(ids[i]);
+                final long chunkPath = VirtualHashChunk.chunkIdToChunkPath(ids[i], HASH_CHUNK_HEIGHT);
+                chunks[i] = new VirtualHashChunk(chunkPath, HASH_CHUNK_HEIGHT);
+            }
+            return chunks;
+        });
+        // Paths 7 and 8 are in chunk 1 (chunk path 3), path 13 is in chunk 4 (chunk path 6)
+        assertEquals(Set.of(1L, 4L), requested, "Only clean chunks should be requested");
+        assertEquals(2, prefetched, "Both requested chunks should be prefetched");
+
+        final VirtualHashChunk chunk1 = cache.preloadHashChunk(3);
+        assertEquals(1, chunk1.getChunkId());
+        assertSame(chunk1, cache.preloadHashChunk(3), "Same chunk object is expected for the same chunk");
+        assertSame(rootChunk, cache.preloadHashChunk(0), "Dirty chunk should be used");
+        assertTrue(chunkLoader.getChunkIds().isEmpty(), "Prefetched chunks should not be loaded again");
+
+        cache.clearPrefetchedHashChunks();
+        cache.preloadHashChunk(6);
+        assertEquals(Set.of(4L), chunkLoader.getChunkIds(), "Cleared chunks should be loaded on demand");
+    }
+
     private record CacheInfo(VirtualNodeCache cache, long firstLeafPath, long lastLeafPath) {}
 
     private static class TrackingHashChunkLoader implements CheckedFunction<Long, VirtualHashChunk, IOException> {
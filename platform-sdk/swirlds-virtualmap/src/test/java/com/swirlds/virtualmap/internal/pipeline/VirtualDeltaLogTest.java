@@ -0,0 +1,140 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.pipeline;
+
+import static com.swirlds.virtualmap.test.fixtures.TestKey.longToKey;
+import static com.swirlds.virtualmap.test.fixtures.VirtualMapTestUtils.DEFAULT_VIRTUAL_MAP_CONFIG;
+import static org.hiero.base.crypto.test.fixtures.CryptoRandomUtils.randomHash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.hiero.base.crypto.Hash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VirtualDeltaLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static VirtualLeafBytes<?> leaf(final long path, final long value) {
+        return new VirtualLeafBytes<>(path, longToKey(value), new TestValue(value).toBytes());
+    }
+
+    private record Delta(
+            long firstLeafPath, long lastLeafPath, List<VirtualLeafBytes> dirty, List<VirtualLeafBytes> deleted) {}
+
+    private static Hash replay(final Path dir, final Hash baseHash, final List<Delta> deltas) throws IOException {
+        return VirtualDeltaLog.replay(
+                dir, baseHash, (first, last, dirty, deleted) -> deltas.add(new Delta(first, last, dirty, deleted)));
+    }
+
+    @Test
+    @DisplayName("Records after the base hash are replayed in order")
+    void appendAndReplay() throws IOException {
+        final Path dir = tempDir.resolve("appendAndReplay");
+        final Hash h0 = randomHash();
+        final Hash h1 = randomHash();
+        final Hash h2 = randomHash();
+        try (final VirtualDeltaLog log = VirtualDeltaLog.open(dir, DEFAULT_VIRTUAL_MAP_CONFIG, randomHash())) {
+            log.append(h0, 1, 2, List.of(leaf(1, 1), leaf(2, 2)), List.of());
+            log.append(h1, 2, 4, List.of(leaf(3, 2), leaf(4, 3)), List.of());
+            log.append(h2, 1, 2, List.of(leaf(1, 1), leaf(2, 3)), List.of(leaf(2, 2)));
+            assertEquals(3, log.getRecordsAppended());
+        }
+
+        final List<Delta> deltas = new ArrayList<>();
+        assertEquals(h2, replay(dir, h0, deltas));
+        assertEquals(2, deltas.size());
+        assertEquals(2, deltas.get(0).firstLeafPath());
+        assertEquals(4, deltas.get(0).lastLeafPath());
+        assertEquals(List.of(leaf(3, 2), leaf(4, 3)), deltas.get(0).dirty());
+        assertTrue(deltas.get(0).deleted().isEmpty());
+        assertEquals(List.of(leaf(1, 1), leaf(2, 3)), deltas.get(1).dirty());
+        // Values of deleted leaves are not logged
+        assertEquals(List.of(new VirtualLeafBytes<>(2, longToKey(2), null)), deltas.get(1).deleted());
+
+        // Nothing to replay after the last record or from an unknown hash
+        deltas.clear();
+        assertNull(replay(dir, h2, deltas));
+        assertNull(replay(dir, randomHash(), deltas));
+        assertTrue(deltas.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Replay follows the hash chain across segments")
+    void chainAcrossSegments() throws IOException {
+        final Path dir = tempDir.resolve("chainAcrossSegments");
+        final Hash h0 = randomHash();
+        final Hash h1 = randomHash();
+        final Hash h2 = randomHash();
+        final Hash h3 = randomHash();
+        try (final VirtualDeltaLog log = VirtualDeltaLog.open(dir, DEFAULT_VIRTUAL_MAP_CONFIG, randomHash())) {
+            log.append(h0, 1, 1, List.of(leaf(1, 1)), List.of());
+            log.snapshotCreated();
+            log.append(h1, 1, 2, List.of(leaf(1, 1), leaf(2, 2)), List.of());
+        }
+        // The log is reopened after a restart with the hash of the restored map, the chain continues
+        try (final VirtualDeltaLog log = VirtualDeltaLog.open(dir, DEFAULT_VIRTUAL_MAP_CONFIG, h1)) {
+            log.append(h2, 2, 4, List.of(leaf(3, 2), leaf(4, 3)), List.of());
+            log.append(h3, 3, 6, List.of(leaf(5, 3), leaf(6, 4)), List.of());
+        }
+        assertEquals(3, VirtualDeltaLog.listSegments(dir).size());
+
+        final List<Delta> deltas = new ArrayList<>();
+        assertEquals(h3, replay(dir, h0, deltas));
+        assertEquals(3, deltas.size());
+        assertEquals(List.of(leaf(5, 3), leaf(6, 4)), deltas.get(2).dirty());
+
+        VirtualDeltaLog.deleteSegments(dir);
+        assertTrue(VirtualDeltaLog.listSegments(dir).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Incomplete last record is ignored")
+    void truncatedSegment() throws IOException {
+        final Path dir = tempDir.resolve("truncatedSegment");
+        final Hash h0 = randomHash();
+        final Hash h1 = randomHash();
+        final Hash h2 = randomHash();
+        try (final VirtualDeltaLog log = VirtualDeltaLog.open(dir, DEFAULT_VIRTUAL_MAP_CONFIG, randomHash())) {
+            log.append(h0, 1, 1, List.of(leaf(1, 1)), List.of());
+            log.append(h1, 1, 2, List.of(leaf(1, 1), leaf(2, 2)), List.of());
+            log.append(h2, 2, 4, List.of(leaf(3, 2), leaf(4, 3)), List.of());
+        }
+        try (final FileChannel channel =
+                FileChannel.open(VirtualDeltaLog.segmentFile(dir, 0), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        final List<Delta> deltas = new ArrayList<>();
+        assertEquals(h1, replay(dir, h0, deltas));
+        assertEquals(1, deltas.size());
+    }
+
+    @Test
+    @DisplayName("Old segments are deleted when snapshots are created")
+    void retention() throws IOException {
+        final Path dir = tempDir.resolve("retention");
+        final int snapshotsToKeep = DEFAULT_VIRTUAL_MAP_CONFIG.deltaLogSnapshotsToKeep();
+        try (final VirtualDeltaLog log = VirtualDeltaLog.open(dir, DEFAULT_VIRTUAL_MAP_CONFIG, randomHash())) {
+            for (int i = 0; i < snapshotsToKeep + 5; i++) {
+                log.append(randomHash(), 1, 1, List.of(leaf(1, i)), List.of());
+                log.snapshotCreated();
+            }
+        }
+        final List<Path> segments = VirtualDeltaLog.listSegments(dir);
+        // The current segment, plus segments to replay changes after every kept snapshot
+        assertEquals(snapshotsToKeep + 2, segments.size());
+        assertEquals(VirtualDeltaLog.segmentFile(dir, snapshotsToKeep + 5), segments.getLast());
+    }
+}
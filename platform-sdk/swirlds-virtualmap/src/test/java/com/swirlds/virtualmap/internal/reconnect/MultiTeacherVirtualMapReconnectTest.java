@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import com.swirlds.virtualmap.test.fixtures.TestValueCodec;
+import com.swirlds.virtualmap.test.fixtures.datasource.InMemoryBuilder;
+import com.swirlds.virtualmap.sync.InconsistentTeachersException;
+import com.swirlds.virtualmap.test.fixtures.sync.ReconnectTestUtils;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("Virtual Map Multi-Teacher Reconnect Test")
+class MultiTeacherVirtualMapReconnectTest extends VirtualMapReconnectTestBase {
+
+    @Override
+    protected VirtualDataSourceBuilder createBuilder() {
+        return new InMemoryBuilder();
+    }
+
+    private void populate(final VirtualMap map, final int start, final int end, final int valueOffset) {
+        for (int i = start; i < end; i++) {
+            map.put(TestKey.longToKey(i), new TestValue(i + valueOffset), TestValueCodec.INSTANCE);
+        }
+    }
+
+    private void reconnectFromTeachers(final int teacherCount, final int failingTeacher, final int failAfter)
+            throws Exception {
+        final VirtualMap copy = teacherMap.copy();
+        teacherMap.reserve();
+        learnerMap.reserve();
+        try {
+            final VirtualMap afterMap = ReconnectTestUtils.testMultiTeacherSynchronization(
+                    learnerMap, teacherMap, teacherCount, failingTeacher, failAfter, configuration);
+            assertEquals(teacherMap.size(), afterMap.size(), "Reconnected map size should match the teacher");
+            afterMap.release();
+        } finally {
+            teacherMap.release();
+            learnerMap.release();
+            copy.release();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 5})
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect from several teachers")
+    void reconnectFromSeveralTeachers(final int teacherCount) throws Exception {
+        populate(teacherMap, 0, 20_000, 0);
+        populate(learnerMap, 5_000, 15_000, 1);
+        populate(learnerMap, 7_000, 9_000, 0);
+        reconnectFromTeachers(teacherCount, -1, 0);
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect from several teachers to an empty learner")
+    void reconnectEmptyLearner() throws Exception {
+        populate(teacherMap, 0, 10_000, 0);
+        reconnectFromTeachers(3, -1, 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Requests to a failed teacher are reassigned to other teachers")
+    void teacherFailsDuringReconnect(final int failingTeacher) throws Exception {
+        populate(teacherMap, 0, 20_000, 0);
+        populate(learnerMap, 0, 10_000, 1);
+        reconnectFromTeachers(3, failingTeacher, 500);
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Teacher, which fails before root node response, is excluded")
+    void teacherFailsBeforeRootResponse() throws Exception {
+        populate(teacherMap, 0, 5_000, 0);
+        populate(learnerMap, 1_000, 2_000, 1);
+        reconnectFromTeachers(2, 0, 0);
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Teacher, which sends a leaf not matching its state, is reported as inconsistent")
+    void teacherSendsInconsistentLeaf() throws Exception {
+        populate(teacherMap, 0, 20_000, 0);
+        populate(learnerMap, 0, 10_000, 1);
+        final AtomicBoolean tampered = new AtomicBoolean();
+        final VirtualMap copy = teacherMap.copy();
+        teacherMap.reserve();
+        learnerMap.reserve();
+        try {
+            final Throwable learnerException = ReconnectTestUtils.testTamperingTeacherSynchronization(
+                    learnerMap,
+                    teacherMap,
+                    3,
+                    1,
+                    bytes -> {
+                        final PullVirtualTreeResponse response =
+                                PullVirtualTreeResponse.parseFrom(BufferedData.wrap(bytes));
+                        final VirtualLeafBytes<?> leaf = response.leafData();
+                        if ((leaf == null) || !tampered.compareAndSet(false, true)) {
+                            return bytes;
+                        }
+                        final VirtualLeafBytes<TestValue> wrongLeaf = new VirtualLeafBytes<>(
+                                leaf.path(), leaf.keyBytes(), new TestValue(-1), TestValueCodec.INSTANCE);
+                        final PullVirtualTreeResponse wrongResponse = new PullVirtualTreeResponse(
+                                response.path(), false, response.firstLeafPath(), response.lastLeafPath(), wrongLeaf);
+                        final byte[] wrongBytes = new byte[wrongResponse.getSizeInBytes()];
+                        wrongResponse.writeTo(BufferedData.wrap(wrongBytes));
+                        return wrongBytes;
+                    },
+                    configuration);
+            assertTrue(tampered.get(), "A leaf should be tampered");
+            final InconsistentTeachersException e =
+                    assertInstanceOf(InconsistentTeachersException.class, learnerException);
+            assertEquals(List.of(1), e.getTeachers(), "Only the tampering teacher should be inconsistent");
+        } finally {
+            teacherMap.release();
+            learnerMap.release();
+            copy.release();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.virtualmap.test.fixtures.TestKey.longToKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.virtualmap.MerkleHasher;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReconnectCheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static VirtualLeafBytes<?> leaf(final long path, final long value) {
+        return new VirtualLeafBytes<>(path, longToKey(path), new TestValue(value).toBytes());
+    }
+
+    @Test
+    @DisplayName("Leaves appended in one attempt are restored in the next attempt")
+    void appendAndRestore() throws IOException {
+        final Path dir = tempDir.resolve("checkpoint");
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            assertEquals(0, checkpoint.getRestoredLeafCount());
+            for (long path = 10; path < 20; path++) {
+                checkpoint.append(leaf(path, path));
+            }
+            // Leaves appended in the current attempt are not restored
+            assertNull(checkpoint.findRestoredLeaf(10));
+            assertEquals(10, checkpoint.getLeavesAppended());
+        }
+
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            assertEquals(10, checkpoint.getRestoredLeafCount());
+            for (long path = 10; path < 20; path++) {
+                final VirtualLeafBytes<?> expected = leaf(path, path);
+                assertEquals(expected, checkpoint.findRestoredLeaf(path));
+                assertEquals(
+                        MerkleHasher.threadSafeDefault().leafNodeHash(expected),
+                        checkpoint.findRestoredLeafHash(path));
+            }
+            assertNull(checkpoint.findRestoredLeaf(9));
+            assertNull(checkpoint.findRestoredLeafHash(20));
+
+            // The same path received again in the second attempt, the last record wins
+            checkpoint.append(leaf(15, 100));
+        }
+
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            assertEquals(10, checkpoint.getRestoredLeafCount());
+            assertEquals(leaf(15, 100), checkpoint.findRestoredLeaf(15));
+        }
+    }
+
+    @Test
+    @DisplayName("Incomplete last record is dropped")
+    void truncatedFile() throws IOException {
+        final Path dir = tempDir.resolve("truncated");
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            checkpoint.append(leaf(1, 1));
+            checkpoint.append(leaf(2, 2));
+        }
+        final Path file = dir.resolve(ReconnectCheckpoint.CHECKPOINT_FILE_NAME);
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            assertEquals(1, checkpoint.getRestoredLeafCount());
+            assertEquals(leaf(1, 1), checkpoint.findRestoredLeaf(1));
+            assertNull(checkpoint.findRestoredLeaf(2));
+            // New leaves are appended after the last complete record
+            checkpoint.append(leaf(3, 3));
+        }
+
+        try (final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir)) {
+            assertEquals(2, checkpoint.getRestoredLeafCount());
+            assertEquals(leaf(3, 3), checkpoint.findRestoredLeaf(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Deleted checkpoint leaves no files")
+    void delete() throws IOException {
+        final Path dir = tempDir.resolve("deleted");
+        final ReconnectCheckpoint checkpoint = ReconnectCheckpoint.open(dir);
+        checkpoint.append(leaf(1, 1));
+        assertTrue(Files.exists(dir));
+        checkpoint.delete();
+        assertFalse(Files.exists(dir));
+
+        try (final ReconnectCheckpoint reopened = ReconnectCheckpoint.open(dir)) {
+            assertEquals(0, reopened.getRestoredLeafCount());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.virtualmap.MerklePathUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TeacherRequestRouterTest {
+
+    @Test
+    @DisplayName("Constructor rejects bad arguments")
+    void badArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TeacherRequestRouter(0, 8, t -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new TeacherRequestRouter(2, -1, t -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new TeacherRequestRouter(2, 32, t -> {}));
+    }
+
+    @Test
+    @DisplayName("Subtrees are assigned to teachers in contiguous ranges")
+    void contiguousRanges() {
+        final TeacherRequestRouter router = new TeacherRequestRouter(4, 2, t -> {});
+        // Root and the leftmost paths go to the first teacher
+        assertEquals(0, router.assign(MerklePathUtils.ROOT_PATH));
+        assertEquals(0, router.assign(1));
+        assertEquals(2, router.assign(2));
+        // Rank 2 paths 3..6 are subtree roots
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, router.assign(MerklePathUtils.getPathForRankAndIndex(2, i)));
+        }
+        // Deeper paths follow their subtree roots
+        for (int i = 0; i < 64; i++) {
+            assertEquals(i / 16, router.assign(MerklePathUtils.getPathForRankAndIndex(6, i)));
+        }
+        // Leaf paths are routed in ascending teacher order
+        int last = 0;
+        for (long path = MerklePathUtils.getPathForRankAndIndex(20, 0);
+                path < MerklePathUtils.getPathForRankAndIndex(21, 0);
+                path += 1001) {
+            final int teacher = router.assign(path);
+            assertTrue(teacher >= last);
+            last = teacher;
+        }
+        assertEquals(3, last);
+    }
+
+    @Test
+    @DisplayName("Only responses from assigned teachers are accepted")
+    void responses() {
+        final TeacherRequestRouter router = new TeacherRequestRouter(2, 1, t -> {});
+        final long path = MerklePathUtils.getPathForRankAndIndex(3, 7);
+        assertEquals(1, router.assign(path));
+        assertTrue(router.hasOutstanding());
+        assertTrue(router.hasOutstanding(1));
+        assertFalse(router.hasOutstanding(0));
+        assertFalse(router.responseReceived(path, 0, false));
+        assertTrue(router.responseReceived(path, 1, false));
+        // Duplicate
+        assertFalse(router.responseReceived(path, 1, false));
+        // The response is outstanding, until the learner is done with it
+        assertTrue(router.hasOutstanding());
+        router.responseHandled();
+        assertFalse(router.hasOutstanding());
+    }
+
+    @Test
+    @DisplayName("Outstanding requests to a failed teacher are retried with other teachers")
+    void teacherFailure() {
+        final List<Integer> failedTeachers = new ArrayList<>();
+        final TeacherRequestRouter router = new TeacherRequestRouter(3, 4, failedTeachers::add);
+        final List<Long> teacher1Paths = new ArrayList<>();
+        for (int i = 15; i >= 0; i--) {
+            final long path = MerklePathUtils.getPathForRankAndIndex(4, i);
+            if (router.assign(path) == 1) {
+                teacher1Paths.add(path);
+            }
+        }
+        assertFalse(teacher1Paths.isEmpty());
+        router.teacherFailed(1);
+        router.teacherFailed(1);
+        assertEquals(List.of(1), failedTeachers);
+        assertTrue(router.isFailed(1));
+        assertEquals(2, router.getLiveTeacherCount());
+        assertFalse(router.hasOutstanding(1));
+
+        // Retried in path order
+        for (final long path : teacher1Paths.reversed()) {
+            assertEquals(path, router.nextRetryPath());
+            final int teacher = router.assign(path);
+            assertTrue(teacher == 0 || teacher == 2);
+            // A late response from the failed teacher is ignored
+            assertFalse(router.responseReceived(path, 1, false));
+            assertTrue(router.responseReceived(path, teacher, false));
+            router.responseHandled();
+        }
+        assertEquals(MerklePathUtils.INVALID_PATH, router.nextRetryPath());
+
+        router.teacherFailed(0);
+        assertFalse(router.allFailed());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(2, router.assign(MerklePathUtils.getPathForRankAndIndex(4, i)));
+        }
+        router.teacherFailed(2);
+        assertTrue(router.allFailed());
+        assertEquals(-1, router.assign(MerklePathUtils.ROOT_PATH));
+        assertEquals(List.of(1, 0, 2), failedTeachers);
+    }
+
+    @Test
+    @DisplayName("Subtrees with received leaves are verified against teachers, which served them")
+    void verification() {
+        final List<Integer> failedTeachers = new ArrayList<>();
+        final TeacherRequestRouter router = new TeacherRequestRouter(2, 1, failedTeachers::add);
+        // Leaves at rank 3, two subtrees at rank 1: paths 1 and 2
+        for (int i = 0; i < 8; i++) {
+            final long path = MerklePathUtils.getPathForRankAndIndex(3, i);
+            final int teacher = router.assign(path);
+            assertEquals(i / 4, teacher);
+            assertTrue(router.responseReceived(path, teacher, true));
+            router.responseHandled();
+        }
+        // Internal nodes are not verified
+        final long internalPath = MerklePathUtils.getPathForRankAndIndex(2, 0);
+        assertTrue(router.responseReceived(internalPath, router.assign(internalPath), false));
+        router.responseHandled();
+        assertFalse(router.hasOutstanding());
+
+        assertEquals(2, router.startVerification());
+        assertTrue(router.hasPendingVerifications());
+        assertEquals(1, router.nextVerificationPath());
+        assertEquals(0, router.assignVerification(1));
+        assertEquals(2, router.nextVerificationPath());
+        assertEquals(1, router.assignVerification(2));
+        assertEquals(MerklePathUtils.INVALID_PATH, router.nextVerificationPath());
+
+        // Regular responses are not verification responses
+        assertFalse(router.verificationReceived(1, 1, true));
+        assertTrue(router.verificationReceived(1, 0, true));
+        assertTrue(router.hasPendingVerifications());
+        assertTrue(router.getInconsistentTeachers().isEmpty());
+
+        assertTrue(router.verificationReceived(2, 1, false));
+        assertFalse(router.hasPendingVerifications());
+        assertEquals(List.of(1), router.getInconsistentTeachers());
+        assertEquals(List.of(1), failedTeachers);
+        assertTrue(router.isFailed(1));
+    }
+
+    @Test
+    @DisplayName("Verifications outstanding to a failed teacher are sent to other teachers")
+    void verificationTeacherFailure() {
+        final TeacherRequestRouter router = new TeacherRequestRouter(2, 1, t -> {});
+        final long leafPath = MerklePathUtils.getPathForRankAndIndex(3, 7);
+        assertEquals(1, router.assign(leafPath));
+        assertTrue(router.responseReceived(leafPath, 1, true));
+        router.responseHandled();
+
+        assertEquals(1, router.startVerification());
+        final long path = router.nextVerificationPath();
+        assertEquals(router.getVerificationPath(leafPath), path);
+        assertEquals(1, router.assignVerification(path));
+        router.teacherFailed(1);
+        assertTrue(router.hasPendingVerifications());
+        assertEquals(path, router.nextVerificationPath());
+        // The only teacher, which served the subtree, failed. Another live teacher verifies it
+        assertEquals(0, router.assignVerification(path));
+        assertFalse(router.verificationReceived(path, 1, true));
+        assertTrue(router.verificationReceived(path, 0, true));
+        assertFalse(router.hasPendingVerifications());
+        assertTrue(router.getInconsistentTeachers().isEmpty());
+    }
+}
@@ -0,0 +1,176 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.sync.streams;
+
+import static org.hiero.base.concurrent.manager.AdHocThreadManager.getStaticThreadManager;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.hiero.base.concurrent.pool.ParallelExecutionException;
+import org.hiero.base.concurrent.pool.StandardWorkGroup;
+import org.hiero.base.utility.test.fixtures.tags.TestComponentTags;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestComponentTags.RECONNECT)
+class CompressedAsyncOutputStreamTest {
+
+    private static final int DEFAULT_QUEUE_SIZE = 100;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final int DEFAULT_MAX_MESSAGE_SIZE = 1024 * 1024;
+
+    @Test
+    @DisplayName("Constructor rejects non-positive batch size")
+    void constructorRejectsBadBatchSize() {
+        final DataOutputStream out = new DataOutputStream(new ByteArrayOutputStream());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new CompressedAsyncOutputStream(
+                        out, DEFAULT_QUEUE_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_TIMEOUT, 0));
+    }
+
+    @Test
+    @DisplayName("Compressed batches are decoded by AsyncInputStream in order")
+    void roundTrip() throws IOException, InterruptedException, ParallelExecutionException {
+        final Random random = new Random(42);
+        final List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Compressible messages of different sizes, including empty and larger than a batch
+            final int size = (i % 100 == 0) ? 5000 : random.nextInt(200);
+            final byte[] message = new byte[size];
+            for (int j = 0; j < size; j++) {
+                message[j] = (byte) (j % 7 + i % 3);
+            }
+            messages.add(message);
+        }
+
+        final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        writeMessages(
+                messages,
+                new AsyncOutputStream(
+                        new DataOutputStream(plain), DEFAULT_QUEUE_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_TIMEOUT));
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        writeMessages(
+                messages,
+                new CompressedAsyncOutputStream(
+                        new DataOutputStream(compressed),
+                        DEFAULT_QUEUE_SIZE,
+                        DEFAULT_FLUSH_INTERVAL,
+                        DEFAULT_TIMEOUT,
+                        4096));
+        assertTrue(
+                compressed.size() < plain.size() / 2,
+                "Compressed stream size " + compressed.size() + " should be less than half of " + plain.size());
+
+        final List<byte[]> read = readMessages(compressed.toByteArray());
+        assertEquals(messages.size(), read.size(), "All messages should be read");
+        for (int i = 0; i < messages.size(); i++) {
+            assertArrayEquals(messages.get(i), read.get(i), "Message " + i + " should match");
+        }
+    }
+
+    @Test
+    @DisplayName("Plain messages and compressed batches can be mixed in a single stream")
+    void mixedFrames() throws IOException, InterruptedException, ParallelExecutionException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        writeMessages(
+                List.of(new byte[] {1, 2, 3}, new byte[] {4}),
+                new CompressedAsyncOutputStream(
+                        new DataOutputStream(compressed),
+                        DEFAULT_QUEUE_SIZE,
+                        DEFAULT_FLUSH_INTERVAL,
+                        DEFAULT_TIMEOUT,
+                        1024));
+        final byte[] compressedBytes = compressed.toByteArray();
+
+        final ByteArrayOutputStream mixed = new ByteArrayOutputStream();
+        final DataOutputStream mixedOut = new DataOutputStream(mixed);
+        mixedOut.writeInt(2);
+        mixedOut.write(new byte[] {9, 8});
+        // Compressed batch without its termination marker
+        mixedOut.write(compressedBytes, 0, compressedBytes.length - Integer.BYTES);
+        mixedOut.writeInt(1);
+        mixedOut.write(new byte[] {7});
+        mixedOut.writeInt(AsyncOutputStream.END_OF_STREAM_MARKER);
+
+        final List<byte[]> read = readMessages(mixed.toByteArray());
+        assertEquals(4, read.size());
+        assertArrayEquals(new byte[] {9, 8}, read.get(0));
+        assertArrayEquals(new byte[] {1, 2, 3}, read.get(1));
+        assertArrayEquals(new byte[] {4}, read.get(2));
+        assertArrayEquals(new byte[] {7}, read.get(3));
+    }
+
+    @Test
+    @DisplayName("Malformed compressed batch fails the input stream")
+    void malformedBatch() throws IOException, InterruptedException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(AsyncOutputStream.COMPRESSED_BATCH_MARKER);
+        out.writeInt(100);
+        out.writeInt(4);
+        out.write(new byte[] {1, 2, 3, 4});
+        out.writeInt(AsyncOutputStream.END_OF_STREAM_MARKER);
+
+        try (final StandardWorkGroup workGroup = new StandardWorkGroup(getStaticThreadManager(), "test")) {
+            final AsyncInputStream in = new AsyncInputStream(
+                    new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                    DEFAULT_QUEUE_SIZE,
+                    DEFAULT_TIMEOUT,
+                    DEFAULT_MAX_MESSAGE_SIZE);
+            in.start(workGroup);
+            final ParallelExecutionException ex = assertThrows(ParallelExecutionException.class, workGroup::join);
+            assertInstanceOf(UncheckedIOException.class, ex.getCause(), "UncheckedIOException should be captured");
+            assertNull(in.readOrWait(YieldStrategy.SPIN), "No messages should be read from a malformed batch");
+        }
+    }
+
+    private static void writeMessages(final List<byte[]> messages, final AsyncOutputStream out)
+            throws InterruptedException, ParallelExecutionException {
+        try (final StandardWorkGroup workGroup = new StandardWorkGroup(getStaticThreadManager(), "test")) {
+            out.start(workGroup);
+            for (final byte[] message : messages) {
+                out.sendAsync(message);
+            }
+            out.done();
+            workGroup.join();
+        }
+    }
+
+    private static List<byte[]> readMessages(final byte[] bytes)
+            throws InterruptedException, ParallelExecutionException {
+        final List<byte[]> messages = new ArrayList<>();
+        try (final StandardWorkGroup workGroup = new StandardWorkGroup(getStaticThreadManager(), "test")) {
+            final AsyncInputStream in = new AsyncInputStream(
+                    new DataInputStream(new ByteArrayInputStream(bytes)),
+                    // Large enough to hold all messages, so the reader thread never waits for consumers
+                    10_000,
+                    DEFAULT_TIMEOUT,
+                    DEFAULT_MAX_MESSAGE_SIZE);
+            in.start(workGroup);
+            workGroup.join();
+            byte[] message;
+            while ((message = in.readOrWait(YieldStrategy.SPIN)) != null) {
+                assertNotNull(message);
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+}
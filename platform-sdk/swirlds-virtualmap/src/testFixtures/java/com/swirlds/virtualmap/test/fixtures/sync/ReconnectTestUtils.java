@@ -13,11 +13,20 @@ import static org.mockito.Mockito.mock;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.config.VirtualMapTeacherSyncConfig;
 import com.swirlds.virtualmap.sync.LearningSynchronizer;
+import com.swirlds.virtualmap.sync.LearningSynchronizer.TeacherConnection;
+import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
 import com.swirlds.virtualmap.sync.TeachingSynchronizer;
+import com.swirlds.virtualmap.sync.streams.AsyncOutputStream;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import org.hiero.base.concurrent.manager.ThreadManager;
 import org.hiero.base.concurrent.pool.StandardWorkGroup;
 import org.hiero.consensus.metrics.config.MetricsConfig;
@@ -107,6 +116,268 @@ public final class ReconnectTestUtils {
         }
     }
 
+    /**
+     * Performs synchronization of the learner map from several teachers in parallel. All teachers
+     * serve the same teacher map. Optionally, one of the teachers fails after sending the given
+     * number of responses, the learner is expected to complete reconnect using other teachers.
+     *
+     * @param learnerMap leaner map to synchronize with teacher map
+     * @param teacherMap teacher map as desired virtual map
+     * @param teacherCount the number of teachers
+     * @param failingTeacher the index of the teacher to fail, or -1 if no teachers should fail
+     * @param failAfterResponses the number of responses the failing teacher sends before it fails
+     * @param configuration configuration
+     * @return resulting map after synchronization
+     * @throws Exception if any exception happens during synchronization
+     */
+    public static VirtualMap testMultiTeacherSynchronization(
+            final VirtualMap learnerMap,
+            final VirtualMap teacherMap,
+            final int teacherCount,
+            final int failingTeacher,
+            final int failAfterResponses,
+            final Configuration configuration)
+            throws Exception {
+        System.out.println("------------");
+        System.out.println("learner map: " + learnerMap.getMetadata());
+        System.out.println("teacher map: " + teacherMap.getMetadata() + ", teachers: " + teacherCount);
+
+        assertFalse(teacherMap.isMutable(), "teacher map should be immutable");
+        teacherMap.getHash(); // ensure teacher has a hash
+
+        final List<PairedStreams> allStreams = new ArrayList<>();
+        try {
+            final List<TeacherConnection> connections = new ArrayList<>();
+            final List<TeachingSynchronizer> teachers = new ArrayList<>();
+            for (int i = 0; i < teacherCount; i++) {
+                final PairedStreams streams = new PairedStreams();
+                allStreams.add(streams);
+                connections.add(new TeacherConnection(
+                        streams.getLearnerInput(), streams.getLearnerOutput(), streams::disconnect));
+                teachers.add(
+                        i == failingTeacher
+                                ? createFailingTeacher(teacherMap, configuration, streams, failAfterResponses)
+                                : createTeacher(teacherMap, configuration));
+            }
+
+            final LearningSynchronizer learner =
+                    new LearningSynchronizer(getStaticThreadManager(), configuration, metrics) {
+
+                        @Override
+                        protected StandardWorkGroup createStandardWorkGroup(
+                                ThreadManager threadManager, Runnable breakConnection) {
+                            return new StandardWorkGroup(
+                                    threadManager, "test-learning-synchronizer", breakConnection, true);
+                        }
+                    };
+
+            final AtomicReference<VirtualMap> syncMapContainer = new AtomicReference<>();
+            final Runnable disconnectAll = () -> allStreams.forEach(PairedStreams::disconnect);
+            try (final StandardWorkGroup workGroup = new StandardWorkGroup(
+                    getStaticThreadManager(), "multi-teacher-synchronization-test", disconnectAll, true)) {
+                for (int i = 0; i < teacherCount; i++) {
+                    final PairedStreams streams = allStreams.get(i);
+                    final TeachingSynchronizer teacher = teachers.get(i);
+                    if (i == failingTeacher) {
+                        workGroup.fork("failing-teaching-synchronizer-main", () -> {
+                            try {
+                                teachingSynchronizerThread(streams, teacher);
+                            } catch (final MerkleSynchronizationException e) {
+                                // expected
+                            }
+                        });
+                    } else {
+                        workGroup.fork(
+                                "teaching-synchronizer-main-" + i, () -> teachingSynchronizerThread(streams, teacher));
+                    }
+                }
+                workGroup.fork("learning-synchronizer-main", () -> {
+                    try {
+                        syncMapContainer.set(learner.synchronize(learnerMap, connections));
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+                workGroup.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+
+            final VirtualMap syncMap = syncMapContainer.get();
+            assertReconnectValidity(learnerMap, teacherMap, syncMap);
+
+            return syncMap;
+        } finally {
+            for (final PairedStreams streams : allStreams) {
+                streams.close();
+            }
+        }
+    }
+
+    /**
+     * Performs synchronization of the learner map from several teachers in parallel, when one of the teachers
+     * sends responses, which are modified by the given transformer. All teachers serve the same teacher map.
+     * The learner is expected to fail.
+     *
+     * @param learnerMap leaner map to synchronize with teacher map
+     * @param teacherMap teacher map as desired virtual map
+     * @param teacherCount the number of teachers
+     * @param tamperingTeacher the index of the teacher, which responses are modified
+     * @param responseTransformer the function to modify serialized responses of the tampering teacher
+     * @param configuration configuration
+     * @return the exception thrown by the learner, or null if synchronization succeeded
+     * @throws Exception if any exception happens in teacher threads
+     */
+    public static Throwable testTamperingTeacherSynchronization(
+            final VirtualMap learnerMap,
+            final VirtualMap teacherMap,
+            final int teacherCount,
+            final int tamperingTeacher,
+            final UnaryOperator<byte[]> responseTransformer,
+            final Configuration configuration)
+            throws Exception {
+        assertFalse(teacherMap.isMutable(), "teacher map should be immutable");
+        teacherMap.getHash(); // ensure teacher has a hash
+
+        final List<PairedStreams> allStreams = new ArrayList<>();
+        try {
+            final List<TeacherConnection> connections = new ArrayList<>();
+            final List<TeachingSynchronizer> teachers = new ArrayList<>();
+            for (int i = 0; i < teacherCount; i++) {
+                final PairedStreams streams = new PairedStreams();
+                allStreams.add(streams);
+                connections.add(new TeacherConnection(
+                        streams.getLearnerInput(), streams.getLearnerOutput(), streams::disconnect));
+                teachers.add(
+                        i == tamperingTeacher
+                                ? createTamperingTeacher(teacherMap, configuration, responseTransformer)
+                                : createTeacher(teacherMap, configuration));
+            }
+
+            final LearningSynchronizer learner =
+                    new LearningSynchronizer(getStaticThreadManager(), configuration, metrics) {
+
+                        @Override
+                        protected StandardWorkGroup createStandardWorkGroup(
+                                ThreadManager threadManager, Runnable breakConnection) {
+                            return new StandardWorkGroup(
+                                    threadManager, "test-learning-synchronizer", breakConnection, true);
+                        }
+                    };
+
+            final AtomicReference<Throwable> learnerException = new AtomicReference<>();
+            final Runnable disconnectAll = () -> allStreams.forEach(PairedStreams::disconnect);
+            try (final StandardWorkGroup workGroup = new StandardWorkGroup(
+                    getStaticThreadManager(), "tampering-teacher-synchronization-test", disconnectAll, true)) {
+                for (int i = 0; i < teacherCount; i++) {
+                    final PairedStreams streams = allStreams.get(i);
+                    final TeachingSynchronizer teacher = teachers.get(i);
+                    workGroup.fork("teaching-synchronizer-main-" + i, () -> {
+                        try {
+                            teachingSynchronizerThread(streams, teacher);
+                        } catch (final MerkleSynchronizationException e) {
+                            // expected, the learner breaks connections to failed teachers
+                        }
+                    });
+                }
+                workGroup.fork("learning-synchronizer-main", () -> {
+                    try {
+                        learner.synchronize(learnerMap, connections).release();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (final MerkleSynchronizationException e) {
+                        learnerException.set(e);
+                    }
+                });
+
+                workGroup.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return learnerException.get();
+        } finally {
+            for (final PairedStreams streams : allStreams) {
+                streams.close();
+            }
+        }
+    }
+
+    private static TeachingSynchronizer createTeacher(
+            final VirtualMap teacherMap, final Configuration configuration) {
+        return new TeachingSynchronizer(teacherMap, getStaticThreadManager(), configuration) {
+            @Override
+            protected StandardWorkGroup createStandardWorkGroup(
+                    @NonNull ThreadManager threadManager, @NonNull Runnable breakConnection) {
+                return new StandardWorkGroup(threadManager, "test-teaching-synchronizer", breakConnection, true);
+            }
+        };
+    }
+
+    private static TeachingSynchronizer createFailingTeacher(
+            final VirtualMap teacherMap,
+            final Configuration configuration,
+            final PairedStreams streams,
+            final int failAfterResponses) {
+        final AtomicInteger responsesSent = new AtomicInteger();
+        return new TeachingSynchronizer(teacherMap, getStaticThreadManager(), configuration) {
+            @Override
+            protected StandardWorkGroup createStandardWorkGroup(
+                    @NonNull ThreadManager threadManager, @NonNull Runnable breakConnection) {
+                return new StandardWorkGroup(threadManager, "test-failing-teaching-synchronizer", breakConnection);
+            }
+
+            @Override
+            protected AsyncOutputStream buildOutputStream(
+                    @NonNull final DataOutputStream out, @NonNull final VirtualMapTeacherSyncConfig syncConfig) {
+                return new AsyncOutputStream(
+                        out,
+                        syncConfig.asyncStreamBufferSize(),
+                        syncConfig.asyncOutputStreamFlush(),
+                        syncConfig.asyncStreamIdleTimeout()) {
+                    @Override
+                    public void sendAsync(@NonNull final byte[] messageBytes) throws InterruptedException {
+                        if (responsesSent.incrementAndGet() > failAfterResponses) {
+                            streams.disconnect();
+                            throw new MerkleSynchronizationException("Simulated teacher failure");
+                        }
+                        super.sendAsync(messageBytes);
+                    }
+                };
+            }
+        };
+    }
+
+    private static TeachingSynchronizer createTamperingTeacher(
+            final VirtualMap teacherMap,
+            final Configuration configuration,
+            final UnaryOperator<byte[]> responseTransformer) {
+        return new TeachingSynchronizer(teacherMap, getStaticThreadManager(), configuration) {
+            @Override
+            protected StandardWorkGroup createStandardWorkGroup(
+                    @NonNull ThreadManager threadManager, @NonNull Runnable breakConnection) {
+                return new StandardWorkGroup(threadManager, "test-tampering-teaching-synchronizer", breakConnection);
+            }
+
+            @Override
+            protected AsyncOutputStream buildOutputStream(
+                    @NonNull final DataOutputStream out, @NonNull final VirtualMapTeacherSyncConfig syncConfig) {
+                return new AsyncOutputStream(
+                        out,
+                        syncConfig.asyncStreamBufferSize(),
+                        syncConfig.asyncOutputStreamFlush(),
+                        syncConfig.asyncStreamIdleTimeout()) {
+                    @Override
+                    public void sendAsync(@NonNull final byte[] messageBytes) throws InterruptedException {
+                        super.sendAsync(responseTransformer.apply(messageBytes));
+                    }
+                };
+            }
+        };
+    }
+
     /**
      * Asserts reconnect validity.
      *